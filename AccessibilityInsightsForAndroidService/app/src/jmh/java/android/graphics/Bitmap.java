@@ -0,0 +1,52 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package android.graphics;
+
+import java.io.OutputStream;
+
+// Host JVM plumbing for the part of Bitmap that ScreenshotAxeImage samples pixels through. The
+// benchmark classes come before android.jar on the JMH classpath, so this replaces its stub
+// there. Pixels are an int[] of ARGB colors. PNG compression is native on the device and isn't
+// benchmarked, so compress is unsupported.
+public final class Bitmap {
+  public enum CompressFormat {
+    JPEG,
+    PNG,
+    WEBP
+  }
+
+  public enum Config {
+    ARGB_8888
+  }
+
+  private final int width;
+  private final int height;
+  private final int[] colors;
+
+  private Bitmap(int[] colors, int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.colors = colors;
+  }
+
+  public static Bitmap createBitmap(int[] colors, int width, int height, Config config) {
+    return new Bitmap(colors.clone(), width, height);
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  public int getPixel(int x, int y) {
+    return colors[y * width + x];
+  }
+
+  public boolean compress(CompressFormat format, int quality, OutputStream stream) {
+    throw new UnsupportedOperationException("PNG compression is not benchmarked on the host");
+  }
+}
@@ -0,0 +1,85 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import com.deque.axe.android.Axe;
+import com.deque.axe.android.AxeContext;
+import com.deque.axe.android.AxeDevice;
+import com.deque.axe.android.AxeResult;
+import com.deque.axe.android.wrappers.AxeEventStream;
+import com.deque.axe.android.wrappers.AxeRect;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AxeScanBenchmark {
+  private static final int SAMPLE_STRIDE = 4;
+  private static final int SPAN_CAPACITY = 16;
+
+  private ScreenshotAxeImage image;
+  private AxeContext axeContext;
+  private Axe axe;
+  private AxeResult result;
+
+  @Setup
+  public void prepare() throws ViewChangedException {
+    image =
+        new ScreenshotAxeImage(
+            BenchmarkInputs.createScreenshot(
+                SyntheticNodeTreeGenerator.SCREEN_WIDTH, SyntheticNodeTreeGenerator.SCREEN_HEIGHT),
+            new ByteArrayOutputStreamProvider(),
+            new ScanTimings(new SpanRecorder(SPAN_CAPACITY, System::nanoTime, 0, null)));
+    AxeDevice axeDevice =
+        new AxeDevice(
+            2.625f,
+            "synthetic",
+            "11 API Level 30",
+            SyntheticNodeTreeGenerator.SCREEN_HEIGHT,
+            SyntheticNodeTreeGenerator.SCREEN_WIDTH);
+    axeContext =
+        new AxeContext(
+            BenchmarkInputs.createAxeViewsFactory()
+                .createAxeViews(BenchmarkInputs.createTree("screen")),
+            axeDevice,
+            new PrecomputedPngAxeImage(image, BenchmarkInputs.SEED),
+            new AxeEventStream());
+    axe = new AxeRunnerFactory().createAxeRunner();
+    result = axe.run(axeContext);
+  }
+
+  @Benchmark
+  public AxeResult runAxe() {
+    return axe.run(axeContext);
+  }
+
+  @Benchmark
+  public String serializeResult() {
+    return result.toJson();
+  }
+
+  @Benchmark
+  public void samplePixels(Blackhole blackhole) {
+    AxeRect frame = image.frame();
+    for (int y = frame.top; y <= frame.bottom; y += SAMPLE_STRIDE) {
+      for (int x = frame.left; x <= frame.right; x += SAMPLE_STRIDE) {
+        blackhole.consume(image.pixel(x, y));
+      }
+    }
+  }
+}
@@ -0,0 +1,44 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import com.deque.axe.android.AxeView;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AxeViewsBenchmark {
+
+  @Param({"deepList", "wideGrid", "form", "screen"})
+  public String shape;
+
+  private InMemoryAccessibilityNode root;
+  private AxeViewsFactory axeViewsFactory;
+
+  @Setup
+  public void prepare() {
+    root = BenchmarkInputs.createTree(shape);
+    axeViewsFactory = BenchmarkInputs.createAxeViewsFactory();
+  }
+
+  @Benchmark
+  public AxeView buildAxeViews() throws ViewChangedException {
+    return axeViewsFactory.createAxeViews(root);
+  }
+}
@@ -0,0 +1,61 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.graphics.Bitmap;
+import java.util.Random;
+
+// Fixed-seed inputs shared by the benchmarks, so results are comparable between runs.
+public class BenchmarkInputs {
+  public static final long SEED = 20210401L;
+
+  public static InMemoryAccessibilityNode createTree(String shape) {
+    SyntheticNodeTreeGenerator generator = new SyntheticNodeTreeGenerator(SEED);
+    switch (shape) {
+      case "deepList":
+        return generator.generateDeepList(50, 8);
+      case "wideGrid":
+        return generator.generateWideGrid(12, 40);
+      case "form":
+        return generator.generateForm(40);
+      case "screen":
+        return generator.generateScreen(8);
+      default:
+        throw new IllegalArgumentException("Unknown tree shape: " + shape);
+    }
+  }
+
+  public static AxeViewsFactory createAxeViewsFactory() {
+    return new AxeViewsFactory(
+        new NodeViewBuilderFactory(),
+        new AccessibilityNodeInfoQueueBuilder(new AccessibilityNodeInfoSorterFactory()));
+  }
+
+  // Printable ASCII, roughly the mix of a serialized axe result.
+  public static String createContent(int length) {
+    Random random = new Random(SEED);
+    StringBuilder content = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      content.append((char) (' ' + random.nextInt(95)));
+    }
+    return content.toString();
+  }
+
+  // Flat-coloured rectangles with sparse darker "text" pixels, like a typical app screen.
+  public static Bitmap createScreenshot(int width, int height) {
+    Random random = new Random(SEED);
+    int[] pixels = new int[width * height];
+    int blockHeight = Math.max(1, height / 24);
+    for (int top = 0; top < height; top += blockHeight) {
+      int background = 0xFF000000 | random.nextInt(0x1000000);
+      int foreground = background ^ 0x00FFFFFF;
+      for (int y = top; y < Math.min(height, top + blockHeight); y++) {
+        for (int x = 0; x < width; x++) {
+          pixels[y * width + x] = random.nextInt(16) == 0 ? foreground : background;
+        }
+      }
+    }
+    return Bitmap.createBitmap(pixels, width, height, Bitmap.Config.ARGB_8888);
+  }
+}
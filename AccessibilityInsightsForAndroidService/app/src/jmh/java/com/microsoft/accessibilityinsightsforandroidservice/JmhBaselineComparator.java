@@ -0,0 +1,109 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Compares two JMH JSON result files and exits non-zero if any benchmark got slower than the
+// baseline by more than the given relative tolerance. Throughput ("thrpt") scores regress
+// downwards; every other mode regresses upwards.
+public class JmhBaselineComparator {
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2 || args[0].isEmpty()) {
+      System.err.println("Usage: JmhBaselineComparator <baseline.json> <results.json> [tolerance]");
+      System.exit(2);
+    }
+
+    double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+    Map<String, JsonObject> baseline = readScores(args[0]);
+    Map<String, JsonObject> results = readScores(args[1]);
+    List<String> regressions = new ArrayList<>();
+
+    for (Map.Entry<String, JsonObject> entry : results.entrySet()) {
+      JsonObject previous = baseline.get(entry.getKey());
+      if (previous == null) {
+        System.out.println("NEW       " + entry.getKey());
+        continue;
+      }
+
+      double before = getScore(previous);
+      double after = getScore(entry.getValue());
+      double change = before == 0 ? 0 : (after - before) / before;
+      if ("thrpt".equals(entry.getValue().get("mode").getAsString())) {
+        change = -change;
+      }
+
+      boolean regressed = change > tolerance;
+      System.out.println(
+          String.format(
+              "%-9s %s: %.3f -> %.3f %s (%+.1f%%)",
+              regressed ? "REGRESSED" : "OK",
+              entry.getKey(),
+              before,
+              after,
+              getScoreUnit(entry.getValue()),
+              change * 100));
+      if (regressed) {
+        regressions.add(entry.getKey());
+      }
+    }
+
+    for (String key : baseline.keySet()) {
+      if (!results.containsKey(key)) {
+        System.out.println("MISSING   " + key);
+      }
+    }
+
+    if (!regressions.isEmpty()) {
+      System.err.println(regressions.size() + " benchmark(s) regressed beyond " + tolerance);
+      System.exit(1);
+    }
+  }
+
+  private static Map<String, JsonObject> readScores(String path) throws IOException {
+    Map<String, JsonObject> scores = new TreeMap<>();
+    try (Reader reader = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+      JsonArray runs = JsonParser.parseReader(reader).getAsJsonArray();
+      for (JsonElement run : runs) {
+        JsonObject benchmark = run.getAsJsonObject();
+        scores.put(getKey(benchmark), benchmark);
+      }
+    }
+    return scores;
+  }
+
+  private static String getKey(JsonObject benchmark) {
+    StringBuilder key = new StringBuilder(benchmark.get("benchmark").getAsString());
+    JsonObject params = benchmark.getAsJsonObject("params");
+    if (params != null) {
+      Map<String, String> sortedParams = new TreeMap<>();
+      for (Map.Entry<String, JsonElement> param : params.entrySet()) {
+        sortedParams.put(param.getKey(), param.getValue().getAsString());
+      }
+      key.append(sortedParams);
+    }
+    return key.toString();
+  }
+
+  private static double getScore(JsonObject benchmark) {
+    return benchmark.getAsJsonObject("primaryMetric").get("score").getAsDouble();
+  }
+
+  private static String getScoreUnit(JsonObject benchmark) {
+    return benchmark.getAsJsonObject("primaryMetric").get("scoreUnit").getAsString();
+  }
+}
@@ -0,0 +1,43 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import com.deque.axe.android.colorcontrast.AxeColor;
+import com.deque.axe.android.colorcontrast.AxeImage;
+import com.deque.axe.android.wrappers.AxeRect;
+import java.util.Base64;
+import java.util.Random;
+
+// Samples pixels from another AxeImage but returns a precomputed base64 payload of typical
+// screenshot size. PNG compression is native on the device, and a host encoder would measure the
+// JDK rather than Android, so serialization benchmarks leave it out.
+public class PrecomputedPngAxeImage extends AxeImage {
+  private static final int COMPRESSED_SCREENSHOT_BYTES = 200 * 1024;
+
+  private final AxeImage pixels;
+  private final String base64Png;
+
+  public PrecomputedPngAxeImage(AxeImage pixels, long seed) {
+    this.pixels = pixels;
+
+    byte[] compressed = new byte[COMPRESSED_SCREENSHOT_BYTES];
+    new Random(seed).nextBytes(compressed);
+    base64Png = Base64.getEncoder().encodeToString(compressed);
+  }
+
+  @Override
+  public AxeRect frame() {
+    return pixels.frame();
+  }
+
+  @Override
+  public AxeColor pixel(int x, int y) {
+    return pixels.pixel(x, y);
+  }
+
+  @Override
+  public String toBase64Png() {
+    return base64Png;
+  }
+}
@@ -0,0 +1,44 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RequestParsingBenchmark {
+  private static final String REQUEST_LINE = "GET /AccessibilityInsights/result HTTP/1.1";
+  private static final byte[] REQUEST_BYTES =
+      (REQUEST_LINE + "\r\nHost: localhost:62442\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+
+  private final RequestReaderFactory requestReaderFactory = new RequestReaderFactory();
+
+  @Benchmark
+  public String readRequest() throws IOException {
+    return requestReaderFactory
+        .createRequestReader(new ByteArrayInputStream(REQUEST_BYTES))
+        .readRequest();
+  }
+
+  @Benchmark
+  public boolean parseRequestLine() {
+    return new RequestLine(REQUEST_LINE).isGet("/AccessibilityInsights/result");
+  }
+}
@@ -0,0 +1,48 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ResponseWriterBenchmark {
+
+  // A small endpoint response, a typical /result without the screenshot, and one with it.
+  @Param({"1024", "65536", "1048576"})
+  public int contentLength;
+
+  private final ResponseWriterFactory responseWriterFactory = new ResponseWriterFactory();
+  private ByteArrayOutputStream output;
+  private String content;
+
+  @Setup
+  public void prepare() {
+    content = BenchmarkInputs.createContent(contentLength);
+    output = new ByteArrayOutputStream(contentLength * 2);
+  }
+
+  @Benchmark
+  public int writeSuccessfulResponse() {
+    output.reset();
+    responseWriterFactory.createResponseWriter(output).writeSuccessfulResponse(content);
+    return output.size();
+  }
+}
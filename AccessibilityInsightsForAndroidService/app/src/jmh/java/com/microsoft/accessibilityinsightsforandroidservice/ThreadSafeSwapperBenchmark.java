@@ -0,0 +1,59 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// EventHelper's use of the swapper under contention: the accessibility thread records a source
+// for every event while server threads claim it and put it back. The "storm" group runs several
+// recorders against one claimer; contendedSwap has every thread swapping.
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ThreadSafeSwapperBenchmark {
+  private final ThreadSafeSwapper<Object> swapper = new ThreadSafeSwapper<>();
+  private final Object source = new Object();
+
+  @Benchmark
+  @Group("storm")
+  @GroupThreads(3)
+  public Object recordEvent() {
+    return swapper.swap(source);
+  }
+
+  @Benchmark
+  @Group("storm")
+  @GroupThreads(1)
+  public boolean claimAndRestore() {
+    Object claimed = swapper.swap(null);
+    return claimed != null && swapper.setIfCurrentlyNull(claimed);
+  }
+
+  @State(Scope.Benchmark)
+  public static class SharedSwapper {
+    final ThreadSafeSwapper<Object> swapper = new ThreadSafeSwapper<>();
+    final Object source = new Object();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Object contendedSwap(SharedSwapper shared) {
+    return shared.swapper.swap(shared.source);
+  }
+}
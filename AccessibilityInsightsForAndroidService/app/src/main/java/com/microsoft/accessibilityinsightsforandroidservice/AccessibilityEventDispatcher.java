@@ -7,69 +7,124 @@ import android.view.accessibility.AccessibilityEvent;
 import android.view.accessibility.AccessibilityNodeInfo;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class AccessibilityEventDispatcher {
   private static final String TAG = "AccessibilityEventDispatcher";
+  private static final int EVENT_TYPE_BITS = Integer.SIZE;
+  private static final EventSubscription[] NO_SUBSCRIPTIONS = new EventSubscription[0];
+
+  public static final int FOCUS_EVENT_TYPES = AccessibilityEvent.TYPE_VIEW_FOCUSED;
+  public static final int REDRAW_EVENT_TYPES =
+      AccessibilityEvent.TYPE_WINDOW_STATE_CHANGED
+          | AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED
+          | AccessibilityEvent.TYPE_VIEW_SCROLLED
+          | AccessibilityEvent.TYPE_WINDOWS_CHANGED;
+  // Switching apps always changes the window state or content, so no other event type is needed
+  // to notice it
+  public static final int APP_CHANGED_EVENT_TYPES =
+      AccessibilityEvent.TYPE_WINDOW_STATE_CHANGED
+          | AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED
+          | AccessibilityEvent.TYPE_WINDOWS_CHANGED;
+
   private CharSequence previousPackageName;
 
   private ArrayList<Consumer<AccessibilityNodeInfo>> onAppChangedListeners;
-  private ArrayList<Consumer<AccessibilityEvent>> onFocusEventListeners;
-  private ArrayList<Consumer<AccessibilityEvent>> onRedrawEventListeners;
+
+  // Every event type is a single bit, so subscriptions are indexed by bit position and routing an
+  // event is one array lookup. The arrays are replaced, never mutated, when a listener is added.
+  private volatile EventSubscription[][] subscriptionsByEventTypeBit;
+  private volatile int subscribedEventTypes;
 
   public AccessibilityEventDispatcher() {
     onAppChangedListeners = new ArrayList<Consumer<AccessibilityNodeInfo>>();
-    onFocusEventListeners = new ArrayList<Consumer<AccessibilityEvent>>();
-    onRedrawEventListeners = new ArrayList<Consumer<AccessibilityEvent>>();
+    subscriptionsByEventTypeBit = new EventSubscription[EVENT_TYPE_BITS][];
+    Arrays.fill(subscriptionsByEventTypeBit, NO_SUBSCRIPTIONS);
   }
 
-  public static List<Integer> redrawEventTypes =
-      Arrays.asList(
-          AccessibilityEvent.TYPE_WINDOW_STATE_CHANGED,
-          AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED,
-          AccessibilityEvent.TYPE_VIEW_SCROLLED,
-          AccessibilityEvent.TYPE_WINDOWS_CHANGED);
-
-  public void onAccessibilityEvent(AccessibilityEvent event, AccessibilityNodeInfo rootNode) {
-    int eventType = event.getEventType();
-
-    if (rootNode != null
-        && (previousPackageName == null
-            || !previousPackageName.equals(rootNode.getPackageName()))) {
-      previousPackageName = rootNode.getPackageName();
-      this.callListeners(onAppChangedListeners, rootNode);
+  public void onAccessibilityEvent(
+      AccessibilityEvent event, Supplier<AccessibilityNodeInfo> rootNodeSupplier) {
+    if (mayHaveChangedApp(event)) {
+      AccessibilityNodeInfo rootNode = rootNodeSupplier.get();
+      if (rootNode != null
+          && (previousPackageName == null
+              || !previousPackageName.equals(rootNode.getPackageName()))) {
+        previousPackageName = rootNode.getPackageName();
+        this.callListeners(onAppChangedListeners, rootNode);
+      }
     }
 
-    if (isFocusEvent(eventType)) {
-      this.callListeners(onFocusEventListeners, event);
+    int eventType = event.getEventType();
+    if ((subscribedEventTypes & eventType) == 0) {
       return;
     }
 
-    if (isRedrawEvent(eventType)) {
-      this.callListeners(onRedrawEventListeners, event);
-      return;
+    EventSubscription[] subscriptions =
+        subscriptionsByEventTypeBit[Integer.numberOfTrailingZeros(eventType)];
+    for (EventSubscription subscription : subscriptions) {
+      subscription.deliver(event);
     }
   }
 
   public void addOnFocusEventListener(Consumer<AccessibilityEvent> listener) {
-    onFocusEventListeners.add(listener);
+    addEventListener(FOCUS_EVENT_TYPES, listener);
   }
 
   public void addOnRedrawEventListener(Consumer<AccessibilityEvent> listener) {
-    onRedrawEventListeners.add(listener);
+    addEventListener(REDRAW_EVENT_TYPES, listener);
   }
 
   public void addOnAppChangedListener(Consumer<AccessibilityNodeInfo> listener) {
     onAppChangedListeners.add(listener);
   }
 
-  private boolean isFocusEvent(int eventType) {
-    return eventType == AccessibilityEvent.TYPE_VIEW_FOCUSED;
+  // Calls the listener on the accessibility thread for every event whose type is in eventTypes
+  public void addEventListener(int eventTypes, Consumer<AccessibilityEvent> listener) {
+    addSubscription(new EventSubscription(eventTypes, listener, null));
+  }
+
+  // Hands the listener a copy of every event whose type is in eventTypes on the given executor, so
+  // slow consumers don't hold up the accessibility thread. The copy is recycled once the listener
+  // returns.
+  public void addEventListener(
+      int eventTypes, Consumer<AccessibilityEvent> listener, Executor executor) {
+    addSubscription(new EventSubscription(eventTypes, listener, executor));
+  }
+
+  public int getSubscribedEventTypes() {
+    int eventTypes = subscribedEventTypes;
+    if (!onAppChangedListeners.isEmpty()) {
+      eventTypes |= APP_CHANGED_EVENT_TYPES;
+    }
+    return eventTypes;
+  }
+
+  private synchronized void addSubscription(EventSubscription subscription) {
+    EventSubscription[][] newSubscriptionsByEventTypeBit = subscriptionsByEventTypeBit.clone();
+    for (int bit = 0; bit < EVENT_TYPE_BITS; bit++) {
+      if ((subscription.eventTypes & (1 << bit)) != 0) {
+        EventSubscription[] subscriptions = newSubscriptionsByEventTypeBit[bit];
+        EventSubscription[] newSubscriptions =
+            Arrays.copyOf(subscriptions, subscriptions.length + 1);
+        newSubscriptions[subscriptions.length] = subscription;
+        newSubscriptionsByEventTypeBit[bit] = newSubscriptions;
+      }
+    }
+
+    subscriptionsByEventTypeBit = newSubscriptionsByEventTypeBit;
+    subscribedEventTypes |= subscription.eventTypes;
   }
 
-  private boolean isRedrawEvent(int eventType) {
-    return redrawEventTypes.contains(eventType);
+  // An event raised by the app we already know is in front can't tell us that the app changed, so
+  // it isn't worth a getRootInActiveWindow() round trip to find out.
+  private boolean mayHaveChangedApp(AccessibilityEvent event) {
+    if (onAppChangedListeners.isEmpty() || (event.getEventType() & APP_CHANGED_EVENT_TYPES) == 0) {
+      return false;
+    }
+
+    return previousPackageName == null || !previousPackageName.equals(event.getPackageName());
   }
 
   private <T> void callListeners(ArrayList<Consumer<T>> listeners, T newValue) {
@@ -78,4 +133,34 @@ public class AccessibilityEventDispatcher {
           listener.accept(newValue);
         });
   }
+
+  private static class EventSubscription {
+    private final int eventTypes;
+    private final Consumer<AccessibilityEvent> listener;
+    private final Executor executor;
+
+    EventSubscription(int eventTypes, Consumer<AccessibilityEvent> listener, Executor executor) {
+      this.eventTypes = eventTypes;
+      this.listener = listener;
+      this.executor = executor;
+    }
+
+    void deliver(AccessibilityEvent event) {
+      if (executor == null) {
+        listener.accept(event);
+        return;
+      }
+
+      // The system recycles the original as soon as onAccessibilityEvent returns
+      AccessibilityEvent eventCopy = AccessibilityEvent.obtain(event);
+      executor.execute(
+          () -> {
+            try {
+              listener.accept(eventCopy);
+            } finally {
+              eventCopy.recycle();
+            }
+          });
+    }
+  }
 }
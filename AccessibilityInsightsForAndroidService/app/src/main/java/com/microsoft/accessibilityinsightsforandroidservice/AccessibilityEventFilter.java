@@ -0,0 +1,68 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.view.accessibility.AccessibilityEvent;
+
+public class AccessibilityEventFilter {
+  public static final int ACTIVE_WINDOW_EVENT_TYPES =
+      AccessibilityEvent.TYPE_WINDOW_STATE_CHANGED
+          | AccessibilityEvent.TYPE_VIEW_HOVER_ENTER
+          | AccessibilityEvent.TYPE_VIEW_HOVER_EXIT;
+  // The recorded source is the active window's root, so only events that can change which window
+  // is active or what it holds need to record it again
+  public static final int DEFAULT_RECORD_EVENT_TYPES =
+      ACTIVE_WINDOW_EVENT_TYPES
+          | EventQuiescenceTracker.CONTENT_CHANGE_EVENT_TYPES
+          | EventQuiescenceTracker.WINDOW_CHANGE_EVENT_TYPES
+          | AccessibilityEvent.TYPE_VIEW_FOCUSED;
+  private static final int QUIESCENCE_EVENT_TYPES =
+      EventQuiescenceTracker.CONTENT_CHANGE_EVENT_TYPES
+          | EventQuiescenceTracker.WINDOW_CHANGE_EVENT_TYPES;
+
+  private final int dispatchEventTypes;
+  private final int recordEventTypes;
+  private final long recordDebounceMillis;
+  private int lastRecordedWindowId = -1; // Set initial state to an invalid ID
+  private long lastRecordedEventTime = Long.MIN_VALUE;
+
+  // With a recordDebounceMillis of 0, every recorded event type from the active window records its
+  // root, so the last event wins. A positive value skips events from the window recorded less than
+  // that long ago, which keeps the first root of a burst instead of the last.
+  public AccessibilityEventFilter(
+      int dispatchEventTypes, int recordEventTypes, long recordDebounceMillis) {
+    this.dispatchEventTypes = dispatchEventTypes;
+    this.recordEventTypes = recordEventTypes;
+    this.recordDebounceMillis = recordDebounceMillis;
+  }
+
+  // The event types the service needs the system to deliver at all
+  public int getServiceEventTypes() {
+    return dispatchEventTypes
+        | recordEventTypes
+        | ACTIVE_WINDOW_EVENT_TYPES
+        | QUIESCENCE_EVENT_TYPES;
+  }
+
+  public boolean shouldDispatch(int eventType) {
+    return (dispatchEventTypes & eventType) != 0;
+  }
+
+  // A window change is always recorded
+  public boolean shouldRecord(int eventType, int windowId, long eventTime) {
+    if ((recordEventTypes & eventType) == 0) {
+      return false;
+    }
+
+    if (recordDebounceMillis > 0
+        && windowId == lastRecordedWindowId
+        && eventTime < lastRecordedEventTime + recordDebounceMillis) {
+      return false;
+    }
+
+    lastRecordedWindowId = windowId;
+    lastRecordedEventTime = eventTime;
+    return true;
+  }
+}
@@ -0,0 +1,95 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+public class AccessibilityEventPipelineStats {
+  private static final String TAG = "AccessibilityEventPipelineStats";
+  private static final long LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  // Every event used to cost one getRootInActiveWindow() for the dispatcher plus one more for
+  // recording when it came from the active window
+  private static final int UNFILTERED_DISPATCH_ROOT_FETCHES = 1;
+
+  private final LongSupplier nanoTimeSupplier;
+  private final long startNanos;
+  private final AtomicLong eventsReceived = new AtomicLong();
+  private final AtomicLong eventsSkipped = new AtomicLong();
+  private final AtomicLong rootFetches = new AtomicLong();
+  private final AtomicLong rootFetchesSaved = new AtomicLong();
+  private long lastLogNanos;
+
+  public AccessibilityEventPipelineStats() {
+    this(System::nanoTime);
+  }
+
+  public AccessibilityEventPipelineStats(LongSupplier nanoTimeSupplier) {
+    this.nanoTimeSupplier = nanoTimeSupplier;
+    this.startNanos = nanoTimeSupplier.getAsLong();
+    this.lastLogNanos = startNanos;
+  }
+
+  public void onEventHandled(boolean dispatched, boolean fromActiveWindow, boolean rootFetched) {
+    eventsReceived.incrementAndGet();
+    if (!dispatched) {
+      eventsSkipped.incrementAndGet();
+    }
+
+    int unfilteredRootFetches = UNFILTERED_DISPATCH_ROOT_FETCHES + (fromActiveWindow ? 1 : 0);
+    int actualRootFetches = rootFetched ? 1 : 0;
+    rootFetches.addAndGet(actualRootFetches);
+    rootFetchesSaved.addAndGet(unfilteredRootFetches - actualRootFetches);
+
+    logPeriodically();
+  }
+
+  public long getEventsReceived() {
+    return eventsReceived.get();
+  }
+
+  public long getEventsSkipped() {
+    return eventsSkipped.get();
+  }
+
+  public long getRootFetches() {
+    return rootFetches.get();
+  }
+
+  public long getRootFetchesSaved() {
+    return rootFetchesSaved.get();
+  }
+
+  public double getRootFetchesSavedPerSecond() {
+    long elapsedNanos = nanoTimeSupplier.getAsLong() - startNanos;
+    if (elapsedNanos <= 0) {
+      return 0;
+    }
+    return rootFetchesSaved.get() * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+  }
+
+  private void logPeriodically() {
+    long now = nanoTimeSupplier.getAsLong();
+    if (now - lastLogNanos < LOG_INTERVAL_NANOS) {
+      return;
+    }
+
+    lastLogNanos = now;
+    Logger.logVerbose(
+        TAG,
+        () ->
+            "events="
+                + getEventsReceived()
+                + " skipped="
+                + getEventsSkipped()
+                + " rootFetches="
+                + getRootFetches()
+                + " rootFetchesSaved="
+                + getRootFetchesSaved()
+                + " savedPerSecond="
+                + getRootFetchesSavedPerSecond());
+  }
+}
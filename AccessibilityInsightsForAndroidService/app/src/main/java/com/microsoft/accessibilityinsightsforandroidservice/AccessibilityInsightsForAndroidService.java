@@ -23,20 +23,50 @@ import android.content.Intent;
 import android.content.res.Configuration;
 import android.os.Handler;
 import android.os.HandlerThread;
+import android.os.Process;
+import android.os.SystemClock;
 import android.util.DisplayMetrics;
+import android.view.Choreographer;
 import android.view.WindowManager;
 import android.view.accessibility.AccessibilityEvent;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class AccessibilityInsightsForAndroidService extends AccessibilityService {
   private static final String TAG = "AccessibilityInsightsForAndroidService";
+  private static final String EVENT_SPAN_CATEGORY = "event";
+  private static final String EVENT_SPAN = "onAccessibilityEvent";
   private static ServerThread ServerThread = null;
   private final AxeScanner axeScanner;
   private final EventHelper eventHelper;
+  private final EventQuiescenceTracker eventQuiescenceTracker =
+      new EventQuiescenceTracker(SystemClock::uptimeMillis, Thread::sleep);
   private final DeviceConfigFactory deviceConfigFactory;
   private final OnScreenshotAvailableProvider onScreenshotAvailableProvider =
       new OnScreenshotAvailableProvider();
   private final BitmapProvider bitmapProvider = new BitmapProvider();
+  private final LazyRootNodeSupplier rootNodeSupplier =
+      new LazyRootNodeSupplier(this::getRootInActiveWindow);
+  // System.nanoTime is CLOCK_MONOTONIC, so spans line up with the app's in Perfetto
+  private final SpanRecorder spanRecorder =
+      new SpanRecorder(
+          BuildConfig.SPAN_RECORDER_CAPACITY,
+          System::nanoTime,
+          Process.myPid(),
+          BuildConfig.MIRROR_SPANS_TO_SYSTEM_TRACE ? new SystemTraceSections() : null);
+  private final AccessibilityEventPipelineStats eventPipelineStats =
+      new AccessibilityEventPipelineStats();
+  private final FrameDrawStats focusVisualizationDrawStats =
+      new FrameDrawStats("FocusVisualizationCanvas", spanRecorder);
+  private final FocusSequenceRecorder focusSequenceRecorder =
+      new FocusSequenceRecorder(BuildConfig.FOCUS_SEQUENCE_CAPACITY, SystemClock::uptimeMillis);
+  private final ScanMetrics scanMetrics =
+      new ScanMetrics(spanRecorder, ScanMetrics.DEFAULT_WINDOW_SIZE);
+  private final ScanResultStore scanResultStore =
+      new ScanResultStore(BuildConfig.SCAN_RESULT_STORE_CAPACITY);
   private HandlerThread screenshotHandlerThread = null;
+  private HandlerThread prescanHandlerThread = null;
+  private ExecutorService focusBoundsRefreshExecutor = null;
   private ScreenshotController screenshotController = null;
   private int activeWindowId = -1; // Set initial state to an invalid ID
   private FocusVisualizationStateManager focusVisualizationStateManager;
@@ -45,8 +75,14 @@ public class AccessibilityInsightsForAndroidService extends AccessibilityService
   private FocusVisualizationCanvas focusVisualizationCanvas;
   private AccessibilityEventDispatcher accessibilityEventDispatcher;
   private DeviceOrientationHandler deviceOrientationHandler;
+  private AccessibilityEventFilter accessibilityEventFilter;
+  private RedrawCoalescer redrawCoalescer;
 
   public AccessibilityInsightsForAndroidService() {
+    if (BuildConfig.LOG_RING_BUFFER_BYTES > 0) {
+      Logger.setRingBuffer(
+          new LogRingBuffer(BuildConfig.LOG_RING_BUFFER_BYTES, System::currentTimeMillis));
+    }
     deviceConfigFactory = new DeviceConfigFactory();
     axeScanner =
         AxeScannerFactory.createAxeScanner(deviceConfigFactory, this::getRealDisplayMetrics);
@@ -65,7 +101,7 @@ public class AccessibilityInsightsForAndroidService extends AccessibilityService
       try {
         ServerThread.join();
       } catch (InterruptedException e) {
-        Logger.logError(TAG, StackTrace.getStackTrace(e));
+        Logger.logError(TAG, () -> StackTrace.getStackTrace(e));
       }
       ServerThread = null;
     }
@@ -80,22 +116,27 @@ public class AccessibilityInsightsForAndroidService extends AccessibilityService
     screenshotController = null;
   }
 
+  private void stopPrescanHandlerThread() {
+    eventQuiescenceTracker.setChangeListener(null);
+    if (prescanHandlerThread != null) {
+      prescanHandlerThread.quit();
+      prescanHandlerThread = null;
+    }
+  }
+
+  private void stopFocusBoundsRefreshExecutor() {
+    if (focusBoundsRefreshExecutor != null) {
+      focusBoundsRefreshExecutor.shutdownNow();
+      focusBoundsRefreshExecutor = null;
+    }
+  }
+
   @Override
   protected void onServiceConnected() {
     Logger.logVerbose(TAG, "*** onServiceConnected");
 
     this.startScreenshotActivity();
 
-    AccessibilityServiceInfo info = new AccessibilityServiceInfo();
-    info.eventTypes = AccessibilityEvent.TYPES_ALL_MASK;
-    info.feedbackType = AccessibilityEvent.TYPES_ALL_MASK;
-    info.notificationTimeout = 0;
-    info.flags =
-        AccessibilityServiceInfo.DEFAULT
-            | AccessibilityServiceInfo.FLAG_RETRIEVE_INTERACTIVE_WINDOWS;
-
-    setServiceInfo(info);
-
     stopScreenshotHandlerThread();
     screenshotHandlerThread = new HandlerThread("ScreenshotHandlerThread");
     screenshotHandlerThread.start();
@@ -107,28 +148,69 @@ public class AccessibilityInsightsForAndroidService extends AccessibilityService
             screenshotHandler,
             onScreenshotAvailableProvider,
             bitmapProvider,
-            MediaProjectionHolder::get);
+            MediaProjectionHolder::get,
+            spanRecorder,
+            BuildConfig.SCREENSHOT_TIMEOUT_MILLIS);
 
     StopServerThread();
 
+    stopPrescanHandlerThread();
+    prescanHandlerThread =
+        new HandlerThread("PrescanHandlerThread", Process.THREAD_PRIORITY_BACKGROUND);
+    prescanHandlerThread.start();
+
+    stopFocusBoundsRefreshExecutor();
+    focusBoundsRefreshExecutor = Executors.newSingleThreadExecutor();
+
     WindowManager windowManager = (WindowManager) getSystemService(WINDOW_SERVICE);
     focusVisualizationStateManager = new FocusVisualizationStateManager();
     LayoutParamGenerator layoutParamGenerator = new LayoutParamGenerator(this::getRealDisplayMetrics);
-    focusVisualizationCanvas = new FocusVisualizationCanvas(this);
-    focusVisualizer = new FocusVisualizer(new FocusVisualizerStyles(), focusVisualizationCanvas);
-    focusVisualizerController = new FocusVisualizerController(focusVisualizer, focusVisualizationStateManager, new UIThreadRunner(), windowManager, layoutParamGenerator, focusVisualizationCanvas);
+    focusVisualizationCanvas = new FocusVisualizationCanvas(this, new FocusVisualizationLayer(bitmapProvider), focusVisualizationDrawStats, focusSequenceRecorder);
+    FocusElementBoundsRefresher focusElementBoundsRefresher = new FocusElementBoundsRefresher(focusBoundsRefreshExecutor, new UIThreadRunner(), () -> focusVisualizer.onBoundsRefreshed());
+    focusVisualizer = new FocusVisualizer(new FocusVisualizerStyles(), focusVisualizationCanvas, focusElementBoundsRefresher, focusSequenceRecorder, BuildConfig.FOCUS_HISTORY_LIVE_NODE_LIMIT);
+    redrawCoalescer = new RedrawCoalescer(focusVisualizer::refreshHighlights, createRedrawFrameScheduler());
+    focusVisualizerController = new FocusVisualizerController(focusVisualizer, focusVisualizationStateManager, new UIThreadRunner(), windowManager, layoutParamGenerator, focusVisualizationCanvas, redrawCoalescer);
     accessibilityEventDispatcher = new AccessibilityEventDispatcher();
     deviceOrientationHandler = new DeviceOrientationHandler(getResources().getConfiguration().orientation);
 
     setupFocusVisualizationListeners();
+    accessibilityEventFilter =
+        new AccessibilityEventFilter(
+            accessibilityEventDispatcher.getSubscribedEventTypes(),
+            BuildConfig.RECORD_EVENT_TYPES,
+            BuildConfig.RECORD_DEBOUNCE_MILLIS);
+    setServiceInfo(accessibilityEventFilter.getServiceEventTypes());
 
     ResponseThreadFactory responseThreadFactory =
         new ResponseThreadFactory(
-            screenshotController, eventHelper, axeScanner, deviceConfigFactory, focusVisualizationStateManager);
+            screenshotController, eventHelper, axeScanner, deviceConfigFactory, focusVisualizationStateManager, focusSequenceRecorder, scanMetrics, scanResultStore,
+            new ServiceMetrics(scanMetrics, eventPipelineStats, redrawCoalescer, focusVisualizationDrawStats), spanRecorder,
+            eventQuiescenceTracker, new Handler(prescanHandlerThread.getLooper()));
     ServerThread = new ServerThread(new ServerSocketFactory(), responseThreadFactory);
     ServerThread.start();
   }
 
+  private FrameScheduler createRedrawFrameScheduler() {
+    long intervalMillis = BuildConfig.REDRAW_COALESCE_INTERVAL_MILLIS;
+    if (intervalMillis > 0) {
+      return new IntervalFrameScheduler(
+          new Handler(getMainLooper()), SystemClock::uptimeMillis, intervalMillis);
+    }
+    return new ChoreographerFrameScheduler(Choreographer::getInstance);
+  }
+
+  private void setServiceInfo(int eventTypes) {
+    AccessibilityServiceInfo info = new AccessibilityServiceInfo();
+    info.eventTypes = eventTypes;
+    info.feedbackType = AccessibilityEvent.TYPES_ALL_MASK;
+    info.notificationTimeout = 0;
+    info.flags =
+        AccessibilityServiceInfo.DEFAULT
+            | AccessibilityServiceInfo.FLAG_RETRIEVE_INTERACTIVE_WINDOWS;
+
+    setServiceInfo(info);
+  }
+
   private void setupFocusVisualizationListeners() {
     accessibilityEventDispatcher.addOnRedrawEventListener(focusVisualizerController::onRedrawEvent);
     accessibilityEventDispatcher.addOnFocusEventListener(focusVisualizerController::onFocusEvent);
@@ -141,29 +223,41 @@ public class AccessibilityInsightsForAndroidService extends AccessibilityService
     Logger.logVerbose(TAG, "*** onUnbind");
     StopServerThread();
     stopScreenshotHandlerThread();
+    stopPrescanHandlerThread();
+    stopFocusBoundsRefreshExecutor();
     MediaProjectionHolder.cleanUp();
     return false;
   }
 
   @Override
   public void onAccessibilityEvent(AccessibilityEvent event) {
-    accessibilityEventDispatcher.onAccessibilityEvent(event, getRootInActiveWindow());
+    long spanStart = spanRecorder.begin(EVENT_SPAN);
+    int eventType = event.getEventType();
+    boolean dispatched = accessibilityEventFilter.shouldDispatch(eventType);
+    if (dispatched) {
+      accessibilityEventDispatcher.onAccessibilityEvent(event, rootNodeSupplier);
+    }
 
     // This logic ensures that we only track events from the active window, as
     // described under "Retrieving window content" of the Android service docs at
     // https://www.android-doc.com/reference/android/accessibilityservice/AccessibilityService.html
     int windowId = event.getWindowId();
 
-    int eventType = event.getEventType();
-    if (eventType == AccessibilityEvent.TYPE_WINDOW_STATE_CHANGED
-        || eventType == AccessibilityEvent.TYPE_VIEW_HOVER_ENTER
-        || eventType == AccessibilityEvent.TYPE_VIEW_HOVER_EXIT) {
+    if ((AccessibilityEventFilter.ACTIVE_WINDOW_EVENT_TYPES & eventType) != 0) {
       activeWindowId = windowId;
+      eventQuiescenceTracker.setActiveWindowId(windowId);
     }
+    eventQuiescenceTracker.onEvent(eventType, windowId, event.getEventTime());
 
-    if (activeWindowId == windowId) {
-      eventHelper.recordEvent(getRootInActiveWindow());
+    boolean fromActiveWindow = activeWindowId == windowId;
+    if (fromActiveWindow
+        && accessibilityEventFilter.shouldRecord(eventType, windowId, event.getEventTime())) {
+      eventHelper.recordEvent(rootNodeSupplier.claim());
     }
+
+    eventPipelineStats.onEventHandled(dispatched, fromActiveWindow, rootNodeSupplier.wasFetched());
+    rootNodeSupplier.reset();
+    spanRecorder.end(EVENT_SPAN_CATEGORY, EVENT_SPAN, spanStart);
   }
 
   @Override
@@ -0,0 +1,46 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.graphics.Rect;
+
+// The subset of AccessibilityNodeInfo that we need to build AxeViews. Keeping the scan pipeline
+// on this interface lets it run against in-memory trees on a plain JVM.
+public interface AccessibilityNode {
+  int getChildCount();
+
+  AccessibilityNode getChild(int index);
+
+  AccessibilityNode getParent();
+
+  AccessibilityNode getLabeledBy();
+
+  AccessibilityNode getLabelFor();
+
+  CharSequence getClassName();
+
+  CharSequence getContentDescription();
+
+  CharSequence getPackageName();
+
+  CharSequence getText();
+
+  CharSequence getHintText();
+
+  String getViewIdResourceName();
+
+  boolean isFocusable();
+
+  boolean isClickable();
+
+  boolean isEnabled();
+
+  boolean isImportantForAccessibility();
+
+  void getBoundsInScreen(Rect outBounds);
+
+  boolean refresh();
+
+  void recycle();
+}
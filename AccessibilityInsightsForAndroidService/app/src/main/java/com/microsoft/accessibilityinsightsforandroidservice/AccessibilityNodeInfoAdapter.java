@@ -0,0 +1,131 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.graphics.Rect;
+import android.view.accessibility.AccessibilityNodeInfo;
+
+public class AccessibilityNodeInfoAdapter implements AccessibilityNode {
+  private final AccessibilityNodeInfo nodeInfo;
+
+  public AccessibilityNodeInfoAdapter(AccessibilityNodeInfo nodeInfo) {
+    this.nodeInfo = nodeInfo;
+  }
+
+  public static AccessibilityNodeInfoAdapter wrap(AccessibilityNodeInfo nodeInfo) {
+    return nodeInfo == null ? null : new AccessibilityNodeInfoAdapter(nodeInfo);
+  }
+
+  public AccessibilityNodeInfo getNodeInfo() {
+    return nodeInfo;
+  }
+
+  @Override
+  public int getChildCount() {
+    return nodeInfo.getChildCount();
+  }
+
+  @Override
+  public AccessibilityNodeInfoAdapter getChild(int index) {
+    return wrap(nodeInfo.getChild(index));
+  }
+
+  @Override
+  public AccessibilityNodeInfoAdapter getParent() {
+    return wrap(nodeInfo.getParent());
+  }
+
+  @Override
+  public AccessibilityNodeInfoAdapter getLabeledBy() {
+    return wrap(nodeInfo.getLabeledBy());
+  }
+
+  @Override
+  public AccessibilityNodeInfoAdapter getLabelFor() {
+    return wrap(nodeInfo.getLabelFor());
+  }
+
+  @Override
+  public CharSequence getClassName() {
+    return nodeInfo.getClassName();
+  }
+
+  @Override
+  public CharSequence getContentDescription() {
+    return nodeInfo.getContentDescription();
+  }
+
+  @Override
+  public CharSequence getPackageName() {
+    return nodeInfo.getPackageName();
+  }
+
+  @Override
+  public CharSequence getText() {
+    return nodeInfo.getText();
+  }
+
+  @Override
+  public CharSequence getHintText() {
+    if (android.os.Build.VERSION.SDK_INT >= 26) {
+      return nodeInfo.getHintText();
+    }
+    return null;
+  }
+
+  @Override
+  public String getViewIdResourceName() {
+    return nodeInfo.getViewIdResourceName();
+  }
+
+  @Override
+  public boolean isFocusable() {
+    return nodeInfo.isFocusable();
+  }
+
+  @Override
+  public boolean isClickable() {
+    return nodeInfo.isClickable();
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return nodeInfo.isEnabled();
+  }
+
+  @Override
+  public boolean isImportantForAccessibility() {
+    return nodeInfo.isImportantForAccessibility();
+  }
+
+  @Override
+  public void getBoundsInScreen(Rect outBounds) {
+    nodeInfo.getBoundsInScreen(outBounds);
+  }
+
+  @Override
+  public boolean refresh() {
+    return nodeInfo.refresh();
+  }
+
+  @Override
+  public void recycle() {
+    nodeInfo.recycle();
+  }
+
+  // AccessibilityNodeInfo equality identifies the same on-screen node across separate lookups
+  // (e.g. a child and another node's labeledBy), so the wrappers must compare the same way.
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    AccessibilityNodeInfoAdapter that = (AccessibilityNodeInfoAdapter) o;
+    return nodeInfo.equals(that.nodeInfo);
+  }
+
+  @Override
+  public int hashCode() {
+    return nodeInfo.hashCode();
+  }
+}
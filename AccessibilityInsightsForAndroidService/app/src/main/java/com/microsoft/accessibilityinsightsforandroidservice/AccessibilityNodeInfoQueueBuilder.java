@@ -3,7 +3,6 @@
 
 package com.microsoft.accessibilityinsightsforandroidservice;
 
-import android.view.accessibility.AccessibilityNodeInfo;
 import java.util.PriorityQueue;
 import java.util.Queue;
 
@@ -15,14 +14,14 @@ public class AccessibilityNodeInfoQueueBuilder {
     this.nodeSorterFactory = nodeSorterFactory;
   }
 
-  public Queue<AccessibilityNodeInfoSorter> buildPriorityQueue(AccessibilityNodeInfo rootNode) {
+  public Queue<AccessibilityNodeInfoSorter> buildPriorityQueue(AccessibilityNode rootNode) {
     PriorityQueue<AccessibilityNodeInfoSorter> queue = new PriorityQueue<>();
     recursivelyEnqueueNodes(queue, rootNode, Long.MAX_VALUE);
     return queue;
   }
 
   private void recursivelyEnqueueNodes(
-      PriorityQueue<AccessibilityNodeInfoSorter> queue, AccessibilityNodeInfo node, Long order) {
+      PriorityQueue<AccessibilityNodeInfoSorter> queue, AccessibilityNode node, Long order) {
     // The AxeView object requires that we create the AxeView
     // objects for both child nodes and for any labeledBy nodes. Child nodes use
     // easily predictable rules, but labeledBy nodes are less structured. We use
@@ -17,15 +17,14 @@
 
 package com.microsoft.accessibilityinsightsforandroidservice;
 
-import android.view.accessibility.AccessibilityNodeInfo;
 import androidx.annotation.NonNull;
 import java.util.Objects;
 
 public class AccessibilityNodeInfoSorter implements Comparable<AccessibilityNodeInfoSorter> {
   public final Long order;
-  public final AccessibilityNodeInfo node;
+  public final AccessibilityNode node;
 
-  public AccessibilityNodeInfoSorter(AccessibilityNodeInfo node, Long order) {
+  public AccessibilityNodeInfoSorter(AccessibilityNode node, Long order) {
     this.order = order;
     this.node = node;
   }
@@ -3,11 +3,9 @@
 
 package com.microsoft.accessibilityinsightsforandroidservice;
 
-import android.view.accessibility.AccessibilityNodeInfo;
-
 public class AccessibilityNodeInfoSorterFactory {
 
-  public AccessibilityNodeInfoSorter createNodeSorter(AccessibilityNodeInfo node, Long order) {
+  public AccessibilityNodeInfoSorter createNodeSorter(AccessibilityNode node, Long order) {
     return new AccessibilityNodeInfoSorter(node, order);
   }
 }
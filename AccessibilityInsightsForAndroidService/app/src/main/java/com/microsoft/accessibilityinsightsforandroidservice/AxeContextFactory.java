@@ -25,11 +25,15 @@ public class AxeContextFactory {
     this.axeDeviceFactory = axeDeviceFactory;
   }
 
-  public AxeContext createAxeContext(AccessibilityNodeInfo rootNode, Bitmap screenshot)
+  public AxeContext createAxeContext(
+      AccessibilityNodeInfo rootNode, Bitmap screenshot, ScanTimings timings)
       throws ViewChangedException {
+    long viewsStart = timings.now();
     AxeView axeView = axeViewsFactory.createAxeViews(rootNode);
+    long deviceStart = timings.recordSince(ScanTimings.AXE_VIEWS, viewsStart);
     AxeDevice axeDevice = axeDeviceFactory.createAxeDevice(rootNode);
-    AxeImage axeImage = axeImageFactory.createAxeImage(screenshot);
+    timings.recordSince(ScanTimings.AXE_DEVICE, deviceStart);
+    AxeImage axeImage = axeImageFactory.createAxeImage(screenshot, timings);
     AxeEventStream axeEventStream = new AxeEventStream();
     return new AxeContext(axeView, axeDevice, axeImage, axeEventStream);
   }
@@ -13,11 +13,11 @@ public class AxeImageFactory {
     this.byteArrayOutputStreamProvider = byteArrayOutputStreamProvider;
   }
 
-  public AxeImage createAxeImage(Bitmap screenshot) {
+  public AxeImage createAxeImage(Bitmap screenshot, ScanTimings timings) {
     if (screenshot == null) {
       return null;
     }
 
-    return new ScreenshotAxeImage(screenshot, byteArrayOutputStreamProvider);
+    return new ScreenshotAxeImage(screenshot, byteArrayOutputStreamProvider, timings);
   }
 }
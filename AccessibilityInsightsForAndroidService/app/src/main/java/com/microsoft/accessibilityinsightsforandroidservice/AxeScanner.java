@@ -18,10 +18,17 @@ public class AxeScanner {
     this.axeContextFactory = axeContextFactory;
   }
 
-  public AxeResult scanWithAxe(AccessibilityNodeInfo rootNode, Bitmap screenshot)
-      throws ViewChangedException {
+  // The run itself can't be stopped part way, so the deadline is checked once the context is built
+  // and before the rules start
+  public AxeResult scanWithAxe(
+      AccessibilityNodeInfo rootNode, Bitmap screenshot, ScanTimings timings, Deadline deadline)
+      throws ViewChangedException, DeadlineExceededException {
     final Axe axe = axeRunnerFactory.createAxeRunner();
-    final AxeContext axeContext = axeContextFactory.createAxeContext(rootNode, screenshot);
-    return axe.run(axeContext);
+    final AxeContext axeContext = axeContextFactory.createAxeContext(rootNode, screenshot, timings);
+    deadline.check(ScanTimings.AXE_RUN);
+    long runStart = timings.now();
+    AxeResult result = axe.run(axeContext);
+    timings.recordSince(ScanTimings.AXE_RUN, runStart);
+    return result;
   }
 }
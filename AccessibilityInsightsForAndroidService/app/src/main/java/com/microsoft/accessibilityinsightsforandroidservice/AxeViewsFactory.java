@@ -19,7 +19,7 @@ public class AxeViewsFactory {
 
   NodeViewBuilderFactory nodeViewBuilderFactory;
   AccessibilityNodeInfoQueueBuilder queueBuilder;
-  Map<AccessibilityNodeInfo, AxeView> axeMap;
+  Map<AccessibilityNode, AxeView> axeMap;
 
   public AxeViewsFactory(
       NodeViewBuilderFactory nodeViewBuilderFactory,
@@ -29,10 +29,14 @@ public class AxeViewsFactory {
   }
 
   public AxeView createAxeViews(AccessibilityNodeInfo rootNode) throws ViewChangedException {
+    return createAxeViews(AccessibilityNodeInfoAdapter.wrap(rootNode));
+  }
+
+  public AxeView createAxeViews(AccessibilityNode rootNode) throws ViewChangedException {
     return buildAxeViewsWithRetries(rootNode, maxRetries);
   }
 
-  private AxeView buildAxeViewsWithRetries(AccessibilityNodeInfo rootNode, int retries)
+  private AxeView buildAxeViewsWithRetries(AccessibilityNode rootNode, int retries)
       throws ViewChangedException {
     Queue<AccessibilityNodeInfoSorter> queue = queueBuilder.buildPriorityQueue(rootNode);
     axeMap = new Hashtable<>();
@@ -52,12 +56,12 @@ public class AxeViewsFactory {
   }
 
   private AxeView buildAxeViews(
-      Queue<AccessibilityNodeInfoSorter> queue, AccessibilityNodeInfo rootNode)
+      Queue<AccessibilityNodeInfoSorter> queue, AccessibilityNode rootNode)
       throws ViewChangedException {
     AccessibilityNodeInfoSorter queueObject;
 
     while ((queueObject = queue.poll()) != null) {
-      AccessibilityNodeInfo node = queueObject.node;
+      AccessibilityNode node = queueObject.node;
       List<AxeView> children = getChildViews(node);
       AxeView labeledByView = getLabeledByView(node);
       AxeView nodeView =
@@ -68,9 +72,9 @@ public class AxeViewsFactory {
     return axeMap.get(rootNode);
   }
 
-  private AxeView getLabeledByView(AccessibilityNodeInfo node) {
+  private AxeView getLabeledByView(AccessibilityNode node) {
     AxeView labeledByView = null;
-    AccessibilityNodeInfo labeledByNode = node.getLabeledBy();
+    AccessibilityNode labeledByNode = node.getLabeledBy();
     if (labeledByNode != null) {
       labeledByView = axeMap.get(labeledByNode);
     }
@@ -78,12 +82,12 @@ public class AxeViewsFactory {
     return labeledByView;
   }
 
-  private List<AxeView> getChildViews(AccessibilityNodeInfo node) throws ViewChangedException {
+  private List<AxeView> getChildViews(AccessibilityNode node) throws ViewChangedException {
     int childCount = node.getChildCount();
     List<AxeView> children = new ArrayList<>(childCount);
 
     for (int loop = 0; loop < childCount; loop++) {
-      AccessibilityNodeInfo child = node.getChild(loop);
+      AccessibilityNode child = node.getChild(loop);
       if (child == null) {
         throw new ViewChangedException();
       }
@@ -94,13 +98,13 @@ public class AxeViewsFactory {
   }
 
   private void recycleAllNodes(
-      AccessibilityNodeInfo rootNode, Queue<AccessibilityNodeInfoSorter> queue) {
-    Set<AccessibilityNodeInfo> allNodes = new HashSet<>(axeMap.keySet());
+      AccessibilityNode rootNode, Queue<AccessibilityNodeInfoSorter> queue) {
+    Set<AccessibilityNode> allNodes = new HashSet<>(axeMap.keySet());
     for (AccessibilityNodeInfoSorter nodeSorter : queue) {
       allNodes.add(nodeSorter.node);
     }
 
-    for (AccessibilityNodeInfo node : allNodes) {
+    for (AccessibilityNode node : allNodes) {
       if (node != rootNode && node.getClassName() != null) {
         node.recycle();
       }
@@ -0,0 +1,159 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.os.Handler;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Scans in the background once the UI has been quiet for quietMillis after a change, and keeps
+// the /result response so a request can be answered without scanning. The response is current
+// until the tracker sees another change. Prescans and request scans both claim the last event
+// source, and a scan that finds it already claimed fails, so the two are kept apart here: a
+// request waits out a prescan in flight, and a prescan that comes due while request scans hold
+// their claim is deferred until the last one is released.
+public class BackgroundPrescanner {
+  private static final String TAG = "BackgroundPrescanner";
+
+  private final EventQuiescenceTracker eventQuiescenceTracker;
+  private final Handler prescanHandler;
+  private final long quietMillis;
+  private final Function<ResponseWriter, RequestFulfiller> scanFulfillerFactory;
+  private final DeadlineFactory deadlineFactory;
+  private final Runnable checkQuiescence = this::checkQuiescence;
+
+  private boolean checkPending;
+  private boolean prescanDeferred;
+  private boolean prescanInProgress;
+  private int requestScansInProgress;
+  private PrescannedResponse cachedResponse;
+  private long cachedChangeTime;
+
+  public BackgroundPrescanner(
+      EventQuiescenceTracker eventQuiescenceTracker,
+      Handler prescanHandler,
+      long quietMillis,
+      Function<ResponseWriter, RequestFulfiller> scanFulfillerFactory,
+      DeadlineFactory deadlineFactory) {
+    this.eventQuiescenceTracker = eventQuiescenceTracker;
+    this.prescanHandler = prescanHandler;
+    this.quietMillis = quietMillis;
+    this.scanFulfillerFactory = scanFulfillerFactory;
+    this.deadlineFactory = deadlineFactory;
+  }
+
+  public boolean isEnabled() {
+    return quietMillis > 0;
+  }
+
+  // At most one check is pending however many changes arrive; the check itself waits out the
+  // rest of the quiet period
+  public synchronized void onUiChanged() {
+    if (!isEnabled() || checkPending) {
+      return;
+    }
+
+    checkPending = true;
+    prescanHandler.postDelayed(checkQuiescence, quietMillis);
+  }
+
+  // Waits for a prescan in flight, since it's likely to finish sooner than a fresh scan, then
+  // holds off new prescans until releaseScan. Returns the cached response if it's still current.
+  public synchronized PrescannedResponse claimCurrentResponse(long timeoutMillis)
+      throws InterruptedException {
+    long waitUntilNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    while (prescanInProgress) {
+      long remainingMillis = TimeUnit.NANOSECONDS.toMillis(waitUntilNanos - System.nanoTime());
+      if (remainingMillis <= 0) {
+        break;
+      }
+      wait(remainingMillis);
+    }
+
+    requestScansInProgress++;
+    return isCacheCurrent() ? cachedResponse : null;
+  }
+
+  public synchronized void releaseScan() {
+    requestScansInProgress--;
+    resumeDeferredPrescan();
+  }
+
+  private synchronized boolean isCacheCurrent() {
+    return cachedResponse != null && cachedChangeTime == eventQuiescenceTracker.getLastChangeTime();
+  }
+
+  private void checkQuiescence() {
+    long changeTime;
+    synchronized (this) {
+      checkPending = false;
+      long quietFor = eventQuiescenceTracker.getQuietMillis();
+      if (quietFor < quietMillis) {
+        checkPending = true;
+        prescanHandler.postDelayed(checkQuiescence, quietMillis - quietFor);
+        return;
+      }
+      if (isCacheCurrent()) {
+        return;
+      }
+      if (prescanInProgress || requestScansInProgress > 0) {
+        prescanDeferred = true;
+        return;
+      }
+
+      prescanInProgress = true;
+      changeTime = eventQuiescenceTracker.getLastChangeTime();
+    }
+
+    CapturingResponseWriter responseWriter = new CapturingResponseWriter();
+    try {
+      RequestFulfiller scanFulfiller = scanFulfillerFactory.apply(responseWriter);
+      scanFulfiller.fulfillRequest(
+          deadlineFactory.createDeadline(),
+          () -> onPrescanFinished(changeTime, responseWriter.response));
+    } catch (RuntimeException e) {
+      Logger.logError(TAG, () -> StackTrace.getStackTrace(e));
+      onPrescanFinished(changeTime, null);
+    }
+  }
+
+  private synchronized void onPrescanFinished(long changeTime, PrescannedResponse response) {
+    prescanInProgress = false;
+    // A response for a UI that changed mid-scan, or an error, isn't worth keeping
+    if (response != null && changeTime == eventQuiescenceTracker.getLastChangeTime()) {
+      cachedResponse = response;
+      cachedChangeTime = changeTime;
+    } else {
+      Logger.logVerbose(TAG, "Discarded a prescan of a UI that changed, or that failed");
+    }
+
+    notifyAll();
+    resumeDeferredPrescan();
+  }
+
+  private void resumeDeferredPrescan() {
+    if (prescanDeferred && !prescanInProgress && requestScansInProgress == 0) {
+      prescanDeferred = false;
+      onUiChanged();
+    }
+  }
+
+  // Keeps a successful response and drops any other, which the scan writes only on failure
+  private static class CapturingResponseWriter extends ResponseWriter {
+    private volatile PrescannedResponse response;
+
+    CapturingResponseWriter() {
+      super(new PrintWriter(new StringWriter()));
+    }
+
+    @Override
+    public void writeSuccessfulResponse(
+        String content, String contentType, Map<String, String> headers) {
+      response = new PrescannedResponse(content, contentType, headers);
+    }
+  }
+}
@@ -10,4 +10,8 @@ public class BitmapProvider {
   public Bitmap createBitmap(int width, int height, Bitmap.Config config) {
     return Bitmap.createBitmap(width, height, config);
   }
+
+  public Bitmap createScaledBitmap(Bitmap source, int width, int height) {
+    return Bitmap.createScaledBitmap(source, width, height, true);
+  }
 }
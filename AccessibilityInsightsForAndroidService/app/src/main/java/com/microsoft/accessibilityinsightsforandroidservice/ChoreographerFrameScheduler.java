@@ -0,0 +1,33 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.view.Choreographer;
+import java.util.function.Supplier;
+
+// Runs the scheduled work at the start of the next display frame. Must be used from a thread with a
+// looper (the main thread, for the focus overlay).
+public class ChoreographerFrameScheduler implements FrameScheduler, Choreographer.FrameCallback {
+  private final Supplier<Choreographer> choreographerSupplier;
+  private Runnable onFrame;
+
+  public ChoreographerFrameScheduler(Supplier<Choreographer> choreographerSupplier) {
+    this.choreographerSupplier = choreographerSupplier;
+  }
+
+  @Override
+  public void scheduleNextFrame(Runnable onFrame) {
+    this.onFrame = onFrame;
+    choreographerSupplier.get().postFrameCallback(this);
+  }
+
+  @Override
+  public void doFrame(long frameTimeNanos) {
+    Runnable scheduledWork = onFrame;
+    onFrame = null;
+    if (scheduledWork != null) {
+      scheduledWork.run();
+    }
+  }
+}
@@ -0,0 +1,20 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import com.deque.axe.android.utils.JsonSerializable;
+import java.util.List;
+import java.util.Map;
+
+// Trace in the JSON object format read by Perfetto and chrome://tracing
+public class ChromeTrace implements JsonSerializable {
+  public final List<ChromeTraceEvent> traceEvents;
+  public final String displayTimeUnit = "ms";
+  public final Map<String, String> otherData;
+
+  public ChromeTrace(List<ChromeTraceEvent> traceEvents, Map<String, String> otherData) {
+    this.traceEvents = traceEvents;
+    this.otherData = otherData;
+  }
+}
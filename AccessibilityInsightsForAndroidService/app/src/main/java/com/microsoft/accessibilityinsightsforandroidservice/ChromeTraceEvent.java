@@ -0,0 +1,59 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.Collections;
+import java.util.Map;
+
+// One entry of the Chrome trace event format; unset fields are left out of the JSON
+public class ChromeTraceEvent {
+  public static final String PHASE_COMPLETE = "X";
+  public static final String PHASE_METADATA = "M";
+
+  public final String name;
+  public final String cat;
+  public final String ph;
+  public final Double ts;
+  public final Double dur;
+  public final int pid;
+  public final long tid;
+  public final Map<String, String> args;
+
+  private ChromeTraceEvent(
+      String name,
+      String cat,
+      String ph,
+      Double ts,
+      Double dur,
+      int pid,
+      long tid,
+      Map<String, String> args) {
+    this.name = name;
+    this.cat = cat;
+    this.ph = ph;
+    this.ts = ts;
+    this.dur = dur;
+    this.pid = pid;
+    this.tid = tid;
+    this.args = args;
+  }
+
+  public static ChromeTraceEvent complete(
+      String category, String name, double startMicros, double durationMicros, int pid, long tid) {
+    return new ChromeTraceEvent(
+        name, category, PHASE_COMPLETE, startMicros, durationMicros, pid, tid, null);
+  }
+
+  public static ChromeTraceEvent threadName(int pid, long tid, String threadName) {
+    return new ChromeTraceEvent(
+        "thread_name",
+        null,
+        PHASE_METADATA,
+        null,
+        null,
+        pid,
+        tid,
+        Collections.singletonMap("name", threadName));
+  }
+}
@@ -22,7 +22,7 @@ public class ConfigRequestFulfiller implements RequestFulfiller {
     this.eventHelper = eventHelper;
   }
 
-  public void fulfillRequest(RunnableFunction onRequestFulfilled) {
+  public void fulfillRequest(Deadline deadline, RunnableFunction onRequestFulfilled) {
     writeConfigResponse();
     onRequestFulfilled.run();
   }
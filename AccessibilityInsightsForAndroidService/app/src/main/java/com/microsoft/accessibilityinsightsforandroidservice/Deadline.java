@@ -0,0 +1,44 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// The time budget of one request, measured from when its handler was created
+public class Deadline {
+  private final LongSupplier nanoTime;
+  private final long startNanos;
+  private final long timeoutMillis;
+
+  public Deadline(LongSupplier nanoTime, long timeoutMillis) {
+    this.nanoTime = nanoTime;
+    this.startNanos = nanoTime.getAsLong();
+    this.timeoutMillis = timeoutMillis;
+  }
+
+  public long getTimeoutMillis() {
+    return timeoutMillis;
+  }
+
+  public long getElapsedMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(nanoTime.getAsLong() - startNanos);
+  }
+
+  public long getRemainingMillis() {
+    return Math.max(0, timeoutMillis - getElapsedMillis());
+  }
+
+  public boolean isExpired() {
+    return getElapsedMillis() >= timeoutMillis;
+  }
+
+  // Called between stages, so a request that ran out of time stops before its next stage
+  public void check(String stage) throws DeadlineExceededException {
+    long elapsedMillis = getElapsedMillis();
+    if (elapsedMillis >= timeoutMillis) {
+      throw new DeadlineExceededException(stage, timeoutMillis, elapsedMillis);
+    }
+  }
+}
@@ -0,0 +1,35 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+public class DeadlineExceededException extends Exception {
+  private final String stage;
+  private final long timeoutMillis;
+  private final long elapsedMillis;
+
+  public DeadlineExceededException(String stage, long timeoutMillis, long elapsedMillis) {
+    super(
+        "Deadline of "
+            + timeoutMillis
+            + " ms exceeded after "
+            + elapsedMillis
+            + " ms, at stage "
+            + stage);
+    this.stage = stage;
+    this.timeoutMillis = timeoutMillis;
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  public String getStage() {
+    return stage;
+  }
+
+  public long getTimeoutMillis() {
+    return timeoutMillis;
+  }
+
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+}
@@ -0,0 +1,22 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import com.deque.axe.android.utils.JsonSerializable;
+
+// The body of a 504 response, so clients can tell which stage ran out of time
+public class DeadlineExceededResponse implements JsonSerializable {
+  public static final String ERROR = "DeadlineExceeded";
+
+  public final String error = ERROR;
+  public final String stage;
+  public final long timeoutMillis;
+  public final long elapsedMillis;
+
+  public DeadlineExceededResponse(DeadlineExceededException e) {
+    this.stage = e.getStage();
+    this.timeoutMillis = e.getTimeoutMillis();
+    this.elapsedMillis = e.getElapsedMillis();
+  }
+}
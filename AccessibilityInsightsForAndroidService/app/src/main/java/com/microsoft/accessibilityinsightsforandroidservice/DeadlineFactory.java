@@ -0,0 +1,31 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.function.LongSupplier;
+
+public class DeadlineFactory {
+  public static final String TIMEOUT_PARAMETER = "timeoutMs";
+
+  private final LongSupplier nanoTime;
+  private final long defaultTimeoutMillis;
+
+  public DeadlineFactory(LongSupplier nanoTime, long defaultTimeoutMillis) {
+    this.nanoTime = nanoTime;
+    this.defaultTimeoutMillis = defaultTimeoutMillis;
+  }
+
+  public Deadline createDeadline() {
+    return new Deadline(nanoTime, defaultTimeoutMillis);
+  }
+
+  // Clients can override the default with ?timeoutMs=<n>; values that aren't positive are ignored
+  public Deadline createDeadline(RequestLine requestLine) {
+    int timeoutMillis = requestLine.getIntParameter(TIMEOUT_PARAMETER, 0);
+    if (timeoutMillis <= 0) {
+      return createDeadline();
+    }
+    return new Deadline(nanoTime, timeoutMillis);
+  }
+}
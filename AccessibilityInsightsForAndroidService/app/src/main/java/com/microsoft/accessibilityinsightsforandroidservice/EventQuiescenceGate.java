@@ -0,0 +1,41 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Holds a scan back until the UI has stopped raising change events for quietMillis
+public class EventQuiescenceGate {
+  public static final int DEFAULT_QUIET_MILLIS = 0;
+  public static final int DEFAULT_MAX_WAIT_MILLIS = 2000;
+
+  private final EventQuiescenceTracker eventQuiescenceTracker;
+  private final long quietMillis;
+  private final long maxWaitMillis;
+
+  public EventQuiescenceGate(
+      EventQuiescenceTracker eventQuiescenceTracker, long quietMillis, long maxWaitMillis) {
+    this.eventQuiescenceTracker = eventQuiescenceTracker;
+    this.quietMillis = quietMillis;
+    this.maxWaitMillis = maxWaitMillis;
+  }
+
+  public boolean isWaiting() {
+    return quietMillis > 0;
+  }
+
+  public boolean awaitQuiet(long timeoutMillis) throws InterruptedException {
+    return eventQuiescenceTracker.awaitQuiescence(
+        quietMillis, Math.min(maxWaitMillis, timeoutMillis));
+  }
+
+  public static String toHeaderValue(boolean quiet, long waitNanos) {
+    return String.format(
+        Locale.ROOT,
+        "quiet=%b, dur=%.3f",
+        quiet,
+        waitNanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+  }
+}
@@ -0,0 +1,145 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.view.accessibility.AccessibilityEvent;
+import java.util.function.LongSupplier;
+
+// When the UI last changed, from the events flowing through onAccessibilityEvent. Content changes
+// count only for the active window, which is the one a scan walks; window changes count from any
+// window, since they can change which window is active. Times are SystemClock.uptimeMillis()
+// values, like AccessibilityEvent.getEventTime().
+public class EventQuiescenceTracker {
+  public static final int CONTENT_CHANGE_EVENT_TYPES =
+      AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED
+          | AccessibilityEvent.TYPE_VIEW_SCROLLED
+          | AccessibilityEvent.TYPE_VIEW_TEXT_CHANGED;
+  public static final int WINDOW_CHANGE_EVENT_TYPES =
+      AccessibilityEvent.TYPE_WINDOW_STATE_CHANGED | AccessibilityEvent.TYPE_WINDOWS_CHANGED;
+  public static final long NEVER = Long.MIN_VALUE;
+
+  private static final int MAX_TRACKED_WINDOWS = 16;
+
+  private final LongSupplier uptimeMillisSupplier;
+  private final Sleeper sleeper;
+  // Events and active window changes both arrive on the accessibility thread, which is the only
+  // writer. The per-window times are touched only there; scans read the two volatile times.
+  private final int[] trackedWindowIds = new int[MAX_TRACKED_WINDOWS];
+  private final long[] trackedContentChanges = new long[MAX_TRACKED_WINDOWS];
+  private int trackedWindowCount;
+  private int activeWindowId = -1;
+  private volatile long lastWindowChange = NEVER;
+  private volatile long lastActiveWindowContentChange = NEVER;
+  private volatile Runnable changeListener;
+
+  public EventQuiescenceTracker(LongSupplier uptimeMillisSupplier, Sleeper sleeper) {
+    this.uptimeMillisSupplier = uptimeMillisSupplier;
+    this.sleeper = sleeper;
+  }
+
+  // Called on the accessibility thread only
+  public void onEvent(int eventType, int windowId, long eventTime) {
+    if (!recordChange(eventType, windowId, eventTime)) {
+      return;
+    }
+
+    Runnable listener = changeListener;
+    if (listener != null) {
+      listener.run();
+    }
+  }
+
+  // Called on the accessibility thread after every tracked change, so it must return quickly
+  public void setChangeListener(Runnable changeListener) {
+    this.changeListener = changeListener;
+  }
+
+  // Called on the accessibility thread only
+  public void setActiveWindowId(int windowId) {
+    activeWindowId = windowId;
+    int slot = findTrackedWindow(windowId);
+    lastActiveWindowContentChange = slot < 0 ? NEVER : trackedContentChanges[slot];
+  }
+
+  private boolean recordChange(int eventType, int windowId, long eventTime) {
+    if ((WINDOW_CHANGE_EVENT_TYPES & eventType) != 0) {
+      if (eventTime > lastWindowChange) {
+        lastWindowChange = eventTime;
+      }
+      return true;
+    }
+    if ((CONTENT_CHANGE_EVENT_TYPES & eventType) != 0) {
+      long lastContentChange = recordContentChange(windowId, eventTime);
+      if (windowId == activeWindowId) {
+        lastActiveWindowContentChange = lastContentChange;
+      }
+      return true;
+    }
+    return false;
+  }
+
+  private long recordContentChange(int windowId, long eventTime) {
+    int slot = findTrackedWindow(windowId);
+    if (slot < 0) {
+      slot = claimTrackedWindowSlot();
+      trackedWindowIds[slot] = windowId;
+      trackedContentChanges[slot] = NEVER;
+    }
+    trackedContentChanges[slot] = Math.max(trackedContentChanges[slot], eventTime);
+    return trackedContentChanges[slot];
+  }
+
+  private int findTrackedWindow(int windowId) {
+    for (int slot = 0; slot < trackedWindowCount; slot++) {
+      if (trackedWindowIds[slot] == windowId) {
+        return slot;
+      }
+    }
+    return -1;
+  }
+
+  // Once every slot is taken, the window that changed longest ago is forgotten; the active window
+  // never is
+  private int claimTrackedWindowSlot() {
+    if (trackedWindowCount < MAX_TRACKED_WINDOWS) {
+      return trackedWindowCount++;
+    }
+
+    int oldestSlot = -1;
+    for (int slot = 0; slot < MAX_TRACKED_WINDOWS; slot++) {
+      if (trackedWindowIds[slot] != activeWindowId
+          && (oldestSlot < 0 || trackedContentChanges[slot] < trackedContentChanges[oldestSlot])) {
+        oldestSlot = slot;
+      }
+    }
+    return oldestSlot;
+  }
+
+  public long getLastChangeTime() {
+    return Math.max(lastWindowChange, lastActiveWindowContentChange);
+  }
+
+  public long getQuietMillis() {
+    long lastChange = getLastChangeTime();
+    return lastChange == NEVER ? Long.MAX_VALUE : uptimeMillisSupplier.getAsLong() - lastChange;
+  }
+
+  // Sleeps until nothing has changed for quietMillis, or until timeoutMillis have passed. Returns
+  // whether the UI went quiet.
+  public boolean awaitQuiescence(long quietMillis, long timeoutMillis) throws InterruptedException {
+    long start = uptimeMillisSupplier.getAsLong();
+    while (true) {
+      long quietFor = getQuietMillis();
+      if (quietFor >= quietMillis) {
+        return true;
+      }
+
+      long remainingMillis = timeoutMillis - (uptimeMillisSupplier.getAsLong() - start);
+      if (remainingMillis <= 0) {
+        return false;
+      }
+      sleeper.sleep(Math.min(quietMillis - quietFor, remainingMillis));
+    }
+  }
+}
@@ -0,0 +1,30 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.graphics.Rect;
+
+// Immutable copy of a node's bounds in screen coordinates, safe to hand from the thread that
+// refreshes the node to the UI thread that draws it
+public class FocusElementBounds {
+  public final int left;
+  public final int top;
+  public final int right;
+  public final int bottom;
+  public final int centerX;
+  public final int centerY;
+
+  public FocusElementBounds(Rect rect) {
+    this(rect.left, rect.top, rect.right, rect.bottom);
+  }
+
+  public FocusElementBounds(int left, int top, int right, int bottom) {
+    this.left = left;
+    this.top = top;
+    this.right = right;
+    this.bottom = bottom;
+    this.centerX = (left + right) >> 1;
+    this.centerY = (top + bottom) >> 1;
+  }
+}
@@ -0,0 +1,86 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Refreshing a node is a binder call into the app, so the bounds of the drawn focus elements are
+// refreshed on a background executor and the overlay is redrawn once they're in. Requests that
+// arrive while a refresh is running collapse into one more refresh of the latest draw list.
+public class FocusElementBoundsRefresher {
+  private final Executor executor;
+  private final UIThreadRunner uiThreadRunner;
+  private final Runnable onBoundsRefreshed;
+  private final AtomicReference<Runnable> pendingRefresh = new AtomicReference<>();
+  private final AtomicBoolean pendingReprojection = new AtomicBoolean();
+
+  public FocusElementBoundsRefresher(
+      Executor executor, UIThreadRunner uiThreadRunner, Runnable onBoundsRefreshed) {
+    this.executor = executor;
+    this.uiThreadRunner = uiThreadRunner;
+    this.onBoundsRefreshed = onBoundsRefreshed;
+  }
+
+  public void refresh(List<FocusElementHighlight> highlights, List<FocusElementLine> lines) {
+    Runnable refresh = () -> refreshBounds(highlights, lines);
+    if (pendingRefresh.getAndSet(refresh) == null) {
+      executor.execute(this::runPendingRefresh);
+    }
+  }
+
+  // Refreshes after the screen geometry changed. Compacted elements have no node to re-query, so
+  // their bounds are dropped instead of being drawn where the elements no longer are.
+  public void reproject(List<FocusElementHighlight> highlights, List<FocusElementLine> lines) {
+    pendingReprojection.set(true);
+    refresh(highlights, lines);
+  }
+
+  // Compacts on the refresh executor, so a refresh that's running never reads a recycled node
+  public void compact(List<FocusElementHighlight> highlights, List<FocusElementLine> lines) {
+    executor.execute(() -> compactElements(highlights, lines));
+  }
+
+  private void compactElements(
+      List<FocusElementHighlight> highlights, List<FocusElementLine> lines) {
+    for (FocusElementHighlight highlight : highlights) {
+      highlight.compact();
+    }
+    for (FocusElementLine line : lines) {
+      line.compact();
+    }
+  }
+
+  private void runPendingRefresh() {
+    Runnable refresh = pendingRefresh.getAndSet(null);
+    if (refresh != null) {
+      refresh.run();
+    }
+  }
+
+  private void refreshBounds(List<FocusElementHighlight> highlights, List<FocusElementLine> lines) {
+    boolean reprojecting = pendingReprojection.getAndSet(false);
+    // Line i joins the nodes of highlights i - 1 and i, so each node is refreshed exactly once
+    boolean previousRefreshed = false;
+    for (int index = 0; index < highlights.size(); index++) {
+      FocusElementHighlight highlight = highlights.get(index);
+      boolean refreshed = highlight.refreshBounds();
+      if (!refreshed && reprojecting) {
+        highlight.discardBounds();
+      }
+      if (index < lines.size()) {
+        FocusElementLine line = lines.get(index);
+        if (reprojecting) {
+          line.discardBounds();
+        }
+        line.refreshBounds(refreshed && previousRefreshed);
+      }
+      previousRefreshed = refreshed;
+    }
+
+    uiThreadRunner.run(onBoundsRefreshed);
+  }
+}
@@ -3,94 +3,94 @@
 
 package com.microsoft.accessibilityinsightsforandroidservice;
 
-import android.graphics.Canvas;
-import android.graphics.Paint;
 import android.graphics.Rect;
-import android.view.View;
 import android.view.accessibility.AccessibilityNodeInfo;
-import java.util.HashMap;
 
 public class FocusElementHighlight {
   private AccessibilityNodeInfo eventSource;
-  private int yOffset;
-  private int tabStopCount;
+  private String tabStopLabel;
   private int radius;
-  private int xCoordinate;
-  private int yCoordinate;
-  private HashMap<String, Paint> paints;
-  private Rect rect;
-  private View view;
+  // Swapped on the accessibility event side when a newer tab stop becomes current
+  private volatile FocusElementPaints paints;
+  // Written by refreshBounds() off the UI thread; null while the node can't be refreshed
+  private volatile FocusElementBounds bounds;
+  private FocusElementHighlightSnapshot snapshot;
   private static final String TAG = "FocusElementHighlight";
 
   public FocusElementHighlight(
       AccessibilityNodeInfo eventSource,
-      HashMap<String, Paint> currentPaints,
+      FocusElementPaints currentPaints,
       int radius,
-      int tabStopCount,
-      View view) {
-    this.view = view;
+      int tabStopCount) {
     this.eventSource = eventSource;
-    this.tabStopCount = tabStopCount;
+    this.tabStopLabel = Integer.toString(tabStopCount);
     this.radius = radius;
-    this.rect = new Rect();
     this.paints = currentPaints;
+    if (eventSource != null) {
+      this.bounds = this.getBoundsInScreen();
+    }
   }
 
-  private void setCoordinates() {
-    this.eventSource.getBoundsInScreen(this.rect);
-    this.rect.offset(0, this.yOffset);
-    this.xCoordinate = rect.centerX();
-    this.yCoordinate = rect.centerY();
-  }
-
-  public void drawElementHighlight(Canvas canvas) {
+  // Re-reads the node's bounds from the app, which is a binder call; keep it off the UI thread.
+  public boolean refreshBounds() {
     if (this.eventSource == null) {
-      return;
+      return false;
     }
 
     if (!this.eventSource.refresh()) {
-      return;
+      this.bounds = null;
+      return false;
     }
 
-    this.updateWithNewCoordinates();
+    this.bounds = this.getBoundsInScreen();
+    return true;
+  }
 
-    this.drawInnerCircle(
-        this.xCoordinate, this.yCoordinate, this.radius, this.paints.get("innerCircle"), canvas);
-    this.drawNumberInCircle(
-        this.xCoordinate, this.yCoordinate, this.tabStopCount, this.paints.get("number"), canvas);
-    this.drawOuterCircle(
-        this.xCoordinate, this.yCoordinate, this.radius, this.paints.get("outerCircle"), canvas);
+  private FocusElementBounds getBoundsInScreen() {
+    Rect boundsInScreen = new Rect();
+    this.eventSource.getBoundsInScreen(boundsInScreen);
+    return new FocusElementBounds(boundsInScreen);
   }
 
-  private void drawInnerCircle(
-      int xCoordinate, int yCoordinate, int radius, Paint paint, Canvas canvas) {
-    canvas.drawCircle(xCoordinate, yCoordinate, radius, paint);
+  // Reuses the last snapshot while the bounds and paints it was taken from are still current, so
+  // rebuilding a draw list only allocates for the elements that changed. Called on the UI thread.
+  public FocusElementHighlightSnapshot getSnapshot() {
+    FocusElementBounds currentBounds = this.bounds;
+    FocusElementPaints currentPaints = this.paints;
+    FocusElementHighlightSnapshot lastSnapshot = this.snapshot;
+    if (lastSnapshot == null
+        || lastSnapshot.bounds != currentBounds
+        || lastSnapshot.paints != currentPaints) {
+      lastSnapshot =
+          new FocusElementHighlightSnapshot(
+              currentBounds, currentPaints, this.radius, this.tabStopLabel);
+      this.snapshot = lastSnapshot;
+    }
+    return lastSnapshot;
   }
 
-  private void drawOuterCircle(
-      int xCoordinate, int yCoordinate, int radius, Paint paint, Canvas canvas) {
-    canvas.drawCircle(xCoordinate, yCoordinate, radius + 3, paint);
+  // Recycles the node and keeps the last known bounds, which are no longer refreshed
+  public void compact() {
+    if (this.eventSource != null) {
+      this.eventSource.recycle();
+      this.eventSource = null;
+    }
   }
 
-  private void drawNumberInCircle(
-      int xCoordinate, int yCoordinate, int tabStopCount, Paint paint, Canvas canvas) {
-    canvas.drawText(
-        Integer.toString(tabStopCount),
-        xCoordinate,
-        yCoordinate - ((paint.descent() + paint.ascent()) / 2),
-        paint);
+  public void discardBounds() {
+    this.bounds = null;
   }
 
-  public void setPaints(HashMap<String, Paint> paints) {
+  public void setPaints(FocusElementPaints paints) {
     this.paints = paints;
   }
 
-  public AccessibilityNodeInfo getEventSource() {
-    return this.eventSource;
+  // Null while the node can't be refreshed
+  public FocusElementBounds getBounds() {
+    return this.bounds;
   }
 
-  private void updateWithNewCoordinates() {
-    this.yOffset = OffsetHelper.getYOffset(this.view);
-    this.setCoordinates();
+  public AccessibilityNodeInfo getEventSource() {
+    return this.eventSource;
   }
 }
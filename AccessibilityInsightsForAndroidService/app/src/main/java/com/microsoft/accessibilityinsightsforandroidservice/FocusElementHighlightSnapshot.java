@@ -0,0 +1,65 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+// What a highlight looked like when a draw list was built. Nothing in it changes afterwards, so
+// the UI thread can draw it while the live highlight's bounds are being refreshed elsewhere.
+public class FocusElementHighlightSnapshot {
+  // The outer circle is drawn outside the radius, and its stroke reaches a little further
+  private static final int OUTER_CIRCLE_OFFSET = 3;
+  private static final int OUTER_CIRCLE_HALF_STROKE = 4;
+
+  // Null while the node can't be refreshed
+  public final FocusElementBounds bounds;
+  public final FocusElementPaints paints;
+  public final int radius;
+  public final String label;
+
+  public FocusElementHighlightSnapshot(
+      FocusElementBounds bounds, FocusElementPaints paints, int radius, String label) {
+    this.bounds = bounds;
+    this.paints = paints;
+    this.radius = radius;
+    this.label = label;
+  }
+
+  public void drawElementHighlight(Canvas canvas, int yOffset) {
+    if (this.bounds == null) {
+      return;
+    }
+
+    int xCoordinate = this.bounds.centerX;
+    int yCoordinate = this.bounds.centerY + yOffset;
+    int extent = this.radius + OUTER_CIRCLE_OFFSET + OUTER_CIRCLE_HALF_STROKE;
+    if (canvas.quickReject(
+        xCoordinate - extent,
+        yCoordinate - extent,
+        xCoordinate + extent,
+        yCoordinate + extent,
+        Canvas.EdgeType.BW)) {
+      return;
+    }
+
+    this.drawInnerCircle(xCoordinate, yCoordinate, this.radius, this.paints.innerCircle, canvas);
+    this.drawNumberInCircle(xCoordinate, yCoordinate, this.paints.number, canvas);
+    this.drawOuterCircle(xCoordinate, yCoordinate, this.radius, this.paints.outerCircle, canvas);
+  }
+
+  private void drawInnerCircle(
+      int xCoordinate, int yCoordinate, int radius, Paint paint, Canvas canvas) {
+    canvas.drawCircle(xCoordinate, yCoordinate, radius, paint);
+  }
+
+  private void drawOuterCircle(
+      int xCoordinate, int yCoordinate, int radius, Paint paint, Canvas canvas) {
+    canvas.drawCircle(xCoordinate, yCoordinate, radius + OUTER_CIRCLE_OFFSET, paint);
+  }
+
+  private void drawNumberInCircle(int xCoordinate, int yCoordinate, Paint paint, Canvas canvas) {
+    canvas.drawText(this.label, xCoordinate, yCoordinate + this.paints.numberBaselineOffset, paint);
+  }
+}
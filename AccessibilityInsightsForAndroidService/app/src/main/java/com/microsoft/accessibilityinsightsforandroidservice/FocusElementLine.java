@@ -3,79 +3,89 @@
 
 package com.microsoft.accessibilityinsightsforandroidservice;
 
-import android.graphics.Canvas;
-import android.graphics.Paint;
 import android.graphics.Rect;
-import android.view.View;
 import android.view.accessibility.AccessibilityNodeInfo;
-import java.util.HashMap;
 
 public class FocusElementLine {
   private AccessibilityNodeInfo eventSource;
   private AccessibilityNodeInfo previousEventSource;
-  private int yOffset;
-  private int xStart;
-  private int yStart;
-  private int xEnd;
-  private int yEnd;
-  private HashMap<String, Paint> paints;
-  private Rect currentRect;
-  private Rect prevRect;
-  private View view;
+  private volatile FocusLinePaints paints;
+  // Written by refreshBounds() off the UI thread; null while either end can't be refreshed
+  private volatile LineBounds bounds;
+  private FocusElementLineSnapshot snapshot;
+  private LineBounds snapshotBounds;
+  private boolean compacted;
 
   public FocusElementLine(
       AccessibilityNodeInfo eventSource,
       AccessibilityNodeInfo previousEventSource,
-      HashMap<String, Paint> Paints,
-      View view) {
-    this.view = view;
+      FocusLinePaints Paints) {
     this.eventSource = eventSource;
     this.previousEventSource = previousEventSource;
     this.paints = Paints;
-    this.currentRect = new Rect();
-    this.prevRect = new Rect();
+    this.refreshBounds(true);
   }
 
-  public void drawLine(Canvas canvas) {
-    if (this.eventSource == null || this.previousEventSource == null) {
+  // Both ends are the nodes of the neighbouring highlights, which refresh them; this only re-reads
+  // their (already refreshed) bounds and doesn't go back to the app.
+  public void refreshBounds(boolean endsRefreshed) {
+    if (this.compacted) {
       return;
     }
 
-    if (!this.eventSource.refresh() || !this.previousEventSource.refresh()) {
+    if (!endsRefreshed || this.eventSource == null || this.previousEventSource == null) {
+      this.bounds = null;
       return;
     }
 
-    this.updateWithNewCoordinates();
-    this.drawConnectingLine(
-        this.xStart, this.yStart, this.xEnd, this.yEnd, this.paints.get("backgroundLine"), canvas);
-    this.drawConnectingLine(
-        this.xStart, this.yStart, this.xEnd, this.yEnd, this.paints.get("foregroundLine"), canvas);
+    Rect currentRect = new Rect();
+    Rect prevRect = new Rect();
+    this.eventSource.getBoundsInScreen(currentRect);
+    this.previousEventSource.getBoundsInScreen(prevRect);
+    this.bounds =
+        new LineBounds(new FocusElementBounds(currentRect), new FocusElementBounds(prevRect));
   }
 
-  private void setCoordinates() {
-    this.eventSource.getBoundsInScreen(this.currentRect);
-    this.currentRect.offset(0, this.yOffset);
-
-    this.previousEventSource.getBoundsInScreen(this.prevRect);
-    this.prevRect.offset(0, this.yOffset);
+  // Reuses the last snapshot while its bounds and paints are still current; see
+  // FocusElementHighlight.getSnapshot
+  public FocusElementLineSnapshot getSnapshot() {
+    LineBounds currentBounds = this.bounds;
+    FocusLinePaints currentPaints = this.paints;
+    if (this.snapshot == null
+        || this.snapshotBounds != currentBounds
+        || this.snapshot.paints != currentPaints) {
+      this.snapshot =
+          currentBounds == null
+              ? new FocusElementLineSnapshot(null, null, currentPaints)
+              : new FocusElementLineSnapshot(
+                  currentBounds.current, currentBounds.previous, currentPaints);
+      this.snapshotBounds = currentBounds;
+    }
+    return this.snapshot;
+  }
 
-    this.xStart = currentRect.centerX();
-    this.yStart = currentRect.centerY();
-    this.xEnd = prevRect.centerX();
-    this.yEnd = prevRect.centerY();
+  // Keeps the last known bounds and lets go of both nodes, which the highlights own and recycle
+  public void compact() {
+    this.compacted = true;
+    this.eventSource = null;
+    this.previousEventSource = null;
   }
 
-  private void drawConnectingLine(
-      int xStart, int yStart, int xEnd, int yEnd, Paint paint, Canvas canvas) {
-    canvas.drawLine(xStart, yStart, xEnd, yEnd, paint);
+  public void discardBounds() {
+    this.bounds = null;
   }
 
-  public void setPaint(HashMap<String, Paint> paints) {
+  public void setPaint(FocusLinePaints paints) {
     this.paints = paints;
   }
 
-  private void updateWithNewCoordinates() {
-    this.yOffset = OffsetHelper.getYOffset(this.view);
-    this.setCoordinates();
+  private static class LineBounds {
+    private final FocusElementBounds current;
+    private final FocusElementBounds previous;
+
+    LineBounds(FocusElementBounds current, FocusElementBounds previous) {
+      this.current = current;
+      this.previous = previous;
+    }
   }
 }
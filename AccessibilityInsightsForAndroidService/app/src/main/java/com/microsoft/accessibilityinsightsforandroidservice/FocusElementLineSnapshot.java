@@ -0,0 +1,52 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+// What a line looked like when a draw list was built; see FocusElementHighlightSnapshot
+public class FocusElementLineSnapshot {
+  // Half the width of the background line, the wider of the two
+  private static final int HALF_STROKE = 6;
+
+  // Both null while either end can't be refreshed
+  public final FocusElementBounds current;
+  public final FocusElementBounds previous;
+  public final FocusLinePaints paints;
+
+  public FocusElementLineSnapshot(
+      FocusElementBounds current, FocusElementBounds previous, FocusLinePaints paints) {
+    this.current = current;
+    this.previous = previous;
+    this.paints = paints;
+  }
+
+  public void drawLine(Canvas canvas, int yOffset) {
+    if (this.current == null || this.previous == null) {
+      return;
+    }
+
+    int xStart = this.current.centerX;
+    int yStart = this.current.centerY + yOffset;
+    int xEnd = this.previous.centerX;
+    int yEnd = this.previous.centerY + yOffset;
+    if (canvas.quickReject(
+        Math.min(xStart, xEnd) - HALF_STROKE,
+        Math.min(yStart, yEnd) - HALF_STROKE,
+        Math.max(xStart, xEnd) + HALF_STROKE,
+        Math.max(yStart, yEnd) + HALF_STROKE,
+        Canvas.EdgeType.BW)) {
+      return;
+    }
+
+    this.drawConnectingLine(xStart, yStart, xEnd, yEnd, this.paints.backgroundLine, canvas);
+    this.drawConnectingLine(xStart, yStart, xEnd, yEnd, this.paints.foregroundLine, canvas);
+  }
+
+  private void drawConnectingLine(
+      int xStart, int yStart, int xEnd, int yEnd, Paint paint, Canvas canvas) {
+    canvas.drawLine(xStart, yStart, xEnd, yEnd, paint);
+  }
+}
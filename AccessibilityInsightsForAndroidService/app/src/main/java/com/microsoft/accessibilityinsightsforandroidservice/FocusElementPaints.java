@@ -0,0 +1,21 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.graphics.Paint;
+
+public class FocusElementPaints {
+  public final Paint outerCircle;
+  public final Paint innerCircle;
+  public final Paint number;
+  // Distance from the circle's center to the baseline that vertically centers the number
+  public final float numberBaselineOffset;
+
+  public FocusElementPaints(Paint outerCircle, Paint innerCircle, Paint number) {
+    this.outerCircle = outerCircle;
+    this.innerCircle = innerCircle;
+    this.number = number;
+    this.numberBaselineOffset = -((number.descent() + number.ascent()) / 2);
+  }
+}
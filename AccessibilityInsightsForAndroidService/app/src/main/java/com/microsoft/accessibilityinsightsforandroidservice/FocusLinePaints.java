@@ -0,0 +1,16 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.graphics.Paint;
+
+public class FocusLinePaints {
+  public final Paint foregroundLine;
+  public final Paint backgroundLine;
+
+  public FocusLinePaints(Paint foregroundLine, Paint backgroundLine) {
+    this.foregroundLine = foregroundLine;
+    this.backgroundLine = backgroundLine;
+  }
+}
@@ -0,0 +1,18 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import com.deque.axe.android.utils.JsonSerializable;
+import java.util.List;
+
+public class FocusSequence implements JsonSerializable {
+  // Oldest first; only the most recent stops are kept, droppedStops counts the ones before them
+  public final List<FocusStop> stops;
+  public final long droppedStops;
+
+  public FocusSequence(List<FocusStop> stops, long droppedStops) {
+    this.stops = stops;
+    this.droppedStops = droppedStops;
+  }
+}
@@ -0,0 +1,117 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.view.accessibility.AccessibilityNodeInfo;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+// Records the tab stops shown by the focus overlay into preallocated arrays used as a ring
+// buffer, so recording a stop or a frame doesn't allocate. Objects are only built when the
+// sequence is requested.
+public class FocusSequenceRecorder {
+  private final int capacity;
+  private final LongSupplier uptimeMillisSupplier;
+  private final int[] indexes;
+  private final boolean[] hasBounds;
+  private final int[] lefts;
+  private final int[] tops;
+  private final int[] rights;
+  private final int[] bottoms;
+  private final String[] resourceIds;
+  private final String[] classNames;
+  private final long[] eventTimes;
+  private final long[] receivedTimes;
+  private final long[] drawnTimes;
+  // Sequence numbers of all stops recorded since the last reset, and of the first one not drawn
+  private long recordedCount;
+  private long firstUndrawn;
+
+  public FocusSequenceRecorder(int capacity, LongSupplier uptimeMillisSupplier) {
+    this.capacity = capacity;
+    this.uptimeMillisSupplier = uptimeMillisSupplier;
+    this.indexes = new int[capacity];
+    this.hasBounds = new boolean[capacity];
+    this.lefts = new int[capacity];
+    this.tops = new int[capacity];
+    this.rights = new int[capacity];
+    this.bottoms = new int[capacity];
+    this.resourceIds = new String[capacity];
+    this.classNames = new String[capacity];
+    this.eventTimes = new long[capacity];
+    this.receivedTimes = new long[capacity];
+    this.drawnTimes = new long[capacity];
+  }
+
+  public synchronized void recordFocus(
+      int index, AccessibilityNodeInfo node, FocusElementBounds bounds, long eventTime) {
+    int slot = (int) (recordedCount % capacity);
+    indexes[slot] = index;
+    hasBounds[slot] = bounds != null;
+    if (bounds != null) {
+      lefts[slot] = bounds.left;
+      tops[slot] = bounds.top;
+      rights[slot] = bounds.right;
+      bottoms[slot] = bounds.bottom;
+    }
+    resourceIds[slot] = node == null ? null : node.getViewIdResourceName();
+    CharSequence className = node == null ? null : node.getClassName();
+    classNames[slot] = className == null ? null : className.toString();
+    eventTimes[slot] = eventTime;
+    receivedTimes[slot] = uptimeMillisSupplier.getAsLong();
+    drawnTimes[slot] = 0;
+    recordedCount++;
+    if (recordedCount - firstUndrawn > capacity) {
+      firstUndrawn = recordedCount - capacity;
+    }
+  }
+
+  // Called after every overlay frame with the number of tab stops it drew
+  public synchronized void onStopsDrawn(int drawnStopCount) {
+    if (firstUndrawn == recordedCount) {
+      return;
+    }
+
+    long now = uptimeMillisSupplier.getAsLong();
+    while (firstUndrawn < recordedCount) {
+      int slot = (int) (firstUndrawn % capacity);
+      if (indexes[slot] > drawnStopCount) {
+        return;
+      }
+      drawnTimes[slot] = now;
+      firstUndrawn++;
+    }
+  }
+
+  public synchronized void reset() {
+    recordedCount = 0;
+    firstUndrawn = 0;
+    Arrays.fill(resourceIds, null);
+    Arrays.fill(classNames, null);
+  }
+
+  public synchronized FocusSequence getSequence() {
+    long first = Math.max(0, recordedCount - capacity);
+    List<FocusStop> stops = new ArrayList<>((int) (recordedCount - first));
+    for (long sequenceNumber = first; sequenceNumber < recordedCount; sequenceNumber++) {
+      int slot = (int) (sequenceNumber % capacity);
+      FocusStop.FocusStopBounds bounds =
+          hasBounds[slot]
+              ? new FocusStop.FocusStopBounds(lefts[slot], tops[slot], rights[slot], bottoms[slot])
+              : null;
+      stops.add(
+          new FocusStop(
+              indexes[slot],
+              bounds,
+              resourceIds[slot],
+              classNames[slot],
+              eventTimes[slot],
+              receivedTimes[slot],
+              drawnTimes[slot]));
+    }
+    return new FocusSequence(stops, first);
+  }
+}
@@ -0,0 +1,26 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+public class FocusSequenceRequestFulfiller implements RequestFulfiller {
+  private final ResponseWriter responseWriter;
+  private final FocusSequenceRecorder focusSequenceRecorder;
+
+  public FocusSequenceRequestFulfiller(
+      ResponseWriter responseWriter, FocusSequenceRecorder focusSequenceRecorder) {
+    this.responseWriter = responseWriter;
+    this.focusSequenceRecorder = focusSequenceRecorder;
+  }
+
+  @Override
+  public void fulfillRequest(Deadline deadline, RunnableFunction onRequestFulfilled) {
+    responseWriter.writeSuccessfulResponse(focusSequenceRecorder.getSequence().toJson());
+    onRequestFulfilled.run();
+  }
+
+  @Override
+  public boolean isBlockingRequest() {
+    return true;
+  }
+}
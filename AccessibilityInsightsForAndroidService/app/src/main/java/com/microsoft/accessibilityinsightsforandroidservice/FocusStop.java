@@ -0,0 +1,47 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+// One recorded tab stop. Times are SystemClock.uptimeMillis() values, like
+// AccessibilityEvent.getEventTime(); drawnTime is 0 until the overlay has drawn the stop.
+public class FocusStop {
+  public final int index;
+  public final FocusStopBounds bounds;
+  public final String resourceId;
+  public final String className;
+  public final long eventTime;
+  public final long receivedTime;
+  public final long drawnTime;
+
+  public FocusStop(
+      int index,
+      FocusStopBounds bounds,
+      String resourceId,
+      String className,
+      long eventTime,
+      long receivedTime,
+      long drawnTime) {
+    this.index = index;
+    this.bounds = bounds;
+    this.resourceId = resourceId;
+    this.className = className;
+    this.eventTime = eventTime;
+    this.receivedTime = receivedTime;
+    this.drawnTime = drawnTime;
+  }
+
+  public static class FocusStopBounds {
+    public final int left;
+    public final int top;
+    public final int right;
+    public final int bottom;
+
+    public FocusStopBounds(int left, int top, int right, int bottom) {
+      this.left = left;
+      this.top = top;
+      this.right = right;
+      this.bottom = bottom;
+    }
+  }
+}
@@ -0,0 +1,25 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import com.deque.axe.android.utils.JsonSerializable;
+import java.util.List;
+
+public class FocusTraversal implements JsonSerializable {
+  public static final String STOPPED_AT_END = "end";
+  public static final String STOPPED_ON_CYCLE = "cycle";
+  public static final String STOPPED_AT_MAX_STEPS = "maxSteps";
+  public static final String STOPPED_ON_FOCUS_FAILURE = "focusFailed";
+  public static final String STOPPED_WITHOUT_ROOT = "noRoot";
+
+  // Stops in the order they were focused. eventTime is when the driver focused the stop; the
+  // overlay's receive and draw times for the same stops are in FocusTracking/Sequence.
+  public final List<FocusStop> stops;
+  public final String stopReason;
+
+  public FocusTraversal(List<FocusStop> stops, String stopReason) {
+    this.stops = stops;
+    this.stopReason = stopReason;
+  }
+}
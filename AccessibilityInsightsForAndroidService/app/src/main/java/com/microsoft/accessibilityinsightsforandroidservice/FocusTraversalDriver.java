@@ -0,0 +1,95 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.graphics.Rect;
+import android.view.View;
+import android.view.accessibility.AccessibilityNodeInfo;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+// Walks the tab order on the device, the way pressing Tab would: it searches forward for the next
+// node that can take input focus and gives it focus. The app then reports TYPE_VIEW_FOCUSED as it
+// would for a key press, so each stop also goes through the focus visualization.
+public class FocusTraversalDriver {
+  public static final int DEFAULT_MAX_STEPS = 100;
+  public static final int MAX_STEPS_LIMIT = 1000;
+  public static final String TRAVERSE_STAGE = "traverse";
+
+  private final LongSupplier uptimeMillisSupplier;
+
+  public FocusTraversalDriver(LongSupplier uptimeMillisSupplier) {
+    this.uptimeMillisSupplier = uptimeMillisSupplier;
+  }
+
+  public FocusTraversal traverse(AccessibilityNodeInfo rootNode, int maxSteps, Deadline deadline)
+      throws DeadlineExceededException {
+    maxSteps = Math.max(0, Math.min(maxSteps, MAX_STEPS_LIMIT));
+    List<FocusStop> stops = new ArrayList<>();
+    if (rootNode == null) {
+      return new FocusTraversal(stops, FocusTraversal.STOPPED_WITHOUT_ROOT);
+    }
+
+    // AccessibilityNodeInfo equality is by window and view, so revisiting a node is a cycle
+    Set<AccessibilityNodeInfo> visited = new HashSet<>();
+    AccessibilityNodeInfo start = rootNode.findFocus(AccessibilityNodeInfo.FOCUS_INPUT);
+    AccessibilityNodeInfo current = start != null ? start : rootNode;
+    // Coming back around to the starting node is a cycle too, not one more stop
+    AccessibilityNodeInfo origin = current;
+    visited.add(origin);
+    String stopReason = FocusTraversal.STOPPED_AT_MAX_STEPS;
+    try {
+      while (stops.size() < maxSteps) {
+        // Each step is a few binder calls into the app, so a long walk can outlast the request
+        deadline.check(TRAVERSE_STAGE);
+        AccessibilityNodeInfo next = current.focusSearch(View.FOCUS_FORWARD);
+        if (next == null) {
+          stopReason = FocusTraversal.STOPPED_AT_END;
+          break;
+        }
+        if (!visited.add(next)) {
+          next.recycle();
+          stopReason = FocusTraversal.STOPPED_ON_CYCLE;
+          break;
+        }
+        if (!next.performAction(AccessibilityNodeInfo.ACTION_FOCUS)) {
+          stopReason = FocusTraversal.STOPPED_ON_FOCUS_FAILURE;
+          break;
+        }
+
+        stops.add(createStop(stops.size() + 1, next));
+        current = next;
+      }
+    } finally {
+      for (AccessibilityNodeInfo node : visited) {
+        if (node != origin) {
+          node.recycle();
+        }
+      }
+      if (start != null) {
+        start.recycle();
+      }
+    }
+
+    return new FocusTraversal(stops, stopReason);
+  }
+
+  private FocusStop createStop(int index, AccessibilityNodeInfo node) {
+    Rect boundsInScreen = new Rect();
+    node.getBoundsInScreen(boundsInScreen);
+    CharSequence className = node.getClassName();
+    return new FocusStop(
+        index,
+        new FocusStop.FocusStopBounds(
+            boundsInScreen.left, boundsInScreen.top, boundsInScreen.right, boundsInScreen.bottom),
+        node.getViewIdResourceName(),
+        className == null ? null : className.toString(),
+        uptimeMillisSupplier.getAsLong(),
+        0,
+        0);
+  }
+}
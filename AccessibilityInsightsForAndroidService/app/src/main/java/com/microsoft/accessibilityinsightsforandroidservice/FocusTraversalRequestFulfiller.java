@@ -0,0 +1,59 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.view.accessibility.AccessibilityNodeInfo;
+
+public class FocusTraversalRequestFulfiller implements RequestFulfiller {
+  private final ResponseWriter responseWriter;
+  private final RootNodeFinder rootNodeFinder;
+  private final EventHelper eventHelper;
+  private final FocusTraversalDriver focusTraversalDriver;
+  private final int maxSteps;
+
+  public FocusTraversalRequestFulfiller(
+      ResponseWriter responseWriter,
+      RootNodeFinder rootNodeFinder,
+      EventHelper eventHelper,
+      FocusTraversalDriver focusTraversalDriver,
+      int maxSteps) {
+    this.responseWriter = responseWriter;
+    this.rootNodeFinder = rootNodeFinder;
+    this.eventHelper = eventHelper;
+    this.focusTraversalDriver = focusTraversalDriver;
+    this.maxSteps = maxSteps;
+  }
+
+  @Override
+  public void fulfillRequest(Deadline deadline, RunnableFunction onRequestFulfilled) {
+    try {
+      writeTraversalResponse(deadline);
+    } catch (DeadlineExceededException e) {
+      responseWriter.writeTimeoutResponse(e);
+    }
+    onRequestFulfilled.run();
+  }
+
+  @Override
+  public boolean isBlockingRequest() {
+    return true;
+  }
+
+  private void writeTraversalResponse(Deadline deadline) throws DeadlineExceededException {
+    AccessibilityNodeInfo source = eventHelper.claimLastSource();
+    AccessibilityNodeInfo rootNode = rootNodeFinder.getRootNodeFromSource(source);
+
+    try {
+      String content = focusTraversalDriver.traverse(rootNode, maxSteps, deadline).toJson();
+      responseWriter.writeSuccessfulResponse(content);
+    } finally {
+      if (rootNode != null && rootNode != source) {
+        rootNode.recycle();
+      }
+      if (source != null && !eventHelper.restoreLastSource(source)) {
+        source.recycle();
+      }
+    }
+  }
+}
@@ -4,50 +4,156 @@
 package com.microsoft.accessibilityinsightsforandroidservice;
 
 import android.content.Context;
+import android.content.res.Configuration;
 import android.graphics.Canvas;
 import android.view.View;
-import java.util.ArrayList;
 
 public class FocusVisualizationCanvas extends View {
-  private ArrayList<FocusElementHighlight> focusElementHighlights;
-  private ArrayList<FocusElementLine> focusElementLines;
+  // Published by the accessibility event side and only read here; the UI thread copies the
+  // reference once per frame and never locks
+  private volatile FocusVisualizationDrawList drawList;
+  private FocusVisualizationDrawList drawnDrawList;
+  // The status bar height only changes with the configuration, so it isn't looked up per frame
+  private int yOffset;
+  private boolean yOffsetIsCurrent;
+  // Every element but the current one is history: it only changes when its bounds or the
+  // configuration do, so it is rendered into the layer once and copied from there on each frame.
+  private final FocusVisualizationLayer historyLayer;
+  private int historyLayerElementCount;
+  private boolean historyLayerIsCurrent;
+  private int width;
+  private int height;
+  private final FrameDrawStats frameDrawStats;
+  private final FocusSequenceRecorder focusSequenceRecorder;
 
-  public FocusVisualizationCanvas(Context context) {
+  public FocusVisualizationCanvas(
+      Context context,
+      FocusVisualizationLayer historyLayer,
+      FrameDrawStats frameDrawStats,
+      FocusSequenceRecorder focusSequenceRecorder) {
     super(context);
+    this.drawList = FocusVisualizationDrawList.EMPTY;
+    this.drawnDrawList = FocusVisualizationDrawList.EMPTY;
+    this.historyLayer = historyLayer;
+    this.frameDrawStats = frameDrawStats;
+    this.focusSequenceRecorder = focusSequenceRecorder;
   }
 
+  @Override
+  protected void onConfigurationChanged(Configuration newConfig) {
+    super.onConfigurationChanged(newConfig);
+    this.yOffsetIsCurrent = false;
+    this.historyLayerIsCurrent = false;
+  }
+
+  @Override
+  protected void onSizeChanged(int width, int height, int oldWidth, int oldHeight) {
+    super.onSizeChanged(width, height, oldWidth, oldHeight);
+    this.width = width;
+    this.height = height;
+    this.historyLayerIsCurrent = false;
+  }
+
+  @Override
+  protected void onDetachedFromWindow() {
+    super.onDetachedFromWindow();
+    this.historyLayer.release();
+    this.historyLayerIsCurrent = false;
+  }
+
+  // View.onDraw draws nothing, so it isn't called
   @Override
   protected void onDraw(Canvas canvas) {
-    super.onDraw(canvas);
+    long frameStartNanos = this.frameDrawStats.startFrame();
     this.drawHighlightsAndLines(canvas);
+    this.frameDrawStats.endFrame(frameStartNanos);
+    this.focusSequenceRecorder.onStopsDrawn(this.drawnDrawList.size());
   }
 
   private void drawHighlightsAndLines(Canvas canvas) {
-    if (this.focusElementHighlights == null) {
+    FocusVisualizationDrawList drawList = this.drawList;
+    if (drawList != this.drawnDrawList) {
+      // New tab stops only append to the history already in the layer; anything else starts over
+      if (!drawList.extendsDrawList(this.drawnDrawList)) {
+        this.historyLayerIsCurrent = false;
+      }
+      this.drawnDrawList = drawList;
+    }
+
+    if (drawList.isEmpty()) {
       return;
     }
 
-    for (int elementIndex = 0; elementIndex < this.focusElementHighlights.size(); elementIndex++) {
+    int yOffset = this.getYOffset();
+    int historyElementCount = drawList.size() - 1;
+    int liveElementIndex = 0;
+    if (historyElementCount > 0
+        && this.updateHistoryLayer(drawList, historyElementCount, yOffset)) {
+      this.historyLayer.drawOnto(canvas);
+      liveElementIndex = historyElementCount;
+    }
+
+    this.drawElements(drawList, liveElementIndex, drawList.size(), yOffset, canvas);
+  }
+
+  // Renders whatever history isn't in the layer yet; returns false if there is no layer to use
+  private boolean updateHistoryLayer(
+      FocusVisualizationDrawList drawList, int historyElementCount, int yOffset) {
+    Canvas layerCanvas = this.historyLayer.getCanvas(this.width, this.height);
+    if (layerCanvas == null) {
+      return false;
+    }
+
+    if (!this.historyLayerIsCurrent || historyElementCount < this.historyLayerElementCount) {
+      this.historyLayer.clear();
+      this.historyLayerElementCount = 0;
+      this.historyLayerIsCurrent = true;
+    }
+
+    this.drawElements(
+        drawList, this.historyLayerElementCount, historyElementCount, yOffset, layerCanvas);
+    this.historyLayerElementCount = historyElementCount;
+    return true;
+  }
+
+  private void drawElements(
+      FocusVisualizationDrawList drawList, int fromIndex, int toIndex, int yOffset, Canvas canvas) {
+    for (int elementIndex = fromIndex; elementIndex < toIndex; elementIndex++) {
       if (elementIndex != 0) {
-        this.drawTrailingHighlights(elementIndex, canvas);
+        this.drawTrailingHighlights(drawList, elementIndex, yOffset, canvas);
       }
 
-      this.focusElementHighlights.get(elementIndex).drawElementHighlight(canvas);
+      drawList.highlights.get(elementIndex).drawElementHighlight(canvas, yOffset);
     }
   }
 
-  private void drawTrailingHighlights(int elementIndex, Canvas canvas) {
-    this.focusElementLines.get(elementIndex).drawLine(canvas);
-    this.focusElementHighlights.get(elementIndex - 1).drawElementHighlight(canvas);
+  private void drawTrailingHighlights(
+      FocusVisualizationDrawList drawList, int elementIndex, int yOffset, Canvas canvas) {
+    drawList.lines.get(elementIndex).drawLine(canvas, yOffset);
+    drawList.highlights.get(elementIndex - 1).drawElementHighlight(canvas, yOffset);
+  }
+
+  private int getYOffset() {
+    if (!this.yOffsetIsCurrent) {
+      this.yOffset = OffsetHelper.getYOffset(this);
+      this.yOffsetIsCurrent = true;
+    }
+    return this.yOffset;
   }
 
-  public void setDrawItems(
-      ArrayList<FocusElementHighlight> highlights, ArrayList<FocusElementLine> lines) {
-    this.focusElementHighlights = highlights;
-    this.focusElementLines = lines;
+  // Safe to call from any thread; takes effect on the next frame
+  public void setDrawList(FocusVisualizationDrawList drawList) {
+    this.drawList = drawList;
   }
 
   public void redraw() {
     this.invalidate();
   }
+
+  // Takes screen coordinates, like the element bounds. The overlay window isn't hardware
+  // accelerated, so the dirty region is honored and onDraw gets a canvas clipped to it.
+  public void redrawRegion(int left, int top, int right, int bottom) {
+    int yOffset = this.getYOffset();
+    this.invalidate(left, top + yOffset, right, bottom + yOffset);
+  }
 }
@@ -0,0 +1,50 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Immutable snapshot of the elements to draw: value copies of each element's bounds, paints and
+// label. The UI thread builds a new one whenever an element is added or any of those change, and
+// publishes it to the canvas, so onDraw never reads anything another thread is writing.
+public class FocusVisualizationDrawList {
+  public static final FocusVisualizationDrawList EMPTY =
+      new FocusVisualizationDrawList(Collections.emptyList(), Collections.emptyList());
+
+  public final List<FocusElementHighlightSnapshot> highlights;
+  public final List<FocusElementLineSnapshot> lines;
+
+  public FocusVisualizationDrawList(
+      List<FocusElementHighlightSnapshot> highlights, List<FocusElementLineSnapshot> lines) {
+    this.highlights = Collections.unmodifiableList(new ArrayList<>(highlights));
+    this.lines = Collections.unmodifiableList(new ArrayList<>(lines));
+  }
+
+  public int size() {
+    return this.highlights.size();
+  }
+
+  public boolean isEmpty() {
+    return this.highlights.isEmpty();
+  }
+
+  // True if this snapshot only appends tab stops to the previous one: everything the previous one
+  // drew as history, which is all but its last element, is still drawn from the same snapshots
+  public boolean extendsDrawList(FocusVisualizationDrawList previous) {
+    int previousSize = previous.size();
+    if (this.size() < previousSize) {
+      return false;
+    }
+
+    for (int index = previousSize - 2; index >= 0; index--) {
+      if (this.highlights.get(index) != previous.highlights.get(index)
+          || this.lines.get(index) != previous.lines.get(index)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,62 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Rect;
+
+// Offscreen bitmap that part of the overlay is rendered into once and then copied onto the screen
+// each frame
+public class FocusVisualizationLayer {
+  private final BitmapProvider bitmapProvider;
+  private Bitmap bitmap;
+  private Canvas canvas;
+  private final Rect clipBounds = new Rect();
+
+  public FocusVisualizationLayer(BitmapProvider bitmapProvider) {
+    this.bitmapProvider = bitmapProvider;
+  }
+
+  // Returns null if there is nothing to draw into yet
+  public Canvas getCanvas(int width, int height) {
+    if (width <= 0 || height <= 0) {
+      return null;
+    }
+
+    if (bitmap == null || bitmap.getWidth() != width || bitmap.getHeight() != height) {
+      release();
+      bitmap = bitmapProvider.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+      canvas = new Canvas(bitmap);
+    }
+
+    return canvas;
+  }
+
+  public void clear() {
+    if (bitmap != null) {
+      bitmap.eraseColor(Color.TRANSPARENT);
+    }
+  }
+
+  // Only copies the part of the layer inside the target's clip
+  public void drawOnto(Canvas target) {
+    if (bitmap == null) {
+      return;
+    }
+
+    if (target.getClipBounds(clipBounds)) {
+      target.drawBitmap(bitmap, clipBounds, clipBounds, null);
+    }
+  }
+
+  public void release() {
+    if (bitmap != null) {
+      bitmap.recycle();
+      bitmap = null;
+      canvas = null;
+    }
+  }
+}
@@ -6,26 +6,63 @@ package com.microsoft.accessibilityinsightsforandroidservice;
 import android.view.accessibility.AccessibilityEvent;
 import android.view.accessibility.AccessibilityNodeInfo;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 public class FocusVisualizer {
+  // Covers the outer circle's offset and stroke beyond the highlight radius
+  private static final int REDRAW_REGION_PADDING = 10;
+  // A new tab stop repaints the previous current line, which starts at the tab stop before the
+  // previous one, through to the new highlight
+  private static final int CHANGED_ELEMENTS_ON_FOCUS = 3;
+
   private ArrayList<FocusElementHighlight> focusElementHighlights;
   private ArrayList<FocusElementLine> focusElementLines;
   private int tabStopCount;
+  // Only the newest tab stops keep their nodes; older ones are compacted to their last bounds
+  private final int liveNodeLimit;
+  private int compactedElementCount;
   private FocusVisualizerStyles styles;
   private FocusVisualizationCanvas focusVisualizationCanvas;
+  private FocusElementBoundsRefresher boundsRefresher;
+  private FocusSequenceRecorder focusSequenceRecorder;
+  // Immutable copies of the element lists for the bounds refresher, replaced when an element is
+  // added or the lists are cleared
+  private volatile List<FocusElementHighlight> refreshedHighlights;
+  private volatile List<FocusElementLine> refreshedLines;
 
   public FocusVisualizer(
       FocusVisualizerStyles focusVisualizerStyles,
-      FocusVisualizationCanvas focusVisualizationCanvas) {
+      FocusVisualizationCanvas focusVisualizationCanvas,
+      FocusElementBoundsRefresher boundsRefresher,
+      FocusSequenceRecorder focusSequenceRecorder,
+      int liveNodeLimit) {
     this.focusElementHighlights = new ArrayList<>();
     this.focusElementLines = new ArrayList<>();
     this.tabStopCount = 0;
     this.styles = focusVisualizerStyles;
     this.focusVisualizationCanvas = focusVisualizationCanvas;
+    this.boundsRefresher = boundsRefresher;
+    this.focusSequenceRecorder = focusSequenceRecorder;
+    this.liveNodeLimit = Math.max(1, liveNodeLimit);
+    this.refreshedHighlights = Collections.emptyList();
+    this.refreshedLines = Collections.emptyList();
   }
 
   public void refreshHighlights() {
-    this.focusVisualizationCanvas.redraw();
+    this.boundsRefresher.refresh(this.refreshedHighlights, this.refreshedLines);
+  }
+
+  // Keeps the recorded tab stops across a change of screen geometry, such as a rotation, and
+  // re-queries their bounds in one batch
+  public void reprojectHighlights() {
+    this.boundsRefresher.reproject(this.refreshedHighlights, this.refreshedLines);
+  }
+
+  // Runs on the UI thread once the refresher has written new bounds into the elements; the canvas
+  // only sees them through the draw list built here
+  public void onBoundsRefreshed() {
+    this.setDrawItemsAndRedraw();
   }
 
   public void addNewFocusedElement(AccessibilityEvent event) {
@@ -42,16 +79,26 @@ public class FocusVisualizer {
       this.setPreviousLineNonCurrent(this.focusElementLines.get(this.focusElementLines.size() - 1));
     }
 
-    this.createFocusElementHighlight(eventSource);
+    FocusElementHighlight focusElementHighlight = this.createFocusElementHighlight(eventSource);
     this.createFocusElementLine(eventSource, previousEventSource);
+    this.focusSequenceRecorder.recordFocus(
+        this.tabStopCount, eventSource, focusElementHighlight.getBounds(), event.getEventTime());
+    this.compactHistory();
 
-    this.setDrawItemsAndRedraw();
+    this.setElementLists();
+    this.setDrawItems();
+    this.redrawChangedElements();
   }
 
   public void resetVisualizations() {
     this.tabStopCount = 0;
+    this.boundsRefresher.compact(
+        new ArrayList<>(this.focusElementHighlights), new ArrayList<>(this.focusElementLines));
+    this.compactedElementCount = 0;
+    this.focusSequenceRecorder.reset();
     this.focusElementHighlights.clear();
     this.focusElementLines.clear();
+    this.setElementLists();
     this.setDrawItemsAndRedraw();
   }
 
@@ -66,23 +113,34 @@ public class FocusVisualizer {
   private void createFocusElementLine(
       AccessibilityNodeInfo eventSource, AccessibilityNodeInfo previousEventSource) {
     FocusElementLine focusElementLine =
-        new FocusElementLine(
-            eventSource,
-            previousEventSource,
-            this.styles.getCurrentLinePaints(),
-            this.focusVisualizationCanvas);
+        new FocusElementLine(eventSource, previousEventSource, this.styles.getCurrentLinePaints());
     this.focusElementLines.add(focusElementLine);
   }
 
-  private void createFocusElementHighlight(AccessibilityNodeInfo eventSource) {
+  private FocusElementHighlight createFocusElementHighlight(AccessibilityNodeInfo eventSource) {
     FocusElementHighlight focusElementHighlight =
         new FocusElementHighlight(
             eventSource,
             this.styles.getCurrentElementPaints(),
             this.styles.focusElementHighlightRadius,
-            this.tabStopCount,
-            this.focusVisualizationCanvas);
+            this.tabStopCount);
     this.focusElementHighlights.add(focusElementHighlight);
+    return focusElementHighlight;
+  }
+
+  private void compactHistory() {
+    int compactUpTo = this.focusElementHighlights.size() - this.liveNodeLimit;
+    if (compactUpTo <= this.compactedElementCount) {
+      return;
+    }
+
+    // Line i also reads the node of highlight i - 1, so it is compacted along with that highlight
+    this.boundsRefresher.compact(
+        new ArrayList<>(
+            this.focusElementHighlights.subList(this.compactedElementCount, compactUpTo)),
+        new ArrayList<>(
+            this.focusElementLines.subList(this.compactedElementCount, compactUpTo + 1)));
+    this.compactedElementCount = compactUpTo;
   }
 
   private AccessibilityNodeInfo getPreviousEventSource() {
@@ -92,8 +150,56 @@ public class FocusVisualizer {
     return this.focusElementHighlights.get(this.focusElementHighlights.size() - 1).getEventSource();
   }
 
+  // The bounds refresher gets immutable copies of the lists, so it never sees them change
+  // underneath it
+  private void setElementLists() {
+    this.refreshedHighlights =
+        Collections.unmodifiableList(new ArrayList<>(this.focusElementHighlights));
+    this.refreshedLines = Collections.unmodifiableList(new ArrayList<>(this.focusElementLines));
+  }
+
   private void setDrawItemsAndRedraw() {
-    this.focusVisualizationCanvas.setDrawItems(this.focusElementHighlights, this.focusElementLines);
+    this.setDrawItems();
     this.focusVisualizationCanvas.redraw();
   }
+
+  private void setDrawItems() {
+    List<FocusElementHighlightSnapshot> highlights =
+        new ArrayList<>(this.focusElementHighlights.size());
+    for (FocusElementHighlight highlight : this.focusElementHighlights) {
+      highlights.add(highlight.getSnapshot());
+    }
+    List<FocusElementLineSnapshot> lines = new ArrayList<>(this.focusElementLines.size());
+    for (FocusElementLine line : this.focusElementLines) {
+      lines.add(line.getSnapshot());
+    }
+    this.focusVisualizationCanvas.setDrawList(new FocusVisualizationDrawList(highlights, lines));
+  }
+
+  private void redrawChangedElements() {
+    int left = Integer.MAX_VALUE;
+    int top = Integer.MAX_VALUE;
+    int right = Integer.MIN_VALUE;
+    int bottom = Integer.MIN_VALUE;
+
+    int size = this.focusElementHighlights.size();
+    for (int index = Math.max(0, size - CHANGED_ELEMENTS_ON_FOCUS); index < size; index++) {
+      FocusElementBounds bounds = this.focusElementHighlights.get(index).getBounds();
+      if (bounds != null) {
+        left = Math.min(left, bounds.centerX);
+        top = Math.min(top, bounds.centerY);
+        right = Math.max(right, bounds.centerX);
+        bottom = Math.max(bottom, bounds.centerY);
+      }
+    }
+
+    if (left > right) {
+      // Nothing that changed is visible
+      return;
+    }
+
+    int padding = this.styles.focusElementHighlightRadius + REDRAW_REGION_PADDING;
+    this.focusVisualizationCanvas.redrawRegion(
+        left - padding, top - padding, right + padding, bottom + padding);
+  }
 }
@@ -14,6 +14,7 @@ public class FocusVisualizerController {
   private WindowManager windowManager;
   private LayoutParamGenerator layoutParamGenerator;
   private FocusVisualizationCanvas focusVisualizationCanvas;
+  private RedrawCoalescer redrawCoalescer;
 
   public FocusVisualizerController(
       FocusVisualizer focusVisualizer,
@@ -21,13 +22,15 @@ public class FocusVisualizerController {
       UIThreadRunner uiThreadRunner,
       WindowManager windowManager,
       LayoutParamGenerator layoutParamGenerator,
-      FocusVisualizationCanvas focusVisualizationCanvas) {
+      FocusVisualizationCanvas focusVisualizationCanvas,
+      RedrawCoalescer redrawCoalescer) {
     this.focusVisualizer = focusVisualizer;
     this.focusVisualizationStateManager = focusVisualizationStateManager;
     this.uiThreadRunner = uiThreadRunner;
     this.windowManager = windowManager;
     this.layoutParamGenerator = layoutParamGenerator;
     this.focusVisualizationCanvas = focusVisualizationCanvas;
+    this.redrawCoalescer = redrawCoalescer;
     this.focusVisualizationStateManager.subscribe(this::onFocusVisualizationStateChange);
   }
 
@@ -44,7 +47,7 @@ public class FocusVisualizerController {
       return;
     }
 
-    focusVisualizer.refreshHighlights();
+    redrawCoalescer.requestRedraw();
   }
 
   public void onAppChanged(AccessibilityNodeInfo nodeInfo) {
@@ -61,7 +64,7 @@ public class FocusVisualizerController {
     }
 
     windowManager.updateViewLayout(focusVisualizationCanvas, layoutParamGenerator.get());
-    focusVisualizer.resetVisualizations();
+    focusVisualizer.reprojectHighlights();
   }
 
   private void onFocusVisualizationStateChange(boolean enabled) {
@@ -6,7 +6,6 @@ package com.microsoft.accessibilityinsightsforandroidservice;
 import android.graphics.Color;
 import android.graphics.DashPathEffect;
 import android.graphics.Paint;
-import java.util.HashMap;
 
 public class FocusVisualizerStyles {
   private Paint currentLinePaint;
@@ -18,10 +17,10 @@ public class FocusVisualizerStyles {
   private Paint currentBackgroundLinePaint;
   private Paint nonCurrentBackgroundLinePaint;
 
-  private HashMap<String, Paint> currentElementPaints;
-  private HashMap<String, Paint> nonCurrentElementPaints;
-  private HashMap<String, Paint> currentLinePaints;
-  private HashMap<String, Paint> nonCurrentLinePaints;
+  private FocusElementPaints currentElementPaints;
+  private FocusElementPaints nonCurrentElementPaints;
+  private FocusLinePaints currentLinePaints;
+  private FocusLinePaints nonCurrentLinePaints;
 
   public int focusElementHighlightRadius = 50;
 
@@ -42,44 +41,40 @@ public class FocusVisualizerStyles {
   }
 
   private void setCurrentElementPaints() {
-    this.currentElementPaints = new HashMap<>();
-    this.currentElementPaints.put("outerCircle", this.currentOuterCirclePaint);
-    this.currentElementPaints.put("innerCircle", this.innerCirclePaint);
-    this.currentElementPaints.put("number", this.numberPaint);
+    this.currentElementPaints =
+        new FocusElementPaints(
+            this.currentOuterCirclePaint, this.innerCirclePaint, this.numberPaint);
   }
 
-  public HashMap<String, Paint> getCurrentElementPaints() {
+  public FocusElementPaints getCurrentElementPaints() {
     return currentElementPaints;
   }
 
   private void setNonCurrentElementPaints() {
-    this.nonCurrentElementPaints = new HashMap<>();
-    this.nonCurrentElementPaints.put("outerCircle", this.nonCurrentOuterCirclePaint);
-    this.nonCurrentElementPaints.put("innerCircle", this.innerCirclePaint);
-    this.nonCurrentElementPaints.put("number", this.numberPaint);
+    this.nonCurrentElementPaints =
+        new FocusElementPaints(
+            this.nonCurrentOuterCirclePaint, this.innerCirclePaint, this.numberPaint);
   }
 
-  public HashMap<String, Paint> getNonCurrentElementPaints() {
+  public FocusElementPaints getNonCurrentElementPaints() {
     return nonCurrentElementPaints;
   }
 
   private void setCurrentLinePaints() {
-    this.currentLinePaints = new HashMap<>();
-    this.currentLinePaints.put("foregroundLine", this.currentLinePaint);
-    this.currentLinePaints.put("backgroundLine", this.currentBackgroundLinePaint);
+    this.currentLinePaints =
+        new FocusLinePaints(this.currentLinePaint, this.currentBackgroundLinePaint);
   }
 
-  public HashMap<String, Paint> getCurrentLinePaints() {
+  public FocusLinePaints getCurrentLinePaints() {
     return currentLinePaints;
   }
 
   private void setNonCurrentLinePaints() {
-    this.nonCurrentLinePaints = new HashMap<>();
-    this.nonCurrentLinePaints.put("foregroundLine", this.nonCurrentLinePaint);
-    this.nonCurrentLinePaints.put("backgroundLine", this.nonCurrentBackgroundLinePaint);
+    this.nonCurrentLinePaints =
+        new FocusLinePaints(this.nonCurrentLinePaint, this.nonCurrentBackgroundLinePaint);
   }
 
-  public HashMap<String, Paint> getNonCurrentLinePaints() {
+  public FocusLinePaints getNonCurrentLinePaints() {
     return nonCurrentLinePaints;
   }
 
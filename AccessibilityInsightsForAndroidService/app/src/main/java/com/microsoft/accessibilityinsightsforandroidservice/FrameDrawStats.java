@@ -0,0 +1,81 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-frame draw time of a view, written on the UI thread and readable from any thread. Each
+// frame is also recorded as a span.
+public class FrameDrawStats {
+  public static final String SPAN_CATEGORY = "draw";
+  private static final long LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  private final String tag;
+  private final String spanName;
+  private final SpanRecorder spanRecorder;
+  private final AtomicLong framesDrawn = new AtomicLong();
+  private final AtomicLong totalDrawNanos = new AtomicLong();
+  private final AtomicLong lastDrawNanos = new AtomicLong();
+  private final AtomicLong maxDrawNanos = new AtomicLong();
+  private long lastLogNanos;
+
+  public FrameDrawStats(String tag, SpanRecorder spanRecorder) {
+    this.tag = tag;
+    this.spanName = tag + ".onDraw";
+    this.spanRecorder = spanRecorder;
+    this.lastLogNanos = spanRecorder.now();
+  }
+
+  public long startFrame() {
+    return spanRecorder.begin(spanName);
+  }
+
+  public void endFrame(long frameStartNanos) {
+    long now = spanRecorder.end(SPAN_CATEGORY, spanName, frameStartNanos);
+    long drawNanos = now - frameStartNanos;
+    framesDrawn.incrementAndGet();
+    totalDrawNanos.addAndGet(drawNanos);
+    lastDrawNanos.set(drawNanos);
+    if (drawNanos > maxDrawNanos.get()) {
+      maxDrawNanos.set(drawNanos);
+    }
+
+    if (now - lastLogNanos >= LOG_INTERVAL_NANOS) {
+      lastLogNanos = now;
+      Logger.logVerbose(
+          tag,
+          () ->
+              "frames="
+                  + getFramesDrawn()
+                  + " lastDrawNanos="
+                  + getLastDrawNanos()
+                  + " averageDrawNanos="
+                  + getAverageDrawNanos()
+                  + " maxDrawNanos="
+                  + getMaxDrawNanos());
+    }
+  }
+
+  public long getFramesDrawn() {
+    return framesDrawn.get();
+  }
+
+  public long getLastDrawNanos() {
+    return lastDrawNanos.get();
+  }
+
+  public long getMaxDrawNanos() {
+    return maxDrawNanos.get();
+  }
+
+  public long getTotalDrawNanos() {
+    return totalDrawNanos.get();
+  }
+
+  public long getAverageDrawNanos() {
+    long frames = framesDrawn.get();
+    return frames == 0 ? 0 : totalDrawNanos.get() / frames;
+  }
+}
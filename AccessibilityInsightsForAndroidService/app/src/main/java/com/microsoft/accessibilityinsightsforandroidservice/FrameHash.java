@@ -0,0 +1,41 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+// The luminance of each cell of a downsampled frame. Two frames match when no cell differs by
+// more than the tolerance, which absorbs filtering noise but not movement or fades.
+public class FrameHash {
+  public static final int LUMINANCE_TOLERANCE = 8;
+
+  private final int[] luminance;
+
+  public FrameHash(int[] luminance) {
+    this.luminance = luminance;
+  }
+
+  public static FrameHash fromPixels(int[] pixels) {
+    int[] luminance = new int[pixels.length];
+    for (int i = 0; i < pixels.length; i++) {
+      int red = (pixels[i] >> 16) & 0xff;
+      int green = (pixels[i] >> 8) & 0xff;
+      int blue = pixels[i] & 0xff;
+      // Integer Rec. 601 weights, out of 256
+      luminance[i] = (77 * red + 150 * green + 29 * blue) >> 8;
+    }
+    return new FrameHash(luminance);
+  }
+
+  public boolean matches(FrameHash other) {
+    if (other == null || other.luminance.length != luminance.length) {
+      return false;
+    }
+
+    for (int i = 0; i < luminance.length; i++) {
+      if (Math.abs(luminance[i] - other.luminance[i]) > LUMINANCE_TOLERANCE) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
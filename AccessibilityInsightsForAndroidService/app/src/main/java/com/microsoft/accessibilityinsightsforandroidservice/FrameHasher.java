@@ -0,0 +1,27 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.graphics.Bitmap;
+
+public class FrameHasher {
+  public static final int HASH_SIZE = 32;
+
+  private final BitmapProvider bitmapProvider;
+
+  public FrameHasher(BitmapProvider bitmapProvider) {
+    this.bitmapProvider = bitmapProvider;
+  }
+
+  // Filtered downscaling happens natively, so this reads HASH_SIZE^2 pixels instead of every one
+  public FrameHash hash(Bitmap frame) {
+    Bitmap thumbnail = bitmapProvider.createScaledBitmap(frame, HASH_SIZE, HASH_SIZE);
+    int[] pixels = new int[HASH_SIZE * HASH_SIZE];
+    thumbnail.getPixels(pixels, 0, HASH_SIZE, 0, 0, HASH_SIZE, HASH_SIZE);
+    if (thumbnail != frame) {
+      thumbnail.recycle();
+    }
+    return FrameHash.fromPixels(pixels);
+  }
+}
@@ -0,0 +1,8 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+public interface FrameScheduler {
+  void scheduleNextFrame(Runnable onFrame);
+}
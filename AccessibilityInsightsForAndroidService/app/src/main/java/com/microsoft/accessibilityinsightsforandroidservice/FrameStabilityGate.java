@@ -0,0 +1,117 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.graphics.Bitmap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+// Captures frames until requiredFrames consecutive ones match, so a scan doesn't start
+// mid-animation. Each frame is a fresh capture: a mirrored virtual display only produces frames
+// when the screen changes, so a long-lived one would never deliver matching frames of a still
+// screen.
+public class FrameStabilityGate {
+  public static final int DEFAULT_REQUIRED_FRAMES = 1;
+  public static final int DEFAULT_MAX_WAIT_MILLIS = 2000;
+
+  private final ScreenshotController screenshotController;
+  private final FrameHasher frameHasher;
+  private final LongSupplier nanoTime;
+  private final int requiredFrames;
+  private final long maxWaitMillis;
+  private final Executor frameExecutor;
+
+  public FrameStabilityGate(
+      ScreenshotController screenshotController,
+      FrameHasher frameHasher,
+      LongSupplier nanoTime,
+      int requiredFrames,
+      long maxWaitMillis) {
+    this(screenshotController, frameHasher, nanoTime, requiredFrames, maxWaitMillis, Runnable::run);
+  }
+
+  // Hands the settled frame to the consumer on frameExecutor instead of the screenshot thread
+  public FrameStabilityGate(
+      ScreenshotController screenshotController,
+      FrameHasher frameHasher,
+      LongSupplier nanoTime,
+      int requiredFrames,
+      long maxWaitMillis,
+      Executor frameExecutor) {
+    this.screenshotController = screenshotController;
+    this.frameHasher = frameHasher;
+    this.nanoTime = nanoTime;
+    this.requiredFrames = requiredFrames;
+    this.maxWaitMillis = maxWaitMillis;
+    this.frameExecutor = frameExecutor;
+  }
+
+  // With one required frame the first capture is used as is, without hashing
+  public boolean isSettling() {
+    return requiredFrames > 1;
+  }
+
+  public void getSettledFrame(long timeoutMillis, Consumer<SettledFrame> frameConsumer) {
+    new Attempt(timeoutMillis, frameConsumer).captureNextFrame();
+  }
+
+  private class Attempt {
+    final long startNanos = nanoTime.getAsLong();
+    final long timeoutMillis;
+    final Consumer<SettledFrame> frameConsumer;
+    Bitmap latestFrame;
+    FrameHash latestHash;
+    int matchingFrames;
+    int frameCount;
+
+    Attempt(long timeoutMillis, Consumer<SettledFrame> frameConsumer) {
+      this.timeoutMillis = timeoutMillis;
+      this.frameConsumer = frameConsumer;
+    }
+
+    void captureNextFrame() {
+      long remainingMillis = Math.max(0, timeoutMillis - getElapsedMillis());
+      screenshotController.getScreenshotWithMediaProjection(this::onFrame, remainingMillis);
+    }
+
+    void onFrame(Bitmap frame) {
+      // No projection, or the capture timed out; fall back to the latest frame, if any
+      if (frame == null) {
+        finish(latestFrame, false);
+        return;
+      }
+
+      frameCount++;
+      if (!isSettling()) {
+        finish(frame, true);
+        return;
+      }
+
+      FrameHash hash = frameHasher.hash(frame);
+      matchingFrames = hash.matches(latestHash) ? matchingFrames + 1 : 1;
+      latestFrame = frame;
+      latestHash = hash;
+
+      if (matchingFrames >= requiredFrames) {
+        finish(frame, true);
+      } else if (getElapsedMillis() >= Math.min(maxWaitMillis, timeoutMillis)) {
+        finish(frame, false);
+      } else {
+        captureNextFrame();
+      }
+    }
+
+    long getElapsedMillis() {
+      return TimeUnit.NANOSECONDS.toMillis(nanoTime.getAsLong() - startNanos);
+    }
+
+    void finish(Bitmap frame, boolean stable) {
+      SettledFrame settledFrame =
+          new SettledFrame(frame, stable, frameCount, nanoTime.getAsLong() - startNanos);
+      frameExecutor.execute(() -> frameConsumer.accept(settledFrame));
+    }
+  }
+}
@@ -0,0 +1,42 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.os.Handler;
+import java.util.function.LongSupplier;
+
+// Runs the scheduled work immediately if the previous frame is at least intervalMillis old, and
+// otherwise as soon as it will be.
+public class IntervalFrameScheduler implements FrameScheduler {
+  private final Handler handler;
+  private final LongSupplier uptimeMillisSupplier;
+  private final long intervalMillis;
+  private final Runnable runFrame = this::runFrame;
+  private Runnable onFrame;
+  private long lastFrameMillis;
+
+  public IntervalFrameScheduler(
+      Handler handler, LongSupplier uptimeMillisSupplier, long intervalMillis) {
+    this.handler = handler;
+    this.uptimeMillisSupplier = uptimeMillisSupplier;
+    this.intervalMillis = intervalMillis;
+    this.lastFrameMillis = -intervalMillis;
+  }
+
+  @Override
+  public void scheduleNextFrame(Runnable onFrame) {
+    this.onFrame = onFrame;
+    long frameMillis = Math.max(uptimeMillisSupplier.getAsLong(), lastFrameMillis + intervalMillis);
+    handler.postAtTime(runFrame, frameMillis);
+  }
+
+  private void runFrame() {
+    lastFrameMillis = uptimeMillisSupplier.getAsLong();
+    Runnable scheduledWork = onFrame;
+    onFrame = null;
+    if (scheduledWork != null) {
+      scheduledWork.run();
+    }
+  }
+}
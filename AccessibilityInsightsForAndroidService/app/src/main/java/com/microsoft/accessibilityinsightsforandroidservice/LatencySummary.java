@@ -0,0 +1,55 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.Arrays;
+
+// Count and sum over all samples, and quantiles over a sliding window of the most recent ones
+public class LatencySummary {
+  private final long[] window;
+  private long count;
+  private long sumNanos;
+
+  public LatencySummary(int windowSize) {
+    this.window = new long[windowSize];
+  }
+
+  public synchronized void record(long nanos) {
+    window[(int) (count % window.length)] = nanos;
+    count++;
+    sumNanos += nanos;
+  }
+
+  public synchronized Snapshot getSnapshot() {
+    long[] samples = Arrays.copyOf(window, (int) Math.min(count, window.length));
+    Arrays.sort(samples);
+    return new Snapshot(
+        count, sumNanos, quantile(samples, 0.5), quantile(samples, 0.95), quantile(samples, 0.99));
+  }
+
+  // Nearest-rank quantile
+  private static long quantile(long[] sortedSamples, double quantile) {
+    if (sortedSamples.length == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(quantile * sortedSamples.length);
+    return sortedSamples[Math.max(0, rank - 1)];
+  }
+
+  public static class Snapshot {
+    public final long count;
+    public final long sumNanos;
+    public final long p50Nanos;
+    public final long p95Nanos;
+    public final long p99Nanos;
+
+    public Snapshot(long count, long sumNanos, long p50Nanos, long p95Nanos, long p99Nanos) {
+      this.count = count;
+      this.sumNanos = sumNanos;
+      this.p50Nanos = p50Nanos;
+      this.p95Nanos = p95Nanos;
+      this.p99Nanos = p99Nanos;
+    }
+  }
+}
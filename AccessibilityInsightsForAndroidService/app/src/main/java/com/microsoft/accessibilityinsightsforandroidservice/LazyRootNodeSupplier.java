@@ -0,0 +1,48 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.view.accessibility.AccessibilityNodeInfo;
+import java.util.function.Supplier;
+
+// Fetches the root of the active window at most once per accessibility event, and only if some
+// consumer of the event actually asks for it. Each fetch is a binder round trip.
+public class LazyRootNodeSupplier implements Supplier<AccessibilityNodeInfo> {
+  private final Supplier<AccessibilityNodeInfo> rootNodeSource;
+  private AccessibilityNodeInfo rootNode;
+  private boolean fetched;
+
+  public LazyRootNodeSupplier(Supplier<AccessibilityNodeInfo> rootNodeSource) {
+    this.rootNodeSource = rootNodeSource;
+  }
+
+  @Override
+  public AccessibilityNodeInfo get() {
+    if (!fetched) {
+      rootNode = rootNodeSource.get();
+      fetched = true;
+    }
+    return rootNode;
+  }
+
+  // Hands the node over to a caller that keeps it beyond the current event (and is therefore
+  // responsible for recycling it).
+  public AccessibilityNodeInfo claim() {
+    AccessibilityNodeInfo claimedNode = get();
+    rootNode = null;
+    return claimedNode;
+  }
+
+  public boolean wasFetched() {
+    return fetched;
+  }
+
+  public void reset() {
+    if (rootNode != null) {
+      rootNode.recycle();
+      rootNode = null;
+    }
+    fetched = false;
+  }
+}
@@ -0,0 +1,144 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.LongSupplier;
+
+// Keeps the most recent log events in a fixed-size byte array, overwriting the oldest. Each
+// event is stored as its wall clock time, level, and UTF-8 tag and message with their lengths.
+public class LogRingBuffer {
+  public static final char VERBOSE = 'V';
+  public static final char DEBUG = 'D';
+  public static final char INFO = 'I';
+  public static final char WARNING = 'W';
+  public static final char ERROR = 'E';
+
+  private static final int MAX_TAG_BYTES = 0xFF;
+  private static final int MAX_MESSAGE_BYTES = 0xFFFF;
+  // time (8), level (1), tag length (1), message length (2)
+  private static final int HEADER_BYTES = 12;
+
+  private final byte[] buffer;
+  private final LongSupplier currentTimeMillisSupplier;
+  // Absolute byte offsets of the oldest event and of the end of the newest one
+  private long head;
+  private long tail;
+  private long droppedEvents;
+
+  public LogRingBuffer(int capacityBytes, LongSupplier currentTimeMillisSupplier) {
+    this.buffer = new byte[capacityBytes];
+    this.currentTimeMillisSupplier = currentTimeMillisSupplier;
+  }
+
+  public synchronized void append(char level, String tag, String message) {
+    byte[] tagBytes = truncate(tag.getBytes(StandardCharsets.UTF_8), MAX_TAG_BYTES);
+    int maxMessageBytes =
+        Math.min(MAX_MESSAGE_BYTES, buffer.length - HEADER_BYTES - tagBytes.length);
+    if (maxMessageBytes < 0) {
+      droppedEvents++;
+      return;
+    }
+    byte[] messageBytes = truncate(message.getBytes(StandardCharsets.UTF_8), maxMessageBytes);
+    int eventBytes = HEADER_BYTES + tagBytes.length + messageBytes.length;
+
+    while (tail + eventBytes - head > buffer.length) {
+      head += eventLength(head);
+      droppedEvents++;
+    }
+
+    long offset = tail;
+    offset = putLong(offset, currentTimeMillisSupplier.getAsLong());
+    offset = putByte(offset, (byte) level);
+    offset = putByte(offset, (byte) tagBytes.length);
+    offset = putByte(offset, (byte) (messageBytes.length >> 8));
+    offset = putByte(offset, (byte) messageBytes.length);
+    offset = putBytes(offset, tagBytes);
+    tail = putBytes(offset, messageBytes);
+  }
+
+  public synchronized long getDroppedEvents() {
+    return droppedEvents;
+  }
+
+  // One line per event, oldest first: "<epoch millis> <level>/<tag>: <message>"
+  public synchronized String dump() {
+    StringBuilder text = new StringBuilder();
+    long offset = head;
+    while (offset < tail) {
+      int tagLength = getTagLength(offset);
+      long tagOffset = offset + HEADER_BYTES;
+      text.append(getLong(offset))
+          .append(' ')
+          .append((char) getByte(offset + 8))
+          .append('/')
+          .append(getString(tagOffset, tagLength))
+          .append(": ")
+          .append(getString(tagOffset + tagLength, getMessageLength(offset)))
+          .append('\n');
+      offset += eventLength(offset);
+    }
+    return text.toString();
+  }
+
+  private int eventLength(long offset) {
+    return HEADER_BYTES + getTagLength(offset) + getMessageLength(offset);
+  }
+
+  private int getTagLength(long offset) {
+    return getByte(offset + 9) & 0xFF;
+  }
+
+  private int getMessageLength(long offset) {
+    return ((getByte(offset + 10) & 0xFF) << 8) | (getByte(offset + 11) & 0xFF);
+  }
+
+  private static byte[] truncate(byte[] bytes, int maxLength) {
+    if (bytes.length <= maxLength) {
+      return bytes;
+    }
+    byte[] truncated = new byte[maxLength];
+    System.arraycopy(bytes, 0, truncated, 0, maxLength);
+    return truncated;
+  }
+
+  private long putLong(long offset, long value) {
+    for (int shift = 56; shift >= 0; shift -= 8) {
+      offset = putByte(offset, (byte) (value >> shift));
+    }
+    return offset;
+  }
+
+  private long putByte(long offset, byte value) {
+    buffer[(int) (offset % buffer.length)] = value;
+    return offset + 1;
+  }
+
+  private long putBytes(long offset, byte[] values) {
+    for (byte value : values) {
+      offset = putByte(offset, value);
+    }
+    return offset;
+  }
+
+  private long getLong(long offset) {
+    long value = 0;
+    for (int index = 0; index < 8; index++) {
+      value = (value << 8) | (getByte(offset + index) & 0xFF);
+    }
+    return value;
+  }
+
+  private byte getByte(long offset) {
+    return buffer[(int) (offset % buffer.length)];
+  }
+
+  private String getString(long offset, int length) {
+    byte[] bytes = new byte[length];
+    for (int index = 0; index < length; index++) {
+      bytes[index] = getByte(offset + index);
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -4,38 +4,96 @@
 package com.microsoft.accessibilityinsightsforandroidservice;
 
 import android.util.Log;
+import java.util.function.Supplier;
 
+// The Supplier overloads only build their message when it will be logged somewhere
 public class Logger {
 
   private static boolean LOG = BuildConfig.DEBUG_MODE;
+  private static volatile LogRingBuffer RingBuffer = null;
+
+  // Also keeps log events in memory, including in release builds; pass null to stop
+  public static void setRingBuffer(LogRingBuffer ringBuffer) {
+    RingBuffer = ringBuffer;
+  }
+
+  public static LogRingBuffer getRingBuffer() {
+    return RingBuffer;
+  }
 
   public static void logVerbose(String tag, String message) {
     if (LOG) {
       Log.v(tag, message);
     }
+    appendToRingBuffer(LogRingBuffer.VERBOSE, tag, message);
+  }
+
+  public static void logVerbose(String tag, Supplier<String> message) {
+    if (isEnabled()) {
+      logVerbose(tag, message.get());
+    }
   }
 
   public static void logDebug(String tag, String message) {
     if (LOG) {
       Log.d(tag, message);
     }
+    appendToRingBuffer(LogRingBuffer.DEBUG, tag, message);
+  }
+
+  public static void logDebug(String tag, Supplier<String> message) {
+    if (isEnabled()) {
+      logDebug(tag, message.get());
+    }
   }
 
   public static void logError(String tag, String message) {
     if (LOG) {
       Log.e(tag, message);
     }
+    appendToRingBuffer(LogRingBuffer.ERROR, tag, message);
+  }
+
+  public static void logError(String tag, Supplier<String> message) {
+    if (isEnabled()) {
+      logError(tag, message.get());
+    }
   }
 
   public static void logInfo(String tag, String message) {
     if (LOG) {
       Log.i(tag, message);
     }
+    appendToRingBuffer(LogRingBuffer.INFO, tag, message);
+  }
+
+  public static void logInfo(String tag, Supplier<String> message) {
+    if (isEnabled()) {
+      logInfo(tag, message.get());
+    }
   }
 
   public static void logWarning(String tag, String message) {
     if (LOG) {
       Log.w(tag, message);
     }
+    appendToRingBuffer(LogRingBuffer.WARNING, tag, message);
+  }
+
+  public static void logWarning(String tag, Supplier<String> message) {
+    if (isEnabled()) {
+      logWarning(tag, message.get());
+    }
+  }
+
+  private static boolean isEnabled() {
+    return LOG || RingBuffer != null;
+  }
+
+  private static void appendToRingBuffer(char level, String tag, String message) {
+    LogRingBuffer ringBuffer = RingBuffer;
+    if (ringBuffer != null) {
+      ringBuffer.append(level, tag, message);
+    }
   }
 }
@@ -0,0 +1,34 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.Collections;
+
+public class LogsRequestFulfiller implements RequestFulfiller {
+  public static final String CONTENT_TYPE = "text/plain; charset=utf-8";
+
+  private final ResponseWriter responseWriter;
+
+  public LogsRequestFulfiller(ResponseWriter responseWriter) {
+    this.responseWriter = responseWriter;
+  }
+
+  @Override
+  public void fulfillRequest(Deadline deadline, RunnableFunction onRequestFulfilled) {
+    LogRingBuffer ringBuffer = Logger.getRingBuffer();
+    String content;
+    if (ringBuffer == null) {
+      content = "Log ring buffer is disabled; set LOG_RING_BUFFER_BYTES to enable it";
+    } else {
+      content = "droppedEvents=" + ringBuffer.getDroppedEvents() + "\n" + ringBuffer.dump();
+    }
+    responseWriter.writeSuccessfulResponse(content, CONTENT_TYPE, Collections.emptyMap());
+    onRequestFulfilled.run();
+  }
+
+  @Override
+  public boolean isBlockingRequest() {
+    return true;
+  }
+}
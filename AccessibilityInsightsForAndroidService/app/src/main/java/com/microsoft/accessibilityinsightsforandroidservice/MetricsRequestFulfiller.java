@@ -0,0 +1,28 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.Collections;
+
+public class MetricsRequestFulfiller implements RequestFulfiller {
+  private final ResponseWriter responseWriter;
+  private final ServiceMetrics serviceMetrics;
+
+  public MetricsRequestFulfiller(ResponseWriter responseWriter, ServiceMetrics serviceMetrics) {
+    this.responseWriter = responseWriter;
+    this.serviceMetrics = serviceMetrics;
+  }
+
+  @Override
+  public void fulfillRequest(Deadline deadline, RunnableFunction onRequestFulfilled) {
+    responseWriter.writeSuccessfulResponse(
+        serviceMetrics.toExposition(), ServiceMetrics.CONTENT_TYPE, Collections.emptyMap());
+    onRequestFulfilled.run();
+  }
+
+  @Override
+  public boolean isBlockingRequest() {
+    return true;
+  }
+}
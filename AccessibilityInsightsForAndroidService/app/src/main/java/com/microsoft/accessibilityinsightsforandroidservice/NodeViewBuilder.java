@@ -4,13 +4,12 @@
 package com.microsoft.accessibilityinsightsforandroidservice;
 
 import android.graphics.Rect;
-import android.view.accessibility.AccessibilityNodeInfo;
 import com.deque.axe.android.AxeView;
 import com.deque.axe.android.wrappers.AxeRect;
 import java.util.List;
 
 public class NodeViewBuilder implements AxeView.Builder {
-  private final AccessibilityNodeInfo accessibilityNode;
+  private final AccessibilityNode accessibilityNode;
   private final List<AxeView> children;
   private final AxeView labeledBy;
   private final AxeRect boundsRect;
@@ -75,14 +74,11 @@ public class NodeViewBuilder implements AxeView.Builder {
   }
 
   public String hintText() {
-    if (android.os.Build.VERSION.SDK_INT >= 26) {
-      return safeToString(accessibilityNode.getHintText());
-    }
-    return null;
+    return safeToString(accessibilityNode.getHintText());
   }
 
   public NodeViewBuilder(
-      AccessibilityNodeInfo node,
+      AccessibilityNode node,
       List<AxeView> children,
       AxeView labeledBy,
       AxeRectProvider boundsRectProvider) {
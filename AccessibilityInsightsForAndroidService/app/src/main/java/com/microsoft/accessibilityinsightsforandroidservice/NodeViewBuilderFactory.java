@@ -3,7 +3,6 @@
 
 package com.microsoft.accessibilityinsightsforandroidservice;
 
-import android.view.accessibility.AccessibilityNodeInfo;
 import com.deque.axe.android.AxeView;
 import java.util.List;
 
@@ -13,7 +12,7 @@ public class NodeViewBuilderFactory {
   // for that class.
 
   public NodeViewBuilder createNodeViewBuilder(
-      AccessibilityNodeInfo node, List<AxeView> children, AxeView labeledBy) {
+      AccessibilityNode node, List<AxeView> children, AxeView labeledBy) {
     return new NodeViewBuilder(node, children, labeledBy, new AxeRectProvider());
   }
 }
@@ -38,7 +38,7 @@ public class OnScreenshotAvailable implements ImageReader.OnImageAvailableListen
     try {
       screenshotBitmap = getBitmapFromImage(image);
     } catch (ImageFormatException e) {
-      Logger.logError(TAG, "ImageFormatException: " + e.toString());
+      Logger.logError(TAG, () -> "ImageFormatException: " + e.toString());
     } finally {
       image.close();
     }
@@ -58,14 +58,15 @@ public class OnScreenshotAvailable implements ImageReader.OnImageAvailableListen
     if (width != metrics.widthPixels || height != metrics.heightPixels) {
       Logger.logError(
           TAG,
-          "Received image of dimensions "
-              + width
-              + "x"
-              + height
-              + ", mismatches device DisplayMetrics "
-              + metrics.widthPixels
-              + "x"
-              + metrics.heightPixels);
+          () ->
+              "Received image of dimensions "
+                  + width
+                  + "x"
+                  + height
+                  + ", mismatches device DisplayMetrics "
+                  + metrics.widthPixels
+                  + "x"
+                  + metrics.heightPixels);
     }
 
     Bitmap bitmap = bitmapProvider.createBitmap(width, height, IMAGE_BITMAP_FORMAT);
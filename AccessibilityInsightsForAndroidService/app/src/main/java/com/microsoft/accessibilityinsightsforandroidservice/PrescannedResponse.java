@@ -0,0 +1,25 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// A successful /result response prepared by a background prescan. The prescan's own timings
+// aren't kept, since they'd describe a scan the request didn't wait for; the Scan-Id is kept
+// apart so it can be written for the request that gets the response.
+public class PrescannedResponse {
+  public final String content;
+  public final String contentType;
+  public final Map<String, String> headers;
+  public final String scanId;
+
+  public PrescannedResponse(String content, String contentType, Map<String, String> headers) {
+    this.content = content;
+    this.contentType = contentType;
+    this.headers = new LinkedHashMap<>(headers);
+    this.headers.remove(ResultRequestFulfiller.SERVER_TIMING_HEADER);
+    this.scanId = this.headers.remove(ResultRequestFulfiller.SCAN_ID_HEADER);
+  }
+}
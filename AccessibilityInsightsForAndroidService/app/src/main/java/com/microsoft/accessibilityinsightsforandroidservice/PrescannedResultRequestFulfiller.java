@@ -0,0 +1,77 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Answers /result with the background prescan when it's still current, or else scans
+public class PrescannedResultRequestFulfiller implements RequestFulfiller {
+  private final ResponseWriter responseWriter;
+  private final BackgroundPrescanner backgroundPrescanner;
+  private final RequestFulfiller scanFulfiller;
+  private final SpanRecorder spanRecorder;
+
+  public PrescannedResultRequestFulfiller(
+      ResponseWriter responseWriter,
+      BackgroundPrescanner backgroundPrescanner,
+      RequestFulfiller scanFulfiller,
+      SpanRecorder spanRecorder) {
+    this.responseWriter = responseWriter;
+    this.backgroundPrescanner = backgroundPrescanner;
+    this.scanFulfiller = scanFulfiller;
+    this.spanRecorder = spanRecorder;
+  }
+
+  @Override
+  public void fulfillRequest(Deadline deadline, RunnableFunction onRequestFulfilled) {
+    ScanTimings timings = new ScanTimings(spanRecorder);
+    long claimStart = timings.now();
+    PrescannedResponse prescannedResponse;
+    try {
+      prescannedResponse = backgroundPrescanner.claimCurrentResponse(deadline.getRemainingMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      responseWriter.writeErrorResponse(e);
+      onRequestFulfilled.run();
+      return;
+    }
+
+    if (prescannedResponse != null) {
+      timings.recordSince(ScanTimings.PRESCAN_WAIT, claimStart);
+      timings.finish();
+      responseWriter.writeSuccessfulResponse(
+          prescannedResponse.content,
+          prescannedResponse.contentType,
+          getHeaders(prescannedResponse, timings));
+      backgroundPrescanner.releaseScan();
+      onRequestFulfilled.run();
+      return;
+    }
+
+    scanFulfiller.fulfillRequest(
+        deadline,
+        () -> {
+          backgroundPrescanner.releaseScan();
+          onRequestFulfilled.run();
+        });
+  }
+
+  // Server-Timing describes this request, which only waited for the prescan, and Scan-Id names
+  // the stored scan the content came from
+  private Map<String, String> getHeaders(PrescannedResponse response, ScanTimings timings) {
+    Map<String, String> headers = new LinkedHashMap<>();
+    if (response.scanId != null) {
+      headers.put(ResultRequestFulfiller.SCAN_ID_HEADER, response.scanId);
+    }
+    headers.putAll(response.headers);
+    headers.put(ResultRequestFulfiller.SERVER_TIMING_HEADER, timings.toServerTimingHeader());
+    return headers;
+  }
+
+  @Override
+  public boolean isBlockingRequest() {
+    return true;
+  }
+}
@@ -0,0 +1,44 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Content change and scroll events arrive in bursts of hundreds per second; there is no point in
+// redrawing the overlay more than once per frame.
+public class RedrawCoalescer {
+  private final Runnable redraw;
+  private final FrameScheduler frameScheduler;
+  private final Runnable deliverRedraw = this::deliverRedraw;
+  private final AtomicBoolean redrawPending = new AtomicBoolean();
+  private final AtomicLong redrawsReceived = new AtomicLong();
+  private final AtomicLong redrawsDelivered = new AtomicLong();
+
+  public RedrawCoalescer(Runnable redraw, FrameScheduler frameScheduler) {
+    this.redraw = redraw;
+    this.frameScheduler = frameScheduler;
+  }
+
+  public void requestRedraw() {
+    redrawsReceived.incrementAndGet();
+    if (redrawPending.compareAndSet(false, true)) {
+      frameScheduler.scheduleNextFrame(deliverRedraw);
+    }
+  }
+
+  public long getRedrawsReceived() {
+    return redrawsReceived.get();
+  }
+
+  public long getRedrawsDelivered() {
+    return redrawsDelivered.get();
+  }
+
+  private void deliverRedraw() {
+    redrawPending.set(false);
+    redrawsDelivered.incrementAndGet();
+    redraw.run();
+  }
+}
@@ -4,7 +4,7 @@
 package com.microsoft.accessibilityinsightsforandroidservice;
 
 public interface RequestFulfiller {
-  void fulfillRequest(RunnableFunction onRequestFulfilled);
+  void fulfillRequest(Deadline deadline, RunnableFunction onRequestFulfilled);
 
   boolean isBlockingRequest();
 }
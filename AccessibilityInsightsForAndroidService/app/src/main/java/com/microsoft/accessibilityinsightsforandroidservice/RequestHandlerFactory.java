@@ -14,6 +14,16 @@ public class RequestHandlerFactory {
   private final DeviceConfigFactory deviceConfigFactory;
   private final RequestHandlerImplFactory requestHandlerImplFactory;
   private final FocusVisualizationStateManager focusVisualizationStateManager;
+  private final FocusSequenceRecorder focusSequenceRecorder;
+  private final FocusTraversalDriver focusTraversalDriver;
+  private final ScanMetrics scanMetrics;
+  private final ServiceMetrics serviceMetrics;
+  private final SpanRecorder spanRecorder;
+  private final DeadlineFactory deadlineFactory;
+  private final FrameHasher frameHasher;
+  private final EventQuiescenceTracker eventQuiescenceTracker;
+  private final BackgroundPrescanner backgroundPrescanner;
+  private final ScanResultStore scanResultStore;
 
   public RequestHandlerFactory(
       ScreenshotController screenshotController,
@@ -22,7 +32,17 @@ public class RequestHandlerFactory {
       AxeScanner axeScanner,
       DeviceConfigFactory deviceConfigFactory,
       RequestHandlerImplFactory requestHandlerImplFactory,
-      FocusVisualizationStateManager focusVisualizationStateManager) {
+      FocusVisualizationStateManager focusVisualizationStateManager,
+      FocusSequenceRecorder focusSequenceRecorder,
+      FocusTraversalDriver focusTraversalDriver,
+      ScanMetrics scanMetrics,
+      ServiceMetrics serviceMetrics,
+      SpanRecorder spanRecorder,
+      DeadlineFactory deadlineFactory,
+      FrameHasher frameHasher,
+      EventQuiescenceTracker eventQuiescenceTracker,
+      BackgroundPrescanner backgroundPrescanner,
+      ScanResultStore scanResultStore) {
     this.screenshotController = screenshotController;
     this.axeScanner = axeScanner;
     this.rootNodeFinder = rootNodeFinder;
@@ -30,22 +50,79 @@ public class RequestHandlerFactory {
     this.deviceConfigFactory = deviceConfigFactory;
     this.requestHandlerImplFactory = requestHandlerImplFactory;
     this.focusVisualizationStateManager = focusVisualizationStateManager;
+    this.focusSequenceRecorder = focusSequenceRecorder;
+    this.focusTraversalDriver = focusTraversalDriver;
+    this.scanMetrics = scanMetrics;
+    this.serviceMetrics = serviceMetrics;
+    this.spanRecorder = spanRecorder;
+    this.deadlineFactory = deadlineFactory;
+    this.frameHasher = frameHasher;
+    this.eventQuiescenceTracker = eventQuiescenceTracker;
+    this.backgroundPrescanner = backgroundPrescanner;
+    this.scanResultStore = scanResultStore;
   }
 
   public RequestHandler createHandlerForRequest(
       Socket socket, String requestString, ResponseWriter responseWriter) {
     SocketHolder socketHolder = new SocketHolder(socket);
+    RequestLine requestLine = new RequestLine(requestString);
+    Deadline deadline = deadlineFactory.createDeadline(requestLine);
     if (requestString != null) {
-      if (requestString.startsWith("GET /AccessibilityInsights/result ")) {
-        ResultRequestFulfiller resultRequestFulfiller =
+      if (requestLine.isGet("/AccessibilityInsights/result")) {
+        FrameStabilityGate frameStabilityGate =
+            new FrameStabilityGate(
+                screenshotController,
+                frameHasher,
+                spanRecorder::now,
+                requestLine.getIntParameter(
+                    "settleFrames", FrameStabilityGate.DEFAULT_REQUIRED_FRAMES),
+                requestLine.getIntParameter(
+                    "settleMaxMs", FrameStabilityGate.DEFAULT_MAX_WAIT_MILLIS));
+        EventQuiescenceGate eventQuiescenceGate =
+            new EventQuiescenceGate(
+                eventQuiescenceTracker,
+                requestLine.getIntParameter("quietMs", EventQuiescenceGate.DEFAULT_QUIET_MILLIS),
+                requestLine.getIntParameter(
+                    "quietMaxMs", EventQuiescenceGate.DEFAULT_MAX_WAIT_MILLIS));
+        RequestFulfiller resultRequestFulfiller =
             new ResultRequestFulfiller(
-                responseWriter, rootNodeFinder, eventHelper, axeScanner, screenshotController);
+                responseWriter,
+                rootNodeFinder,
+                eventHelper,
+                axeScanner,
+                frameStabilityGate,
+                eventQuiescenceGate,
+                scanMetrics,
+                scanResultStore);
+        // A prescan neither settled frames nor waited for quiet on this request's terms
+        if (backgroundPrescanner.isEnabled()
+            && !frameStabilityGate.isSettling()
+            && !eventQuiescenceGate.isWaiting()) {
+          resultRequestFulfiller =
+              new PrescannedResultRequestFulfiller(
+                  responseWriter, backgroundPrescanner, resultRequestFulfiller, spanRecorder);
+        }
         return requestHandlerImplFactory.createRequestHandler(
             socketHolder,
             resultRequestFulfiller,
+            deadline,
             "processResultRequest",
             "*** About to process scan request");
       }
+      if (requestLine.isGet("/AccessibilityInsights/result/diff")) {
+        ScanDiffRequestFulfiller scanDiffRequestFulfiller =
+            new ScanDiffRequestFulfiller(
+                responseWriter,
+                scanResultStore,
+                requestLine.getIntParameter("from", ScanResultStore.NO_SCAN),
+                requestLine.getIntParameter("to", ScanResultStore.NO_SCAN));
+        return requestHandlerImplFactory.createRequestHandler(
+            socketHolder,
+            scanDiffRequestFulfiller,
+            deadline,
+            "processResultDiffRequest",
+            "*** About to process result diff request");
+      }
       if (requestString.startsWith("GET /AccessibilityInsights/config ")) {
         ConfigRequestFulfiller configRequestFulfiller =
             new ConfigRequestFulfiller(
@@ -53,6 +130,7 @@ public class RequestHandlerFactory {
         return requestHandlerImplFactory.createRequestHandler(
             socketHolder,
             configRequestFulfiller,
+            deadline,
             "processConfigRequest",
             "*** About to process config request");
       }
@@ -62,6 +140,7 @@ public class RequestHandlerFactory {
         return requestHandlerImplFactory.createRequestHandler(
             socketHolder,
             tabStopsRequestFulfiller,
+            deadline,
             "processFocusTrackingEnableRequest",
             "*** About to process focus tracking enable request");
       }
@@ -71,6 +150,7 @@ public class RequestHandlerFactory {
         return requestHandlerImplFactory.createRequestHandler(
             socketHolder,
             tabStopsRequestFulfiller,
+            deadline,
             "processFocusTrackingDisableRequest",
             "*** About to process focus tracking disable request");
       }
@@ -80,16 +160,72 @@ public class RequestHandlerFactory {
         return requestHandlerImplFactory.createRequestHandler(
             socketHolder,
             tabStopsRequestFulfiller,
+            deadline,
             "processFocusTrackingResetRequest",
             "*** About to process focus tracking reset request");
       }
+      if (requestString.startsWith("GET /AccessibilityInsights/FocusTracking/Sequence ")) {
+        FocusSequenceRequestFulfiller focusSequenceRequestFulfiller =
+            new FocusSequenceRequestFulfiller(responseWriter, focusSequenceRecorder);
+        return requestHandlerImplFactory.createRequestHandler(
+            socketHolder,
+            focusSequenceRequestFulfiller,
+            deadline,
+            "processFocusTrackingSequenceRequest",
+            "*** About to process focus tracking sequence request");
+      }
+      if (requestString.startsWith("GET /AccessibilityInsights/metrics ")) {
+        MetricsRequestFulfiller metricsRequestFulfiller =
+            new MetricsRequestFulfiller(responseWriter, serviceMetrics);
+        return requestHandlerImplFactory.createRequestHandler(
+            socketHolder,
+            metricsRequestFulfiller,
+            deadline,
+            "processMetricsRequest",
+            "*** About to process metrics request");
+      }
+      if (requestString.startsWith("GET /AccessibilityInsights/trace ")) {
+        TraceRequestFulfiller traceRequestFulfiller =
+            new TraceRequestFulfiller(responseWriter, spanRecorder);
+        return requestHandlerImplFactory.createRequestHandler(
+            socketHolder,
+            traceRequestFulfiller,
+            deadline,
+            "processTraceRequest",
+            "*** About to process trace request");
+      }
+      if (requestString.startsWith("GET /AccessibilityInsights/logs ")) {
+        LogsRequestFulfiller logsRequestFulfiller = new LogsRequestFulfiller(responseWriter);
+        return requestHandlerImplFactory.createRequestHandler(
+            socketHolder,
+            logsRequestFulfiller,
+            deadline,
+            "processLogsRequest",
+            "*** About to process logs request");
+      }
+      if (requestLine.isGet("/AccessibilityInsights/FocusTracking/Traverse")) {
+        FocusTraversalRequestFulfiller focusTraversalRequestFulfiller =
+            new FocusTraversalRequestFulfiller(
+                responseWriter,
+                rootNodeFinder,
+                eventHelper,
+                focusTraversalDriver,
+                requestLine.getIntParameter("maxSteps", FocusTraversalDriver.DEFAULT_MAX_STEPS));
+        return requestHandlerImplFactory.createRequestHandler(
+            socketHolder,
+            focusTraversalRequestFulfiller,
+            deadline,
+            "processFocusTrackingTraverseRequest",
+            "*** About to process focus tracking traverse request");
+      }
     }
     UnrecognizedRequestFulfiller unrecognizedRequestFulfiller =
         new UnrecognizedRequestFulfiller(responseWriter, requestString);
     return requestHandlerImplFactory.createRequestHandler(
         socketHolder,
         unrecognizedRequestFulfiller,
+        deadline,
         "processUnrecognizedRequest",
-        "*** About to return 404: " + requestString);
+        () -> "*** About to return 404: " + requestString);
   }
 }
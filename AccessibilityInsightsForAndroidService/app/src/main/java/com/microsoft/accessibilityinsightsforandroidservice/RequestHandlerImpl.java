@@ -3,26 +3,31 @@
 
 package com.microsoft.accessibilityinsightsforandroidservice;
 
+import java.util.function.Supplier;
+
 public class RequestHandlerImpl implements RequestHandler {
   private final SocketHolder socketHolder;
   private final RequestFulfiller requestFulfiller;
+  private final Deadline deadline;
   private final String logTag;
-  private final String requestStartMessage;
+  private final Supplier<String> requestStartMessage;
 
   public RequestHandlerImpl(
       SocketHolder socketHolder,
       RequestFulfiller requestFulfiller,
+      Deadline deadline,
       String logTag,
-      String requestStartMessage) {
+      Supplier<String> requestStartMessage) {
     this.socketHolder = socketHolder;
     this.requestFulfiller = requestFulfiller;
+    this.deadline = deadline;
     this.logTag = logTag;
     this.requestStartMessage = requestStartMessage;
   }
 
   public void handleRequest() {
     logRequestStart();
-    requestFulfiller.fulfillRequest(this::onRequestFulfilled);
+    requestFulfiller.fulfillRequest(deadline, this::onRequestFulfilled);
   }
 
   @Override
@@ -3,13 +3,27 @@
 
 package com.microsoft.accessibilityinsightsforandroidservice;
 
+import java.util.function.Supplier;
+
 public class RequestHandlerImplFactory {
 
   public RequestHandlerImpl createRequestHandler(
       SocketHolder socketHolder,
       RequestFulfiller onFulfill,
+      Deadline deadline,
       String logTag,
       String requestStartMessage) {
-    return new RequestHandlerImpl(socketHolder, onFulfill, logTag, requestStartMessage);
+    return new RequestHandlerImpl(
+        socketHolder, onFulfill, deadline, logTag, () -> requestStartMessage);
+  }
+
+  // For start messages that are only worth building when they will be logged
+  public RequestHandlerImpl createRequestHandler(
+      SocketHolder socketHolder,
+      RequestFulfiller onFulfill,
+      Deadline deadline,
+      String logTag,
+      Supplier<String> requestStartMessage) {
+    return new RequestHandlerImpl(socketHolder, onFulfill, deadline, logTag, requestStartMessage);
   }
 }
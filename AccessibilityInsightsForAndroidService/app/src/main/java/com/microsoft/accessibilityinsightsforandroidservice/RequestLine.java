@@ -0,0 +1,77 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.HashMap;
+import java.util.Map;
+
+// The first line of an HTTP request, split into method, path and query parameters
+public class RequestLine {
+  private final String method;
+  private final String path;
+  private final Map<String, String> parameters = new HashMap<>();
+
+  public RequestLine(String requestString) {
+    String[] parts = requestString == null ? new String[0] : requestString.split(" ");
+    this.method = parts.length > 0 ? parts[0] : "";
+    String target = parts.length > 1 ? parts[1] : "";
+
+    int queryStart = target.indexOf('?');
+    if (queryStart < 0) {
+      this.path = target;
+      return;
+    }
+
+    this.path = target.substring(0, queryStart);
+    for (String parameter : target.substring(queryStart + 1).split("&")) {
+      if (parameter.isEmpty()) {
+        continue;
+      }
+      int valueStart = parameter.indexOf('=');
+      if (valueStart < 0) {
+        parameters.put(decode(parameter), "");
+      } else {
+        parameters.put(
+            decode(parameter.substring(0, valueStart)),
+            decode(parameter.substring(valueStart + 1)));
+      }
+    }
+  }
+
+  public boolean isGet(String path) {
+    return "GET".equals(method) && this.path.equals(path);
+  }
+
+  public String getPath() {
+    return path;
+  }
+
+  public String getParameter(String name) {
+    return parameters.get(name);
+  }
+
+  // Falls back to the default when the parameter is missing or isn't a number
+  public int getIntParameter(String name, int defaultValue) {
+    String value = parameters.get(name);
+    if (value == null) {
+      return defaultValue;
+    }
+
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      return defaultValue;
+    }
+  }
+
+  private static String decode(String value) {
+    try {
+      return URLDecoder.decode(value, "UTF-8");
+    } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+      return value;
+    }
+  }
+}
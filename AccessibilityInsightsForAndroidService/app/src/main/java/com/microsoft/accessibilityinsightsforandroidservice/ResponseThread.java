@@ -40,7 +40,7 @@ public class ResponseThread extends Thread {
       requestString = reader.readRequest();
       responseWriter = responseWriterFactory.createResponseWriter(socket.getOutputStream());
     } catch (IOException e) {
-      Logger.logVerbose(TAG, StackTrace.getStackTrace(e));
+      Logger.logVerbose(TAG, () -> StackTrace.getStackTrace(e));
       return;
     }
 
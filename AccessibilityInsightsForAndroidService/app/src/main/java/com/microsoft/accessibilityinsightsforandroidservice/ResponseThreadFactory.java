@@ -3,6 +3,8 @@
 
 package com.microsoft.accessibilityinsightsforandroidservice;
 
+import android.os.Handler;
+import android.os.SystemClock;
 import java.net.Socket;
 
 public class ResponseThreadFactory {
@@ -15,10 +17,17 @@ public class ResponseThreadFactory {
       EventHelper eventHelper,
       AxeScanner axeScanner,
       DeviceConfigFactory deviceConfigFactory,
-      FocusVisualizationStateManager focusVisualizationStateManager) {
-    responseWriterFactory = new ResponseWriterFactory();
-    requestReaderFactory = new RequestReaderFactory();
-    requestHandlerFactory =
+      FocusVisualizationStateManager focusVisualizationStateManager,
+      FocusSequenceRecorder focusSequenceRecorder,
+      ScanMetrics scanMetrics,
+      ScanResultStore scanResultStore,
+      ServiceMetrics serviceMetrics,
+      SpanRecorder spanRecorder,
+      EventQuiescenceTracker eventQuiescenceTracker,
+      Handler prescanHandler) {
+    this(
+        new ResponseWriterFactory(),
+        new RequestReaderFactory(),
         new RequestHandlerFactory(
             screenshotController,
             new RootNodeFinder(),
@@ -26,7 +35,72 @@ public class ResponseThreadFactory {
             axeScanner,
             deviceConfigFactory,
             new RequestHandlerImplFactory(),
-            focusVisualizationStateManager);
+            focusVisualizationStateManager,
+            focusSequenceRecorder,
+            new FocusTraversalDriver(SystemClock::uptimeMillis),
+            scanMetrics,
+            serviceMetrics,
+            spanRecorder,
+            new DeadlineFactory(System::nanoTime, BuildConfig.REQUEST_TIMEOUT_MILLIS),
+            new FrameHasher(new BitmapProvider()),
+            eventQuiescenceTracker,
+            createBackgroundPrescanner(
+                screenshotController,
+                eventHelper,
+                axeScanner,
+                spanRecorder,
+                eventQuiescenceTracker,
+                prescanHandler,
+                scanResultStore),
+            scanResultStore));
+  }
+
+  public ResponseThreadFactory(
+      ResponseWriterFactory responseWriterFactory,
+      RequestReaderFactory requestReaderFactory,
+      RequestHandlerFactory requestHandlerFactory) {
+    this.responseWriterFactory = responseWriterFactory;
+    this.requestReaderFactory = requestReaderFactory;
+    this.requestHandlerFactory = requestHandlerFactory;
+  }
+
+  // Prescans run the /result pipeline with the frame handed over to the low-priority prescan
+  // thread, and keep their timings out of the metrics of the scans clients asked for
+  private static BackgroundPrescanner createBackgroundPrescanner(
+      ScreenshotController screenshotController,
+      EventHelper eventHelper,
+      AxeScanner axeScanner,
+      SpanRecorder spanRecorder,
+      EventQuiescenceTracker eventQuiescenceTracker,
+      Handler prescanHandler,
+      ScanResultStore scanResultStore) {
+    ScanMetrics prescanMetrics = new ScanMetrics(spanRecorder, ScanMetrics.DEFAULT_WINDOW_SIZE);
+    BackgroundPrescanner backgroundPrescanner =
+        new BackgroundPrescanner(
+            eventQuiescenceTracker,
+            prescanHandler,
+            BuildConfig.BACKGROUND_PRESCAN_QUIET_MILLIS,
+            responseWriter ->
+                new ResultRequestFulfiller(
+                    responseWriter,
+                    new RootNodeFinder(),
+                    eventHelper,
+                    axeScanner,
+                    new FrameStabilityGate(
+                        screenshotController,
+                        new FrameHasher(new BitmapProvider()),
+                        spanRecorder::now,
+                        FrameStabilityGate.DEFAULT_REQUIRED_FRAMES,
+                        FrameStabilityGate.DEFAULT_MAX_WAIT_MILLIS,
+                        prescanHandler::post),
+                    new EventQuiescenceGate(eventQuiescenceTracker, 0, 0),
+                    prescanMetrics,
+                    scanResultStore),
+            new DeadlineFactory(System::nanoTime, BuildConfig.REQUEST_TIMEOUT_MILLIS));
+    if (backgroundPrescanner.isEnabled()) {
+      eventQuiescenceTracker.setChangeListener(backgroundPrescanner::onUiChanged);
+    }
+    return backgroundPrescanner;
   }
 
   public ResponseThread createResponseThread(Socket socket) {
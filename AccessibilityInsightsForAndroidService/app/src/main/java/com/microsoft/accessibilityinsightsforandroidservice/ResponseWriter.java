@@ -4,8 +4,11 @@
 package com.microsoft.accessibilityinsightsforandroidservice;
 
 import java.io.PrintWriter;
+import java.util.Collections;
+import java.util.Map;
 
 public class ResponseWriter {
+  public static final String SUCCESS_STATUS_LINE = "HTTP/1.0 200 OK";
 
   private final PrintWriter writer;
 
@@ -22,8 +25,16 @@ public class ResponseWriter {
   }
 
   public void writeSuccessfulResponse(String content) {
-    writer.println("HTTP/1.0 200 OK");
-    writer.println("Content-type: application/json");
+    writeSuccessfulResponse(content, "application/json", Collections.emptyMap());
+  }
+
+  public void writeSuccessfulResponse(
+      String content, String contentType, Map<String, String> headers) {
+    writer.println(SUCCESS_STATUS_LINE);
+    writer.println("Content-type: " + contentType);
+    for (Map.Entry<String, String> header : headers.entrySet()) {
+      writer.println(header.getKey() + ": " + header.getValue());
+    }
     appendResponseCommon(content);
   }
 
@@ -36,6 +47,14 @@ public class ResponseWriter {
     appendResponseCommon(content);
   }
 
+  public void writeTimeoutResponse(DeadlineExceededException e) {
+    final String content = new DeadlineExceededResponse(e).toJson();
+
+    writer.println("HTTP/1.0 504 Gateway Timeout");
+    writer.println("Content-type: application/json");
+    appendResponseCommon(content);
+  }
+
   private void appendResponseCommon(String content) {
     writer.println("Content-language: en");
     writer.println();
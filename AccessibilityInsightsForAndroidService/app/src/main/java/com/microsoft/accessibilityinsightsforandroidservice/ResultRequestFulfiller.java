@@ -6,43 +6,67 @@ package com.microsoft.accessibilityinsightsforandroidservice;
 import android.graphics.Bitmap;
 import android.view.accessibility.AccessibilityNodeInfo;
 import com.deque.axe.android.AxeResult;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class ResultRequestFulfiller implements RequestFulfiller {
+  public static final String SCAN_ID_HEADER = "Scan-Id";
+  public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
   private final RootNodeFinder rootNodeFinder;
   private final EventHelper eventHelper;
   private final ResponseWriter responseWriter;
   private final AxeScanner axeScanner;
-  private final ScreenshotController screenshotController;
+  private final FrameStabilityGate frameStabilityGate;
+  private final EventQuiescenceGate eventQuiescenceGate;
+  private final ScanMetrics scanMetrics;
+  private final ScanResultStore scanResultStore;
 
   public ResultRequestFulfiller(
       ResponseWriter responseWriter,
       RootNodeFinder rootNodeFinder,
       EventHelper eventHelper,
       AxeScanner axeScanner,
-      ScreenshotController screenshotController) {
+      FrameStabilityGate frameStabilityGate,
+      EventQuiescenceGate eventQuiescenceGate,
+      ScanMetrics scanMetrics,
+      ScanResultStore scanResultStore) {
     this.responseWriter = responseWriter;
     this.rootNodeFinder = rootNodeFinder;
     this.eventHelper = eventHelper;
     this.axeScanner = axeScanner;
-    this.screenshotController = screenshotController;
+    this.frameStabilityGate = frameStabilityGate;
+    this.eventQuiescenceGate = eventQuiescenceGate;
+    this.scanMetrics = scanMetrics;
+    this.scanResultStore = scanResultStore;
   }
 
-  public void fulfillRequest(RunnableFunction onRequestFulfilled) {
-    screenshotController.getScreenshotWithMediaProjection(
-        screenshot -> {
-          try {
-            AccessibilityNodeInfo source = eventHelper.claimLastSource();
-            AccessibilityNodeInfo rootNode = rootNodeFinder.getRootNodeFromSource(source);
-
-            String content = getScanContent(rootNode, screenshot);
-            responseWriter.writeSuccessfulResponse(content);
+  public void fulfillRequest(Deadline deadline, RunnableFunction onRequestFulfilled) {
+    ScanTimings timings = scanMetrics.startScan();
+    Map<String, String> headers = new LinkedHashMap<>();
+    try {
+      awaitQuiescence(deadline, timings, headers);
+    } catch (DeadlineExceededException e) {
+      responseWriter.writeTimeoutResponse(e);
+      onRequestFulfilled.run();
+      return;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      responseWriter.writeErrorResponse(e);
+      onRequestFulfilled.run();
+      return;
+    }
 
-            if (rootNode != null && rootNode != source) {
-              rootNode.recycle();
-            }
-            if (source != null && !eventHelper.restoreLastSource(source)) {
-              source.recycle();
-            }
+    long screenshotStart = timings.now();
+    frameStabilityGate.getSettledFrame(
+        deadline.getRemainingMillis(),
+        frame -> {
+          try {
+            long rootNodeStart = timings.recordSince(ScanTimings.SCREENSHOT, screenshotStart);
+            deadline.check(ScanTimings.SCREENSHOT);
+            writeScanResponse(deadline, frame, timings, rootNodeStart, headers);
+          } catch (DeadlineExceededException e) {
+            responseWriter.writeTimeoutResponse(e);
           } catch (Exception e) {
             responseWriter.writeErrorResponse(e);
           }
@@ -55,15 +79,76 @@ public class ResultRequestFulfiller implements RequestFulfiller {
     return true;
   }
 
-  private String getScanContent(AccessibilityNodeInfo rootNode, Bitmap screenshot)
-      throws ScanException, ViewChangedException {
+  // Runs on the response thread before the screenshot, so the frame and the tree both come from
+  // the idle UI
+  private void awaitQuiescence(Deadline deadline, ScanTimings timings, Map<String, String> headers)
+      throws InterruptedException, DeadlineExceededException {
+    if (!eventQuiescenceGate.isWaiting()) {
+      return;
+    }
+
+    long quiesceStart = timings.now();
+    boolean quiet = eventQuiescenceGate.awaitQuiet(deadline.getRemainingMillis());
+    long quiesceEnd = timings.recordSince(ScanTimings.QUIESCE, quiesceStart);
+    headers.put(
+        "Event-Quiescence", EventQuiescenceGate.toHeaderValue(quiet, quiesceEnd - quiesceStart));
+    deadline.check(ScanTimings.QUIESCE);
+  }
+
+  private void writeScanResponse(
+      Deadline deadline,
+      SettledFrame frame,
+      ScanTimings timings,
+      long rootNodeStart,
+      Map<String, String> headers)
+      throws ScanException, ViewChangedException, DeadlineExceededException {
+    AccessibilityNodeInfo source = eventHelper.claimLastSource();
+    AccessibilityNodeInfo rootNode = rootNodeFinder.getRootNodeFromSource(source);
+
+    try {
+      timings.recordSince(ScanTimings.ROOT_NODE, rootNodeStart);
+      deadline.check(ScanTimings.ROOT_NODE);
+
+      String content = getScanContent(rootNode, frame.bitmap, deadline, timings, headers);
+      timings.finish();
+      if (frameStabilityGate.isSettling()) {
+        headers.put("Frame-Settle", frame.toHeaderValue());
+      }
+      headers.put(SERVER_TIMING_HEADER, timings.toServerTimingHeader());
+      responseWriter.writeSuccessfulResponse(content, "application/json", headers);
+      scanMetrics.record(timings);
+    } finally {
+      if (rootNode != null && rootNode != source) {
+        rootNode.recycle();
+      }
+      if (source != null && !eventHelper.restoreLastSource(source)) {
+        source.recycle();
+      }
+    }
+  }
+
+  private String getScanContent(
+      AccessibilityNodeInfo rootNode,
+      Bitmap screenshot,
+      Deadline deadline,
+      ScanTimings timings,
+      Map<String, String> headers)
+      throws ScanException, ViewChangedException, DeadlineExceededException {
     if (rootNode == null) {
       throw new ScanException("Unable to locate root node to scan");
     }
-    AxeResult result = axeScanner.scanWithAxe(rootNode, screenshot);
+    AxeResult result = axeScanner.scanWithAxe(rootNode, screenshot, timings, deadline);
     if (result == null) {
       throw new ScanException("Scanner returned no data");
     }
-    return result.toJson();
+    deadline.check(ScanTimings.AXE_RUN);
+    int scanId = scanResultStore.add(result);
+    if (scanId != ScanResultStore.NO_SCAN) {
+      headers.put(SCAN_ID_HEADER, Integer.toString(scanId));
+    }
+    long toJsonStart = timings.now();
+    String content = result.toJson();
+    timings.recordSince(ScanTimings.TO_JSON, toJsonStart);
+    return content;
   }
 }
@@ -7,13 +7,20 @@ import android.view.accessibility.AccessibilityNodeInfo;
 
 public class RootNodeFinder {
   public AccessibilityNodeInfo getRootNodeFromSource(AccessibilityNodeInfo source) {
-    AccessibilityNodeInfo rootNode = null;
+    // Parents of an adapter are always adapters, so the root can be unwrapped again.
+    AccessibilityNodeInfoAdapter rootNode =
+        (AccessibilityNodeInfoAdapter) getRootNode(AccessibilityNodeInfoAdapter.wrap(source));
+    return rootNode == null ? null : rootNode.getNodeInfo();
+  }
+
+  public AccessibilityNode getRootNode(AccessibilityNode source) {
+    AccessibilityNode rootNode = null;
 
     if (source != null) {
-      AccessibilityNodeInfo currentNode = source;
+      AccessibilityNode currentNode = source;
 
       while (true) {
-        AccessibilityNodeInfo parent = currentNode.getParent();
+        AccessibilityNode parent = currentNode.getParent();
 
         if (parent == null) {
           rootNode = currentNode;
@@ -0,0 +1,94 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import com.deque.axe.android.AxeRuleResult;
+import com.deque.axe.android.AxeView;
+import com.deque.axe.android.wrappers.AxeRect;
+import java.util.Objects;
+
+// One rule result from a scan. The view is described by resource id, class and bounds, which stay
+// the same from one scan of a screen to the next; bounds is null when the view wasn't found.
+public class RuleResultEntry {
+  public final String ruleId;
+  public final String status;
+  public final int impact;
+  public final String ruleSummary;
+  public final String resourceId;
+  public final String className;
+  public final RuleResultBounds bounds;
+
+  public RuleResultEntry(
+      String ruleId,
+      String status,
+      int impact,
+      String ruleSummary,
+      String resourceId,
+      String className,
+      RuleResultBounds bounds) {
+    this.ruleId = ruleId;
+    this.status = status;
+    this.impact = impact;
+    this.ruleSummary = ruleSummary;
+    this.resourceId = resourceId;
+    this.className = className;
+    this.bounds = bounds;
+  }
+
+  public static RuleResultEntry fromAxeRuleResult(AxeRuleResult ruleResult, AxeView view) {
+    if (view == null) {
+      return new RuleResultEntry(
+          ruleResult.ruleId,
+          ruleResult.status,
+          ruleResult.impact,
+          ruleResult.ruleSummary,
+          null,
+          null,
+          null);
+    }
+
+    AxeRect rect = view.boundsInScreen;
+    return new RuleResultEntry(
+        ruleResult.ruleId,
+        ruleResult.status,
+        ruleResult.impact,
+        ruleResult.ruleSummary,
+        view.viewIdResourceName,
+        view.className,
+        rect == null ? null : new RuleResultBounds(rect.left, rect.top, rect.right, rect.bottom));
+  }
+
+  // Identifies the result across scans: which rule, on which view
+  public String getKey() {
+    return ruleId
+        + '|'
+        + resourceId
+        + '|'
+        + className
+        + '|'
+        + (bounds == null
+            ? null
+            : bounds.left + "," + bounds.top + "," + bounds.right + "," + bounds.bottom);
+  }
+
+  public boolean hasSameOutcome(RuleResultEntry other) {
+    return impact == other.impact
+        && Objects.equals(status, other.status)
+        && Objects.equals(ruleSummary, other.ruleSummary);
+  }
+
+  public static class RuleResultBounds {
+    public final int left;
+    public final int top;
+    public final int right;
+    public final int bottom;
+
+    public RuleResultBounds(int left, int top, int right, int bottom) {
+      this.left = left;
+      this.top = top;
+      this.right = right;
+      this.bottom = bottom;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import com.deque.axe.android.utils.JsonSerializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// What changed between two scans: rule results only in the later scan, only in the earlier one,
+// and results for the same rule and view whose status, impact or summary differ
+public class ScanDiff implements JsonSerializable {
+  public final int fromScanId;
+  public final int toScanId;
+  public final List<RuleResultEntry> added;
+  public final List<RuleResultEntry> removed;
+  public final List<ChangedRuleResult> changed;
+
+  public ScanDiff(
+      int fromScanId,
+      int toScanId,
+      List<RuleResultEntry> added,
+      List<RuleResultEntry> removed,
+      List<ChangedRuleResult> changed) {
+    this.fromScanId = fromScanId;
+    this.toScanId = toScanId;
+    this.added = added;
+    this.removed = removed;
+    this.changed = changed;
+  }
+
+  public static ScanDiff between(ScanSnapshot from, ScanSnapshot to) {
+    Map<String, RuleResultEntry> fromEntries = from.getEntries();
+    Map<String, RuleResultEntry> toEntries = to.getEntries();
+    List<RuleResultEntry> added = new ArrayList<>();
+    List<RuleResultEntry> removed = new ArrayList<>();
+    List<ChangedRuleResult> changed = new ArrayList<>();
+
+    for (Map.Entry<String, RuleResultEntry> toEntry : toEntries.entrySet()) {
+      RuleResultEntry before = fromEntries.get(toEntry.getKey());
+      RuleResultEntry after = toEntry.getValue();
+      if (before == null) {
+        added.add(after);
+      } else if (!before.hasSameOutcome(after)) {
+        changed.add(new ChangedRuleResult(before, after));
+      }
+    }
+    for (Map.Entry<String, RuleResultEntry> fromEntry : fromEntries.entrySet()) {
+      if (!toEntries.containsKey(fromEntry.getKey())) {
+        removed.add(fromEntry.getValue());
+      }
+    }
+
+    return new ScanDiff(from.getScanId(), to.getScanId(), added, removed, changed);
+  }
+
+  public static class ChangedRuleResult {
+    public final RuleResultEntry before;
+    public final RuleResultEntry after;
+
+    public ChangedRuleResult(RuleResultEntry before, RuleResultEntry after) {
+      this.before = before;
+      this.after = after;
+    }
+  }
+}
@@ -0,0 +1,46 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+// Diffs two stored scans. Without ids it diffs the last scan against the one before it, and with
+// only "to" it diffs that scan against the one before it.
+public class ScanDiffRequestFulfiller implements RequestFulfiller {
+  private final ResponseWriter responseWriter;
+  private final ScanResultStore scanResultStore;
+  private final int fromScanId;
+  private final int toScanId;
+
+  public ScanDiffRequestFulfiller(
+      ResponseWriter responseWriter,
+      ScanResultStore scanResultStore,
+      int fromScanId,
+      int toScanId) {
+    this.responseWriter = responseWriter;
+    this.scanResultStore = scanResultStore;
+    this.fromScanId = fromScanId;
+    this.toScanId = toScanId;
+  }
+
+  @Override
+  public void fulfillRequest(Deadline deadline, RunnableFunction onRequestFulfilled) {
+    int to = toScanId > ScanResultStore.NO_SCAN ? toScanId : scanResultStore.getLastScanId();
+    int from = fromScanId > ScanResultStore.NO_SCAN ? fromScanId : to - 1;
+    ScanSnapshot fromSnapshot = scanResultStore.get(from);
+    ScanSnapshot toSnapshot = scanResultStore.get(to);
+
+    if (fromSnapshot == null) {
+      responseWriter.writeNotFoundResponse("scan " + from);
+    } else if (toSnapshot == null) {
+      responseWriter.writeNotFoundResponse("scan " + to);
+    } else {
+      responseWriter.writeSuccessfulResponse(ScanDiff.between(fromSnapshot, toSnapshot).toJson());
+    }
+    onRequestFulfilled.run();
+  }
+
+  @Override
+  public boolean isBlockingRequest() {
+    return true;
+  }
+}
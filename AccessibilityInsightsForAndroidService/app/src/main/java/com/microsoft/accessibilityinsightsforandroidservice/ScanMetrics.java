@@ -0,0 +1,41 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+public class ScanMetrics {
+  public static final int DEFAULT_WINDOW_SIZE = 256;
+
+  private final SpanRecorder spanRecorder;
+  private final int windowSize;
+  private final Map<String, LatencySummary> stageSummaries = new ConcurrentSkipListMap<>();
+
+  public ScanMetrics(SpanRecorder spanRecorder, int windowSize) {
+    this.spanRecorder = spanRecorder;
+    this.windowSize = windowSize;
+  }
+
+  public ScanTimings startScan() {
+    return new ScanTimings(spanRecorder);
+  }
+
+  public void record(ScanTimings timings) {
+    for (Map.Entry<String, Long> stage : timings.getStageNanos().entrySet()) {
+      stageSummaries
+          .computeIfAbsent(stage.getKey(), key -> new LatencySummary(windowSize))
+          .record(stage.getValue());
+    }
+  }
+
+  public int getWindowSize() {
+    return windowSize;
+  }
+
+  // Sorted by stage name
+  public Map<String, LatencySummary> getStageSummaries() {
+    return stageSummaries;
+  }
+}
@@ -0,0 +1,49 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import com.deque.axe.android.AxeResult;
+import java.util.ArrayDeque;
+
+// Keeps snapshots of the most recent scans so any two of them can be diffed. Scans are numbered
+// from 1 in the order they're added; 0 means no scan.
+public class ScanResultStore {
+  public static final int NO_SCAN = 0;
+
+  private final int capacity;
+  private final ArrayDeque<ScanSnapshot> snapshots = new ArrayDeque<>();
+  private int lastScanId = NO_SCAN;
+
+  public ScanResultStore(int capacity) {
+    this.capacity = Math.max(0, capacity);
+  }
+
+  // Returns the scan's id, or NO_SCAN when the store keeps nothing
+  public synchronized int add(AxeResult result) {
+    if (capacity == 0) {
+      return NO_SCAN;
+    }
+
+    lastScanId++;
+    if (snapshots.size() == capacity) {
+      snapshots.removeFirst();
+    }
+    snapshots.addLast(ScanSnapshot.fromAxeResult(lastScanId, result));
+    return lastScanId;
+  }
+
+  // Null once the scan has been evicted, or if it never happened
+  public synchronized ScanSnapshot get(int scanId) {
+    for (ScanSnapshot snapshot : snapshots) {
+      if (snapshot.getScanId() == scanId) {
+        return snapshot;
+      }
+    }
+    return null;
+  }
+
+  public synchronized int getLastScanId() {
+    return lastScanId;
+  }
+}
@@ -0,0 +1,71 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import com.deque.axe.android.AxeResult;
+import com.deque.axe.android.AxeRuleResult;
+import com.deque.axe.android.AxeView;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// The rule results of one scan, keyed for diffing. The screenshot and the view tree aren't kept.
+public class ScanSnapshot {
+  private final int scanId;
+  private final Map<String, RuleResultEntry> entries;
+
+  public ScanSnapshot(int scanId, Map<String, RuleResultEntry> entries) {
+    this.scanId = scanId;
+    this.entries = entries;
+  }
+
+  public static ScanSnapshot fromAxeResult(int scanId, AxeResult result) {
+    Map<String, AxeView> views =
+        indexViews(result.axeContext == null ? null : result.axeContext.axeView);
+    Map<String, RuleResultEntry> entries = new LinkedHashMap<>();
+    if (result.axeRuleResults != null) {
+      for (AxeRuleResult ruleResult : result.axeRuleResults) {
+        RuleResultEntry entry =
+            RuleResultEntry.fromAxeRuleResult(ruleResult, views.get(ruleResult.axeViewId));
+        // Views that look the same, like unlabeled list items without ids, are told apart by
+        // order, which is stable for an unchanged screen
+        String key = entry.getKey();
+        for (int duplicate = 1; entries.containsKey(key); duplicate++) {
+          key = entry.getKey() + "#" + duplicate;
+        }
+        entries.put(key, entry);
+      }
+    }
+    return new ScanSnapshot(scanId, entries);
+  }
+
+  public int getScanId() {
+    return scanId;
+  }
+
+  public Map<String, RuleResultEntry> getEntries() {
+    return Collections.unmodifiableMap(entries);
+  }
+
+  private static Map<String, AxeView> indexViews(AxeView root) {
+    Map<String, AxeView> views = new HashMap<>();
+    Deque<AxeView> pending = new ArrayDeque<>();
+    if (root != null) {
+      pending.push(root);
+    }
+    while (!pending.isEmpty()) {
+      AxeView view = pending.pop();
+      views.put(view.axeViewId, view);
+      if (view.children != null) {
+        for (AxeView child : view.children) {
+          pending.push(child);
+        }
+      }
+    }
+    return views;
+  }
+}
@@ -0,0 +1,74 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Monotonic timings of the stages of one scan, also recorded as spans. toJson includes
+// toBase64Png, which it calls to serialize the screenshot.
+public class ScanTimings {
+  public static final String SPAN_CATEGORY = "scan";
+
+  public static final String PRESCAN_WAIT = "prescanWait";
+  public static final String QUIESCE = "quiesce";
+  public static final String SCREENSHOT = "screenshot";
+  public static final String ROOT_NODE = "rootNode";
+  public static final String AXE_VIEWS = "axeViews";
+  public static final String AXE_DEVICE = "axeDevice";
+  public static final String AXE_RUN = "axeRun";
+  public static final String TO_JSON = "toJson";
+  public static final String TO_BASE64_PNG = "toBase64Png";
+  public static final String TOTAL = "total";
+
+  private final SpanRecorder spanRecorder;
+  private final long startNanos;
+  private final Map<String, Long> stageNanos = new LinkedHashMap<>();
+
+  public ScanTimings(SpanRecorder spanRecorder) {
+    this.spanRecorder = spanRecorder;
+    this.startNanos = spanRecorder.now();
+  }
+
+  public long now() {
+    return spanRecorder.now();
+  }
+
+  // Returns the time the stage ended, which can start the next stage
+  public synchronized long recordSince(String stage, long stageStartNanos) {
+    long endNanos = now();
+    stageNanos.merge(stage, endNanos - stageStartNanos, Long::sum);
+    spanRecorder.record(SPAN_CATEGORY, stage, stageStartNanos, endNanos);
+    return endNanos;
+  }
+
+  public synchronized void finish() {
+    recordSince(TOTAL, startNanos);
+  }
+
+  public synchronized Map<String, Long> getStageNanos() {
+    return new LinkedHashMap<>(stageNanos);
+  }
+
+  // Formats the stages as a Server-Timing header value, in milliseconds
+  public synchronized String toServerTimingHeader() {
+    StringBuilder header = new StringBuilder();
+    for (Map.Entry<String, Long> stage : stageNanos.entrySet()) {
+      if (header.length() > 0) {
+        header.append(", ");
+      }
+      header
+          .append(stage.getKey())
+          .append(";dur=")
+          .append(
+              String.format(
+                  Locale.ROOT,
+                  "%.3f",
+                  stage.getValue() / (double) TimeUnit.MILLISECONDS.toNanos(1)));
+    }
+    return header.toString();
+  }
+}
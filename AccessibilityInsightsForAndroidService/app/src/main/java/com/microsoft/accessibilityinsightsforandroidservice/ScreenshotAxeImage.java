@@ -14,11 +14,15 @@ public class ScreenshotAxeImage extends AxeImage {
   private final AxeRect frameRect;
   private Bitmap screenshot;
   private ByteArrayOutputStreamProvider byteArrayOutputStreamProvider;
+  private final ScanTimings timings;
 
   public ScreenshotAxeImage(
-      Bitmap screenshot, ByteArrayOutputStreamProvider byteArrayOutputStreamProvider) {
+      Bitmap screenshot,
+      ByteArrayOutputStreamProvider byteArrayOutputStreamProvider,
+      ScanTimings timings) {
     this.screenshot = screenshot;
     this.byteArrayOutputStreamProvider = byteArrayOutputStreamProvider;
+    this.timings = timings;
     frameRect = new AxeRect(0, screenshot.getWidth() - 1, 0, screenshot.getHeight() - 1);
   }
 
@@ -35,9 +39,12 @@ public class ScreenshotAxeImage extends AxeImage {
 
   @Override
   public String toBase64Png() {
+    long encodeStart = timings.now();
     ByteArrayOutputStream byteArrayOutputStream = byteArrayOutputStreamProvider.get();
     screenshot.compress(Bitmap.CompressFormat.PNG, 100, byteArrayOutputStream);
     byte[] byteArray = byteArrayOutputStream.toByteArray();
-    return Base64.encodeToString(byteArray, Base64.NO_WRAP);
+    String base64Png = Base64.encodeToString(byteArray, Base64.NO_WRAP);
+    timings.recordSince(ScanTimings.TO_BASE64_PNG, encodeStart);
+    return base64Png;
   }
 }
@@ -11,10 +11,18 @@ import android.media.ImageReader;
 import android.media.projection.MediaProjection;
 import android.os.Handler;
 import android.util.DisplayMetrics;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+// Requests that arrive while a capture is in flight wait for the same frame instead of restarting
+// the capture, and each one completes with null if no frame arrives within timeoutMillis.
 public class ScreenshotController {
+  private static final String TAG = "ScreenshotController";
+  private static final String SPAN_CATEGORY = "screenshot";
+  private static final String ON_BITMAP_AVAILABLE_SPAN = "ScreenshotController.onBitmapAvailable";
+
   private final OnScreenshotAvailableProvider onScreenshotAvailableProvider;
   private DisplayMetrics metrics;
   private Handler screenshotHandler;
@@ -23,21 +31,36 @@ public class ScreenshotController {
   private VirtualDisplay display;
   private BitmapProvider bitmapProvider;
   private Supplier<MediaProjection> mediaProjectionSupplier;
+  private final SpanRecorder spanRecorder;
+  private final long timeoutMillis;
+  private final List<ScreenshotWaiter> waiters = new ArrayList<>();
+  private boolean captureInProgress;
+  private int captureGeneration;
 
   public ScreenshotController(
       Supplier<DisplayMetrics> displayMetricsSupplier,
       Handler handler,
       OnScreenshotAvailableProvider onScreenshotAvailableProvider,
       BitmapProvider bitmapProvider,
-      Supplier<MediaProjection> mediaProjectionSupplier) {
+      Supplier<MediaProjection> mediaProjectionSupplier,
+      SpanRecorder spanRecorder,
+      long timeoutMillis) {
     this.displayMetricsSupplier = displayMetricsSupplier;
     this.screenshotHandler = handler;
     this.onScreenshotAvailableProvider = onScreenshotAvailableProvider;
     this.bitmapProvider = bitmapProvider;
     this.mediaProjectionSupplier = mediaProjectionSupplier;
+    this.spanRecorder = spanRecorder;
+    this.timeoutMillis = timeoutMillis;
   }
 
   public void getScreenshotWithMediaProjection(Consumer<Bitmap> bitmapConsumer) {
+    getScreenshotWithMediaProjection(bitmapConsumer, timeoutMillis);
+  }
+
+  // Waits no longer than the controller's own timeout, even if the caller allows more
+  public void getScreenshotWithMediaProjection(
+      Consumer<Bitmap> bitmapConsumer, long requestTimeoutMillis) {
     MediaProjection sharedMediaProjection = mediaProjectionSupplier.get();
 
     if (sharedMediaProjection == null) {
@@ -45,6 +68,19 @@ public class ScreenshotController {
       return;
     }
 
+    synchronized (this) {
+      ScreenshotWaiter waiter =
+          new ScreenshotWaiter(bitmapConsumer, Math.min(requestTimeoutMillis, timeoutMillis));
+      waiters.add(waiter);
+      screenshotHandler.postDelayed(waiter.onTimeout, waiter.timeoutMillis);
+
+      if (!captureInProgress) {
+        startCapture(sharedMediaProjection);
+      }
+    }
+  }
+
+  private void startCapture(MediaProjection sharedMediaProjection) {
     if (imageReader != null) {
       imageReader.close();
     }
@@ -53,8 +89,9 @@ public class ScreenshotController {
       display.release();
     }
 
+    captureInProgress = true;
     metrics = displayMetricsSupplier.get();
-    imageReader = getImageReader(metrics, bitmapConsumer);
+    imageReader = getImageReader(metrics, ++captureGeneration);
     display =
         sharedMediaProjection.createVirtualDisplay(
             "myDisplay",
@@ -67,15 +104,34 @@ public class ScreenshotController {
             null);
   }
 
-  private ImageReader getImageReader(DisplayMetrics metrics, Consumer<Bitmap> bitmapConsumer) {
+  private void stopCapture() {
+    if (imageReader != null) {
+      imageReader.close();
+      imageReader = null;
+    }
+
+    if (display != null) {
+      display.release();
+      display = null;
+    }
+
+    captureInProgress = false;
+    captureGeneration++;
+  }
+
+  private ImageReader getImageReader(DisplayMetrics metrics, int generation) {
     ImageReader imageReader =
         ImageReader.newInstance(
             metrics.widthPixels, metrics.heightPixels, PixelFormat.RGBA_8888, 2);
 
     Consumer<Bitmap> onBitmapAvailable =
         bitmap -> {
-          display.release();
-          bitmapConsumer.accept(bitmap);
+          long spanStart = spanRecorder.begin(ON_BITMAP_AVAILABLE_SPAN);
+          try {
+            onBitmapAvailable(bitmap, generation);
+          } finally {
+            spanRecorder.end(SPAN_CATEGORY, ON_BITMAP_AVAILABLE_SPAN, spanStart);
+          }
         };
 
     OnScreenshotAvailable onScreenshotAvailable =
@@ -85,4 +141,51 @@ public class ScreenshotController {
 
     return imageReader;
   }
+
+  private void onBitmapAvailable(Bitmap bitmap, int generation) {
+    List<ScreenshotWaiter> frameWaiters;
+    synchronized (this) {
+      // A frame from a capture that was abandoned after every waiter timed out
+      if (generation != captureGeneration || !captureInProgress) {
+        return;
+      }
+
+      display.release();
+      display = null;
+      captureInProgress = false;
+      frameWaiters = new ArrayList<>(waiters);
+      waiters.clear();
+    }
+
+    for (ScreenshotWaiter waiter : frameWaiters) {
+      screenshotHandler.removeCallbacks(waiter.onTimeout);
+      waiter.bitmapConsumer.accept(bitmap);
+    }
+  }
+
+  private void onWaiterTimedOut(ScreenshotWaiter waiter) {
+    synchronized (this) {
+      if (!waiters.remove(waiter)) {
+        return;
+      }
+
+      if (waiters.isEmpty()) {
+        stopCapture();
+      }
+    }
+
+    Logger.logError(TAG, () -> "No screenshot within " + waiter.timeoutMillis + " ms");
+    waiter.bitmapConsumer.accept(null);
+  }
+
+  private class ScreenshotWaiter {
+    final Consumer<Bitmap> bitmapConsumer;
+    final long timeoutMillis;
+    final Runnable onTimeout = () -> onWaiterTimedOut(this);
+
+    ScreenshotWaiter(Consumer<Bitmap> bitmapConsumer, long timeoutMillis) {
+      this.bitmapConsumer = bitmapConsumer;
+      this.timeoutMillis = timeoutMillis;
+    }
+  }
 }
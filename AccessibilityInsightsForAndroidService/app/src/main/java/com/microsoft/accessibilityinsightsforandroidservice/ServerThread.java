@@ -58,13 +58,13 @@ public class ServerThread extends Thread {
     try {
       ServerSocket.close();
     } catch (IOException e) {
-      Logger.logError(TAG, StackTrace.getStackTrace(e));
+      Logger.logError(TAG, () -> StackTrace.getStackTrace(e));
     }
   }
 
   private void logExceptionIfRunning(Exception e) {
     if (acceptRequests) {
-      Logger.logError(TAG, StackTrace.getStackTrace(e));
+      Logger.logError(TAG, () -> StackTrace.getStackTrace(e));
     }
   }
 }
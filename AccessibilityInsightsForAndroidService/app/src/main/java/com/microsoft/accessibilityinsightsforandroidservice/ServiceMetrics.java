@@ -0,0 +1,124 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Formats the service's metrics in the Prometheus text exposition format
+public class ServiceMetrics {
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+  private static final String PREFIX = "accessibility_insights_";
+  private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final ScanMetrics scanMetrics;
+  private final AccessibilityEventPipelineStats eventPipelineStats;
+  private final RedrawCoalescer redrawCoalescer;
+  private final FrameDrawStats focusVisualizationDrawStats;
+
+  public ServiceMetrics(
+      ScanMetrics scanMetrics,
+      AccessibilityEventPipelineStats eventPipelineStats,
+      RedrawCoalescer redrawCoalescer,
+      FrameDrawStats focusVisualizationDrawStats) {
+    this.scanMetrics = scanMetrics;
+    this.eventPipelineStats = eventPipelineStats;
+    this.redrawCoalescer = redrawCoalescer;
+    this.focusVisualizationDrawStats = focusVisualizationDrawStats;
+  }
+
+  public String toExposition() {
+    StringBuilder text = new StringBuilder();
+    appendScanStages(text);
+
+    appendCounter(
+        text,
+        "events_received_total",
+        "Accessibility events received.",
+        eventPipelineStats.getEventsReceived());
+    appendCounter(
+        text,
+        "events_skipped_total",
+        "Accessibility events no listener subscribed to.",
+        eventPipelineStats.getEventsSkipped());
+    appendCounter(
+        text,
+        "root_fetches_total",
+        "Root node fetches for accessibility events.",
+        eventPipelineStats.getRootFetches());
+    appendCounter(
+        text,
+        "redraws_requested_total",
+        "Focus overlay redraws requested.",
+        redrawCoalescer.getRedrawsReceived());
+    appendCounter(
+        text,
+        "redraws_delivered_total",
+        "Focus overlay redraws delivered after coalescing.",
+        redrawCoalescer.getRedrawsDelivered());
+    appendCounter(
+        text,
+        "overlay_frames_drawn_total",
+        "Focus overlay frames drawn.",
+        focusVisualizationDrawStats.getFramesDrawn());
+    appendGauge(
+        text,
+        "overlay_frame_draw_seconds_max",
+        "Longest focus overlay frame draw.",
+        focusVisualizationDrawStats.getMaxDrawNanos() / NANOS_PER_SECOND);
+    return text.toString();
+  }
+
+  private void appendScanStages(StringBuilder text) {
+    String name = PREFIX + "scan_stage_seconds";
+    appendHeader(
+        text,
+        name,
+        "Duration of each stage of a /result scan; quantiles cover the last "
+            + scanMetrics.getWindowSize()
+            + " scans.",
+        "summary");
+    for (Map.Entry<String, LatencySummary> stage : scanMetrics.getStageSummaries().entrySet()) {
+      String labels = "stage=\"" + stage.getKey() + "\"";
+      LatencySummary.Snapshot snapshot = stage.getValue().getSnapshot();
+      appendSample(text, name, labels + ",quantile=\"0.5\"", seconds(snapshot.p50Nanos));
+      appendSample(text, name, labels + ",quantile=\"0.95\"", seconds(snapshot.p95Nanos));
+      appendSample(text, name, labels + ",quantile=\"0.99\"", seconds(snapshot.p99Nanos));
+      appendSample(text, name + "_sum", labels, seconds(snapshot.sumNanos));
+      appendSample(text, name + "_count", labels, Long.toString(snapshot.count));
+    }
+  }
+
+  private void appendCounter(StringBuilder text, String name, String help, long value) {
+    appendHeader(text, PREFIX + name, help, "counter");
+    appendSample(text, PREFIX + name, null, Long.toString(value));
+  }
+
+  private void appendGauge(StringBuilder text, String name, String help, double value) {
+    appendHeader(text, PREFIX + name, help, "gauge");
+    appendSample(text, PREFIX + name, null, format(value));
+  }
+
+  private void appendHeader(StringBuilder text, String name, String help, String type) {
+    text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  private void appendSample(StringBuilder text, String name, String labels, String value) {
+    text.append(name);
+    if (labels != null) {
+      text.append('{').append(labels).append('}');
+    }
+    text.append(' ').append(value).append('\n');
+  }
+
+  private static String seconds(long nanos) {
+    return format(nanos / NANOS_PER_SECOND);
+  }
+
+  private static String format(double value) {
+    return String.format(Locale.ROOT, "%.6f", value);
+  }
+}
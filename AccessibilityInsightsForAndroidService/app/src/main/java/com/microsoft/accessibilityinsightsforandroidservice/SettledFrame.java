@@ -0,0 +1,33 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.graphics.Bitmap;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// The frame a FrameStabilityGate settled on. stable is false when the gate gave up waiting and
+// the scan uses the latest frame instead.
+public class SettledFrame {
+  public final Bitmap bitmap;
+  public final boolean stable;
+  public final int frameCount;
+  public final long settleNanos;
+
+  public SettledFrame(Bitmap bitmap, boolean stable, int frameCount, long settleNanos) {
+    this.bitmap = bitmap;
+    this.stable = stable;
+    this.frameCount = frameCount;
+    this.settleNanos = settleNanos;
+  }
+
+  public String toHeaderValue() {
+    return String.format(
+        Locale.ROOT,
+        "stable=%b, frames=%d, dur=%.3f",
+        stable,
+        frameCount,
+        settleNanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+  }
+}
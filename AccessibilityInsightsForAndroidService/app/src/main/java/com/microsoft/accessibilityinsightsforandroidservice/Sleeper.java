@@ -0,0 +1,9 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+@FunctionalInterface
+public interface Sleeper {
+  void sleep(long millis) throws InterruptedException;
+}
@@ -21,7 +21,7 @@ public class SocketHolder {
         socket = null;
       }
     } catch (IOException e) {
-      Logger.logVerbose(logTag, e.toString());
+      Logger.logVerbose(logTag, e::toString);
     }
   }
 }
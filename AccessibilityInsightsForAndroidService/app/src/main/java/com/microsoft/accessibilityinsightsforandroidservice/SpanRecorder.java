@@ -0,0 +1,149 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+// Records timed spans of service work into preallocated arrays used as a ring buffer, so
+// recording doesn't allocate as long as span names are constants. Spans that begin and end on
+// the same thread can also be mirrored to android.os.Trace sections for systrace and Perfetto.
+// Recording takes no lock: each span claims the next slot and marks it as being written until its
+// fields are in place, and getChromeTrace copies slots without holding up recorders, dropping
+// any that were overwritten while it copied them.
+public class SpanRecorder {
+  private static final double NANOS_PER_MICRO = 1000.0;
+  private static final long SLOT_BEING_WRITTEN = -1;
+
+  private final int capacity;
+  private final LongSupplier nanoTimeSupplier;
+  private final int pid;
+  private final SystemTraceSections systemTraceSections;
+  private final AtomicLong nextSequence = new AtomicLong();
+  // The sequence of the span each slot holds, or SLOT_BEING_WRITTEN
+  private final AtomicLongArray slotSequences;
+  private final AtomicReferenceArray<String> categories;
+  private final AtomicReferenceArray<String> names;
+  private final AtomicLongArray startNanos;
+  private final AtomicLongArray durationNanos;
+  private final AtomicLongArray threadIds;
+  private final AtomicReferenceArray<String> threadNames;
+
+  // Pass null systemTraceSections to record spans without mirroring them
+  public SpanRecorder(
+      int capacity,
+      LongSupplier nanoTimeSupplier,
+      int pid,
+      SystemTraceSections systemTraceSections) {
+    this.capacity = capacity;
+    this.nanoTimeSupplier = nanoTimeSupplier;
+    this.pid = pid;
+    this.systemTraceSections = systemTraceSections;
+    this.slotSequences = new AtomicLongArray(capacity);
+    this.categories = new AtomicReferenceArray<>(capacity);
+    this.names = new AtomicReferenceArray<>(capacity);
+    this.startNanos = new AtomicLongArray(capacity);
+    this.durationNanos = new AtomicLongArray(capacity);
+    this.threadIds = new AtomicLongArray(capacity);
+    this.threadNames = new AtomicReferenceArray<>(capacity);
+    for (int slot = 0; slot < capacity; slot++) {
+      slotSequences.set(slot, SLOT_BEING_WRITTEN);
+    }
+  }
+
+  public long now() {
+    return nanoTimeSupplier.getAsLong();
+  }
+
+  // Returns the span start to pass to end() on the same thread
+  public long begin(String name) {
+    if (systemTraceSections != null) {
+      systemTraceSections.begin(name);
+    }
+    return now();
+  }
+
+  // Returns the span end
+  public long end(String category, String name, long spanStartNanos) {
+    long spanEndNanos = now();
+    if (systemTraceSections != null) {
+      systemTraceSections.end();
+    }
+    record(category, name, spanStartNanos, spanEndNanos);
+    return spanEndNanos;
+  }
+
+  // Records a span that already ended, such as one that started on another thread
+  public void record(String category, String name, long spanStartNanos, long spanEndNanos) {
+    if (capacity == 0) {
+      return;
+    }
+    Thread thread = Thread.currentThread();
+    long sequence = nextSequence.getAndIncrement();
+    int slot = (int) (sequence % capacity);
+    slotSequences.set(slot, SLOT_BEING_WRITTEN);
+    categories.set(slot, category);
+    names.set(slot, name);
+    startNanos.set(slot, spanStartNanos);
+    durationNanos.set(slot, spanEndNanos - spanStartNanos);
+    threadIds.set(slot, thread.getId());
+    threadNames.set(slot, thread.getName());
+    slotSequences.set(slot, sequence);
+  }
+
+  // Oldest span first, with timestamps in microseconds of the recorder's clock. Spans still being
+  // written when the copy starts are left for the next trace.
+  public ChromeTrace getChromeTrace() {
+    long recordedCount = nextSequence.get();
+    long first = Math.max(0, recordedCount - capacity);
+    long droppedSpans = first;
+    List<ChromeTraceEvent> events = new ArrayList<>();
+    Map<Long, String> threads = new LinkedHashMap<>();
+    for (long sequence = first; sequence < recordedCount; sequence++) {
+      int slot = (int) (sequence % capacity);
+      long slotSequence = slotSequences.get(slot);
+      if (slotSequence != sequence) {
+        // A later span has already taken the slot
+        if (slotSequence > sequence) {
+          droppedSpans++;
+        }
+        continue;
+      }
+      String category = categories.get(slot);
+      String name = names.get(slot);
+      long spanStartNanos = startNanos.get(slot);
+      long spanDurationNanos = durationNanos.get(slot);
+      long threadId = threadIds.get(slot);
+      String threadName = threadNames.get(slot);
+      if (slotSequences.get(slot) != sequence) {
+        droppedSpans++;
+        continue;
+      }
+
+      threads.put(threadId, threadName);
+      events.add(
+          ChromeTraceEvent.complete(
+              category,
+              name,
+              spanStartNanos / NANOS_PER_MICRO,
+              spanDurationNanos / NANOS_PER_MICRO,
+              pid,
+              threadId));
+    }
+    for (Map.Entry<Long, String> thread : threads.entrySet()) {
+      events.add(ChromeTraceEvent.threadName(pid, thread.getKey(), thread.getValue()));
+    }
+
+    Map<String, String> otherData = new HashMap<>();
+    otherData.put("droppedSpans", Long.toString(droppedSpans));
+    return new ChromeTrace(events, otherData);
+  }
+}
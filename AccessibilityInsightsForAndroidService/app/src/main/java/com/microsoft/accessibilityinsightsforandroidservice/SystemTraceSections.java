@@ -0,0 +1,16 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.os.Trace;
+
+public class SystemTraceSections {
+  public void begin(String name) {
+    Trace.beginSection(name);
+  }
+
+  public void end() {
+    Trace.endSection();
+  }
+}
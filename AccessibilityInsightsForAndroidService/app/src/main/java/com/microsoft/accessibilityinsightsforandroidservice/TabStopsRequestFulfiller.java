@@ -18,7 +18,7 @@ public class TabStopsRequestFulfiller implements RequestFulfiller {
   }
 
   @Override
-  public void fulfillRequest(RunnableFunction onRequestFulfilled) {
+  public void fulfillRequest(Deadline deadline, RunnableFunction onRequestFulfilled) {
     focusVisualizationStateManager.setState(requestValue);
     responseWriter.writeSuccessfulResponse("");
     onRequestFulfilled.run();
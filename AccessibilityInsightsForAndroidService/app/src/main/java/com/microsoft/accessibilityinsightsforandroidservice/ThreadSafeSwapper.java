@@ -3,27 +3,18 @@
 
 package com.microsoft.accessibilityinsightsforandroidservice;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 public class ThreadSafeSwapper<T> {
-  private final Object lock_object = new Object();
-  private T currentObject;
+  // Lock-free so that the accessibility thread (recordEvent) never blocks behind a server thread
+  // (claimLastSource/restoreLastSource) during event storms.
+  private final AtomicReference<T> currentObject = new AtomicReference<>();
 
   public T swap(T newObject) {
-    synchronized (lock_object) {
-      T oldObject = currentObject;
-      currentObject = newObject;
-      return oldObject;
-    }
+    return currentObject.getAndSet(newObject);
   }
 
   public boolean setIfCurrentlyNull(T newObject) {
-    synchronized (lock_object) {
-      T oldObject = currentObject;
-      if (oldObject != null) {
-        return false;
-      }
-
-      currentObject = newObject;
-      return true;
-    }
+    return currentObject.compareAndSet(null, newObject);
   }
 }
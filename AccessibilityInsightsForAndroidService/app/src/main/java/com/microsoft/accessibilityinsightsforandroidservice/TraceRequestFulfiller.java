@@ -0,0 +1,25 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+public class TraceRequestFulfiller implements RequestFulfiller {
+  private final ResponseWriter responseWriter;
+  private final SpanRecorder spanRecorder;
+
+  public TraceRequestFulfiller(ResponseWriter responseWriter, SpanRecorder spanRecorder) {
+    this.responseWriter = responseWriter;
+    this.spanRecorder = spanRecorder;
+  }
+
+  @Override
+  public void fulfillRequest(Deadline deadline, RunnableFunction onRequestFulfilled) {
+    responseWriter.writeSuccessfulResponse(spanRecorder.getChromeTrace().toJson());
+    onRequestFulfilled.run();
+  }
+
+  @Override
+  public boolean isBlockingRequest() {
+    return true;
+  }
+}
@@ -13,7 +13,7 @@ public class UnrecognizedRequestFulfiller implements RequestFulfiller {
     this.requestString = requestString;
   }
 
-  public void fulfillRequest(RunnableFunction onRequestFulfilled) {
+  public void fulfillRequest(Deadline deadline, RunnableFunction onRequestFulfilled) {
     responseWriter.writeNotFoundResponse(requestString);
     onRequestFulfilled.run();
   }
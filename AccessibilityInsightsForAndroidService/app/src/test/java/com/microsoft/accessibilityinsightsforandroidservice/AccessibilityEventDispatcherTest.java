@@ -3,6 +3,9 @@
 
 package com.microsoft.accessibilityinsightsforandroidservice;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -10,22 +13,31 @@ import static org.mockito.Mockito.when;
 
 import android.view.accessibility.AccessibilityEvent;
 import android.view.accessibility.AccessibilityNodeInfo;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 @RunWith(PowerMockRunner.class)
+@PrepareForTest({AccessibilityEvent.class})
 public class AccessibilityEventDispatcherTest {
 
   @Mock AccessibilityEvent eventMock;
   @Mock AccessibilityNodeInfo rootNodeMock;
+  @Mock Supplier<AccessibilityNodeInfo> rootNodeSupplierMock;
   @Mock Consumer<AccessibilityNodeInfo> onAppChangedListenerMock;
   @Mock Consumer<AccessibilityEvent> onFocusEventListenerMock;
   @Mock Consumer<AccessibilityEvent> onRedrawEventListenerMock;
+  @Mock Consumer<AccessibilityEvent> eventListenerMock;
+  @Mock AccessibilityEvent eventCopyMock;
 
   AccessibilityEventDispatcher testSubject;
 
@@ -33,6 +45,7 @@ public class AccessibilityEventDispatcherTest {
   public void prepare() {
     CharSequence packageNameStub = "some package name";
     when(rootNodeMock.getPackageName()).thenReturn(packageNameStub);
+    when(rootNodeSupplierMock.get()).thenReturn(rootNodeMock);
 
     testSubject = new AccessibilityEventDispatcher();
   }
@@ -48,7 +61,7 @@ public class AccessibilityEventDispatcherTest {
     when(eventMock.getEventType()).thenReturn(trivialEventType);
 
     testSubject.addOnAppChangedListener(onAppChangedListenerMock);
-    testSubject.onAccessibilityEvent(eventMock, rootNodeMock);
+    testSubject.onAccessibilityEvent(eventMock, rootNodeSupplierMock);
 
     verify(onAppChangedListenerMock, times(1)).accept(rootNodeMock);
   }
@@ -59,7 +72,7 @@ public class AccessibilityEventDispatcherTest {
     when(eventMock.getEventType()).thenReturn(trivialEventType);
 
     testSubject.addOnAppChangedListener(onAppChangedListenerMock);
-    testSubject.onAccessibilityEvent(eventMock, null);
+    testSubject.onAccessibilityEvent(eventMock, () -> null);
 
     verify(onAppChangedListenerMock, times(0)).accept(rootNodeMock);
   }
@@ -71,12 +84,12 @@ public class AccessibilityEventDispatcherTest {
     when(eventMock.getEventType()).thenReturn(trivialEventType);
 
     testSubject.addOnAppChangedListener(onAppChangedListenerMock);
-    testSubject.onAccessibilityEvent(eventMock, rootNodeMock);
+    testSubject.onAccessibilityEvent(eventMock, rootNodeSupplierMock);
 
     reset(rootNodeMock);
 
     when(rootNodeMock.getPackageName()).thenReturn(differentPackageNameStub);
-    testSubject.onAccessibilityEvent(eventMock, rootNodeMock);
+    testSubject.onAccessibilityEvent(eventMock, rootNodeSupplierMock);
 
     verify(onAppChangedListenerMock, times(2)).accept(rootNodeMock);
   }
@@ -87,7 +100,7 @@ public class AccessibilityEventDispatcherTest {
     when(eventMock.getEventType()).thenReturn(focusEventType);
 
     testSubject.addOnFocusEventListener(onFocusEventListenerMock);
-    testSubject.onAccessibilityEvent(eventMock, rootNodeMock);
+    testSubject.onAccessibilityEvent(eventMock, rootNodeSupplierMock);
 
     verify(onFocusEventListenerMock, times(1)).accept(eventMock);
   }
@@ -98,7 +111,7 @@ public class AccessibilityEventDispatcherTest {
     when(eventMock.getEventType()).thenReturn(trivialEventType);
 
     testSubject.addOnFocusEventListener(onFocusEventListenerMock);
-    testSubject.onAccessibilityEvent(eventMock, rootNodeMock);
+    testSubject.onAccessibilityEvent(eventMock, rootNodeSupplierMock);
 
     verify(onFocusEventListenerMock, times(0)).accept(eventMock);
   }
@@ -107,12 +120,17 @@ public class AccessibilityEventDispatcherTest {
   public void onRedrawEventListenerFiresOnRedrawEvents() {
     testSubject.addOnRedrawEventListener(onRedrawEventListenerMock);
 
-    AccessibilityEventDispatcher.redrawEventTypes.forEach(
-        eventType -> {
-          when(eventMock.getEventType()).thenReturn(eventType);
-          testSubject.onAccessibilityEvent(eventMock, rootNodeMock);
-          reset(eventMock);
-        });
+    int[] redrawEventTypes = {
+      AccessibilityEvent.TYPE_WINDOW_STATE_CHANGED,
+      AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED,
+      AccessibilityEvent.TYPE_VIEW_SCROLLED,
+      AccessibilityEvent.TYPE_WINDOWS_CHANGED
+    };
+    for (int eventType : redrawEventTypes) {
+      when(eventMock.getEventType()).thenReturn(eventType);
+      testSubject.onAccessibilityEvent(eventMock, rootNodeSupplierMock);
+      reset(eventMock);
+    }
 
     verify(onRedrawEventListenerMock, times(4)).accept(eventMock);
   }
@@ -123,8 +141,193 @@ public class AccessibilityEventDispatcherTest {
     when(eventMock.getEventType()).thenReturn(trivialEventType);
 
     testSubject.addOnRedrawEventListener(onRedrawEventListenerMock);
-    testSubject.onAccessibilityEvent(eventMock, rootNodeMock);
+    testSubject.onAccessibilityEvent(eventMock, rootNodeSupplierMock);
 
     verify(onRedrawEventListenerMock, times(0)).accept(eventMock);
   }
+
+  @Test
+  public void rootNodeIsNotFetchedWithoutOnAppChangedListeners() {
+    int focusEventType = AccessibilityEvent.TYPE_VIEW_FOCUSED;
+    when(eventMock.getEventType()).thenReturn(focusEventType);
+
+    testSubject.addOnFocusEventListener(onFocusEventListenerMock);
+    testSubject.onAccessibilityEvent(eventMock, rootNodeSupplierMock);
+
+    verify(rootNodeSupplierMock, never()).get();
+  }
+
+  @Test
+  public void rootNodeIsNotFetchedForEventsFromPreviousPackage() {
+    int trivialEventType = -1;
+    when(eventMock.getEventType()).thenReturn(trivialEventType);
+    when(eventMock.getPackageName()).thenReturn("some package name");
+
+    testSubject.addOnAppChangedListener(onAppChangedListenerMock);
+    testSubject.onAccessibilityEvent(eventMock, rootNodeSupplierMock);
+    testSubject.onAccessibilityEvent(eventMock, rootNodeSupplierMock);
+    testSubject.onAccessibilityEvent(eventMock, rootNodeSupplierMock);
+
+    verify(rootNodeSupplierMock, times(1)).get();
+    verify(onAppChangedListenerMock, times(1)).accept(rootNodeMock);
+  }
+
+  @Test
+  public void rootNodeIsFetchedForEventsFromDifferentPackage() {
+    int trivialEventType = -1;
+    when(eventMock.getEventType()).thenReturn(trivialEventType);
+    when(eventMock.getPackageName()).thenReturn("some package name");
+
+    testSubject.addOnAppChangedListener(onAppChangedListenerMock);
+    testSubject.onAccessibilityEvent(eventMock, rootNodeSupplierMock);
+
+    when(eventMock.getPackageName()).thenReturn("different package name");
+    testSubject.onAccessibilityEvent(eventMock, rootNodeSupplierMock);
+
+    verify(rootNodeSupplierMock, times(2)).get();
+  }
+
+  @Test
+  public void subscribedEventTypesIsEmptyWithoutListeners() {
+    Assert.assertEquals(0, testSubject.getSubscribedEventTypes());
+  }
+
+  @Test
+  public void subscribedEventTypesCoversFocusAndRedrawListeners() {
+    testSubject.addOnFocusEventListener(onFocusEventListenerMock);
+    testSubject.addOnRedrawEventListener(onRedrawEventListenerMock);
+
+    int expectedEventTypes =
+        AccessibilityEvent.TYPE_VIEW_FOCUSED
+            | AccessibilityEvent.TYPE_WINDOW_STATE_CHANGED
+            | AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED
+            | AccessibilityEvent.TYPE_VIEW_SCROLLED
+            | AccessibilityEvent.TYPE_WINDOWS_CHANGED;
+    Assert.assertEquals(expectedEventTypes, testSubject.getSubscribedEventTypes());
+  }
+
+  @Test
+  public void subscribedEventTypesCoversAppChangesWithOnAppChangedListeners() {
+    testSubject.addOnAppChangedListener(onAppChangedListenerMock);
+
+    Assert.assertEquals(
+        AccessibilityEventDispatcher.APP_CHANGED_EVENT_TYPES,
+        testSubject.getSubscribedEventTypes());
+  }
+
+  @Test
+  public void onAppChangedIsNotCheckedForOtherEventTypes() {
+    when(eventMock.getEventType()).thenReturn(AccessibilityEvent.TYPE_VIEW_FOCUSED);
+    when(eventMock.getPackageName()).thenReturn("different package name");
+
+    testSubject.addOnAppChangedListener(onAppChangedListenerMock);
+    testSubject.onAccessibilityEvent(eventMock, rootNodeSupplierMock);
+
+    verify(rootNodeSupplierMock, never()).get();
+    verify(onAppChangedListenerMock, never()).accept(any());
+  }
+
+  @Test
+  public void serviceSubscriptionsLetFilterSkipOtherEventTypes() {
+    // The listeners the service registers for focus visualization
+    testSubject.addOnRedrawEventListener(onRedrawEventListenerMock);
+    testSubject.addOnFocusEventListener(onFocusEventListenerMock);
+    testSubject.addOnAppChangedListener(onAppChangedListenerMock);
+
+    AccessibilityEventFilter filter =
+        new AccessibilityEventFilter(
+            testSubject.getSubscribedEventTypes(),
+            AccessibilityEventFilter.DEFAULT_RECORD_EVENT_TYPES,
+            0);
+
+    Assert.assertTrue(filter.shouldDispatch(AccessibilityEvent.TYPE_VIEW_FOCUSED));
+    Assert.assertTrue(filter.shouldDispatch(AccessibilityEvent.TYPE_WINDOW_STATE_CHANGED));
+    Assert.assertTrue(filter.shouldDispatch(AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED));
+    Assert.assertFalse(filter.shouldDispatch(AccessibilityEvent.TYPE_VIEW_CLICKED));
+    Assert.assertFalse(filter.shouldDispatch(AccessibilityEvent.TYPE_VIEW_TEXT_CHANGED));
+    Assert.assertFalse(filter.shouldDispatch(AccessibilityEvent.TYPE_VIEW_HOVER_ENTER));
+    Assert.assertFalse(filter.shouldDispatch(AccessibilityEvent.TYPE_NOTIFICATION_STATE_CHANGED));
+    int serviceEventTypes = filter.getServiceEventTypes();
+    Assert.assertEquals(0, serviceEventTypes & AccessibilityEvent.TYPE_VIEW_CLICKED);
+    Assert.assertEquals(0, serviceEventTypes & AccessibilityEvent.TYPE_NOTIFICATION_STATE_CHANGED);
+    Assert.assertEquals(0, serviceEventTypes & AccessibilityEvent.TYPE_VIEW_SELECTED);
+  }
+
+  @Test
+  public void eventListenerFiresOnlyForSubscribedEventTypes() {
+    int subscribedEventTypes =
+        AccessibilityEvent.TYPE_VIEW_CLICKED | AccessibilityEvent.TYPE_VIEW_SELECTED;
+    testSubject.addEventListener(subscribedEventTypes, eventListenerMock);
+
+    when(eventMock.getEventType()).thenReturn(AccessibilityEvent.TYPE_VIEW_CLICKED);
+    testSubject.onAccessibilityEvent(eventMock, rootNodeSupplierMock);
+    when(eventMock.getEventType()).thenReturn(AccessibilityEvent.TYPE_VIEW_SELECTED);
+    testSubject.onAccessibilityEvent(eventMock, rootNodeSupplierMock);
+    when(eventMock.getEventType()).thenReturn(AccessibilityEvent.TYPE_VIEW_FOCUSED);
+    testSubject.onAccessibilityEvent(eventMock, rootNodeSupplierMock);
+
+    verify(eventListenerMock, times(2)).accept(eventMock);
+  }
+
+  @Test
+  public void eventListenersSharingAnEventTypeAllFire() {
+    testSubject.addOnFocusEventListener(onFocusEventListenerMock);
+    testSubject.addEventListener(AccessibilityEvent.TYPES_ALL_MASK, eventListenerMock);
+
+    when(eventMock.getEventType()).thenReturn(AccessibilityEvent.TYPE_VIEW_FOCUSED);
+    testSubject.onAccessibilityEvent(eventMock, rootNodeSupplierMock);
+
+    verify(onFocusEventListenerMock, times(1)).accept(eventMock);
+    verify(eventListenerMock, times(1)).accept(eventMock);
+  }
+
+  @Test
+  public void executorEventListenerReceivesRecycledCopyOnExecutor() {
+    PowerMockito.mockStatic(AccessibilityEvent.class);
+    when(AccessibilityEvent.obtain(eventMock)).thenReturn(eventCopyMock);
+    List<Runnable> queuedWork = new ArrayList<>();
+    testSubject.addEventListener(
+        AccessibilityEvent.TYPE_VIEW_FOCUSED, eventListenerMock, queuedWork::add);
+
+    when(eventMock.getEventType()).thenReturn(AccessibilityEvent.TYPE_VIEW_FOCUSED);
+    testSubject.onAccessibilityEvent(eventMock, rootNodeSupplierMock);
+
+    verify(eventListenerMock, never()).accept(any());
+    Assert.assertEquals(1, queuedWork.size());
+
+    queuedWork.get(0).run();
+
+    verify(eventListenerMock, times(1)).accept(eventCopyMock);
+    verify(eventCopyMock, times(1)).recycle();
+    verify(eventMock, never()).recycle();
+  }
+
+  @Test
+  public void executorEventListenerCopyIsRecycledWhenListenerThrows() {
+    PowerMockito.mockStatic(AccessibilityEvent.class);
+    when(AccessibilityEvent.obtain(eventMock)).thenReturn(eventCopyMock);
+    doThrow(new IllegalStateException()).when(eventListenerMock).accept(eventCopyMock);
+    List<Runnable> queuedWork = new ArrayList<>();
+    testSubject.addEventListener(
+        AccessibilityEvent.TYPE_VIEW_FOCUSED, eventListenerMock, queuedWork::add);
+
+    when(eventMock.getEventType()).thenReturn(AccessibilityEvent.TYPE_VIEW_FOCUSED);
+    testSubject.onAccessibilityEvent(eventMock, rootNodeSupplierMock);
+
+    Assert.assertThrows(IllegalStateException.class, () -> queuedWork.get(0).run());
+    verify(eventCopyMock, times(1)).recycle();
+  }
+
+  @Test
+  public void subscribedEventTypesIncludesEventListenerMasks() {
+    int subscribedEventTypes =
+        AccessibilityEvent.TYPE_VIEW_CLICKED | AccessibilityEvent.TYPE_VIEW_SELECTED;
+    testSubject.addEventListener(subscribedEventTypes, eventListenerMock);
+    testSubject.addEventListener(
+        AccessibilityEvent.TYPE_VIEW_FOCUSED, eventListenerMock, Runnable::run);
+
+    Assert.assertEquals(
+        subscribedEventTypes | AccessibilityEvent.TYPE_VIEW_FOCUSED,
+        testSubject.getSubscribedEventTypes());
+  }
 }
@@ -0,0 +1,116 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.view.accessibility.AccessibilityEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AccessibilityEventFilterTest {
+  final int dispatchEventTypes = AccessibilityEvent.TYPE_VIEW_FOCUSED;
+  final int recordEventTypes =
+      AccessibilityEvent.TYPE_VIEW_FOCUSED | AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED;
+  final long debounceMillis = 100;
+  final int windowId = 7;
+
+  AccessibilityEventFilter testSubject;
+
+  @Before
+  public void prepare() {
+    testSubject =
+        new AccessibilityEventFilter(dispatchEventTypes, recordEventTypes, debounceMillis);
+  }
+
+  @Test
+  public void accessibilityEventFilterExists() {
+    Assert.assertNotNull(testSubject);
+  }
+
+  @Test
+  public void serviceEventTypesIncludeActiveWindowAndQuiescenceEventTypes() {
+    int expectedEventTypes =
+        dispatchEventTypes
+            | recordEventTypes
+            | AccessibilityEventFilter.ACTIVE_WINDOW_EVENT_TYPES
+            | EventQuiescenceTracker.CONTENT_CHANGE_EVENT_TYPES
+            | EventQuiescenceTracker.WINDOW_CHANGE_EVENT_TYPES;
+
+    Assert.assertEquals(expectedEventTypes, testSubject.getServiceEventTypes());
+  }
+
+  @Test
+  public void shouldDispatchMatchesDispatchMask() {
+    Assert.assertTrue(testSubject.shouldDispatch(AccessibilityEvent.TYPE_VIEW_FOCUSED));
+    Assert.assertFalse(testSubject.shouldDispatch(AccessibilityEvent.TYPE_VIEW_SCROLLED));
+  }
+
+  @Test
+  public void shouldRecordRejectsTypesOutsideRecordMask() {
+    Assert.assertFalse(
+        testSubject.shouldRecord(AccessibilityEvent.TYPE_VIEW_SCROLLED, windowId, 1000));
+  }
+
+  @Test
+  public void shouldRecordDebouncesSameWindow() {
+    int eventType = AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED;
+
+    Assert.assertTrue(testSubject.shouldRecord(eventType, windowId, 1000));
+    Assert.assertFalse(testSubject.shouldRecord(eventType, windowId, 1050));
+    Assert.assertFalse(testSubject.shouldRecord(eventType, windowId, 1099));
+    Assert.assertTrue(testSubject.shouldRecord(eventType, windowId, 1100));
+  }
+
+  @Test
+  public void shouldRecordAlwaysRecordsWindowChange() {
+    int eventType = AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED;
+
+    Assert.assertTrue(testSubject.shouldRecord(eventType, windowId, 1000));
+    Assert.assertTrue(testSubject.shouldRecord(eventType, windowId + 1, 1001));
+    Assert.assertTrue(testSubject.shouldRecord(eventType, windowId, 1002));
+  }
+
+  @Test
+  public void withoutDebounceLastEventWins() {
+    testSubject = new AccessibilityEventFilter(dispatchEventTypes, recordEventTypes, 0);
+    int eventType = AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED;
+
+    Assert.assertTrue(testSubject.shouldRecord(eventType, windowId, 1000));
+    Assert.assertTrue(testSubject.shouldRecord(eventType, windowId, 1000));
+    Assert.assertTrue(testSubject.shouldRecord(eventType, windowId, 1001));
+    Assert.assertTrue(testSubject.shouldRecord(eventType, windowId, 999));
+  }
+
+  @Test
+  public void debounceKeepsFirstEventOfBurst() {
+    int eventType = AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED;
+    List<Long> recordedEventTimes = new ArrayList<>();
+
+    for (long eventTime = 1000; eventTime < 1100; eventTime += 10) {
+      if (testSubject.shouldRecord(eventType, windowId, eventTime)) {
+        recordedEventTimes.add(eventTime);
+      }
+    }
+
+    Assert.assertEquals(Arrays.asList(1000L), recordedEventTimes);
+  }
+
+  @Test
+  public void defaultRecordEventTypesLeaveUnusedEventTypesUndelivered() {
+    testSubject =
+        new AccessibilityEventFilter(
+            dispatchEventTypes, AccessibilityEventFilter.DEFAULT_RECORD_EVENT_TYPES, 0);
+
+    Assert.assertTrue(
+        testSubject.shouldRecord(AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED, windowId, 0));
+    Assert.assertFalse(testSubject.shouldRecord(AccessibilityEvent.TYPE_VIEW_CLICKED, windowId, 0));
+    Assert.assertEquals(
+        0, testSubject.getServiceEventTypes() & AccessibilityEvent.TYPE_VIEW_CLICKED);
+    Assert.assertEquals(
+        0, testSubject.getServiceEventTypes() & AccessibilityEvent.TYPE_ANNOUNCEMENT);
+  }
+}
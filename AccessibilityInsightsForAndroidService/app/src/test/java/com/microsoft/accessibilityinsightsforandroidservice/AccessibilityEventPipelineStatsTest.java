@@ -0,0 +1,83 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.verifyStatic;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatchers;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Logger.class})
+public class AccessibilityEventPipelineStatsTest {
+  long nanoTime;
+
+  AccessibilityEventPipelineStats testSubject;
+
+  @Before
+  public void prepare() {
+    mockStatic(Logger.class);
+    nanoTime = 0;
+    testSubject = new AccessibilityEventPipelineStats(() -> nanoTime);
+  }
+
+  @Test
+  public void accessibilityEventPipelineStatsExists() {
+    Assert.assertNotNull(testSubject);
+  }
+
+  @Test
+  public void countsEventsAndSkippedEvents() {
+    testSubject.onEventHandled(true, false, false);
+    testSubject.onEventHandled(false, false, false);
+    testSubject.onEventHandled(false, true, true);
+
+    Assert.assertEquals(3, testSubject.getEventsReceived());
+    Assert.assertEquals(2, testSubject.getEventsSkipped());
+  }
+
+  @Test
+  public void countsRootFetchesSavedAgainstUnfilteredPipeline() {
+    testSubject.onEventHandled(true, true, true); // 2 before, 1 now
+    testSubject.onEventHandled(true, false, false); // 1 before, 0 now
+    testSubject.onEventHandled(false, true, false); // 2 before, 0 now
+
+    Assert.assertEquals(1, testSubject.getRootFetches());
+    Assert.assertEquals(4, testSubject.getRootFetchesSaved());
+  }
+
+  @Test
+  public void rootFetchesSavedPerSecondUsesElapsedTime() {
+    Assert.assertEquals(0, testSubject.getRootFetchesSavedPerSecond(), 0);
+
+    testSubject.onEventHandled(false, false, false);
+    testSubject.onEventHandled(false, false, false);
+    nanoTime = TimeUnit.SECONDS.toNanos(2);
+
+    Assert.assertEquals(2, testSubject.getRootFetchesSaved());
+    Assert.assertEquals(1, testSubject.getRootFetchesSavedPerSecond(), 0.0001);
+  }
+
+  @Test
+  public void logsAfterInterval() {
+    testSubject.onEventHandled(true, true, true);
+    verifyStatic(Logger.class, never());
+    Logger.logVerbose(ArgumentMatchers.anyString(), ArgumentMatchers.any(Supplier.class));
+
+    nanoTime = TimeUnit.SECONDS.toNanos(10);
+    testSubject.onEventHandled(true, true, true);
+    verifyStatic(Logger.class, times(1));
+    Logger.logVerbose(ArgumentMatchers.anyString(), ArgumentMatchers.any(Supplier.class));
+  }
+}
@@ -0,0 +1,96 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.graphics.Rect;
+import android.view.accessibility.AccessibilityNodeInfo;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AccessibilityNodeInfoAdapterTest {
+
+  @Mock AccessibilityNodeInfo nodeInfoMock;
+  @Mock AccessibilityNodeInfo childInfoMock;
+  @Mock AccessibilityNodeInfo labelInfoMock;
+
+  AccessibilityNodeInfoAdapter testSubject;
+
+  @Before
+  public void prepare() {
+    testSubject = new AccessibilityNodeInfoAdapter(nodeInfoMock);
+  }
+
+  @Test
+  public void wrapReturnsNullForNull() {
+    Assert.assertNull(AccessibilityNodeInfoAdapter.wrap(null));
+  }
+
+  @Test
+  public void wrapExposesNodeInfo() {
+    Assert.assertSame(nodeInfoMock, AccessibilityNodeInfoAdapter.wrap(nodeInfoMock).getNodeInfo());
+  }
+
+  @Test
+  public void wrapsRelatedNodes() {
+    when(nodeInfoMock.getChild(0)).thenReturn(childInfoMock);
+    when(nodeInfoMock.getLabeledBy()).thenReturn(labelInfoMock);
+
+    Assert.assertSame(childInfoMock, testSubject.getChild(0).getNodeInfo());
+    Assert.assertSame(labelInfoMock, testSubject.getLabeledBy().getNodeInfo());
+    Assert.assertNull(testSubject.getChild(1));
+    Assert.assertNull(testSubject.getParent());
+    Assert.assertNull(testSubject.getLabelFor());
+  }
+
+  @Test
+  public void delegatesProperties() {
+    when(nodeInfoMock.getChildCount()).thenReturn(3);
+    when(nodeInfoMock.getClassName()).thenReturn("class name");
+    when(nodeInfoMock.getText()).thenReturn("text");
+    when(nodeInfoMock.getViewIdResourceName()).thenReturn("id");
+    when(nodeInfoMock.isClickable()).thenReturn(true);
+
+    Assert.assertEquals(3, testSubject.getChildCount());
+    Assert.assertEquals("class name", testSubject.getClassName());
+    Assert.assertEquals("text", testSubject.getText());
+    Assert.assertEquals("id", testSubject.getViewIdResourceName());
+    Assert.assertTrue(testSubject.isClickable());
+  }
+
+  @Test
+  public void delegatesBoundsRefreshAndRecycle() {
+    Rect rect = new Rect();
+
+    testSubject.getBoundsInScreen(rect);
+    testSubject.refresh();
+    testSubject.recycle();
+
+    verify(nodeInfoMock).getBoundsInScreen(rect);
+    verify(nodeInfoMock).refresh();
+    verify(nodeInfoMock).recycle();
+  }
+
+  @Test
+  public void hintTextIsNullBeforeApi26() {
+    // Build.VERSION.SDK_INT is 0 in unit tests.
+    Assert.assertNull(testSubject.getHintText());
+  }
+
+  @Test
+  public void adaptersOfTheSameNodeAreEqual() {
+    AccessibilityNodeInfoAdapter other = new AccessibilityNodeInfoAdapter(nodeInfoMock);
+
+    Assert.assertEquals(testSubject, other);
+    Assert.assertEquals(testSubject.hashCode(), other.hashCode());
+    Assert.assertNotEquals(testSubject, new AccessibilityNodeInfoAdapter(childInfoMock));
+  }
+}
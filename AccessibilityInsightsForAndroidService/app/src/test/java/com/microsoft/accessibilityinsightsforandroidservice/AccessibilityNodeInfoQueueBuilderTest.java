@@ -7,7 +7,6 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import android.view.accessibility.AccessibilityNodeInfo;
 import java.util.Queue;
 import org.junit.Assert;
 import org.junit.Before;
@@ -19,10 +18,10 @@ import org.mockito.junit.MockitoJUnitRunner;
 @RunWith(MockitoJUnitRunner.class)
 public class AccessibilityNodeInfoQueueBuilderTest {
 
-  @Mock AccessibilityNodeInfo rootNode;
-  @Mock AccessibilityNodeInfo childNode0;
-  @Mock AccessibilityNodeInfo childNode1;
-  @Mock AccessibilityNodeInfo grandchildNode;
+  @Mock AccessibilityNode rootNode;
+  @Mock AccessibilityNode childNode0;
+  @Mock AccessibilityNode childNode1;
+  @Mock AccessibilityNode grandchildNode;
   @Mock AccessibilityNodeInfoSorterFactory nodeSorterFactory;
 
   AccessibilityNodeInfoQueueBuilder testSubject;
@@ -108,7 +107,7 @@ public class AccessibilityNodeInfoQueueBuilderTest {
   }
 
   public void assertNextQueueItemEquals(
-      Queue<AccessibilityNodeInfoSorter> queue, AccessibilityNodeInfo node, Long priority) {
+      Queue<AccessibilityNodeInfoSorter> queue, AccessibilityNode node, Long priority) {
     AccessibilityNodeInfoSorter nextItem = queue.poll();
     Assert.assertNotNull(nextItem);
     Assert.assertEquals(nextItem.node, node);
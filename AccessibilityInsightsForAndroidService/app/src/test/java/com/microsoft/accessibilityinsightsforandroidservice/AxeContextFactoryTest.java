@@ -31,12 +31,25 @@ public class AxeContextFactoryTest {
   @Mock Bitmap screenshotMock;
 
   AxeContextFactory testSubject;
+  ScanTimings timings;
+  long nanoTime;
 
   @Before
   public void prepare() throws ViewChangedException {
-    when(axeImageFactoryMock.createAxeImage(screenshotMock)).thenReturn(axeImageMock);
-    when(axeViewsFactoryMock.createAxeViews(rootNodeMock)).thenReturn(axeViewMock);
-    when(axeDeviceFactoryMock.createAxeDevice(rootNodeMock)).thenReturn(axeDeviceMock);
+    timings = new ScanTimings(new SpanRecorder(16, () -> nanoTime, 0, null));
+    when(axeImageFactoryMock.createAxeImage(screenshotMock, timings)).thenReturn(axeImageMock);
+    when(axeViewsFactoryMock.createAxeViews(rootNodeMock))
+        .thenAnswer(
+            invocation -> {
+              nanoTime += 10;
+              return axeViewMock;
+            });
+    when(axeDeviceFactoryMock.createAxeDevice(rootNodeMock))
+        .thenAnswer(
+            invocation -> {
+              nanoTime += 3;
+              return axeDeviceMock;
+            });
 
     testSubject =
         new AxeContextFactory(axeImageFactoryMock, axeViewsFactoryMock, axeDeviceFactoryMock);
@@ -44,15 +57,23 @@ public class AxeContextFactoryTest {
 
   @Test
   public void axeContentIsNotNull() throws ViewChangedException {
-    Assert.assertNotNull(testSubject.createAxeContext(rootNodeMock, screenshotMock));
+    Assert.assertNotNull(testSubject.createAxeContext(rootNodeMock, screenshotMock, timings));
   }
 
   @Test
   public void axeContentHasCorrectProperties() throws ViewChangedException {
-    AxeContext axeContext = testSubject.createAxeContext(rootNodeMock, screenshotMock);
+    AxeContext axeContext = testSubject.createAxeContext(rootNodeMock, screenshotMock, timings);
     Assert.assertEquals(axeContext.screenshot, axeImageMock);
     Assert.assertEquals(axeContext.axeDevice, axeDeviceMock);
     Assert.assertEquals(axeContext.axeView, axeViewMock);
     Assert.assertNotNull(axeContext.axeEventStream);
   }
+
+  @Test
+  public void recordsViewsAndDeviceTimes() throws ViewChangedException {
+    testSubject.createAxeContext(rootNodeMock, screenshotMock, timings);
+
+    Assert.assertEquals(Long.valueOf(10), timings.getStageNanos().get(ScanTimings.AXE_VIEWS));
+    Assert.assertEquals(Long.valueOf(3), timings.getStageNanos().get(ScanTimings.AXE_DEVICE));
+  }
 }
@@ -26,6 +26,8 @@ public class AxeImageFactoryTest {
 
   @Test
   public void axeImageIsNotNull() {
-    Assert.assertNotNull(testSubject.createAxeImage(screenshotMock));
+    Assert.assertNotNull(
+        testSubject.createAxeImage(
+            screenshotMock, new ScanTimings(new SpanRecorder(0, () -> 0, 0, null))));
   }
 }
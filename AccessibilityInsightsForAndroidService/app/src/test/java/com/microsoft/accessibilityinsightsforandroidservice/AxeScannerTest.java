@@ -3,6 +3,9 @@
 
 package com.microsoft.accessibilityinsightsforandroidservice;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import android.graphics.Bitmap;
@@ -29,20 +32,64 @@ public class AxeScannerTest {
   @Mock AxeContext axeContextMock;
 
   AxeScanner testSubject;
+  ScanTimings timings;
+  Deadline deadline;
+  long nanoTime;
 
   @Before
   public void prepare() {
+    timings = new ScanTimings(new SpanRecorder(16, () -> nanoTime, 0, null));
+    deadline = new Deadline(() -> nanoTime, 1000);
     testSubject = new AxeScanner(axeRunnerFactoryMock, axeContextFactoryMock);
   }
 
   @Test
-  public void scanWithAxeReturnsCorrectResult() throws ViewChangedException {
+  public void scanWithAxeReturnsCorrectResult()
+      throws ViewChangedException, DeadlineExceededException {
     when(axeRunnerFactoryMock.createAxeRunner()).thenReturn(axeMock);
-    when(axeContextFactoryMock.createAxeContext(accessibilityNodeInfoMock, screenshotMock))
+    when(axeContextFactoryMock.createAxeContext(accessibilityNodeInfoMock, screenshotMock, timings))
         .thenReturn(axeContextMock);
     when(axeMock.run(axeContextMock)).thenReturn(axeResultMock);
 
     Assert.assertEquals(
-        testSubject.scanWithAxe(accessibilityNodeInfoMock, screenshotMock), axeResultMock);
+        testSubject.scanWithAxe(accessibilityNodeInfoMock, screenshotMock, timings, deadline),
+        axeResultMock);
+  }
+
+  @Test
+  public void scanWithAxeRecordsRunTime() throws ViewChangedException, DeadlineExceededException {
+    when(axeRunnerFactoryMock.createAxeRunner()).thenReturn(axeMock);
+    when(axeContextFactoryMock.createAxeContext(accessibilityNodeInfoMock, screenshotMock, timings))
+        .thenReturn(axeContextMock);
+    when(axeMock.run(axeContextMock))
+        .thenAnswer(
+            invocation -> {
+              nanoTime += 25;
+              return axeResultMock;
+            });
+
+    testSubject.scanWithAxe(accessibilityNodeInfoMock, screenshotMock, timings, deadline);
+
+    Assert.assertEquals(Long.valueOf(25), timings.getStageNanos().get(ScanTimings.AXE_RUN));
+  }
+
+  @Test
+  public void scanWithAxeDoesNotRunIfContextOutlastsDeadline() throws ViewChangedException {
+    when(axeRunnerFactoryMock.createAxeRunner()).thenReturn(axeMock);
+    when(axeContextFactoryMock.createAxeContext(accessibilityNodeInfoMock, screenshotMock, timings))
+        .thenAnswer(
+            invocation -> {
+              nanoTime += 1_000_000_000;
+              return axeContextMock;
+            });
+
+    try {
+      testSubject.scanWithAxe(accessibilityNodeInfoMock, screenshotMock, timings, deadline);
+      Assert.fail("Expected the deadline to expire");
+    } catch (DeadlineExceededException e) {
+      Assert.assertEquals(ScanTimings.AXE_RUN, e.getStage());
+    }
+
+    verify(axeMock, never()).run(any());
   }
 }
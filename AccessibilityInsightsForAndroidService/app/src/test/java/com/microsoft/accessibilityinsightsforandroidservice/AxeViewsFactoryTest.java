@@ -5,6 +5,7 @@ package com.microsoft.accessibilityinsightsforandroidservice;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
@@ -31,9 +32,9 @@ public class AxeViewsFactoryTest {
   @Mock NodeViewBuilder rootNodeBuilder;
   @Mock NodeViewBuilder childNodeBuilder;
   @Mock NodeViewBuilder labelNodeBuilder;
-  @Mock AccessibilityNodeInfo rootNodeMock;
-  @Mock AccessibilityNodeInfo childNodeMock;
-  @Mock AccessibilityNodeInfo labelNodeMock;
+  @Mock AccessibilityNode rootNodeMock;
+  @Mock AccessibilityNode childNodeMock;
+  @Mock AccessibilityNode labelNodeMock;
   @Mock AxeView rootViewMock;
   @Mock AxeView childViewMock;
   @Mock AxeView labelViewMock;
@@ -195,8 +196,20 @@ public class AxeViewsFactoryTest {
     }
   }
 
+  @Test
+  public void wrapsAccessibilityNodeInfoRoot() throws ViewChangedException {
+    AccessibilityNodeInfo nodeInfoMock = mock(AccessibilityNodeInfo.class);
+    AccessibilityNode wrappedRoot = new AccessibilityNodeInfoAdapter(nodeInfoMock);
+    setupNodeViewCreation(rootNodeBuilder, wrappedRoot, rootViewMock);
+    when(queueBuilderMock.buildPriorityQueue(wrappedRoot)).thenReturn(queue);
+    enqueueNode(wrappedRoot);
+
+    AxeView axeView = testSubject.createAxeViews(nodeInfoMock);
+    Assert.assertEquals(axeView, rootViewMock);
+  }
+
   private void setupNodeViewCreation(
-      NodeViewBuilder builder, AccessibilityNodeInfo node, AxeView view) {
+      NodeViewBuilder builder, AccessibilityNode node, AxeView view) {
     when(nodeViewBuilderFactoryMock.createNodeViewBuilder(eq(node), any(), any()))
         .thenReturn(builder);
     when(builder.build()).thenReturn(view);
@@ -223,7 +236,7 @@ public class AxeViewsFactoryTest {
         .thenAnswer((rootNodeMock) -> new LinkedList<>(queue));
   }
 
-  private void enqueueNode(AccessibilityNodeInfo node) {
+  private void enqueueNode(AccessibilityNode node) {
     AccessibilityNodeInfoSorter sorter = new AccessibilityNodeInfoSorter(node, 0L);
     queue.add(sorter);
   }
@@ -0,0 +1,251 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.os.Handler;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.powermock.reflect.Whitebox;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BackgroundPrescannerTest {
+  @Mock EventQuiescenceTracker eventQuiescenceTracker;
+  @Mock Handler prescanHandler;
+
+  final long quietMillis = 500;
+  List<RunnableFunction> pendingScans;
+  List<ResponseWriter> scanResponseWriters;
+  String scanResult;
+  long lastChangeTime;
+  BackgroundPrescanner testSubject;
+
+  @Before
+  public void prepare() {
+    Whitebox.setInternalState(Logger.class, "LOG", false);
+    pendingScans = new ArrayList<>();
+    scanResponseWriters = new ArrayList<>();
+    scanResult = "{}";
+    lastChangeTime = 1000;
+    when(eventQuiescenceTracker.getLastChangeTime()).thenAnswer(invocation -> lastChangeTime);
+    testSubject = createTestSubject(quietMillis);
+  }
+
+  @Test
+  public void isEnabledWithQuietPeriod() {
+    Assert.assertTrue(testSubject.isEnabled());
+    Assert.assertFalse(createTestSubject(0).isEnabled());
+  }
+
+  @Test
+  public void disabledPrescannerNeverSchedules() {
+    createTestSubject(0).onUiChanged();
+
+    verify(prescanHandler, never()).postDelayed(any(), anyLong());
+  }
+
+  @Test
+  public void schedulesOneCheckForManyChanges() {
+    testSubject.onUiChanged();
+    testSubject.onUiChanged();
+
+    verify(prescanHandler, times(1)).postDelayed(any(), eq(quietMillis));
+  }
+
+  @Test
+  public void waitsOutRemainingQuietPeriod() {
+    when(eventQuiescenceTracker.getQuietMillis()).thenReturn(200L);
+
+    runCheck();
+
+    verify(prescanHandler, times(1)).postDelayed(any(), eq(300L));
+    Assert.assertTrue(pendingScans.isEmpty());
+  }
+
+  @Test
+  public void cachesResponseOfQuietUi() throws InterruptedException {
+    when(eventQuiescenceTracker.getQuietMillis()).thenReturn(quietMillis);
+
+    runCheck();
+    finishScan(0);
+
+    PrescannedResponse response = testSubject.claimCurrentResponse(0);
+    Assert.assertEquals(scanResult, response.content);
+    Assert.assertEquals("application/json", response.contentType);
+    Assert.assertEquals("7", response.scanId);
+    Assert.assertEquals(Collections.singletonMap("Frame-Settle", "stable=true"), response.headers);
+  }
+
+  @Test
+  public void cachedResponseIsStaleAfterChange() throws InterruptedException {
+    when(eventQuiescenceTracker.getQuietMillis()).thenReturn(quietMillis);
+    runCheck();
+    finishScan(0);
+
+    lastChangeTime = 2000;
+
+    Assert.assertNull(testSubject.claimCurrentResponse(0));
+  }
+
+  @Test
+  public void discardsResponseOfUiThatChangedMidScan() throws InterruptedException {
+    when(eventQuiescenceTracker.getQuietMillis()).thenReturn(quietMillis);
+    runCheck();
+
+    lastChangeTime = 2000;
+    finishScan(0);
+    lastChangeTime = 1000;
+
+    Assert.assertNull(testSubject.claimCurrentResponse(0));
+  }
+
+  @Test
+  public void discardsFailedScan() throws InterruptedException {
+    when(eventQuiescenceTracker.getQuietMillis()).thenReturn(quietMillis);
+    scanResult = null;
+
+    runCheck();
+    finishScan(0);
+
+    Assert.assertNull(testSubject.claimCurrentResponse(0));
+  }
+
+  @Test
+  public void skipsScanWhileCacheIsCurrent() {
+    when(eventQuiescenceTracker.getQuietMillis()).thenReturn(quietMillis);
+    runCheck();
+    finishScan(0);
+
+    runCheck();
+
+    Assert.assertEquals(1, pendingScans.size());
+  }
+
+  @Test
+  public void defersScanUntilRequestScanIsReleased() throws InterruptedException {
+    when(eventQuiescenceTracker.getQuietMillis()).thenReturn(quietMillis);
+    Assert.assertNull(testSubject.claimCurrentResponse(0));
+
+    runCheck();
+    Assert.assertTrue(pendingScans.isEmpty());
+
+    testSubject.releaseScan();
+    verify(prescanHandler, times(2)).postDelayed(any(), eq(quietMillis));
+  }
+
+  @Test
+  public void claimWaitsForPrescanInFlight() throws Exception {
+    when(eventQuiescenceTracker.getQuietMillis()).thenReturn(quietMillis);
+    runCheck();
+
+    Thread finisher =
+        new Thread(
+            () -> {
+              try {
+                Thread.sleep(50);
+              } catch (InterruptedException e) {
+                return;
+              }
+              finishScan(0);
+            });
+    finisher.start();
+    PrescannedResponse response = testSubject.claimCurrentResponse(5000);
+    finisher.join();
+
+    Assert.assertEquals(scanResult, response.content);
+  }
+
+  @Test
+  public void claimGivesUpOnPrescanAfterTimeout() throws InterruptedException {
+    when(eventQuiescenceTracker.getQuietMillis()).thenReturn(quietMillis);
+    runCheck();
+
+    Assert.assertNull(testSubject.claimCurrentResponse(1));
+  }
+
+  @Test
+  public void scanExceptionIsDiscarded() throws InterruptedException {
+    when(eventQuiescenceTracker.getQuietMillis()).thenReturn(quietMillis);
+    testSubject =
+        new BackgroundPrescanner(
+            eventQuiescenceTracker,
+            prescanHandler,
+            quietMillis,
+            responseWriter -> {
+              throw new RuntimeException("scan failed");
+            },
+            new DeadlineFactory(() -> 0, 1000));
+
+    runCheck();
+
+    Assert.assertNull(testSubject.claimCurrentResponse(0));
+  }
+
+  private BackgroundPrescanner createTestSubject(long quietMillis) {
+    return new BackgroundPrescanner(
+        eventQuiescenceTracker,
+        prescanHandler,
+        quietMillis,
+        PendingScan::new,
+        new DeadlineFactory(() -> 0, 1000));
+  }
+
+  private void runCheck() {
+    ArgumentCaptor<Runnable> check = ArgumentCaptor.forClass(Runnable.class);
+    testSubject.onUiChanged();
+    verify(prescanHandler, atLeastOnce()).postDelayed(check.capture(), eq(quietMillis));
+    check.getValue().run();
+  }
+
+  private void finishScan(int index) {
+    ResponseWriter responseWriter = scanResponseWriters.get(index);
+    if (scanResult == null) {
+      responseWriter.writeErrorResponse(new RuntimeException("no root node"));
+    } else {
+      Map<String, String> headers = new LinkedHashMap<>();
+      headers.put(ResultRequestFulfiller.SCAN_ID_HEADER, "7");
+      headers.put("Frame-Settle", "stable=true");
+      headers.put(ResultRequestFulfiller.SERVER_TIMING_HEADER, "total;dur=12.000");
+      responseWriter.writeSuccessfulResponse(scanResult, "application/json", headers);
+    }
+    pendingScans.get(index).run();
+  }
+
+  private class PendingScan implements RequestFulfiller {
+    private final ResponseWriter responseWriter;
+
+    PendingScan(ResponseWriter responseWriter) {
+      this.responseWriter = responseWriter;
+    }
+
+    @Override
+    public void fulfillRequest(Deadline deadline, RunnableFunction onRequestFulfilled) {
+      scanResponseWriters.add(responseWriter);
+      pendingScans.add(onRequestFulfilled);
+    }
+
+    @Override
+    public boolean isBlockingRequest() {
+      return true;
+    }
+  }
+}
@@ -42,4 +42,13 @@ public class BitmapProviderTest {
     PowerMockito.verifyStatic(Bitmap.class);
     Bitmap.createBitmap(width, height, config);
   }
+
+  @Test
+  public void createsFilteredScaledBitmap() {
+    Bitmap scaledBitmapMock = PowerMockito.mock(Bitmap.class);
+    when(Bitmap.createScaledBitmap(bitmapMock, width, height, true)).thenReturn(scaledBitmapMock);
+
+    Assert.assertEquals(
+        scaledBitmapMock, testSubject.createScaledBitmap(bitmapMock, width, height));
+  }
 }
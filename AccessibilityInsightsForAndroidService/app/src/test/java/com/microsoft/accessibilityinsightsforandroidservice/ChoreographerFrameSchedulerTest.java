@@ -0,0 +1,51 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import android.view.Choreographer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+@RunWith(PowerMockRunner.class)
+public class ChoreographerFrameSchedulerTest {
+  @Mock Choreographer choreographerMock;
+  @Mock Runnable onFrameMock;
+
+  ChoreographerFrameScheduler testSubject;
+
+  @Before
+  public void prepare() {
+    testSubject = new ChoreographerFrameScheduler(() -> choreographerMock);
+  }
+
+  @Test
+  public void choreographerFrameSchedulerExists() {
+    Assert.assertNotNull(testSubject);
+  }
+
+  @Test
+  public void scheduleNextFramePostsFrameCallback() {
+    testSubject.scheduleNextFrame(onFrameMock);
+
+    verify(choreographerMock).postFrameCallback(testSubject);
+    verify(onFrameMock, times(0)).run();
+  }
+
+  @Test
+  public void doFrameRunsScheduledWorkOnce() {
+    testSubject.scheduleNextFrame(onFrameMock);
+
+    testSubject.doFrame(0);
+    testSubject.doFrame(1);
+
+    verify(onFrameMock, times(1)).run();
+  }
+}
@@ -29,6 +29,7 @@ public class ConfigRequestFulfillerTest {
   @Mock AccessibilityNodeInfo sourceNodeMock;
   @Mock AccessibilityNodeInfo rootNodeMock;
   @Mock DeviceConfig deviceConfig;
+  @Mock Deadline deadline;
   @Mock RunnableFunction onRequestFulfilledMock;
 
   String configJson = "test config";
@@ -56,7 +57,7 @@ public class ConfigRequestFulfillerTest {
   public void callsOnRequestFulfilled() {
     setupSuccessfulRequest();
 
-    testSubject.fulfillRequest(onRequestFulfilledMock);
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
 
     verify(onRequestFulfilledMock, times(1)).run();
   }
@@ -65,7 +66,7 @@ public class ConfigRequestFulfillerTest {
   public void writesCorrectResponse() {
     setupSuccessfulRequest();
 
-    testSubject.fulfillRequest(onRequestFulfilledMock);
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
 
     verify(responseWriter).writeSuccessfulResponse(configJson);
   }
@@ -74,7 +75,7 @@ public class ConfigRequestFulfillerTest {
   public void recyclesNodes() {
     setupSuccessfulRequest();
 
-    testSubject.fulfillRequest(onRequestFulfilledMock);
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
 
     verify(rootNodeMock, times(1)).recycle();
     verify(sourceNodeMock, times(1)).recycle();
@@ -88,7 +89,7 @@ public class ConfigRequestFulfillerTest {
     when(rootNodeFinder.getRootNodeFromSource(any())).thenReturn(sourceNodeMock);
     when(deviceConfigFactory.getDeviceConfig(sourceNodeMock)).thenReturn(deviceConfig);
 
-    testSubject.fulfillRequest(onRequestFulfilledMock);
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
 
     verifyZeroInteractions(rootNodeMock);
     verify(sourceNodeMock, times(1)).recycle();
@@ -99,7 +100,7 @@ public class ConfigRequestFulfillerTest {
     setupSuccessfulRequest();
     when(eventHelper.restoreLastSource(sourceNodeMock)).thenReturn(true);
 
-    testSubject.fulfillRequest(onRequestFulfilledMock);
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
     verify(rootNodeMock, times(1)).recycle();
     verify(sourceNodeMock, never()).recycle();
   }
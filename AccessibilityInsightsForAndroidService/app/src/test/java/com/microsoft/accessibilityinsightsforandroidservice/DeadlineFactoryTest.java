@@ -0,0 +1,52 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DeadlineFactoryTest {
+
+  final long defaultTimeoutMillis = 30000;
+  DeadlineFactory testSubject;
+
+  @Before
+  public void prepare() {
+    testSubject = new DeadlineFactory(() -> 0, defaultTimeoutMillis);
+  }
+
+  @Test
+  public void usesDefaultWithoutParameter() {
+    Deadline deadline =
+        testSubject.createDeadline(new RequestLine("GET /AccessibilityInsights/result HTTP/1.1"));
+
+    Assert.assertEquals(defaultTimeoutMillis, deadline.getTimeoutMillis());
+  }
+
+  @Test
+  public void usesRequestedTimeout() {
+    Deadline deadline =
+        testSubject.createDeadline(
+            new RequestLine("GET /AccessibilityInsights/result?timeoutMs=2500 HTTP/1.1"));
+
+    Assert.assertEquals(2500, deadline.getTimeoutMillis());
+  }
+
+  @Test
+  public void ignoresTimeoutsThatArentPositive() {
+    Assert.assertEquals(
+        defaultTimeoutMillis,
+        testSubject
+            .createDeadline(
+                new RequestLine("GET /AccessibilityInsights/result?timeoutMs=0 HTTP/1.1"))
+            .getTimeoutMillis());
+    Assert.assertEquals(
+        defaultTimeoutMillis,
+        testSubject
+            .createDeadline(
+                new RequestLine("GET /AccessibilityInsights/result?timeoutMs=soon HTTP/1.1"))
+            .getTimeoutMillis());
+  }
+}
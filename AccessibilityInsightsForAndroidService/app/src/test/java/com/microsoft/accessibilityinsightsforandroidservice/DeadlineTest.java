@@ -0,0 +1,59 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DeadlineTest {
+
+  long nanoTime;
+  Deadline testSubject;
+
+  @Before
+  public void prepare() {
+    nanoTime = 5_000_000_000L;
+    testSubject = new Deadline(() -> nanoTime, 1000);
+  }
+
+  @Test
+  public void measuresFromCreation() {
+    nanoTime += 250_000_000;
+
+    Assert.assertEquals(1000, testSubject.getTimeoutMillis());
+    Assert.assertEquals(250, testSubject.getElapsedMillis());
+    Assert.assertEquals(750, testSubject.getRemainingMillis());
+    Assert.assertFalse(testSubject.isExpired());
+  }
+
+  @Test
+  public void remainingMillisStopsAtZero() {
+    nanoTime += 1_500_000_000;
+
+    Assert.assertEquals(0, testSubject.getRemainingMillis());
+    Assert.assertTrue(testSubject.isExpired());
+  }
+
+  @Test
+  public void checkPassesBeforeDeadline() throws DeadlineExceededException {
+    nanoTime += 999_000_000;
+
+    testSubject.check(ScanTimings.SCREENSHOT);
+  }
+
+  @Test
+  public void checkThrowsOnceDeadlinePasses() {
+    nanoTime += 1_200_000_000;
+
+    try {
+      testSubject.check(ScanTimings.ROOT_NODE);
+      Assert.fail("Expected DeadlineExceededException");
+    } catch (DeadlineExceededException e) {
+      Assert.assertEquals(ScanTimings.ROOT_NODE, e.getStage());
+      Assert.assertEquals(1000, e.getTimeoutMillis());
+      Assert.assertEquals(1200, e.getElapsedMillis());
+    }
+  }
+}
@@ -0,0 +1,46 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EventQuiescenceGateTest {
+
+  @Mock EventQuiescenceTracker eventQuiescenceTracker;
+
+  @Test
+  public void waitsOnlyWithQuietPeriod() {
+    Assert.assertFalse(new EventQuiescenceGate(eventQuiescenceTracker, 0, 2000).isWaiting());
+    Assert.assertTrue(new EventQuiescenceGate(eventQuiescenceTracker, 300, 2000).isWaiting());
+  }
+
+  @Test
+  public void waitsNoLongerThanMaxWait() throws InterruptedException {
+    when(eventQuiescenceTracker.awaitQuiescence(300, 2000)).thenReturn(true);
+
+    Assert.assertTrue(new EventQuiescenceGate(eventQuiescenceTracker, 300, 2000).awaitQuiet(5000));
+    verify(eventQuiescenceTracker).awaitQuiescence(300, 2000);
+  }
+
+  @Test
+  public void waitsNoLongerThanRequestTimeout() throws InterruptedException {
+    when(eventQuiescenceTracker.awaitQuiescence(300, 800)).thenReturn(false);
+
+    Assert.assertFalse(new EventQuiescenceGate(eventQuiescenceTracker, 300, 2000).awaitQuiet(800));
+  }
+
+  @Test
+  public void formatsHeaderValue() {
+    Assert.assertEquals(
+        "quiet=false, dur=2000.500", EventQuiescenceGate.toHeaderValue(false, 2_000_500_000));
+  }
+}
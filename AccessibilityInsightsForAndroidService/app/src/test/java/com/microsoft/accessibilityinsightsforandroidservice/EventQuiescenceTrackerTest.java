@@ -0,0 +1,155 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.view.accessibility.AccessibilityEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EventQuiescenceTrackerTest {
+
+  final int activeWindowId = 7;
+  final int otherWindowId = 8;
+  final List<Long> sleeps = new ArrayList<>();
+  long uptimeMillis;
+  EventQuiescenceTracker testSubject;
+
+  @Before
+  public void prepare() {
+    uptimeMillis = 10_000;
+    testSubject =
+        new EventQuiescenceTracker(
+            () -> uptimeMillis,
+            millis -> {
+              sleeps.add(millis);
+              uptimeMillis += millis;
+            });
+    testSubject.setActiveWindowId(activeWindowId);
+  }
+
+  @Test
+  public void neverChangedWithoutEvents() {
+    Assert.assertEquals(EventQuiescenceTracker.NEVER, testSubject.getLastChangeTime());
+  }
+
+  @Test
+  public void tracksContentChangesOfActiveWindowOnly() {
+    testSubject.onEvent(AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED, activeWindowId, 9_000);
+    testSubject.onEvent(AccessibilityEvent.TYPE_VIEW_SCROLLED, otherWindowId, 9_500);
+
+    Assert.assertEquals(9_000, testSubject.getLastChangeTime());
+
+    testSubject.setActiveWindowId(otherWindowId);
+    Assert.assertEquals(9_500, testSubject.getLastChangeTime());
+  }
+
+  @Test
+  public void tracksWindowChangesFromAnyWindow() {
+    testSubject.onEvent(AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED, activeWindowId, 9_000);
+    testSubject.onEvent(AccessibilityEvent.TYPE_WINDOWS_CHANGED, -1, 9_200);
+
+    Assert.assertEquals(9_200, testSubject.getLastChangeTime());
+  }
+
+  @Test
+  public void ignoresOtherEventTypes() {
+    testSubject.onEvent(AccessibilityEvent.TYPE_VIEW_FOCUSED, activeWindowId, 9_000);
+
+    Assert.assertEquals(EventQuiescenceTracker.NEVER, testSubject.getLastChangeTime());
+  }
+
+  @Test
+  public void keepsLatestTimeWhenEventsArriveOutOfOrder() {
+    testSubject.onEvent(AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED, activeWindowId, 9_000);
+    testSubject.onEvent(AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED, activeWindowId, 8_000);
+
+    Assert.assertEquals(9_000, testSubject.getLastChangeTime());
+  }
+
+  @Test
+  public void notifiesChangeListenerOfTrackedChangesOnly() {
+    List<Long> changeTimes = new ArrayList<>();
+    testSubject.setChangeListener(() -> changeTimes.add(testSubject.getLastChangeTime()));
+
+    testSubject.onEvent(AccessibilityEvent.TYPE_VIEW_FOCUSED, activeWindowId, 9_000);
+    testSubject.onEvent(AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED, activeWindowId, 9_100);
+    testSubject.setChangeListener(null);
+    testSubject.onEvent(AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED, activeWindowId, 9_200);
+
+    Assert.assertEquals(Arrays.asList(9_100L), changeTimes);
+  }
+
+  @Test
+  public void quietMillisCountsFromLastChange() {
+    Assert.assertEquals(Long.MAX_VALUE, testSubject.getQuietMillis());
+
+    testSubject.onEvent(AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED, activeWindowId, 9_600);
+
+    Assert.assertEquals(400, testSubject.getQuietMillis());
+  }
+
+  @Test
+  public void awaitReturnsImmediatelyWhenAlreadyQuiet() throws InterruptedException {
+    testSubject.onEvent(AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED, activeWindowId, 9_000);
+
+    Assert.assertTrue(testSubject.awaitQuiescence(500, 2000));
+    Assert.assertTrue(sleeps.isEmpty());
+  }
+
+  @Test
+  public void awaitSleepsUntilQuiet() throws InterruptedException {
+    testSubject.onEvent(AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED, activeWindowId, 9_800);
+
+    Assert.assertTrue(testSubject.awaitQuiescence(500, 2000));
+    Assert.assertEquals(Arrays.asList(300L), sleeps);
+  }
+
+  @Test
+  public void awaitGivesUpAtTimeout() throws InterruptedException {
+    testSubject =
+        new EventQuiescenceTracker(
+            () -> uptimeMillis,
+            millis -> {
+              sleeps.add(millis);
+              uptimeMillis += millis;
+              // The UI keeps changing while the request waits
+              testSubject.onEvent(
+                  AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED, activeWindowId, uptimeMillis);
+            });
+    testSubject.setActiveWindowId(activeWindowId);
+    testSubject.onEvent(AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED, activeWindowId, 10_000);
+
+    Assert.assertFalse(testSubject.awaitQuiescence(500, 1200));
+    Assert.assertEquals(Arrays.asList(500L, 500L, 200L), sleeps);
+  }
+
+  @Test
+  public void forgetsWindowsThatChangedLongestAgo() {
+    testSubject.onEvent(AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED, otherWindowId, 9_000);
+    for (int windowId = 100; windowId < 120; windowId++) {
+      testSubject.onEvent(AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED, windowId, 9_100);
+    }
+
+    testSubject.setActiveWindowId(otherWindowId);
+    Assert.assertEquals(EventQuiescenceTracker.NEVER, testSubject.getLastChangeTime());
+    testSubject.setActiveWindowId(119);
+    Assert.assertEquals(9_100, testSubject.getLastChangeTime());
+  }
+
+  @Test
+  public void neverForgetsActiveWindow() {
+    testSubject.onEvent(AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED, activeWindowId, 9_000);
+    for (int windowId = 100; windowId < 120; windowId++) {
+      testSubject.onEvent(AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED, windowId, 9_100);
+    }
+
+    testSubject.setActiveWindowId(otherWindowId);
+    testSubject.setActiveWindowId(activeWindowId);
+    Assert.assertEquals(9_000, testSubject.getLastChangeTime());
+  }
+}
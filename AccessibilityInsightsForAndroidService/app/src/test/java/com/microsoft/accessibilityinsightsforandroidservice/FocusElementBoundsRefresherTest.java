@@ -0,0 +1,151 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+@RunWith(PowerMockRunner.class)
+public class FocusElementBoundsRefresherTest {
+  @Mock UIThreadRunner uiThreadRunnerMock;
+  @Mock Runnable onBoundsRefreshedMock;
+  @Mock FocusElementHighlight firstHighlightMock;
+  @Mock FocusElementHighlight secondHighlightMock;
+  @Mock FocusElementHighlight thirdHighlightMock;
+  @Mock FocusElementLine firstLineMock;
+  @Mock FocusElementLine secondLineMock;
+  @Mock FocusElementLine thirdLineMock;
+
+  List<Runnable> queuedWork;
+  List<FocusElementHighlight> highlights;
+  List<FocusElementLine> lines;
+  FocusElementBoundsRefresher testSubject;
+
+  @Before
+  public void prepare() {
+    queuedWork = new ArrayList<>();
+    highlights = Arrays.asList(firstHighlightMock, secondHighlightMock, thirdHighlightMock);
+    lines = Arrays.asList(firstLineMock, secondLineMock, thirdLineMock);
+    doAnswer(
+            invocation -> {
+              Runnable runnable = invocation.getArgument(0);
+              runnable.run();
+              return null;
+            })
+        .when(uiThreadRunnerMock)
+        .run(any());
+
+    testSubject =
+        new FocusElementBoundsRefresher(queuedWork::add, uiThreadRunnerMock, onBoundsRefreshedMock);
+  }
+
+  @Test
+  public void focusElementBoundsRefresherExists() {
+    Assert.assertNotNull(testSubject);
+  }
+
+  @Test
+  public void refreshRunsOnExecutor() {
+    testSubject.refresh(highlights, lines);
+
+    verify(firstHighlightMock, never()).refreshBounds();
+    verify(onBoundsRefreshedMock, never()).run();
+    Assert.assertEquals(1, queuedWork.size());
+  }
+
+  @Test
+  public void refreshUpdatesHighlightsThenLinesAndRedraws() {
+    when(firstHighlightMock.refreshBounds()).thenReturn(true);
+    when(secondHighlightMock.refreshBounds()).thenReturn(true);
+    when(thirdHighlightMock.refreshBounds()).thenReturn(false);
+
+    testSubject.refresh(highlights, lines);
+    queuedWork.get(0).run();
+
+    verify(firstLineMock).refreshBounds(false);
+    verify(secondLineMock).refreshBounds(true);
+    verify(thirdLineMock).refreshBounds(false);
+    verify(onBoundsRefreshedMock, times(1)).run();
+  }
+
+  @Test
+  public void queuedRefreshesCollapseToLatestDrawList() {
+    List<FocusElementHighlight> latestHighlights = Arrays.asList(secondHighlightMock);
+    List<FocusElementLine> latestLines = Arrays.asList(secondLineMock);
+
+    testSubject.refresh(highlights, lines);
+    testSubject.refresh(latestHighlights, latestLines);
+    Assert.assertEquals(1, queuedWork.size());
+
+    queuedWork.get(0).run();
+
+    verify(firstHighlightMock, never()).refreshBounds();
+    verify(secondHighlightMock, times(1)).refreshBounds();
+    verify(onBoundsRefreshedMock, times(1)).run();
+  }
+
+  @Test
+  public void refreshAfterCompletedRefreshQueuesAgain() {
+    testSubject.refresh(highlights, lines);
+    queuedWork.get(0).run();
+
+    testSubject.refresh(highlights, lines);
+
+    Assert.assertEquals(2, queuedWork.size());
+  }
+
+  @Test
+  public void compactRunsOnExecutor() {
+    testSubject.compact(Arrays.asList(firstHighlightMock), Arrays.asList(firstLineMock));
+    verify(firstHighlightMock, never()).compact();
+
+    queuedWork.get(0).run();
+
+    verify(firstHighlightMock).compact();
+    verify(firstLineMock).compact();
+    verify(onBoundsRefreshedMock, never()).run();
+  }
+
+  @Test
+  public void reprojectDiscardsBoundsThatCannotBeRefreshed() {
+    when(firstHighlightMock.refreshBounds()).thenReturn(false);
+    when(secondHighlightMock.refreshBounds()).thenReturn(true);
+    when(thirdHighlightMock.refreshBounds()).thenReturn(true);
+
+    testSubject.reproject(highlights, lines);
+    queuedWork.get(0).run();
+
+    verify(firstHighlightMock).discardBounds();
+    verify(secondHighlightMock, never()).discardBounds();
+    verify(firstLineMock).discardBounds();
+    verify(thirdLineMock).discardBounds();
+    verify(thirdLineMock).refreshBounds(true);
+    verify(onBoundsRefreshedMock, times(1)).run();
+  }
+
+  @Test
+  public void refreshAfterReprojectionKeepsBounds() {
+    testSubject.reproject(highlights, lines);
+    queuedWork.get(0).run();
+    testSubject.refresh(highlights, lines);
+    queuedWork.get(1).run();
+
+    verify(firstHighlightMock, times(1)).discardBounds();
+    verify(firstLineMock, times(1)).discardBounds();
+  }
+}
@@ -4,23 +4,22 @@
 package com.microsoft.accessibilityinsightsforandroidservice;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
-import static org.powermock.api.mockito.PowerMockito.doNothing;
 import static org.powermock.api.mockito.PowerMockito.spy;
 import static org.powermock.api.mockito.PowerMockito.verifyPrivate;
 import static org.powermock.api.mockito.PowerMockito.when;
 import static org.powermock.api.mockito.PowerMockito.whenNew;
 
-import android.content.res.Resources;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Rect;
-import android.view.View;
 import android.view.accessibility.AccessibilityNodeInfo;
-import java.util.HashMap;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -31,31 +30,23 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({FocusElementHighlight.class, OffsetHelper.class})
+@PrepareForTest({FocusElementHighlight.class, FocusElementHighlightSnapshot.class})
 public class FocusElementHighlightTest {
   FocusElementHighlight testSubject;
 
   @Mock AccessibilityNodeInfo accessibilityNodeInfoMock;
-  @Mock View viewMock;
   @Mock Paint paintMock;
-  @Mock Resources resourcesMock;
   @Mock Rect rectMock;
   @Mock Canvas canvasMock;
-  HashMap<String, Paint> paintsStub;
+  FocusElementPaints paintsStub;
 
   @Before
   public void prepare() throws Exception {
-    paintsStub = new HashMap<>();
-    paintsStub.put("innerCircle", paintMock);
-    paintsStub.put("outerCircle", paintMock);
-    paintsStub.put("number", paintMock);
+    paintsStub = new FocusElementPaints(paintMock, paintMock, paintMock);
 
-    when(viewMock.getResources()).thenReturn(resourcesMock);
     whenNew(Rect.class).withNoArguments().thenReturn(rectMock);
-    doNothing().when(rectMock).offset(isA(Integer.class), isA(Integer.class));
 
-    testSubject =
-        new FocusElementHighlight(accessibilityNodeInfoMock, paintsStub, 10, 10, viewMock);
+    testSubject = new FocusElementHighlight(accessibilityNodeInfoMock, paintsStub, 10, 10);
   }
 
   @Test
@@ -65,35 +56,58 @@ public class FocusElementHighlightTest {
 
   @Test
   public void setPaintsWorksProperly() {
-    HashMap<String, Paint> testPaintsStub = new HashMap<>();
-    testPaintsStub.put("test", paintMock);
+    FocusElementPaints testPaintsStub = new FocusElementPaints(paintMock, paintMock, paintMock);
     testSubject.setPaints(testPaintsStub);
 
-    HashMap<String, Paint> resultingPaintsHashMap =
-        Whitebox.getInternalState(testSubject, "paints");
-    Assert.assertEquals(resultingPaintsHashMap.get("test"), paintMock);
-    Assert.assertNull(resultingPaintsHashMap.get("innerCircle"));
+    FocusElementPaints resultingPaints = Whitebox.getInternalState(testSubject, "paints");
+    Assert.assertEquals(resultingPaints, testPaintsStub);
   }
 
   @Test
   public void drawElementHighlightDoesNothingWhenEventSourceIsNull() {
-    testSubject = new FocusElementHighlight(null, paintsStub, 10, 10, viewMock);
-    testSubject.drawElementHighlight(canvasMock);
+    testSubject = new FocusElementHighlight(null, paintsStub, 10, 10);
+    testSubject.getSnapshot().drawElementHighlight(canvasMock, 0);
     verifyNoInteractions(canvasMock);
   }
 
   @Test
   public void drawElementHighlightDoesNothingWhenEventSourceRefreshDoesNotWork() {
     when(accessibilityNodeInfoMock.refresh()).thenReturn(false);
-    testSubject.drawElementHighlight(canvasMock);
+    Assert.assertFalse(testSubject.refreshBounds());
+    testSubject.getSnapshot().drawElementHighlight(canvasMock, 0);
     verifyNoInteractions(canvasMock);
   }
 
   @Test
-  public void drawElementHighlightCallsAllRelevantDrawMethods() throws Exception {
+  public void refreshBoundsReadsNewBoundsWhenEventSourceRefreshWorks() {
     when(accessibilityNodeInfoMock.refresh()).thenReturn(true);
-    FocusElementHighlight elementSpy = spy(testSubject);
-    elementSpy.drawElementHighlight(canvasMock);
+    Assert.assertTrue(testSubject.refreshBounds());
+    verify(accessibilityNodeInfoMock, times(2)).getBoundsInScreen(rectMock);
+  }
+
+  @Test
+  public void refreshBoundsReturnsFalseWhenEventSourceIsNull() {
+    testSubject = new FocusElementHighlight(null, paintsStub, 10, 10);
+    Assert.assertFalse(testSubject.refreshBounds());
+  }
+
+  @Test
+  public void drawElementHighlightDoesNotRefreshEventSource() {
+    testSubject.getSnapshot().drawElementHighlight(canvasMock, 0);
+    testSubject.getSnapshot().drawElementHighlight(canvasMock, 0);
+    verify(accessibilityNodeInfoMock, never()).refresh();
+  }
+
+  @Test
+  public void drawElementHighlightDrawsCachedLabelAtOffset() {
+    testSubject.getSnapshot().drawElementHighlight(canvasMock, 25);
+    verify(canvasMock).drawText(eq("10"), eq(0f), eq(25f), eq(paintMock));
+  }
+
+  @Test
+  public void drawElementHighlightCallsAllRelevantDrawMethods() throws Exception {
+    FocusElementHighlightSnapshot elementSpy = spy(testSubject.getSnapshot());
+    elementSpy.drawElementHighlight(canvasMock, 0);
     verifyPrivate(elementSpy, times(1))
         .invoke(
             "drawInnerCircle", anyInt(), anyInt(), anyInt(), any(Paint.class), any(Canvas.class));
@@ -101,17 +115,81 @@ public class FocusElementHighlightTest {
         .invoke(
             "drawOuterCircle", anyInt(), anyInt(), anyInt(), any(Paint.class), any(Canvas.class));
     verifyPrivate(elementSpy, times(1))
-        .invoke(
-            "drawNumberInCircle",
-            anyInt(),
-            anyInt(),
-            anyInt(),
-            any(Paint.class),
-            any(Canvas.class));
+        .invoke("drawNumberInCircle", anyInt(), anyInt(), any(Paint.class), any(Canvas.class));
+    verify(canvasMock, times(2)).drawCircle(anyFloat(), anyFloat(), anyFloat(), any(Paint.class));
   }
 
   @Test
   public void getEventSourceReturnsAccessibilityNodeInfo() {
     Assert.assertEquals(testSubject.getEventSource(), accessibilityNodeInfoMock);
   }
+
+  @Test
+  public void drawElementHighlightSkipsElementOutsideClip() {
+    when(canvasMock.quickReject(anyFloat(), anyFloat(), anyFloat(), anyFloat(), any()))
+        .thenReturn(true);
+
+    testSubject.getSnapshot().drawElementHighlight(canvasMock, 0);
+
+    verify(canvasMock, never()).drawCircle(anyFloat(), anyFloat(), anyFloat(), any(Paint.class));
+    verify(canvasMock, never()).drawText(any(String.class), anyFloat(), anyFloat(), any());
+  }
+
+  @Test
+  public void drawElementHighlightCullsWithOuterCircleExtent() {
+    testSubject.getSnapshot().drawElementHighlight(canvasMock, 5);
+    verify(canvasMock).quickReject(-17f, -12f, 17f, 22f, Canvas.EdgeType.BW);
+  }
+
+  @Test
+  public void compactRecyclesNodeOnceAndKeepsBounds() {
+    testSubject.compact();
+    testSubject.compact();
+
+    verify(accessibilityNodeInfoMock, times(1)).recycle();
+    Assert.assertNull(testSubject.getEventSource());
+    Assert.assertFalse(testSubject.refreshBounds());
+    Assert.assertNotNull(testSubject.getBounds());
+    testSubject.getSnapshot().drawElementHighlight(canvasMock, 0);
+    verify(canvasMock, times(2)).drawCircle(anyFloat(), anyFloat(), anyFloat(), any(Paint.class));
+  }
+
+  @Test
+  public void discardBoundsStopsDrawingUntilRefreshed() {
+    testSubject.discardBounds();
+    testSubject.getSnapshot().drawElementHighlight(canvasMock, 0);
+    verifyNoInteractions(canvasMock);
+
+    when(accessibilityNodeInfoMock.refresh()).thenReturn(true);
+    testSubject.refreshBounds();
+    Assert.assertNotNull(testSubject.getBounds());
+  }
+
+  @Test
+  public void getSnapshotIsReusedUntilBoundsOrPaintsChange() {
+    FocusElementHighlightSnapshot snapshot = testSubject.getSnapshot();
+    Assert.assertSame(snapshot, testSubject.getSnapshot());
+
+    when(accessibilityNodeInfoMock.refresh()).thenReturn(true);
+    testSubject.refreshBounds();
+    FocusElementHighlightSnapshot refreshedSnapshot = testSubject.getSnapshot();
+    Assert.assertNotSame(snapshot, refreshedSnapshot);
+
+    FocusElementPaints nonCurrentPaints = new FocusElementPaints(paintMock, paintMock, paintMock);
+    testSubject.setPaints(nonCurrentPaints);
+    Assert.assertSame(nonCurrentPaints, testSubject.getSnapshot().paints);
+    Assert.assertSame(paintsStub, refreshedSnapshot.paints);
+  }
+
+  @Test
+  public void snapshotKeepsBoundsItWasTakenWith() {
+    FocusElementHighlightSnapshot snapshot = testSubject.getSnapshot();
+
+    testSubject.discardBounds();
+    snapshot.drawElementHighlight(canvasMock, 0);
+
+    Assert.assertEquals("10", snapshot.label);
+    Assert.assertNull(testSubject.getSnapshot().bounds);
+    verify(canvasMock, times(2)).drawCircle(anyFloat(), anyFloat(), anyFloat(), any(Paint.class));
+  }
 }
@@ -4,23 +4,21 @@
 package com.microsoft.accessibilityinsightsforandroidservice;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
 import static org.mockito.ArgumentMatchers.anyInt;
-import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
-import static org.powermock.api.mockito.PowerMockito.doNothing;
 import static org.powermock.api.mockito.PowerMockito.spy;
 import static org.powermock.api.mockito.PowerMockito.verifyPrivate;
 import static org.powermock.api.mockito.PowerMockito.whenNew;
 
-import android.content.res.Resources;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Rect;
-import android.view.View;
 import android.view.accessibility.AccessibilityNodeInfo;
-import java.util.HashMap;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -31,7 +29,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({FocusElementLine.class, OffsetHelper.class})
+@PrepareForTest({FocusElementLine.class, FocusElementLineSnapshot.class})
 public class FocusElementLineTest {
 
   FocusElementLine testSubject;
@@ -39,24 +37,17 @@ public class FocusElementLineTest {
   @Mock AccessibilityNodeInfo eventSourceMock;
   @Mock AccessibilityNodeInfo previousEventSourceMock;
   @Mock Paint paintMock;
-  @Mock View viewMock;
-  @Mock Resources resourcesMock;
   @Mock Rect rectMock;
   @Mock Canvas canvasMock;
-  HashMap<String, Paint> paintsStub;
+  FocusLinePaints paintsStub;
 
   @Before
   public void prepare() throws Exception {
-    paintsStub = new HashMap<>();
-    paintsStub.put("foregroundLine", paintMock);
-    paintsStub.put("backgroundLine", paintMock);
+    paintsStub = new FocusLinePaints(paintMock, paintMock);
 
-    when(viewMock.getResources()).thenReturn(resourcesMock);
     whenNew(Rect.class).withNoArguments().thenReturn(rectMock);
-    doNothing().when(rectMock).offset(isA(Integer.class), isA(Integer.class));
 
-    testSubject =
-        new FocusElementLine(eventSourceMock, previousEventSourceMock, paintsStub, viewMock);
+    testSubject = new FocusElementLine(eventSourceMock, previousEventSourceMock, paintsStub);
   }
 
   @Test
@@ -66,11 +57,8 @@ public class FocusElementLineTest {
 
   @Test
   public void drawLineCallsCorrectPrivateMethod() throws Exception {
-    when(eventSourceMock.refresh()).thenReturn(true);
-    when(previousEventSourceMock.refresh()).thenReturn(true);
-
-    FocusElementLine lineSpy = spy(testSubject);
-    lineSpy.drawLine(canvasMock);
+    FocusElementLineSnapshot lineSpy = spy(testSubject.getSnapshot());
+    lineSpy.drawLine(canvasMock, 0);
     verifyPrivate(lineSpy, times(2))
         .invoke(
             "drawConnectingLine",
@@ -84,41 +72,122 @@ public class FocusElementLineTest {
 
   @Test
   public void drawLineDoesNothingWhenEventSourceIsNull() {
-    testSubject = new FocusElementLine(null, previousEventSourceMock, paintsStub, viewMock);
-    testSubject.drawLine(canvasMock);
+    testSubject = new FocusElementLine(null, previousEventSourceMock, paintsStub);
+    testSubject.getSnapshot().drawLine(canvasMock, 0);
     verifyNoInteractions(canvasMock);
   }
 
   @Test
   public void drawLineDoesNothingWhenPreviousEventSourceIsNull() {
-    testSubject = new FocusElementLine(eventSourceMock, null, paintsStub, viewMock);
-    testSubject.drawLine(canvasMock);
+    testSubject = new FocusElementLine(eventSourceMock, null, paintsStub);
+    testSubject.getSnapshot().drawLine(canvasMock, 0);
     verifyNoInteractions(canvasMock);
   }
 
   @Test
-  public void drawLineDoesNothingWhenPreviousEventSourceDoesNotRefresh() {
-    when(previousEventSourceMock.refresh()).thenReturn(false);
-    testSubject.drawLine(canvasMock);
+  public void drawLineDoesNothingWhenEndsDidNotRefresh() {
+    testSubject.refreshBounds(false);
+    testSubject.getSnapshot().drawLine(canvasMock, 0);
     verifyNoInteractions(canvasMock);
   }
 
   @Test
-  public void drawLineDoesNothingWhenEventSourceDoesNotRefresh() {
-    when(eventSourceMock.refresh()).thenReturn(false);
-    testSubject.drawLine(canvasMock);
-    verifyNoInteractions(canvasMock);
+  public void drawLineDrawsAgainWhenEndsRefreshAgain() throws Exception {
+    testSubject.refreshBounds(false);
+    testSubject.refreshBounds(true);
+
+    FocusElementLineSnapshot lineSpy = spy(testSubject.getSnapshot());
+    lineSpy.drawLine(canvasMock, 0);
+    verifyPrivate(lineSpy, times(2))
+        .invoke(
+            "drawConnectingLine",
+            anyInt(),
+            anyInt(),
+            anyInt(),
+            anyInt(),
+            any(Paint.class),
+            any(Canvas.class));
+  }
+
+  @Test
+  public void drawLineAndRefreshBoundsDoNotRefreshNodes() {
+    testSubject.refreshBounds(true);
+    testSubject.getSnapshot().drawLine(canvasMock, 0);
+    verify(eventSourceMock, never()).refresh();
+    verify(previousEventSourceMock, never()).refresh();
   }
 
   @Test
   public void setPaintWorksProperly() {
-    HashMap<String, Paint> paintsStub2 = new HashMap<>();
-    paintsStub2.put("test", paintMock);
+    FocusLinePaints paintsStub2 = new FocusLinePaints(paintMock, paintMock);
+    testSubject.setPaint(paintsStub2);
+
+    FocusLinePaints resultingPaints = Whitebox.getInternalState(testSubject, "paints");
+    Assert.assertEquals(resultingPaints, paintsStub2);
+  }
+
+  @Test
+  public void drawLineAppliesOffset() {
+    testSubject.getSnapshot().drawLine(canvasMock, 25);
+    verify(canvasMock, times(2)).drawLine(0f, 25f, 0f, 25f, paintMock);
+  }
+
+  @Test
+  public void drawLineSkipsLineOutsideClip() {
+    when(canvasMock.quickReject(anyFloat(), anyFloat(), anyFloat(), anyFloat(), any()))
+        .thenReturn(true);
+
+    testSubject.getSnapshot().drawLine(canvasMock, 0);
+
+    verify(canvasMock, never())
+        .drawLine(anyFloat(), anyFloat(), anyFloat(), anyFloat(), any(Paint.class));
+  }
+
+  @Test
+  public void compactKeepsBoundsAndReleasesNodes() {
+    testSubject.compact();
+    testSubject.refreshBounds(false);
+    testSubject.getSnapshot().drawLine(canvasMock, 25);
+
+    verify(canvasMock, times(2)).drawLine(0f, 25f, 0f, 25f, paintMock);
+    verify(eventSourceMock, never()).recycle();
+    Assert.assertNull(Whitebox.getInternalState(testSubject, "eventSource"));
+    Assert.assertNull(Whitebox.getInternalState(testSubject, "previousEventSource"));
+  }
+
+  @Test
+  public void discardBoundsStopsDrawingCompactedLine() {
+    testSubject.compact();
+    testSubject.discardBounds();
+    testSubject.refreshBounds(true);
+    testSubject.getSnapshot().drawLine(canvasMock, 0);
+
+    verifyNoInteractions(canvasMock);
+  }
+
+  @Test
+  public void getSnapshotIsReusedUntilBoundsOrPaintsChange() {
+    FocusElementLineSnapshot snapshot = testSubject.getSnapshot();
+    Assert.assertSame(snapshot, testSubject.getSnapshot());
+
+    testSubject.refreshBounds(true);
+    FocusElementLineSnapshot refreshedSnapshot = testSubject.getSnapshot();
+    Assert.assertNotSame(snapshot, refreshedSnapshot);
+
+    FocusLinePaints paintsStub2 = new FocusLinePaints(paintMock, paintMock);
     testSubject.setPaint(paintsStub2);
+    Assert.assertSame(paintsStub2, testSubject.getSnapshot().paints);
+    Assert.assertSame(paintsStub, refreshedSnapshot.paints);
+  }
+
+  @Test
+  public void snapshotKeepsBoundsItWasTakenWith() {
+    FocusElementLineSnapshot snapshot = testSubject.getSnapshot();
+
+    testSubject.discardBounds();
 
-    HashMap<String, Paint> resultingPaintHashMap = Whitebox.getInternalState(testSubject, "paints");
-    Assert.assertEquals(resultingPaintHashMap.get("test"), paintMock);
-    Assert.assertNull(resultingPaintHashMap.get("foregroundLine"));
-    Assert.assertNull(resultingPaintHashMap.get("backgroundLine"));
+    Assert.assertNotNull(snapshot.current);
+    Assert.assertNotNull(snapshot.previous);
+    Assert.assertNull(testSubject.getSnapshot().current);
   }
 }
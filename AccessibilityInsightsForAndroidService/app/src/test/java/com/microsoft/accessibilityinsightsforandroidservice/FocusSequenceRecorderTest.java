@@ -0,0 +1,114 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.Mockito.when;
+
+import android.view.accessibility.AccessibilityNodeInfo;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FocusSequenceRecorderTest {
+  private static final int CAPACITY = 3;
+
+  @Mock AccessibilityNodeInfo nodeMock;
+
+  long uptimeMillis;
+  FocusSequenceRecorder testSubject;
+
+  @Before
+  public void prepare() {
+    uptimeMillis = 100;
+    testSubject = new FocusSequenceRecorder(CAPACITY, () -> uptimeMillis);
+  }
+
+  @Test
+  public void emptySequenceHasNoStops() {
+    FocusSequence sequence = testSubject.getSequence();
+
+    Assert.assertEquals(0, sequence.stops.size());
+    Assert.assertEquals(0, sequence.droppedStops);
+  }
+
+  @Test
+  public void recordsStopDetails() {
+    when(nodeMock.getViewIdResourceName()).thenReturn("com.example:id/button");
+    when(nodeMock.getClassName()).thenReturn("android.widget.Button");
+
+    testSubject.recordFocus(1, nodeMock, new FocusElementBounds(10, 20, 30, 40), 90);
+
+    FocusStop stop = testSubject.getSequence().stops.get(0);
+    Assert.assertEquals(1, stop.index);
+    Assert.assertEquals(10, stop.bounds.left);
+    Assert.assertEquals(20, stop.bounds.top);
+    Assert.assertEquals(30, stop.bounds.right);
+    Assert.assertEquals(40, stop.bounds.bottom);
+    Assert.assertEquals("com.example:id/button", stop.resourceId);
+    Assert.assertEquals("android.widget.Button", stop.className);
+    Assert.assertEquals(90, stop.eventTime);
+    Assert.assertEquals(100, stop.receivedTime);
+    Assert.assertEquals(0, stop.drawnTime);
+  }
+
+  @Test
+  public void recordsStopWithoutNodeOrBounds() {
+    testSubject.recordFocus(1, null, null, 90);
+
+    FocusStop stop = testSubject.getSequence().stops.get(0);
+    Assert.assertNull(stop.bounds);
+    Assert.assertNull(stop.resourceId);
+    Assert.assertNull(stop.className);
+  }
+
+  @Test
+  public void onStopsDrawnStampsStopsUpToDrawnCountOnce() {
+    testSubject.recordFocus(1, nodeMock, null, 90);
+    testSubject.recordFocus(2, nodeMock, null, 91);
+
+    uptimeMillis = 110;
+    testSubject.onStopsDrawn(1);
+    uptimeMillis = 120;
+    testSubject.onStopsDrawn(2);
+    uptimeMillis = 130;
+    testSubject.onStopsDrawn(2);
+
+    FocusSequence sequence = testSubject.getSequence();
+    Assert.assertEquals(110, sequence.stops.get(0).drawnTime);
+    Assert.assertEquals(120, sequence.stops.get(1).drawnTime);
+  }
+
+  @Test
+  public void keepsMostRecentStopsWhenFull() {
+    for (int index = 1; index <= 5; index++) {
+      testSubject.recordFocus(index, nodeMock, null, index);
+    }
+    testSubject.onStopsDrawn(5);
+
+    FocusSequence sequence = testSubject.getSequence();
+    Assert.assertEquals(CAPACITY, sequence.stops.size());
+    Assert.assertEquals(2, sequence.droppedStops);
+    Assert.assertEquals(3, sequence.stops.get(0).index);
+    Assert.assertEquals(5, sequence.stops.get(2).index);
+    Assert.assertEquals(100, sequence.stops.get(0).drawnTime);
+  }
+
+  @Test
+  public void resetStartsNewSequence() {
+    testSubject.recordFocus(1, nodeMock, null, 90);
+    testSubject.recordFocus(2, nodeMock, null, 91);
+
+    testSubject.reset();
+    testSubject.recordFocus(1, nodeMock, null, 92);
+
+    FocusSequence sequence = testSubject.getSequence();
+    Assert.assertEquals(1, sequence.stops.size());
+    Assert.assertEquals(92, sequence.stops.get(0).eventTime);
+    Assert.assertEquals(0, sequence.droppedStops);
+  }
+}
@@ -0,0 +1,46 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FocusSequenceRequestFulfillerTest {
+  @Mock ResponseWriter responseWriter;
+  @Mock FocusSequenceRecorder focusSequenceRecorder;
+  @Mock Deadline deadline;
+  @Mock RunnableFunction onRequestFulfilled;
+
+  FocusSequenceRequestFulfiller testSubject;
+
+  @Before
+  public void prepare() {
+    testSubject = new FocusSequenceRequestFulfiller(responseWriter, focusSequenceRecorder);
+  }
+
+  @Test
+  public void isBlockingRequestIsTrue() {
+    Assert.assertTrue(testSubject.isBlockingRequest());
+  }
+
+  @Test
+  public void fulfillRequestWritesSequenceJson() {
+    FocusSequence sequence = new FocusSequence(Collections.emptyList(), 3);
+    when(focusSequenceRecorder.getSequence()).thenReturn(sequence);
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilled);
+
+    verify(responseWriter).writeSuccessfulResponse(sequence.toJson());
+    verify(onRequestFulfilled).run();
+  }
+}
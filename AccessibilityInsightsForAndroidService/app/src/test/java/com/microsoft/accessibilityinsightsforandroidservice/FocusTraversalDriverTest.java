@@ -0,0 +1,156 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.view.View;
+import android.view.accessibility.AccessibilityNodeInfo;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+@RunWith(PowerMockRunner.class)
+public class FocusTraversalDriverTest {
+  @Mock AccessibilityNodeInfo rootNodeMock;
+  @Mock AccessibilityNodeInfo focusedNodeMock;
+  @Mock AccessibilityNodeInfo firstNodeMock;
+  @Mock AccessibilityNodeInfo secondNodeMock;
+  @Mock AccessibilityNodeInfo unfocusableNodeMock;
+
+  FocusTraversalDriver testSubject;
+  Deadline deadline;
+  long nanoTime;
+
+  @Before
+  public void prepare() {
+    testSubject = new FocusTraversalDriver(() -> 42);
+    deadline = new Deadline(() -> nanoTime, 1000);
+    when(firstNodeMock.performAction(AccessibilityNodeInfo.ACTION_FOCUS)).thenReturn(true);
+    when(secondNodeMock.performAction(AccessibilityNodeInfo.ACTION_FOCUS)).thenReturn(true);
+    when(firstNodeMock.getViewIdResourceName()).thenReturn("first");
+    when(firstNodeMock.getClassName()).thenReturn("android.widget.Button");
+  }
+
+  @Test
+  public void withoutRootReportsNoRoot() throws DeadlineExceededException {
+    FocusTraversal traversal = testSubject.traverse(null, 10, deadline);
+
+    Assert.assertEquals(FocusTraversal.STOPPED_WITHOUT_ROOT, traversal.stopReason);
+    Assert.assertTrue(traversal.stops.isEmpty());
+  }
+
+  @Test
+  public void walksForwardFromRootUntilEnd() throws DeadlineExceededException {
+    when(rootNodeMock.focusSearch(View.FOCUS_FORWARD)).thenReturn(firstNodeMock);
+    when(firstNodeMock.focusSearch(View.FOCUS_FORWARD)).thenReturn(secondNodeMock);
+
+    FocusTraversal traversal = testSubject.traverse(rootNodeMock, 10, deadline);
+
+    Assert.assertEquals(FocusTraversal.STOPPED_AT_END, traversal.stopReason);
+    Assert.assertEquals(2, traversal.stops.size());
+    FocusStop firstStop = traversal.stops.get(0);
+    Assert.assertEquals(1, firstStop.index);
+    Assert.assertEquals("first", firstStop.resourceId);
+    Assert.assertEquals("android.widget.Button", firstStop.className);
+    Assert.assertEquals(42, firstStop.eventTime);
+    Assert.assertEquals(2, traversal.stops.get(1).index);
+    verify(firstNodeMock).performAction(AccessibilityNodeInfo.ACTION_FOCUS);
+    verify(secondNodeMock).performAction(AccessibilityNodeInfo.ACTION_FOCUS);
+    verify(firstNodeMock).recycle();
+    verify(secondNodeMock).recycle();
+    verify(rootNodeMock, never()).recycle();
+  }
+
+  @Test
+  public void startsFromCurrentInputFocus() throws DeadlineExceededException {
+    when(rootNodeMock.findFocus(AccessibilityNodeInfo.FOCUS_INPUT)).thenReturn(focusedNodeMock);
+    when(focusedNodeMock.focusSearch(View.FOCUS_FORWARD)).thenReturn(secondNodeMock);
+
+    FocusTraversal traversal = testSubject.traverse(rootNodeMock, 10, deadline);
+
+    Assert.assertEquals(1, traversal.stops.size());
+    verify(rootNodeMock, never()).focusSearch(View.FOCUS_FORWARD);
+    verify(focusedNodeMock).recycle();
+  }
+
+  @Test
+  public void stopsOnCycle() throws DeadlineExceededException {
+    when(rootNodeMock.focusSearch(View.FOCUS_FORWARD)).thenReturn(firstNodeMock);
+    when(firstNodeMock.focusSearch(View.FOCUS_FORWARD)).thenReturn(secondNodeMock);
+    when(secondNodeMock.focusSearch(View.FOCUS_FORWARD)).thenReturn(firstNodeMock);
+
+    FocusTraversal traversal = testSubject.traverse(rootNodeMock, 10, deadline);
+
+    Assert.assertEquals(FocusTraversal.STOPPED_ON_CYCLE, traversal.stopReason);
+    Assert.assertEquals(2, traversal.stops.size());
+    verify(firstNodeMock, times(1)).performAction(AccessibilityNodeInfo.ACTION_FOCUS);
+  }
+
+  @Test
+  public void cycleBackToStartIsNotAnotherStop() throws DeadlineExceededException {
+    when(rootNodeMock.findFocus(AccessibilityNodeInfo.FOCUS_INPUT)).thenReturn(focusedNodeMock);
+    when(focusedNodeMock.focusSearch(View.FOCUS_FORWARD)).thenReturn(firstNodeMock);
+    when(firstNodeMock.focusSearch(View.FOCUS_FORWARD)).thenReturn(secondNodeMock);
+    when(secondNodeMock.focusSearch(View.FOCUS_FORWARD)).thenReturn(focusedNodeMock);
+
+    FocusTraversal traversal = testSubject.traverse(rootNodeMock, 10, deadline);
+
+    Assert.assertEquals(FocusTraversal.STOPPED_ON_CYCLE, traversal.stopReason);
+    Assert.assertEquals(2, traversal.stops.size());
+    verify(focusedNodeMock, never()).performAction(AccessibilityNodeInfo.ACTION_FOCUS);
+  }
+
+  @Test
+  public void stopsWhenDeadlineExpires() {
+    when(rootNodeMock.focusSearch(View.FOCUS_FORWARD)).thenReturn(firstNodeMock);
+    when(firstNodeMock.focusSearch(View.FOCUS_FORWARD))
+        .thenAnswer(
+            invocation -> {
+              nanoTime += 2_000_000_000L;
+              return secondNodeMock;
+            });
+
+    try {
+      testSubject.traverse(rootNodeMock, 10, deadline);
+      Assert.fail("Expected the deadline to expire");
+    } catch (DeadlineExceededException e) {
+      Assert.assertEquals(FocusTraversalDriver.TRAVERSE_STAGE, e.getStage());
+    }
+
+    verify(secondNodeMock, never()).focusSearch(View.FOCUS_FORWARD);
+    verify(firstNodeMock).recycle();
+    verify(secondNodeMock).recycle();
+    verify(rootNodeMock, never()).recycle();
+  }
+
+  @Test
+  public void stopsAfterMaxSteps() throws DeadlineExceededException {
+    when(rootNodeMock.focusSearch(View.FOCUS_FORWARD)).thenReturn(firstNodeMock);
+    when(firstNodeMock.focusSearch(View.FOCUS_FORWARD)).thenReturn(secondNodeMock);
+
+    FocusTraversal traversal = testSubject.traverse(rootNodeMock, 1, deadline);
+
+    Assert.assertEquals(FocusTraversal.STOPPED_AT_MAX_STEPS, traversal.stopReason);
+    Assert.assertEquals(1, traversal.stops.size());
+    verify(firstNodeMock, never()).focusSearch(View.FOCUS_FORWARD);
+  }
+
+  @Test
+  public void stopsWhenFocusActionFails() throws DeadlineExceededException {
+    when(rootNodeMock.focusSearch(View.FOCUS_FORWARD)).thenReturn(unfocusableNodeMock);
+
+    FocusTraversal traversal = testSubject.traverse(rootNodeMock, 10, deadline);
+
+    Assert.assertEquals(FocusTraversal.STOPPED_ON_FOCUS_FAILURE, traversal.stopReason);
+    Assert.assertTrue(traversal.stops.isEmpty());
+    verify(unfocusableNodeMock).recycle();
+  }
+}
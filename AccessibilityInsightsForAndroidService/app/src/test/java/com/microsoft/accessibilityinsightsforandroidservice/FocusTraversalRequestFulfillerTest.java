@@ -0,0 +1,93 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.view.accessibility.AccessibilityNodeInfo;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FocusTraversalRequestFulfillerTest {
+  @Mock ResponseWriter responseWriter;
+  @Mock RootNodeFinder rootNodeFinder;
+  @Mock EventHelper eventHelper;
+  @Mock FocusTraversalDriver focusTraversalDriver;
+  @Mock AccessibilityNodeInfo sourceNodeMock;
+  @Mock AccessibilityNodeInfo rootNodeMock;
+  @Mock Deadline deadline;
+  @Mock RunnableFunction onRequestFulfilledMock;
+
+  FocusTraversal traversal =
+      new FocusTraversal(Collections.emptyList(), FocusTraversal.STOPPED_AT_END);
+
+  FocusTraversalRequestFulfiller testSubject;
+
+  @Before
+  public void prepare() {
+    testSubject =
+        new FocusTraversalRequestFulfiller(
+            responseWriter, rootNodeFinder, eventHelper, focusTraversalDriver, 25);
+    when(eventHelper.claimLastSource()).thenReturn(sourceNodeMock);
+    when(rootNodeFinder.getRootNodeFromSource(sourceNodeMock)).thenReturn(rootNodeMock);
+  }
+
+  @Test
+  public void isBlockingRequestReturnsTrue() {
+    Assert.assertTrue(testSubject.isBlockingRequest());
+  }
+
+  @Test
+  public void writesTraversalFromRootNode() throws DeadlineExceededException {
+    when(focusTraversalDriver.traverse(rootNodeMock, 25, deadline)).thenReturn(traversal);
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    verify(responseWriter).writeSuccessfulResponse(traversal.toJson());
+    verify(onRequestFulfilledMock, times(1)).run();
+  }
+
+  @Test
+  public void recyclesNodes() throws DeadlineExceededException {
+    when(focusTraversalDriver.traverse(rootNodeMock, 25, deadline)).thenReturn(traversal);
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    verify(rootNodeMock, times(1)).recycle();
+    verify(sourceNodeMock, times(1)).recycle();
+  }
+
+  @Test
+  public void doesNotRecycleSourceIfRestoreLastSourceSucceeds() throws DeadlineExceededException {
+    when(focusTraversalDriver.traverse(rootNodeMock, 25, deadline)).thenReturn(traversal);
+    when(eventHelper.restoreLastSource(sourceNodeMock)).thenReturn(true);
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    verify(rootNodeMock, times(1)).recycle();
+    verify(sourceNodeMock, never()).recycle();
+  }
+
+  @Test
+  public void writesTimeoutResponseWhenDeadlineExpires() throws DeadlineExceededException {
+    DeadlineExceededException exception =
+        new DeadlineExceededException(FocusTraversalDriver.TRAVERSE_STAGE, 1000, 1200);
+    when(focusTraversalDriver.traverse(rootNodeMock, 25, deadline)).thenThrow(exception);
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    verify(responseWriter).writeTimeoutResponse(exception);
+    verify(rootNodeMock, times(1)).recycle();
+    verify(onRequestFulfilledMock, times(1)).run();
+  }
+}
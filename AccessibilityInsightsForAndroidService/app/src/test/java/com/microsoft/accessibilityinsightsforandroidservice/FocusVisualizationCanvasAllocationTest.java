@@ -0,0 +1,136 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.Mockito.mock;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.view.accessibility.AccessibilityNodeInfo;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+
+// Runs without PowerMock on purpose: classes it prepares allocate on every instrumented call
+public class FocusVisualizationCanvasAllocationTest {
+  private static final int ELEMENT_COUNT = 100;
+  private static final int WARM_UP_FRAMES = 2000;
+  private static final int MEASURED_FRAMES = 1000;
+  // Headroom for the measurement itself
+  private static final long ALLOWED_BYTES = 1024;
+
+  CountingCanvas canvas;
+  CountingCanvas historyCanvas;
+  FocusVisualizationCanvas testSubject;
+
+  @Before
+  public void prepare() throws Exception {
+    Paint paint = mock(Paint.class);
+    FocusElementPaints elementPaints = new FocusElementPaints(paint, paint, paint);
+    FocusLinePaints linePaints = new FocusLinePaints(paint, paint);
+
+    ArrayList<FocusElementHighlightSnapshot> highlights = new ArrayList<>();
+    ArrayList<FocusElementLineSnapshot> lines = new ArrayList<>();
+    AccessibilityNodeInfo previousNode = null;
+    for (int tabStop = 1; tabStop <= ELEMENT_COUNT; tabStop++) {
+      AccessibilityNodeInfo node = mock(AccessibilityNodeInfo.class);
+      highlights.add(new FocusElementHighlight(node, elementPaints, 50, tabStop).getSnapshot());
+      lines.add(new FocusElementLine(node, previousNode, linePaints).getSnapshot());
+      previousNode = node;
+    }
+
+    canvas = new CountingCanvas();
+    historyCanvas = new CountingCanvas();
+    testSubject =
+        new FocusVisualizationCanvas(
+            mock(Context.class),
+            new FakeLayer(historyCanvas),
+            new FrameDrawStats("", new SpanRecorder(0, () -> 0, 0, null)),
+            new FocusSequenceRecorder(1, () -> 0));
+    testSubject.setDrawList(new FocusVisualizationDrawList(highlights, lines));
+    Whitebox.setInternalState(testSubject, "yOffsetIsCurrent", true);
+  }
+
+  @Test
+  public void repeatedDrawsDoNotAllocate() {
+    Assume.assumeTrue(
+        ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean threadMXBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+    threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    long threadId = Thread.currentThread().getId();
+
+    drawFrames(WARM_UP_FRAMES);
+    canvas.drawCalls = 0;
+
+    long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+    drawFrames(MEASURED_FRAMES);
+    long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+    // History is drawn into the layer once; each frame then draws the current line with the
+    // highlights at both of its ends, at three primitives per highlight and two per line
+    int historyDrawCalls = (2 * (ELEMENT_COUNT - 1) - 1) * 3 + (ELEMENT_COUNT - 2) * 2;
+    int drawCallsPerFrame = 2 * 3 + 2;
+    Assert.assertEquals(historyDrawCalls, historyCanvas.drawCalls);
+    Assert.assertEquals((long) drawCallsPerFrame * MEASURED_FRAMES, canvas.drawCalls);
+    Assert.assertTrue("onDraw allocated " + allocated + " bytes", allocated < ALLOWED_BYTES);
+  }
+
+  private void drawFrames(int frameCount) {
+    for (int frame = 0; frame < frameCount; frame++) {
+      testSubject.onDraw(canvas);
+    }
+  }
+
+  private static class FakeLayer extends FocusVisualizationLayer {
+    private final Canvas layerCanvas;
+
+    FakeLayer(Canvas layerCanvas) {
+      super(null);
+      this.layerCanvas = layerCanvas;
+    }
+
+    @Override
+    public Canvas getCanvas(int width, int height) {
+      return layerCanvas;
+    }
+
+    @Override
+    public void clear() {}
+
+    @Override
+    public void drawOnto(Canvas target) {}
+  }
+
+  private static class CountingCanvas extends Canvas {
+    long drawCalls;
+
+    @Override
+    public boolean quickReject(
+        float left, float top, float right, float bottom, Canvas.EdgeType type) {
+      return false;
+    }
+
+    @Override
+    public void drawCircle(float cx, float cy, float radius, Paint paint) {
+      drawCalls++;
+    }
+
+    @Override
+    public void drawText(String text, float x, float y, Paint paint) {
+      drawCalls++;
+    }
+
+    @Override
+    public void drawLine(float startX, float startY, float stopX, float stopY, Paint paint) {
+      drawCalls++;
+    }
+  }
+}
@@ -4,10 +4,16 @@
 package com.microsoft.accessibilityinsightsforandroidservice;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
 
 import android.content.Context;
+import android.content.res.Configuration;
 import android.graphics.Canvas;
 import java.util.ArrayList;
 import org.junit.Assert;
@@ -15,78 +21,248 @@ import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 import org.powermock.reflect.Whitebox;
 
 @RunWith(PowerMockRunner.class)
+@PrepareForTest({OffsetHelper.class})
 public class FocusVisualizationCanvasTest {
   FocusVisualizationCanvas testSubject;
 
   @Mock Context contextMock;
-  @Mock FocusElementHighlight focusElementHighlightMock;
-  @Mock FocusElementLine focusElementLineMock;
+  @Mock FocusElementHighlightSnapshot focusElementHighlightMock;
+  @Mock FocusElementLineSnapshot focusElementLineMock;
   @Mock Canvas canvasMock;
+  @Mock Configuration configurationMock;
+  @Mock FocusVisualizationLayer historyLayerMock;
+  @Mock Canvas layerCanvasMock;
+  @Mock FrameDrawStats frameDrawStatsMock;
+  @Mock FocusSequenceRecorder focusSequenceRecorderMock;
 
   @Before
   public void prepare() {
-    testSubject = new FocusVisualizationCanvas(contextMock);
+    PowerMockito.mockStatic(OffsetHelper.class);
+    testSubject =
+        new FocusVisualizationCanvas(
+            contextMock, historyLayerMock, frameDrawStatsMock, focusSequenceRecorderMock);
   }
 
   @Test
-  public void setDrawItems() {
-    ArrayList<FocusElementHighlight> highlightStub = new ArrayList<>();
-    highlightStub.add(focusElementHighlightMock);
-    highlightStub.add(focusElementHighlightMock);
+  public void setDrawListPublishesSnapshot() {
+    FocusVisualizationDrawList drawList =
+        new FocusVisualizationDrawList(new ArrayList<>(), new ArrayList<>());
 
-    ArrayList<FocusElementLine> lineStub = new ArrayList<>();
-    lineStub.add(focusElementLineMock);
-    lineStub.add(focusElementLineMock);
-    lineStub.add(focusElementLineMock);
+    testSubject.setDrawList(drawList);
 
-    testSubject.setDrawItems(highlightStub, lineStub);
-    ArrayList<FocusElementHighlight> resultingElementArrayList =
-        Whitebox.getInternalState(testSubject, "focusElementHighlights");
-    Assert.assertEquals(resultingElementArrayList.size(), 2);
+    Assert.assertSame(drawList, Whitebox.getInternalState(testSubject, "drawList"));
+  }
 
-    ArrayList<FocusElementHighlight> resultingLineArrayList =
-        Whitebox.getInternalState(testSubject, "focusElementLines");
-    Assert.assertEquals(resultingLineArrayList.size(), 3);
+  @Test
+  public void drawHighlightsAndLinesDrawsNothingWithoutDrawList() throws Exception {
+    Whitebox.invokeMethod(testSubject, "drawHighlightsAndLines", canvasMock);
+
+    verifyNoInteractions(canvasMock, historyLayerMock);
   }
 
   @Test
   public void drawHighlightsAndLinesOnlyDrawsHighlightOnFirstPass() throws Exception {
-    ArrayList<FocusElementLine> lineStub = new ArrayList<>();
+    ArrayList<FocusElementLineSnapshot> lineStub = new ArrayList<>();
     lineStub.add(focusElementLineMock);
 
-    ArrayList<FocusElementHighlight> highlightStub = new ArrayList<>();
+    ArrayList<FocusElementHighlightSnapshot> highlightStub = new ArrayList<>();
     highlightStub.add(focusElementHighlightMock);
 
-    testSubject.setDrawItems(highlightStub, lineStub);
+    testSubject.setDrawList(new FocusVisualizationDrawList(highlightStub, lineStub));
 
     Whitebox.invokeMethod(testSubject, "drawHighlightsAndLines", canvasMock);
 
-    verify(focusElementHighlightMock, times(1)).drawElementHighlight(any(Canvas.class));
-    verify(focusElementLineMock, times(0)).drawLine(any(Canvas.class));
+    verify(focusElementHighlightMock, times(1)).drawElementHighlight(any(Canvas.class), anyInt());
+    verify(focusElementLineMock, times(0)).drawLine(any(Canvas.class), anyInt());
   }
 
   @Test
   public void drawHighlightsAndLinesDrawsAllRelevantObjectsOnSubsequentPasses() throws Exception {
-    ArrayList<FocusElementLine> lineStub = new ArrayList<>();
+    ArrayList<FocusElementLineSnapshot> lineStub = new ArrayList<>();
     lineStub.add(focusElementLineMock);
     lineStub.add(focusElementLineMock);
 
-    ArrayList<FocusElementHighlight> highlightStub = new ArrayList<>();
+    ArrayList<FocusElementHighlightSnapshot> highlightStub = new ArrayList<>();
     highlightStub.add(focusElementHighlightMock);
     highlightStub.add(focusElementHighlightMock);
 
-    testSubject.setDrawItems(highlightStub, lineStub);
+    testSubject.setDrawList(new FocusVisualizationDrawList(highlightStub, lineStub));
 
     Whitebox.invokeMethod(testSubject, "drawHighlightsAndLines", canvasMock);
 
     // Note: drawElementHighlight will call twice for each subsequent onDraw event.  This is to
     // ensure that the line is drawn underneath the highlight, as the canvas drawings draw on
     // top of any previous drawings by default.
-    verify(focusElementHighlightMock, times(3)).drawElementHighlight(any(Canvas.class));
-    verify(focusElementLineMock, times(1)).drawLine(any(Canvas.class));
+    verify(focusElementHighlightMock, times(3)).drawElementHighlight(any(Canvas.class), anyInt());
+    verify(focusElementLineMock, times(1)).drawLine(any(Canvas.class), anyInt());
+  }
+
+  @Test
+  public void drawHighlightsAndLinesLooksUpOffsetOncePerConfiguration() throws Exception {
+    when(OffsetHelper.getYOffset(testSubject)).thenReturn(12);
+    ArrayList<FocusElementLineSnapshot> lineStub = new ArrayList<>();
+    lineStub.add(focusElementLineMock);
+    ArrayList<FocusElementHighlightSnapshot> highlightStub = new ArrayList<>();
+    highlightStub.add(focusElementHighlightMock);
+    testSubject.setDrawList(new FocusVisualizationDrawList(highlightStub, lineStub));
+
+    Whitebox.invokeMethod(testSubject, "drawHighlightsAndLines", canvasMock);
+    Whitebox.invokeMethod(testSubject, "drawHighlightsAndLines", canvasMock);
+
+    PowerMockito.verifyStatic(OffsetHelper.class, times(1));
+    OffsetHelper.getYOffset(testSubject);
+    verify(focusElementHighlightMock, times(2)).drawElementHighlight(canvasMock, 12);
+
+    Whitebox.invokeMethod(testSubject, "onConfigurationChanged", configurationMock);
+    Whitebox.invokeMethod(testSubject, "drawHighlightsAndLines", canvasMock);
+
+    PowerMockito.verifyStatic(OffsetHelper.class, times(2));
+    OffsetHelper.getYOffset(testSubject);
+  }
+
+  @Test
+  public void drawHighlightsAndLinesDrawsHistoryIntoLayerOnce() throws Exception {
+    FocusElementHighlightSnapshot firstHighlight =
+        PowerMockito.mock(FocusElementHighlightSnapshot.class);
+    FocusElementHighlightSnapshot secondHighlight =
+        PowerMockito.mock(FocusElementHighlightSnapshot.class);
+    FocusElementHighlightSnapshot thirdHighlight =
+        PowerMockito.mock(FocusElementHighlightSnapshot.class);
+    when(historyLayerMock.getCanvas(100, 200)).thenReturn(layerCanvasMock);
+    Whitebox.invokeMethod(testSubject, "onSizeChanged", 100, 200, 0, 0);
+
+    ArrayList<FocusElementHighlightSnapshot> highlightStub = new ArrayList<>();
+    highlightStub.add(firstHighlight);
+    highlightStub.add(secondHighlight);
+    ArrayList<FocusElementLineSnapshot> lineStub = new ArrayList<>();
+    lineStub.add(focusElementLineMock);
+    lineStub.add(focusElementLineMock);
+    testSubject.setDrawList(new FocusVisualizationDrawList(highlightStub, lineStub));
+
+    Whitebox.invokeMethod(testSubject, "drawHighlightsAndLines", canvasMock);
+    Whitebox.invokeMethod(testSubject, "drawHighlightsAndLines", canvasMock);
+
+    verify(firstHighlight, times(1)).drawElementHighlight(eq(layerCanvasMock), anyInt());
+    verify(firstHighlight, times(2)).drawElementHighlight(eq(canvasMock), anyInt());
+    verify(secondHighlight, never()).drawElementHighlight(eq(layerCanvasMock), anyInt());
+    verify(historyLayerMock, times(2)).drawOnto(canvasMock);
+
+    ArrayList<FocusElementHighlightSnapshot> extendedHighlightStub = new ArrayList<>(highlightStub);
+    extendedHighlightStub.add(thirdHighlight);
+    ArrayList<FocusElementLineSnapshot> extendedLineStub = new ArrayList<>(lineStub);
+    extendedLineStub.add(focusElementLineMock);
+    testSubject.setDrawList(
+        new FocusVisualizationDrawList(extendedHighlightStub, extendedLineStub));
+    Whitebox.invokeMethod(testSubject, "drawHighlightsAndLines", canvasMock);
+
+    verify(historyLayerMock, times(1)).clear();
+    verify(firstHighlight, times(2)).drawElementHighlight(eq(layerCanvasMock), anyInt());
+    verify(secondHighlight, times(1)).drawElementHighlight(eq(layerCanvasMock), anyInt());
+    verify(thirdHighlight, never()).drawElementHighlight(eq(layerCanvasMock), anyInt());
+  }
+
+  @Test
+  public void historyLayerIsRedrawnAfterBoundsChange() throws Exception {
+    FocusElementHighlightSnapshot refreshedHighlight =
+        PowerMockito.mock(FocusElementHighlightSnapshot.class);
+    when(historyLayerMock.getCanvas(100, 200)).thenReturn(layerCanvasMock);
+    Whitebox.invokeMethod(testSubject, "onSizeChanged", 100, 200, 0, 0);
+    ArrayList<FocusElementHighlightSnapshot> highlightStub = new ArrayList<>();
+    highlightStub.add(focusElementHighlightMock);
+    highlightStub.add(focusElementHighlightMock);
+    ArrayList<FocusElementLineSnapshot> lineStub = new ArrayList<>();
+    lineStub.add(focusElementLineMock);
+    lineStub.add(focusElementLineMock);
+    testSubject.setDrawList(new FocusVisualizationDrawList(highlightStub, lineStub));
+    Whitebox.invokeMethod(testSubject, "drawHighlightsAndLines", canvasMock);
+
+    // A bounds refresh publishes a draw list with new snapshots for the moved elements
+    highlightStub.set(0, refreshedHighlight);
+    testSubject.setDrawList(new FocusVisualizationDrawList(highlightStub, lineStub));
+    Whitebox.invokeMethod(testSubject, "drawHighlightsAndLines", canvasMock);
+
+    verify(historyLayerMock, times(2)).clear();
+    verify(focusElementHighlightMock, times(1)).drawElementHighlight(eq(layerCanvasMock), anyInt());
+    verify(refreshedHighlight, times(1)).drawElementHighlight(eq(layerCanvasMock), anyInt());
+  }
+
+  @Test
+  public void historyLayerIsKeptWhenOnlyLiveElementIsReplaced() throws Exception {
+    FocusElementHighlightSnapshot replacementHighlight =
+        PowerMockito.mock(FocusElementHighlightSnapshot.class);
+    when(historyLayerMock.getCanvas(100, 200)).thenReturn(layerCanvasMock);
+    Whitebox.invokeMethod(testSubject, "onSizeChanged", 100, 200, 0, 0);
+    ArrayList<FocusElementHighlightSnapshot> highlightStub = new ArrayList<>();
+    highlightStub.add(focusElementHighlightMock);
+    highlightStub.add(focusElementHighlightMock);
+    ArrayList<FocusElementLineSnapshot> lineStub = new ArrayList<>();
+    lineStub.add(focusElementLineMock);
+    lineStub.add(focusElementLineMock);
+    testSubject.setDrawList(new FocusVisualizationDrawList(highlightStub, lineStub));
+    Whitebox.invokeMethod(testSubject, "drawHighlightsAndLines", canvasMock);
+
+    highlightStub.set(1, replacementHighlight);
+    testSubject.setDrawList(new FocusVisualizationDrawList(highlightStub, lineStub));
+    Whitebox.invokeMethod(testSubject, "drawHighlightsAndLines", canvasMock);
+
+    verify(historyLayerMock, times(1)).clear();
+    verify(replacementHighlight, times(1)).drawElementHighlight(eq(canvasMock), anyInt());
+  }
+
+  @Test
+  public void drawListsPublishedBetweenFramesAreSkipped() throws Exception {
+    when(historyLayerMock.getCanvas(100, 200)).thenReturn(layerCanvasMock);
+    Whitebox.invokeMethod(testSubject, "onSizeChanged", 100, 200, 0, 0);
+    ArrayList<FocusElementHighlightSnapshot> highlightStub = new ArrayList<>();
+    highlightStub.add(focusElementHighlightMock);
+    highlightStub.add(focusElementHighlightMock);
+    ArrayList<FocusElementLineSnapshot> lineStub = new ArrayList<>();
+    lineStub.add(focusElementLineMock);
+    lineStub.add(focusElementLineMock);
+    testSubject.setDrawList(new FocusVisualizationDrawList(highlightStub, lineStub));
+    Whitebox.invokeMethod(testSubject, "drawHighlightsAndLines", canvasMock);
+
+    // The UI thread only sees the latest snapshot, which still extends what is in the layer
+    testSubject.setDrawList(FocusVisualizationDrawList.EMPTY);
+    highlightStub.add(focusElementHighlightMock);
+    lineStub.add(focusElementLineMock);
+    testSubject.setDrawList(new FocusVisualizationDrawList(highlightStub, lineStub));
+    Whitebox.invokeMethod(testSubject, "drawHighlightsAndLines", canvasMock);
+
+    verify(historyLayerMock, times(1)).clear();
+  }
+
+  @Test
+  public void redrawRegionInvalidatesOffsetRegion() {
+    when(OffsetHelper.getYOffset(any())).thenReturn(12);
+    FocusVisualizationCanvas canvasSpy = PowerMockito.spy(testSubject);
+    PowerMockito.doNothing().when(canvasSpy).invalidate(anyInt(), anyInt(), anyInt(), anyInt());
+
+    canvasSpy.redrawRegion(10, 20, 30, 40);
+
+    verify(canvasSpy).invalidate(10, 32, 30, 52);
+  }
+
+  @Test
+  public void onDrawReportsDrawnStops() throws Exception {
+    ArrayList<FocusElementHighlightSnapshot> highlightStub = new ArrayList<>();
+    highlightStub.add(focusElementHighlightMock);
+    highlightStub.add(focusElementHighlightMock);
+    ArrayList<FocusElementLineSnapshot> lineStub = new ArrayList<>();
+    lineStub.add(focusElementLineMock);
+    lineStub.add(focusElementLineMock);
+    testSubject.setDrawList(new FocusVisualizationDrawList(highlightStub, lineStub));
+    when(frameDrawStatsMock.startFrame()).thenReturn(5L);
+
+    Whitebox.invokeMethod(testSubject, "onDraw", canvasMock);
+
+    verify(frameDrawStatsMock).endFrame(5L);
+    verify(focusSequenceRecorderMock).onStopsDrawn(2);
   }
 }
@@ -0,0 +1,96 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FocusVisualizationDrawListTest {
+  @Mock FocusElementHighlightSnapshot firstHighlightMock;
+  @Mock FocusElementHighlightSnapshot secondHighlightMock;
+  @Mock FocusElementLineSnapshot lineMock;
+  @Mock FocusElementLineSnapshot secondLineMock;
+
+  @Test
+  public void copiesListsOnConstruction() {
+    List<FocusElementHighlightSnapshot> highlights =
+        new ArrayList<>(Arrays.asList(firstHighlightMock));
+    List<FocusElementLineSnapshot> lines = new ArrayList<>(Arrays.asList(lineMock));
+
+    FocusVisualizationDrawList testSubject = new FocusVisualizationDrawList(highlights, lines);
+    highlights.add(secondHighlightMock);
+    lines.clear();
+
+    Assert.assertEquals(1, testSubject.size());
+    Assert.assertEquals(1, testSubject.lines.size());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void listsAreUnmodifiable() {
+    FocusVisualizationDrawList testSubject =
+        new FocusVisualizationDrawList(Arrays.asList(firstHighlightMock), Arrays.asList(lineMock));
+
+    testSubject.highlights.add(secondHighlightMock);
+  }
+
+  @Test
+  public void emptyIsEmpty() {
+    Assert.assertTrue(FocusVisualizationDrawList.EMPTY.isEmpty());
+    Assert.assertEquals(0, FocusVisualizationDrawList.EMPTY.size());
+  }
+
+  @Test
+  public void appendedDrawListExtendsPrevious() {
+    FocusVisualizationDrawList previous = createDrawList(firstHighlightMock);
+    FocusVisualizationDrawList next = createDrawList(firstHighlightMock, secondHighlightMock);
+
+    Assert.assertTrue(next.extendsDrawList(previous));
+    Assert.assertTrue(next.extendsDrawList(FocusVisualizationDrawList.EMPTY));
+  }
+
+  @Test
+  public void replacedOrShorterDrawListDoesNotExtendPrevious() {
+    FocusVisualizationDrawList previous = createDrawList(firstHighlightMock, secondHighlightMock);
+
+    Assert.assertFalse(createDrawList(firstHighlightMock).extendsDrawList(previous));
+    Assert.assertFalse(
+        createDrawList(secondHighlightMock, secondHighlightMock).extendsDrawList(previous));
+    Assert.assertFalse(FocusVisualizationDrawList.EMPTY.extendsDrawList(previous));
+  }
+
+  @Test
+  public void drawListWithReplacedLiveElementExtendsPrevious() {
+    FocusVisualizationDrawList previous = createDrawList(firstHighlightMock, secondHighlightMock);
+
+    // Only the history, which is everything but the last element, has to match
+    Assert.assertTrue(
+        createDrawList(firstHighlightMock, firstHighlightMock).extendsDrawList(previous));
+  }
+
+  @Test
+  public void drawListWithReplacedHistoryLineDoesNotExtendPrevious() {
+    FocusVisualizationDrawList previous = createDrawList(firstHighlightMock, secondHighlightMock);
+    FocusVisualizationDrawList next =
+        new FocusVisualizationDrawList(
+            Arrays.asList(firstHighlightMock, secondHighlightMock),
+            Arrays.asList(secondLineMock, lineMock));
+
+    Assert.assertFalse(next.extendsDrawList(previous));
+  }
+
+  private FocusVisualizationDrawList createDrawList(FocusElementHighlightSnapshot... highlights) {
+    List<FocusElementLineSnapshot> lines = new ArrayList<>();
+    for (int i = 0; i < highlights.length; i++) {
+      lines.add(lineMock);
+    }
+    return new FocusVisualizationDrawList(Arrays.asList(highlights), lines);
+  }
+}
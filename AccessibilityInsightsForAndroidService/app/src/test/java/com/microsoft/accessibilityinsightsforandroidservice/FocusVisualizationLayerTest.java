@@ -0,0 +1,111 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.powermock.api.mockito.PowerMockito.when;
+import static org.powermock.api.mockito.PowerMockito.whenNew;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Rect;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({FocusVisualizationLayer.class})
+public class FocusVisualizationLayerTest {
+  @Mock BitmapProvider bitmapProviderMock;
+  @Mock Bitmap bitmapMock;
+  @Mock Bitmap otherBitmapMock;
+  @Mock Canvas canvasMock;
+  @Mock Canvas targetCanvasMock;
+  @Mock Rect clipBoundsMock;
+
+  FocusVisualizationLayer testSubject;
+
+  @Before
+  public void prepare() throws Exception {
+    when(bitmapProviderMock.createBitmap(100, 200, Bitmap.Config.ARGB_8888)).thenReturn(bitmapMock);
+    when(bitmapMock.getWidth()).thenReturn(100);
+    when(bitmapMock.getHeight()).thenReturn(200);
+    whenNew(Canvas.class).withArguments(bitmapMock).thenReturn(canvasMock);
+    whenNew(Rect.class).withNoArguments().thenReturn(clipBoundsMock);
+
+    testSubject = new FocusVisualizationLayer(bitmapProviderMock);
+  }
+
+  @Test
+  public void getCanvasReturnsNullWithoutSize() {
+    Assert.assertNull(testSubject.getCanvas(0, 200));
+    verifyNoInteractions(bitmapProviderMock);
+  }
+
+  @Test
+  public void getCanvasReusesBitmapOfSameSize() {
+    Assert.assertEquals(canvasMock, testSubject.getCanvas(100, 200));
+    Assert.assertEquals(canvasMock, testSubject.getCanvas(100, 200));
+
+    verify(bitmapProviderMock, times(1)).createBitmap(100, 200, Bitmap.Config.ARGB_8888);
+  }
+
+  @Test
+  public void getCanvasReplacesBitmapWhenSizeChanges() {
+    when(bitmapProviderMock.createBitmap(200, 100, Bitmap.Config.ARGB_8888))
+        .thenReturn(otherBitmapMock);
+    testSubject.getCanvas(100, 200);
+
+    testSubject.getCanvas(200, 100);
+
+    verify(bitmapMock).recycle();
+    verify(bitmapProviderMock).createBitmap(200, 100, Bitmap.Config.ARGB_8888);
+  }
+
+  @Test
+  public void clearErasesBitmap() {
+    testSubject.getCanvas(100, 200);
+    testSubject.clear();
+    verify(bitmapMock).eraseColor(Color.TRANSPARENT);
+  }
+
+  @Test
+  public void drawOntoCopiesClippedPartOfBitmap() {
+    testSubject.drawOnto(targetCanvasMock);
+    verifyNoInteractions(targetCanvasMock);
+
+    when(targetCanvasMock.getClipBounds(clipBoundsMock)).thenReturn(true);
+    testSubject.getCanvas(100, 200);
+    testSubject.drawOnto(targetCanvasMock);
+    verify(targetCanvasMock).drawBitmap(bitmapMock, clipBoundsMock, clipBoundsMock, null);
+  }
+
+  @Test
+  public void drawOntoSkipsEmptyClip() {
+    when(targetCanvasMock.getClipBounds(clipBoundsMock)).thenReturn(false);
+    testSubject.getCanvas(100, 200);
+    testSubject.drawOnto(targetCanvasMock);
+    verify(targetCanvasMock, never())
+        .drawBitmap(any(Bitmap.class), any(Rect.class), any(Rect.class), any());
+  }
+
+  @Test
+  public void releaseRecyclesBitmap() {
+    testSubject.getCanvas(100, 200);
+    testSubject.release();
+    testSubject.drawOnto(targetCanvasMock);
+
+    verify(bitmapMock).recycle();
+    verifyNoInteractions(targetCanvasMock);
+  }
+}
@@ -36,6 +36,7 @@ public class FocusVisualizerControllerTest {
   @Mock FocusVisualizationCanvas focusVisualizationCanvas;
   @Mock WindowManager.LayoutParams layoutParams;
   @Mock AccessibilityNodeInfo accessibilityNodeInfo;
+  @Mock RedrawCoalescer redrawCoalescerMock;
 
   FocusVisualizerController testSubject;
 
@@ -49,7 +50,8 @@ public class FocusVisualizerControllerTest {
             uiThreadRunner,
             windowManager,
             layoutParamGenerator,
-            focusVisualizationCanvas);
+            focusVisualizationCanvas,
+            redrawCoalescerMock);
   }
 
   @Test
@@ -72,17 +74,18 @@ public class FocusVisualizerControllerTest {
   }
 
   @Test
-  public void onRedrawEventDoesNotCallVisualizerIfStateIsFalse() {
+  public void onRedrawEventDoesNotRequestRedrawIfStateIsFalse() {
     when(focusVisualizationStateManagerMock.getState()).thenReturn(false);
     testSubject.onRedrawEvent(accessibilityEventMock);
-    verify(focusVisualizerMock, times(0)).refreshHighlights();
+    verify(redrawCoalescerMock, times(0)).requestRedraw();
   }
 
   @Test
-  public void onRedrawEventCallsVisualizerIfStateIsTrue() {
+  public void onRedrawEventRequestsRedrawIfStateIsTrue() {
     when(focusVisualizationStateManagerMock.getState()).thenReturn(true);
     testSubject.onRedrawEvent(accessibilityEventMock);
-    verify(focusVisualizerMock, times(1)).refreshHighlights();
+    verify(redrawCoalescerMock, times(1)).requestRedraw();
+    verify(focusVisualizerMock, times(0)).refreshHighlights();
   }
 
   @Test
@@ -103,15 +106,16 @@ public class FocusVisualizerControllerTest {
   public void onOrientationChangeDoesNothingIfStateIsFalse() {
     when(focusVisualizationStateManagerMock.getState()).thenReturn(false);
     testSubject.onOrientationChanged(0);
-    verify(focusVisualizerMock, times(0)).resetVisualizations();
+    verify(focusVisualizerMock, times(0)).reprojectHighlights();
     verify(windowManager, times(0)).updateViewLayout(focusVisualizationCanvas, layoutParams);
   }
 
   @Test
-  public void onOrientationChangeUpdatesVisualizationAsNecessaryIfStateIsTrue() {
+  public void onOrientationChangeReprojectsVisualizationIfStateIsTrue() {
     when(focusVisualizationStateManagerMock.getState()).thenReturn(true);
     testSubject.onOrientationChanged(0);
-    verify(focusVisualizerMock, times(1)).resetVisualizations();
+    verify(focusVisualizerMock, times(1)).reprojectHighlights();
+    verify(focusVisualizerMock, times(0)).resetVisualizations();
     verify(windowManager, times(1)).updateViewLayout(focusVisualizationCanvas, layoutParams);
   }
 
@@ -142,7 +146,8 @@ public class FocusVisualizerControllerTest {
             uiThreadRunner,
             windowManager,
             layoutParamGenerator,
-            focusVisualizationCanvas);
+            focusVisualizationCanvas,
+            redrawCoalescerMock);
 
     verify(windowManager).addView(focusVisualizationCanvas, layoutParams);
   }
@@ -174,7 +179,8 @@ public class FocusVisualizerControllerTest {
             uiThreadRunner,
             windowManager,
             layoutParamGenerator,
-            focusVisualizationCanvas);
+            focusVisualizationCanvas,
+            redrawCoalescerMock);
 
     verify(focusVisualizerMock).resetVisualizations();
   }
@@ -5,7 +5,6 @@ package com.microsoft.accessibilityinsightsforandroidservice;
 
 import android.graphics.Color;
 import android.graphics.Paint;
-import java.util.HashMap;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -32,31 +31,31 @@ public class FocusVisualizerStylesTest {
 
   @Test
   public void getCurrentElementPaintsReturnsAllRelevantPaints() {
-    HashMap<String, Paint> paints = testSubject.getCurrentElementPaints();
-    Assert.assertNotNull(paints.get("outerCircle"));
-    Assert.assertNotNull(paints.get("innerCircle"));
-    Assert.assertNotNull(paints.get("number"));
+    FocusElementPaints paints = testSubject.getCurrentElementPaints();
+    Assert.assertNotNull(paints.outerCircle);
+    Assert.assertNotNull(paints.innerCircle);
+    Assert.assertNotNull(paints.number);
   }
 
   @Test
   public void getNonCurrentElementPaintsReturnsAllRelevantPaints() {
-    HashMap<String, Paint> paints = testSubject.getNonCurrentElementPaints();
-    Assert.assertNotNull(paints.get("outerCircle"));
-    Assert.assertNotNull(paints.get("innerCircle"));
-    Assert.assertNotNull(paints.get("number"));
+    FocusElementPaints paints = testSubject.getNonCurrentElementPaints();
+    Assert.assertNotNull(paints.outerCircle);
+    Assert.assertNotNull(paints.innerCircle);
+    Assert.assertNotNull(paints.number);
   }
 
   @Test
   public void getNonCurrentLinePaintsReturnsAllRelevantPaints() {
-    HashMap<String, Paint> paints = testSubject.getNonCurrentLinePaints();
-    Assert.assertNotNull(paints.get("foregroundLine"));
-    Assert.assertNotNull(paints.get("backgroundLine"));
+    FocusLinePaints paints = testSubject.getNonCurrentLinePaints();
+    Assert.assertNotNull(paints.foregroundLine);
+    Assert.assertNotNull(paints.backgroundLine);
   }
 
   @Test
   public void getCurrentLinePaintsReturnsAllRelevantPaints() {
-    HashMap<String, Paint> paints = testSubject.getCurrentLinePaints();
-    Assert.assertNotNull(paints.get("foregroundLine"));
-    Assert.assertNotNull(paints.get("backgroundLine"));
+    FocusLinePaints paints = testSubject.getCurrentLinePaints();
+    Assert.assertNotNull(paints.foregroundLine);
+    Assert.assertNotNull(paints.backgroundLine);
   }
 }
@@ -4,18 +4,26 @@
 package com.microsoft.accessibilityinsightsforandroidservice;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
 import static org.powermock.api.mockito.PowerMockito.spy;
 import static org.powermock.api.mockito.PowerMockito.verifyPrivate;
 import static org.powermock.api.mockito.PowerMockito.whenNew;
 
 import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityNodeInfo;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
@@ -24,6 +32,8 @@ import org.powermock.reflect.Whitebox;
 @RunWith(PowerMockRunner.class)
 @PrepareForTest({FocusVisualizer.class})
 public class FocusVisualizerTest {
+  private static final int LIVE_NODE_LIMIT = 2;
+
   FocusVisualizer testSubject;
 
   @Mock FocusVisualizerStyles focusVisualizerStylesMock;
@@ -31,6 +41,10 @@ public class FocusVisualizerTest {
   @Mock AccessibilityEvent accessibilityEventMock;
   @Mock FocusElementHighlight focusElementHighlightMock;
   @Mock FocusElementLine focusElementLineMock;
+  @Mock FocusElementBoundsRefresher boundsRefresherMock;
+  @Mock FocusSequenceRecorder focusSequenceRecorderMock;
+  @Mock FocusElementHighlight secondFocusElementHighlightMock;
+  @Mock FocusElementHighlight thirdFocusElementHighlightMock;
 
   @Before
   public void prepare() throws Exception {
@@ -38,7 +52,13 @@ public class FocusVisualizerTest {
     whenNew(FocusElementHighlight.class).withAnyArguments().thenReturn(focusElementHighlightMock);
     whenNew(FocusElementLine.class).withAnyArguments().thenReturn(focusElementLineMock);
 
-    testSubject = new FocusVisualizer(focusVisualizerStylesMock, focusVisualizationCanvasMock);
+    testSubject =
+        new FocusVisualizer(
+            focusVisualizerStylesMock,
+            focusVisualizationCanvasMock,
+            boundsRefresherMock,
+            focusSequenceRecorderMock,
+            LIVE_NODE_LIMIT);
   }
 
   @Test
@@ -111,8 +131,158 @@ public class FocusVisualizerTest {
   }
 
   @Test
-  public void refreshHighlightsCallsRedraw() {
+  public void refreshHighlightsRefreshesDrawnElements() {
+    testSubject.addNewFocusedElement(accessibilityEventMock);
     testSubject.refreshHighlights();
+    verify(boundsRefresherMock)
+        .refresh(
+            Collections.singletonList(focusElementHighlightMock),
+            Collections.singletonList(focusElementLineMock));
+  }
+
+  @Test
+  public void drawListsAreSnapshots() {
+    testSubject.addNewFocusedElement(accessibilityEventMock);
+    ArgumentCaptor<FocusVisualizationDrawList> drawListCaptor =
+        ArgumentCaptor.forClass(FocusVisualizationDrawList.class);
+    verify(focusVisualizationCanvasMock).setDrawList(drawListCaptor.capture());
+
+    testSubject.addNewFocusedElement(accessibilityEventMock);
+
+    Assert.assertEquals(1, drawListCaptor.getValue().highlights.size());
+    Assert.assertEquals(1, drawListCaptor.getValue().lines.size());
+  }
+
+  @Test
+  public void onBoundsRefreshedPublishesNewSnapshots() {
+    FocusElementHighlightSnapshot snapshot = mock(FocusElementHighlightSnapshot.class);
+    FocusElementHighlightSnapshot refreshedSnapshot = mock(FocusElementHighlightSnapshot.class);
+    when(focusElementHighlightMock.getSnapshot()).thenReturn(snapshot, refreshedSnapshot);
+    testSubject.addNewFocusedElement(accessibilityEventMock);
+
+    testSubject.onBoundsRefreshed();
+
+    ArgumentCaptor<FocusVisualizationDrawList> drawListCaptor =
+        ArgumentCaptor.forClass(FocusVisualizationDrawList.class);
+    verify(focusVisualizationCanvasMock, times(2)).setDrawList(drawListCaptor.capture());
+    Assert.assertSame(snapshot, drawListCaptor.getAllValues().get(0).highlights.get(0));
+    Assert.assertSame(refreshedSnapshot, drawListCaptor.getAllValues().get(1).highlights.get(0));
     verify(focusVisualizationCanvasMock).redraw();
   }
+
+  @Test
+  public void resetVisualizationsPublishesEmptyDrawList() {
+    testSubject.addNewFocusedElement(accessibilityEventMock);
+    testSubject.resetVisualizations();
+
+    ArgumentCaptor<FocusVisualizationDrawList> drawListCaptor =
+        ArgumentCaptor.forClass(FocusVisualizationDrawList.class);
+    verify(focusVisualizationCanvasMock, times(2)).setDrawList(drawListCaptor.capture());
+    Assert.assertTrue(drawListCaptor.getValue().isEmpty());
+  }
+
+  @Test
+  public void addNewFocusedElementRedrawsRegionAroundChangedElements() throws Exception {
+    Whitebox.setInternalState(focusVisualizerStylesMock, "focusElementHighlightRadius", 50);
+    when(focusElementHighlightMock.getBounds())
+        .thenReturn(new FocusElementBounds(1000, 1000, 1020, 1020));
+    when(secondFocusElementHighlightMock.getBounds())
+        .thenReturn(new FocusElementBounds(100, 200, 120, 220));
+    when(thirdFocusElementHighlightMock.getBounds())
+        .thenReturn(new FocusElementBounds(300, 100, 320, 120));
+    whenNew(FocusElementHighlight.class)
+        .withAnyArguments()
+        .thenReturn(
+            focusElementHighlightMock,
+            secondFocusElementHighlightMock,
+            thirdFocusElementHighlightMock,
+            secondFocusElementHighlightMock);
+
+    for (int i = 0; i < 4; i++) {
+      testSubject.addNewFocusedElement(accessibilityEventMock);
+    }
+
+    // The first highlight is no longer within the elements changed by the fourth focus event
+    verify(focusVisualizationCanvasMock).redrawRegion(50, 50, 370, 270);
+    verify(focusVisualizationCanvasMock, never()).redraw();
+  }
+
+  @Test
+  public void addNewFocusedElementSkipsRedrawWhenChangedElementsAreNotVisible() {
+    testSubject.addNewFocusedElement(accessibilityEventMock);
+
+    verify(focusVisualizationCanvasMock, never())
+        .redrawRegion(anyInt(), anyInt(), anyInt(), anyInt());
+  }
+
+  @Test
+  public void addNewFocusedElementCompactsElementsBeyondLiveNodeLimit() {
+    ArgumentCaptor<List<FocusElementHighlight>> highlightsCaptor =
+        ArgumentCaptor.forClass(List.class);
+    ArgumentCaptor<List<FocusElementLine>> linesCaptor = ArgumentCaptor.forClass(List.class);
+
+    testSubject.addNewFocusedElement(accessibilityEventMock);
+    testSubject.addNewFocusedElement(accessibilityEventMock);
+    verify(boundsRefresherMock, never()).compact(any(), any());
+
+    testSubject.addNewFocusedElement(accessibilityEventMock);
+    testSubject.addNewFocusedElement(accessibilityEventMock);
+
+    // Each line is compacted with the highlight at its previous end
+    verify(boundsRefresherMock, times(2))
+        .compact(highlightsCaptor.capture(), linesCaptor.capture());
+    Assert.assertEquals(1, highlightsCaptor.getAllValues().get(0).size());
+    Assert.assertEquals(2, linesCaptor.getAllValues().get(0).size());
+    Assert.assertEquals(1, highlightsCaptor.getAllValues().get(1).size());
+    Assert.assertEquals(2, linesCaptor.getAllValues().get(1).size());
+  }
+
+  @Test
+  public void resetVisualizationsCompactsAllElements() {
+    testSubject.addNewFocusedElement(accessibilityEventMock);
+    testSubject.resetVisualizations();
+
+    verify(boundsRefresherMock)
+        .compact(
+            Collections.singletonList(focusElementHighlightMock),
+            Collections.singletonList(focusElementLineMock));
+    Assert.assertEquals(0, (int) Whitebox.getInternalState(testSubject, "compactedElementCount"));
+  }
+
+  @Test
+  public void addNewFocusedElementRecordsFocusStop() {
+    AccessibilityNodeInfo nodeMock = mock(AccessibilityNodeInfo.class);
+    FocusElementBounds bounds = new FocusElementBounds(1, 2, 3, 4);
+    when(accessibilityEventMock.getSource()).thenReturn(nodeMock);
+    when(accessibilityEventMock.getEventTime()).thenReturn(1234L);
+    when(focusElementHighlightMock.getBounds()).thenReturn(bounds);
+
+    testSubject.addNewFocusedElement(accessibilityEventMock);
+    testSubject.addNewFocusedElement(accessibilityEventMock);
+
+    verify(focusSequenceRecorderMock).recordFocus(1, nodeMock, bounds, 1234L);
+    verify(focusSequenceRecorderMock).recordFocus(2, nodeMock, bounds, 1234L);
+  }
+
+  @Test
+  public void resetVisualizationsResetsFocusSequence() {
+    testSubject.resetVisualizations();
+    verify(focusSequenceRecorderMock).reset();
+  }
+
+  @Test
+  public void reprojectHighlightsKeepsElementsAndReprojectsDrawList() {
+    testSubject.addNewFocusedElement(accessibilityEventMock);
+
+    testSubject.reprojectHighlights();
+
+    verify(boundsRefresherMock)
+        .reproject(
+            Collections.singletonList(focusElementHighlightMock),
+            Collections.singletonList(focusElementLineMock));
+    ArrayList<FocusElementHighlight> resultingHighlightList =
+        Whitebox.getInternalState(testSubject, "focusElementHighlights");
+    Assert.assertEquals(1, resultingHighlightList.size());
+    verify(focusSequenceRecorderMock, never()).reset();
+  }
 }
@@ -0,0 +1,90 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.verifyStatic;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({Logger.class})
+public class FrameDrawStatsTest {
+  long nanoTime;
+
+  SpanRecorder spanRecorder;
+  FrameDrawStats testSubject;
+
+  @Before
+  public void prepare() {
+    mockStatic(Logger.class);
+    nanoTime = 0;
+    spanRecorder = new SpanRecorder(16, () -> nanoTime, 0, null);
+    testSubject = new FrameDrawStats("tag", spanRecorder);
+  }
+
+  @Test
+  public void frameDrawStatsExists() {
+    Assert.assertNotNull(testSubject);
+  }
+
+  @Test
+  public void noFramesReportZero() {
+    Assert.assertEquals(0, testSubject.getFramesDrawn());
+    Assert.assertEquals(0, testSubject.getAverageDrawNanos());
+    Assert.assertEquals(0, testSubject.getMaxDrawNanos());
+  }
+
+  @Test
+  public void recordsLastAverageAndMaxDrawTime() {
+    drawFrame(100);
+    drawFrame(300);
+    drawFrame(200);
+
+    Assert.assertEquals(3, testSubject.getFramesDrawn());
+    Assert.assertEquals(200, testSubject.getLastDrawNanos());
+    Assert.assertEquals(200, testSubject.getAverageDrawNanos());
+    Assert.assertEquals(300, testSubject.getMaxDrawNanos());
+    Assert.assertEquals(600, testSubject.getTotalDrawNanos());
+  }
+
+  @Test
+  public void recordsFrameSpans() {
+    drawFrame(2_000);
+
+    ChromeTraceEvent span = spanRecorder.getChromeTrace().traceEvents.get(0);
+    Assert.assertEquals("tag.onDraw", span.name);
+    Assert.assertEquals(FrameDrawStats.SPAN_CATEGORY, span.cat);
+    Assert.assertEquals(2.0, span.dur, 0);
+  }
+
+  @Test
+  public void logsAfterInterval() {
+    drawFrame(100);
+    verifyStatic(Logger.class, never());
+    Logger.logVerbose(anyString(), any(Supplier.class));
+
+    nanoTime = TimeUnit.SECONDS.toNanos(10);
+    drawFrame(100);
+    verifyStatic(Logger.class, times(1));
+    Logger.logVerbose(anyString(), any(Supplier.class));
+  }
+
+  private void drawFrame(long drawNanos) {
+    long frameStartNanos = testSubject.startFrame();
+    nanoTime += drawNanos;
+    testSubject.endFrame(frameStartNanos);
+  }
+}
@@ -0,0 +1,35 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FrameHashTest {
+
+  @Test
+  public void fromPixelsWeighsChannelsByLuminance() {
+    FrameHash hash = FrameHash.fromPixels(new int[] {0xffffffff, 0xff000000, 0xff00ff00});
+
+    Assert.assertTrue(hash.matches(new FrameHash(new int[] {255, 0, 149})));
+  }
+
+  @Test
+  public void matchesWithinTolerance() {
+    FrameHash hash = new FrameHash(new int[] {100, 200});
+
+    Assert.assertTrue(
+        hash.matches(new FrameHash(new int[] {100 + FrameHash.LUMINANCE_TOLERANCE, 200})));
+    Assert.assertFalse(
+        hash.matches(new FrameHash(new int[] {100, 200 - FrameHash.LUMINANCE_TOLERANCE - 1})));
+  }
+
+  @Test
+  public void doesNotMatchNullOrDifferentSize() {
+    FrameHash hash = new FrameHash(new int[] {100, 200});
+
+    Assert.assertFalse(hash.matches(null));
+    Assert.assertFalse(hash.matches(new FrameHash(new int[] {100})));
+  }
+}
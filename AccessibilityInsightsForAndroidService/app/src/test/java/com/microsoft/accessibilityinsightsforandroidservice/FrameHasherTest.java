@@ -0,0 +1,76 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.graphics.Bitmap;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FrameHasherTest {
+
+  @Mock BitmapProvider bitmapProvider;
+  @Mock Bitmap frame;
+  @Mock Bitmap thumbnail;
+
+  FrameHasher testSubject;
+
+  @Before
+  public void prepare() {
+    testSubject = new FrameHasher(bitmapProvider);
+  }
+
+  @Test
+  public void hashesDownscaledFrame() {
+    setupThumbnail(thumbnail, 0xffffffff);
+
+    FrameHash hash = testSubject.hash(frame);
+
+    int[] white = new int[FrameHasher.HASH_SIZE * FrameHasher.HASH_SIZE];
+    Arrays.fill(white, 255);
+    Assert.assertTrue(hash.matches(new FrameHash(white)));
+    verify(thumbnail).recycle();
+  }
+
+  @Test
+  public void doesNotRecycleFrameThatIsAlreadyHashSize() {
+    setupThumbnail(frame, 0xff000000);
+
+    testSubject.hash(frame);
+
+    verify(frame, never()).recycle();
+  }
+
+  private void setupThumbnail(Bitmap scaled, int color) {
+    when(bitmapProvider.createScaledBitmap(frame, FrameHasher.HASH_SIZE, FrameHasher.HASH_SIZE))
+        .thenReturn(scaled);
+    doAnswer(
+            invocation -> {
+              Arrays.fill((int[]) invocation.getArgument(0), color);
+              return null;
+            })
+        .when(scaled)
+        .getPixels(
+            any(int[].class),
+            eq(0),
+            eq(FrameHasher.HASH_SIZE),
+            eq(0),
+            eq(0),
+            eq(FrameHasher.HASH_SIZE),
+            anyInt());
+  }
+}
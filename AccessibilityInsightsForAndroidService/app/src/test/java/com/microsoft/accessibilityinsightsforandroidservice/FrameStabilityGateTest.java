@@ -0,0 +1,181 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import android.graphics.Bitmap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.function.Consumer;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class FrameStabilityGateTest {
+
+  @Mock ScreenshotController screenshotController;
+  @Mock FrameHasher frameHasher;
+  @Mock Bitmap firstFrame;
+  @Mock Bitmap secondFrame;
+  @Mock Bitmap thirdFrame;
+
+  final long captureNanos = 50_000_000;
+  final Queue<Bitmap> frames = new ArrayDeque<>();
+  long nanoTime;
+  SettledFrame settledFrame;
+
+  @Before
+  public void prepare() {
+    doAnswer(
+            AdditionalAnswers.answerVoid(
+                (Consumer<Bitmap> frameConsumer, Long timeoutMillis) -> {
+                  nanoTime += captureNanos;
+                  frameConsumer.accept(frames.poll());
+                }))
+        .when(screenshotController)
+        .getScreenshotWithMediaProjection(any(), anyLong());
+  }
+
+  @Test
+  public void usesFirstFrameWithoutSettling() {
+    frames.add(firstFrame);
+
+    getSettledFrame(createGate(1, 2000), 1000);
+
+    Assert.assertSame(firstFrame, settledFrame.bitmap);
+    Assert.assertTrue(settledFrame.stable);
+    Assert.assertEquals(1, settledFrame.frameCount);
+    Assert.assertEquals(captureNanos, settledFrame.settleNanos);
+    verify(screenshotController).getScreenshotWithMediaProjection(any(), eq(1000L));
+    verifyZeroInteractions(frameHasher);
+  }
+
+  @Test
+  public void waitsForConsecutiveMatchingFrames() {
+    setupFrame(firstFrame, 10);
+    setupFrame(secondFrame, 200);
+    setupFrame(thirdFrame, 200);
+    frames.addAll(Arrays.asList(firstFrame, secondFrame, thirdFrame, secondFrame));
+
+    getSettledFrame(createGate(3, 2000), 1000);
+
+    Assert.assertSame(secondFrame, settledFrame.bitmap);
+    Assert.assertTrue(settledFrame.stable);
+    Assert.assertEquals(4, settledFrame.frameCount);
+    Assert.assertEquals(4 * captureNanos, settledFrame.settleNanos);
+  }
+
+  @Test
+  public void capturesWithinRemainingTimeout() {
+    setupFrame(firstFrame, 10);
+    setupFrame(secondFrame, 10);
+    frames.addAll(Arrays.asList(firstFrame, secondFrame));
+
+    getSettledFrame(createGate(2, 2000), 1000);
+
+    verify(screenshotController).getScreenshotWithMediaProjection(any(), eq(1000L));
+    verify(screenshotController).getScreenshotWithMediaProjection(any(), eq(950L));
+  }
+
+  @Test
+  public void givesUpOnChangingFramesAfterMaxWait() {
+    setupFrame(firstFrame, 10);
+    setupFrame(secondFrame, 200);
+    frames.addAll(Arrays.asList(firstFrame, secondFrame, firstFrame, secondFrame, firstFrame));
+
+    getSettledFrame(createGate(2, 150), 1000);
+
+    Assert.assertSame(firstFrame, settledFrame.bitmap);
+    Assert.assertFalse(settledFrame.stable);
+    Assert.assertEquals(3, settledFrame.frameCount);
+    verify(screenshotController, times(3)).getScreenshotWithMediaProjection(any(), anyLong());
+  }
+
+  @Test
+  public void givesUpWhenRequestTimeoutIsShorterThanMaxWait() {
+    setupFrame(firstFrame, 10);
+    setupFrame(secondFrame, 200);
+    frames.addAll(Arrays.asList(firstFrame, secondFrame, firstFrame));
+
+    getSettledFrame(createGate(2, 2000), 100);
+
+    Assert.assertSame(secondFrame, settledFrame.bitmap);
+    Assert.assertFalse(settledFrame.stable);
+    Assert.assertEquals(2, settledFrame.frameCount);
+  }
+
+  @Test
+  public void missingFrameFallsBackToLatestFrame() {
+    setupFrame(firstFrame, 10);
+    frames.add(firstFrame);
+
+    getSettledFrame(createGate(3, 2000), 1000);
+
+    Assert.assertSame(firstFrame, settledFrame.bitmap);
+    Assert.assertFalse(settledFrame.stable);
+    Assert.assertEquals(1, settledFrame.frameCount);
+  }
+
+  @Test
+  public void missingFirstFrameCompletesWithoutBitmap() {
+    getSettledFrame(createGate(3, 2000), 1000);
+
+    Assert.assertNull(settledFrame.bitmap);
+    Assert.assertFalse(settledFrame.stable);
+    Assert.assertEquals(0, settledFrame.frameCount);
+  }
+
+  @Test
+  public void handsSettledFrameToExecutor() {
+    frames.add(firstFrame);
+    List<Runnable> executed = new ArrayList<>();
+    FrameStabilityGate gate =
+        new FrameStabilityGate(
+            screenshotController, frameHasher, () -> nanoTime, 1, 2000, executed::add);
+
+    gate.getSettledFrame(1000, frame -> settledFrame = frame);
+
+    Assert.assertNull(settledFrame);
+    Assert.assertEquals(1, executed.size());
+    executed.get(0).run();
+    Assert.assertSame(firstFrame, settledFrame.bitmap);
+  }
+
+  @Test
+  public void formatsHeaderValue() {
+    SettledFrame frame = new SettledFrame(firstFrame, true, 3, 1_250_000);
+
+    Assert.assertEquals("stable=true, frames=3, dur=1.250", frame.toHeaderValue());
+  }
+
+  private FrameStabilityGate createGate(int requiredFrames, long maxWaitMillis) {
+    return new FrameStabilityGate(
+        screenshotController, frameHasher, () -> nanoTime, requiredFrames, maxWaitMillis);
+  }
+
+  private void setupFrame(Bitmap frame, int luminance) {
+    when(frameHasher.hash(frame)).thenReturn(new FrameHash(new int[] {luminance}));
+  }
+
+  private void getSettledFrame(FrameStabilityGate gate, long timeoutMillis) {
+    gate.getSettledFrame(timeoutMillis, frame -> settledFrame = frame);
+    Assert.assertNotNull(settledFrame);
+  }
+}
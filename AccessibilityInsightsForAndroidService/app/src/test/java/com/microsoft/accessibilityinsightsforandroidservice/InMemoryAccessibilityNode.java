@@ -0,0 +1,196 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.graphics.Rect;
+import java.util.ArrayList;
+import java.util.List;
+
+// A plain-JVM AccessibilityNode, used for synthetic trees in tests and benchmarks. Bounds are
+// stored as ints so that nothing here touches android.jar beyond the Rect passed in by callers.
+public class InMemoryAccessibilityNode implements AccessibilityNode {
+  private final List<InMemoryAccessibilityNode> children = new ArrayList<>();
+  private InMemoryAccessibilityNode parent;
+  private InMemoryAccessibilityNode labeledBy;
+  private InMemoryAccessibilityNode labelFor;
+
+  private CharSequence className;
+  private CharSequence contentDescription;
+  private CharSequence packageName;
+  private CharSequence text;
+  private CharSequence hintText;
+  private String viewIdResourceName;
+  private boolean focusable;
+  private boolean clickable;
+  private boolean enabled = true;
+  private boolean importantForAccessibility = true;
+  private int left;
+  private int top;
+  private int right;
+  private int bottom;
+  private int recycleCount;
+
+  public InMemoryAccessibilityNode(CharSequence className) {
+    this.className = className;
+  }
+
+  public void addChild(InMemoryAccessibilityNode child) {
+    children.add(child);
+    child.parent = this;
+  }
+
+  public List<InMemoryAccessibilityNode> getChildren() {
+    return children;
+  }
+
+  // Links both directions, as the framework does for View.setLabelFor.
+  public void setLabeledBy(InMemoryAccessibilityNode label) {
+    labeledBy = label;
+    label.labelFor = this;
+  }
+
+  public void setClassName(CharSequence className) {
+    this.className = className;
+  }
+
+  public void setContentDescription(CharSequence contentDescription) {
+    this.contentDescription = contentDescription;
+  }
+
+  public void setPackageName(CharSequence packageName) {
+    this.packageName = packageName;
+  }
+
+  public void setText(CharSequence text) {
+    this.text = text;
+  }
+
+  public void setHintText(CharSequence hintText) {
+    this.hintText = hintText;
+  }
+
+  public void setViewIdResourceName(String viewIdResourceName) {
+    this.viewIdResourceName = viewIdResourceName;
+  }
+
+  public void setFocusable(boolean focusable) {
+    this.focusable = focusable;
+  }
+
+  public void setClickable(boolean clickable) {
+    this.clickable = clickable;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  public void setImportantForAccessibility(boolean importantForAccessibility) {
+    this.importantForAccessibility = importantForAccessibility;
+  }
+
+  public void setBoundsInScreen(int left, int top, int right, int bottom) {
+    this.left = left;
+    this.top = top;
+    this.right = right;
+    this.bottom = bottom;
+  }
+
+  public int getRecycleCount() {
+    return recycleCount;
+  }
+
+  @Override
+  public int getChildCount() {
+    return children.size();
+  }
+
+  @Override
+  public InMemoryAccessibilityNode getChild(int index) {
+    return index >= 0 && index < children.size() ? children.get(index) : null;
+  }
+
+  @Override
+  public InMemoryAccessibilityNode getParent() {
+    return parent;
+  }
+
+  @Override
+  public InMemoryAccessibilityNode getLabeledBy() {
+    return labeledBy;
+  }
+
+  @Override
+  public InMemoryAccessibilityNode getLabelFor() {
+    return labelFor;
+  }
+
+  @Override
+  public CharSequence getClassName() {
+    return className;
+  }
+
+  @Override
+  public CharSequence getContentDescription() {
+    return contentDescription;
+  }
+
+  @Override
+  public CharSequence getPackageName() {
+    return packageName;
+  }
+
+  @Override
+  public CharSequence getText() {
+    return text;
+  }
+
+  @Override
+  public CharSequence getHintText() {
+    return hintText;
+  }
+
+  @Override
+  public String getViewIdResourceName() {
+    return viewIdResourceName;
+  }
+
+  @Override
+  public boolean isFocusable() {
+    return focusable;
+  }
+
+  @Override
+  public boolean isClickable() {
+    return clickable;
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  @Override
+  public boolean isImportantForAccessibility() {
+    return importantForAccessibility;
+  }
+
+  @Override
+  public void getBoundsInScreen(Rect outBounds) {
+    outBounds.left = left;
+    outBounds.top = top;
+    outBounds.right = right;
+    outBounds.bottom = bottom;
+  }
+
+  @Override
+  public boolean refresh() {
+    return true;
+  }
+
+  @Override
+  public void recycle() {
+    recycleCount++;
+  }
+}
@@ -0,0 +1,76 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import android.graphics.Rect;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InMemoryAccessibilityNodeTest {
+
+  InMemoryAccessibilityNode testSubject;
+
+  @Before
+  public void prepare() {
+    testSubject = new InMemoryAccessibilityNode("android.widget.LinearLayout");
+  }
+
+  @Test
+  public void addChildSetsParent() {
+    InMemoryAccessibilityNode child = new InMemoryAccessibilityNode("child");
+
+    testSubject.addChild(child);
+
+    Assert.assertEquals(1, testSubject.getChildCount());
+    Assert.assertSame(child, testSubject.getChild(0));
+    Assert.assertSame(testSubject, child.getParent());
+  }
+
+  @Test
+  public void getChildOutOfRangeIsNull() {
+    Assert.assertNull(testSubject.getChild(0));
+    Assert.assertNull(testSubject.getChild(-1));
+  }
+
+  @Test
+  public void setLabeledByLinksBothNodes() {
+    InMemoryAccessibilityNode label = new InMemoryAccessibilityNode("android.widget.TextView");
+
+    testSubject.setLabeledBy(label);
+
+    Assert.assertSame(label, testSubject.getLabeledBy());
+    Assert.assertSame(testSubject, label.getLabelFor());
+  }
+
+  @Test
+  public void copiesBoundsIntoRect() {
+    Rect rect = new Rect();
+    testSubject.setBoundsInScreen(1, 2, 3, 4);
+
+    testSubject.getBoundsInScreen(rect);
+
+    Assert.assertEquals(1, rect.left);
+    Assert.assertEquals(2, rect.top);
+    Assert.assertEquals(3, rect.right);
+    Assert.assertEquals(4, rect.bottom);
+  }
+
+  @Test
+  public void defaultsMatchATypicalView() {
+    Assert.assertTrue(testSubject.isEnabled());
+    Assert.assertTrue(testSubject.isImportantForAccessibility());
+    Assert.assertFalse(testSubject.isClickable());
+    Assert.assertFalse(testSubject.isFocusable());
+    Assert.assertTrue(testSubject.refresh());
+  }
+
+  @Test
+  public void countsRecycles() {
+    testSubject.recycle();
+    testSubject.recycle();
+
+    Assert.assertEquals(2, testSubject.getRecycleCount());
+  }
+}
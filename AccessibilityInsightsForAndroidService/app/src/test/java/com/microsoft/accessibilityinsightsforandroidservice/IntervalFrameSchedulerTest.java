@@ -0,0 +1,64 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import android.os.Handler;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+@RunWith(PowerMockRunner.class)
+public class IntervalFrameSchedulerTest {
+  @Mock Handler handlerMock;
+  @Mock Runnable onFrameMock;
+
+  final long intervalMillis = 50;
+  long uptimeMillis;
+  IntervalFrameScheduler testSubject;
+
+  @Before
+  public void prepare() {
+    uptimeMillis = 1000;
+    testSubject = new IntervalFrameScheduler(handlerMock, () -> uptimeMillis, intervalMillis);
+  }
+
+  @Test
+  public void intervalFrameSchedulerExists() {
+    Assert.assertNotNull(testSubject);
+  }
+
+  @Test
+  public void firstFrameIsPostedImmediately() {
+    testSubject.scheduleNextFrame(onFrameMock);
+
+    verify(handlerMock).postAtTime(any(Runnable.class), eq(1000L));
+  }
+
+  @Test
+  public void nextFrameWaitsForInterval() {
+    ArgumentCaptor<Runnable> frameCaptor = ArgumentCaptor.forClass(Runnable.class);
+    testSubject.scheduleNextFrame(onFrameMock);
+    verify(handlerMock).postAtTime(frameCaptor.capture(), anyLong());
+    frameCaptor.getValue().run();
+    verify(onFrameMock, times(1)).run();
+
+    uptimeMillis = 1010;
+    testSubject.scheduleNextFrame(onFrameMock);
+    verify(handlerMock).postAtTime(any(Runnable.class), eq(1050L));
+
+    uptimeMillis = 1200;
+    testSubject.scheduleNextFrame(onFrameMock);
+    verify(handlerMock).postAtTime(any(Runnable.class), eq(1200L));
+  }
+}
@@ -0,0 +1,58 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LatencySummaryTest {
+
+  LatencySummary testSubject;
+
+  @Before
+  public void prepare() {
+    testSubject = new LatencySummary(100);
+  }
+
+  @Test
+  public void emptySummaryReportsZeros() {
+    LatencySummary.Snapshot snapshot = testSubject.getSnapshot();
+
+    Assert.assertEquals(0, snapshot.count);
+    Assert.assertEquals(0, snapshot.sumNanos);
+    Assert.assertEquals(0, snapshot.p50Nanos);
+    Assert.assertEquals(0, snapshot.p99Nanos);
+  }
+
+  @Test
+  public void reportsNearestRankQuantiles() {
+    for (int sample = 100; sample >= 1; sample--) {
+      testSubject.record(sample);
+    }
+
+    LatencySummary.Snapshot snapshot = testSubject.getSnapshot();
+
+    Assert.assertEquals(100, snapshot.count);
+    Assert.assertEquals(5050, snapshot.sumNanos);
+    Assert.assertEquals(50, snapshot.p50Nanos);
+    Assert.assertEquals(95, snapshot.p95Nanos);
+    Assert.assertEquals(99, snapshot.p99Nanos);
+  }
+
+  @Test
+  public void quantilesCoverOnlyTheWindow() {
+    testSubject = new LatencySummary(2);
+    testSubject.record(1_000);
+    testSubject.record(10);
+    testSubject.record(20);
+
+    LatencySummary.Snapshot snapshot = testSubject.getSnapshot();
+
+    Assert.assertEquals(3, snapshot.count);
+    Assert.assertEquals(1_030, snapshot.sumNanos);
+    Assert.assertEquals(10, snapshot.p50Nanos);
+    Assert.assertEquals(20, snapshot.p99Nanos);
+  }
+}
@@ -0,0 +1,87 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.view.accessibility.AccessibilityNodeInfo;
+import java.util.function.Supplier;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LazyRootNodeSupplierTest {
+  @Mock Supplier<AccessibilityNodeInfo> rootNodeSourceMock;
+  @Mock AccessibilityNodeInfo rootNodeMock;
+
+  LazyRootNodeSupplier testSubject;
+
+  @Before
+  public void prepare() {
+    testSubject = new LazyRootNodeSupplier(rootNodeSourceMock);
+  }
+
+  @Test
+  public void lazyRootNodeSupplierExists() {
+    Assert.assertNotNull(testSubject);
+  }
+
+  @Test
+  public void doesNotFetchUntilAsked() {
+    Assert.assertFalse(testSubject.wasFetched());
+    verify(rootNodeSourceMock, never()).get();
+  }
+
+  @Test
+  public void fetchesAtMostOncePerEvent() {
+    when(rootNodeSourceMock.get()).thenReturn(rootNodeMock);
+
+    Assert.assertEquals(rootNodeMock, testSubject.get());
+    Assert.assertEquals(rootNodeMock, testSubject.get());
+
+    Assert.assertTrue(testSubject.wasFetched());
+    verify(rootNodeSourceMock, times(1)).get();
+  }
+
+  @Test
+  public void nullRootIsOnlyFetchedOnce() {
+    Assert.assertNull(testSubject.get());
+    Assert.assertNull(testSubject.claim());
+
+    verify(rootNodeSourceMock, times(1)).get();
+  }
+
+  @Test
+  public void resetRecyclesUnclaimedNodeAndFetchesAgain() {
+    when(rootNodeSourceMock.get()).thenReturn(rootNodeMock);
+    testSubject.get();
+
+    testSubject.reset();
+
+    verify(rootNodeMock, times(1)).recycle();
+    Assert.assertFalse(testSubject.wasFetched());
+
+    testSubject.get();
+    verify(rootNodeSourceMock, times(2)).get();
+  }
+
+  @Test
+  public void resetDoesNotRecycleClaimedNode() {
+    when(rootNodeSourceMock.get()).thenReturn(rootNodeMock);
+    testSubject.get();
+
+    Assert.assertEquals(rootNodeMock, testSubject.claim());
+    Assert.assertTrue(testSubject.wasFetched());
+    testSubject.reset();
+
+    verify(rootNodeMock, never()).recycle();
+  }
+}
@@ -0,0 +1,36 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+// One endpoint in a SocketLoadHarness mix: how often clients request it, and how long and how much
+// its stub fulfiller takes to respond.
+public class LoadTestRoute {
+  public final String path;
+  public final int weight;
+  public final long latencyMillis;
+  public final int payloadBytes;
+
+  public LoadTestRoute(String path, int weight, long latencyMillis, int payloadBytes) {
+    this.path = path;
+    this.weight = weight;
+    this.latencyMillis = latencyMillis;
+    this.payloadBytes = payloadBytes;
+  }
+
+  // Parses "path,weight,latencyMillis,payloadBytes"
+  public static LoadTestRoute parse(String spec) {
+    String[] parts = spec.split(",");
+    if (parts.length != 4) {
+      throw new IllegalArgumentException(
+          "Expected path,weight,latencyMillis,payloadBytes: " + spec);
+    }
+    return new LoadTestRoute(
+        parts[0], Integer.parseInt(parts[1]), Long.parseLong(parts[2]), Integer.parseInt(parts[3]));
+  }
+
+  @Override
+  public String toString() {
+    return path + " (weight " + weight + ", " + latencyMillis + " ms, " + payloadBytes + " B)";
+  }
+}
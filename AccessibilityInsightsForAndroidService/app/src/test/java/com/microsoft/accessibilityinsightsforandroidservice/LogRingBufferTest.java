@@ -0,0 +1,84 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LogRingBufferTest {
+
+  long currentTimeMillis;
+  LogRingBuffer testSubject;
+
+  @Before
+  public void prepare() {
+    currentTimeMillis = 1000;
+    testSubject = new LogRingBuffer(64, () -> currentTimeMillis);
+  }
+
+  @Test
+  public void emptyBufferDumpsNothing() {
+    Assert.assertEquals("", testSubject.dump());
+    Assert.assertEquals(0, testSubject.getDroppedEvents());
+  }
+
+  @Test
+  public void dumpsEventsOldestFirst() {
+    testSubject.append(LogRingBuffer.VERBOSE, "tag", "first");
+    currentTimeMillis = 1001;
+    testSubject.append(LogRingBuffer.ERROR, "tag", "second");
+
+    Assert.assertEquals("1000 V/tag: first\n1001 E/tag: second\n", testSubject.dump());
+  }
+
+  @Test
+  public void overwritesOldestEventsWhenFull() {
+    // Each event takes 12 header bytes plus 1 tag byte plus 2 message bytes
+    for (int event = 10; event < 15; event++) {
+      testSubject.append(LogRingBuffer.INFO, "t", Integer.toString(event));
+    }
+
+    Assert.assertEquals(
+        "1000 I/t: 11\n1000 I/t: 12\n1000 I/t: 13\n1000 I/t: 14\n", testSubject.dump());
+    Assert.assertEquals(1, testSubject.getDroppedEvents());
+  }
+
+  @Test
+  public void eventsWrapAroundTheEndOfTheBuffer() {
+    for (int event = 0; event < 20; event++) {
+      currentTimeMillis = Long.MAX_VALUE - event;
+      testSubject.append(LogRingBuffer.DEBUG, "tag", "message " + event);
+    }
+
+    Assert.assertEquals(
+        (Long.MAX_VALUE - 18)
+            + " D/tag: message 18\n"
+            + (Long.MAX_VALUE - 19)
+            + " D/tag: message 19\n",
+        testSubject.dump());
+  }
+
+  @Test
+  public void truncatesMessagesLongerThanTheBuffer() {
+    testSubject.append(LogRingBuffer.WARNING, "tag", repeat('x', 100));
+
+    Assert.assertEquals("1000 W/tag: " + repeat('x', 49) + "\n", testSubject.dump());
+  }
+
+  @Test
+  public void keepsUnicodeMessages() {
+    testSubject.append(LogRingBuffer.INFO, "tag", "caf\u00e9");
+
+    Assert.assertEquals("1000 I/tag: caf\u00e9\n", testSubject.dump());
+  }
+
+  private static String repeat(char character, int count) {
+    StringBuilder text = new StringBuilder();
+    for (int index = 0; index < count; index++) {
+      text.append(character);
+    }
+    return text.toString();
+  }
+}
@@ -3,7 +3,13 @@
 
 package com.microsoft.accessibilityinsightsforandroidservice;
 
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
 import android.util.Log;
+import java.util.function.Supplier;
+import org.junit.After;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -24,6 +30,11 @@ public class LoggerTest {
     PowerMockito.mockStatic(Log.class);
   }
 
+  @After
+  public void cleanUp() {
+    Logger.setRingBuffer(null);
+  }
+
   @Test
   public void logVerboseDebugOn() {
     Whitebox.setInternalState(Logger.class, "LOG", true);
@@ -118,4 +129,52 @@ public class LoggerTest {
 
     PowerMockito.verifyZeroInteractions(Log.class);
   }
+
+  @Test
+  public void logVerboseSupplierDebugOn() {
+    Whitebox.setInternalState(Logger.class, "LOG", true);
+
+    Logger.logVerbose(logTag, () -> logMessage);
+
+    PowerMockito.verifyStatic(Log.class);
+    Log.v(logTag, logMessage);
+  }
+
+  @Test
+  public void logSupplierNotCalledWhenLoggingIsOff() {
+    Whitebox.setInternalState(Logger.class, "LOG", false);
+    Supplier<String> message =
+        () -> {
+          Assert.fail("message should not be built");
+          return logMessage;
+        };
+
+    Logger.logVerbose(logTag, message);
+    Logger.logDebug(logTag, message);
+    Logger.logError(logTag, message);
+    Logger.logInfo(logTag, message);
+    Logger.logWarning(logTag, message);
+
+    PowerMockito.verifyZeroInteractions(Log.class);
+  }
+
+  @Test
+  public void ringBufferReceivesEventsWhenDebugOff() {
+    Whitebox.setInternalState(Logger.class, "LOG", false);
+    LogRingBuffer ringBuffer = mock(LogRingBuffer.class);
+    Logger.setRingBuffer(ringBuffer);
+
+    Logger.logVerbose(logTag, logMessage);
+    Logger.logDebug(logTag, () -> logMessage);
+    Logger.logError(logTag, logMessage);
+    Logger.logInfo(logTag, () -> logMessage);
+    Logger.logWarning(logTag, logMessage);
+
+    verify(ringBuffer).append(LogRingBuffer.VERBOSE, logTag, logMessage);
+    verify(ringBuffer).append(LogRingBuffer.DEBUG, logTag, logMessage);
+    verify(ringBuffer).append(LogRingBuffer.ERROR, logTag, logMessage);
+    verify(ringBuffer).append(LogRingBuffer.INFO, logTag, logMessage);
+    verify(ringBuffer).append(LogRingBuffer.WARNING, logTag, logMessage);
+    PowerMockito.verifyZeroInteractions(Log.class);
+  }
 }
@@ -0,0 +1,70 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LogsRequestFulfillerTest {
+
+  @Mock ResponseWriter responseWriter;
+  @Mock Deadline deadline;
+  @Mock RunnableFunction onRequestFulfilledMock;
+
+  LogsRequestFulfiller testSubject;
+
+  @Before
+  public void prepare() {
+    testSubject = new LogsRequestFulfiller(responseWriter);
+  }
+
+  @After
+  public void cleanUp() {
+    Logger.setRingBuffer(null);
+  }
+
+  @Test
+  public void isBlockingRequestReturnsTrue() {
+    Assert.assertTrue(testSubject.isBlockingRequest());
+  }
+
+  @Test
+  public void writesRingBufferContents() {
+    LogRingBuffer ringBuffer = new LogRingBuffer(64, () -> 5);
+    ringBuffer.append(LogRingBuffer.ERROR, "tag", "message");
+    Logger.setRingBuffer(ringBuffer);
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    verify(responseWriter, times(1))
+        .writeSuccessfulResponse(
+            eq("droppedEvents=0\n5 E/tag: message\n"),
+            eq(LogsRequestFulfiller.CONTENT_TYPE),
+            any());
+    verify(onRequestFulfilledMock, times(1)).run();
+  }
+
+  @Test
+  public void explainsDisabledRingBuffer() {
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    verify(responseWriter, times(1))
+        .writeSuccessfulResponse(
+            eq("Log ring buffer is disabled; set LOG_RING_BUFFER_BYTES to enable it"),
+            eq(LogsRequestFulfiller.CONTENT_TYPE),
+            any());
+    verify(onRequestFulfilledMock, times(1)).run();
+  }
+}
@@ -0,0 +1,49 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MetricsRequestFulfillerTest {
+
+  @Mock ResponseWriter responseWriter;
+  @Mock ServiceMetrics serviceMetrics;
+  @Mock Deadline deadline;
+  @Mock RunnableFunction onRequestFulfilledMock;
+
+  MetricsRequestFulfiller testSubject;
+
+  @Before
+  public void prepare() {
+    testSubject = new MetricsRequestFulfiller(responseWriter, serviceMetrics);
+  }
+
+  @Test
+  public void isBlockingRequestReturnsTrue() {
+    Assert.assertTrue(testSubject.isBlockingRequest());
+  }
+
+  @Test
+  public void writesExposition() {
+    when(serviceMetrics.toExposition()).thenReturn("metrics");
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    verify(responseWriter, times(1))
+        .writeSuccessfulResponse(eq("metrics"), eq(ServiceMetrics.CONTENT_TYPE), any());
+    verify(onRequestFulfilledMock, times(1)).run();
+  }
+}
@@ -3,7 +3,6 @@
 
 package com.microsoft.accessibilityinsightsforandroidservice;
 
-import android.view.accessibility.AccessibilityNodeInfo;
 import com.deque.axe.android.AxeView;
 import org.junit.Assert;
 import org.junit.Before;
@@ -15,7 +14,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 @RunWith(MockitoJUnitRunner.class)
 public class NodeViewBuilderFactoryTest {
 
-  @Mock AccessibilityNodeInfo node;
+  @Mock AccessibilityNode node;
   @Mock AxeView view;
 
   NodeViewBuilderFactory testSubject;
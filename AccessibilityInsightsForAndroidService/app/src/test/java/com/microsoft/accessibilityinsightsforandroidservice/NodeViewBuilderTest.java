@@ -9,7 +9,6 @@ import static org.mockito.Mockito.when;
 import static org.powermock.api.mockito.PowerMockito.doAnswer;
 
 import android.graphics.Rect;
-import android.view.accessibility.AccessibilityNodeInfo;
 import com.deque.axe.android.AxeView;
 import com.deque.axe.android.wrappers.AxeRect;
 import java.util.ArrayList;
@@ -25,7 +24,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 @RunWith(MockitoJUnitRunner.class)
 public class NodeViewBuilderTest {
 
-  @Mock AccessibilityNodeInfo node;
+  @Mock AccessibilityNode node;
   @Mock AxeRectProvider rectProvider;
   List<AxeView> children;
 
@@ -0,0 +1,127 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PrescannedResultRequestFulfillerTest {
+  @Mock ResponseWriter responseWriter;
+  @Mock BackgroundPrescanner backgroundPrescanner;
+  @Mock RequestFulfiller scanFulfiller;
+  @Mock Deadline deadline;
+  @Mock RunnableFunction onRequestFulfilled;
+
+  final long remainingMillis = 1234;
+  long nanoTime;
+  PrescannedResponse prescannedResponse;
+  PrescannedResultRequestFulfiller testSubject;
+
+  @Before
+  public void prepare() {
+    when(deadline.getRemainingMillis()).thenReturn(remainingMillis);
+    Map<String, String> headers = new LinkedHashMap<>();
+    headers.put(ResultRequestFulfiller.SCAN_ID_HEADER, "7");
+    headers.put("Frame-Settle", "stable=true");
+    headers.put(ResultRequestFulfiller.SERVER_TIMING_HEADER, "total;dur=900.000");
+    prescannedResponse = new PrescannedResponse("response", "application/json", headers);
+    testSubject =
+        new PrescannedResultRequestFulfiller(
+            responseWriter,
+            backgroundPrescanner,
+            scanFulfiller,
+            new SpanRecorder(16, () -> nanoTime, 0, null));
+  }
+
+  @Test
+  public void isBlockingRequest() {
+    Assert.assertTrue(testSubject.isBlockingRequest());
+  }
+
+  @Test
+  public void writesCurrentPrescan() throws InterruptedException {
+    when(backgroundPrescanner.claimCurrentResponse(remainingMillis)).thenReturn(prescannedResponse);
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilled);
+
+    InOrder order = inOrder(responseWriter, backgroundPrescanner, onRequestFulfilled);
+    order
+        .verify(responseWriter)
+        .writeSuccessfulResponse(eq("response"), eq("application/json"), any());
+    order.verify(backgroundPrescanner).releaseScan();
+    order.verify(onRequestFulfilled).run();
+    verify(scanFulfiller, never()).fulfillRequest(any(), any());
+  }
+
+  @Test
+  public void writesTimingOfThisRequestWithPrescanScanId() throws InterruptedException {
+    when(backgroundPrescanner.claimCurrentResponse(remainingMillis))
+        .thenAnswer(
+            invocation -> {
+              nanoTime += 3_000_000;
+              return prescannedResponse;
+            });
+    ArgumentCaptor<Map<String, String>> headers = ArgumentCaptor.forClass(Map.class);
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilled);
+
+    verify(responseWriter).writeSuccessfulResponse(anyString(), anyString(), headers.capture());
+    Map<String, String> expectedHeaders = new LinkedHashMap<>();
+    expectedHeaders.put(ResultRequestFulfiller.SCAN_ID_HEADER, "7");
+    expectedHeaders.put("Frame-Settle", "stable=true");
+    expectedHeaders.put(
+        ResultRequestFulfiller.SERVER_TIMING_HEADER, "prescanWait;dur=3.000, total;dur=3.000");
+    Assert.assertEquals(expectedHeaders, headers.getValue());
+  }
+
+  @Test
+  public void scansWhenPrescanIsNotCurrent() throws InterruptedException {
+    ArgumentCaptor<RunnableFunction> scanFinished = ArgumentCaptor.forClass(RunnableFunction.class);
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilled);
+
+    verify(scanFulfiller).fulfillRequest(eq(deadline), scanFinished.capture());
+    verify(backgroundPrescanner, never()).releaseScan();
+    verify(onRequestFulfilled, never()).run();
+
+    scanFinished.getValue().run();
+
+    InOrder order = inOrder(backgroundPrescanner, onRequestFulfilled);
+    order.verify(backgroundPrescanner).releaseScan();
+    order.verify(onRequestFulfilled).run();
+    verify(responseWriter, never()).writeSuccessfulResponse(any(), any(), any());
+  }
+
+  @Test
+  public void writesErrorWhenInterrupted() throws InterruptedException {
+    InterruptedException exception = new InterruptedException();
+    doThrow(exception).when(backgroundPrescanner).claimCurrentResponse(remainingMillis);
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilled);
+
+    Assert.assertTrue(Thread.interrupted());
+    verify(responseWriter).writeErrorResponse(exception);
+    verify(onRequestFulfilled).run();
+    verify(backgroundPrescanner, never()).releaseScan();
+    verify(scanFulfiller, never()).fulfillRequest(any(), any());
+  }
+}
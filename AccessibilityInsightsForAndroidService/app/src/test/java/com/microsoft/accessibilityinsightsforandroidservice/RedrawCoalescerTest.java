@@ -0,0 +1,83 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RedrawCoalescerTest {
+  @Mock Runnable redrawMock;
+  @Mock FrameScheduler frameSchedulerMock;
+
+  List<Runnable> scheduledFrames;
+  RedrawCoalescer testSubject;
+
+  @Before
+  public void prepare() {
+    scheduledFrames = new ArrayList<>();
+    doAnswer(
+            invocation -> {
+              scheduledFrames.add(invocation.getArgument(0));
+              return null;
+            })
+        .when(frameSchedulerMock)
+        .scheduleNextFrame(any());
+
+    testSubject = new RedrawCoalescer(redrawMock, frameSchedulerMock);
+  }
+
+  @Test
+  public void redrawCoalescerExists() {
+    Assert.assertNotNull(testSubject);
+  }
+
+  @Test
+  public void burstOfRequestsSchedulesOneFrame() {
+    for (int i = 0; i < 100; i++) {
+      testSubject.requestRedraw();
+    }
+
+    verify(frameSchedulerMock, times(1)).scheduleNextFrame(any());
+    verify(redrawMock, times(0)).run();
+    Assert.assertEquals(100, testSubject.getRedrawsReceived());
+    Assert.assertEquals(0, testSubject.getRedrawsDelivered());
+  }
+
+  @Test
+  public void frameDeliversOneRedraw() {
+    testSubject.requestRedraw();
+    testSubject.requestRedraw();
+
+    scheduledFrames.get(0).run();
+
+    verify(redrawMock, times(1)).run();
+    Assert.assertEquals(2, testSubject.getRedrawsReceived());
+    Assert.assertEquals(1, testSubject.getRedrawsDelivered());
+  }
+
+  @Test
+  public void requestAfterFrameSchedulesAnotherFrame() {
+    testSubject.requestRedraw();
+    scheduledFrames.get(0).run();
+
+    testSubject.requestRedraw();
+
+    verify(frameSchedulerMock, times(2)).scheduleNextFrame(any());
+    scheduledFrames.get(1).run();
+    verify(redrawMock, times(2)).run();
+    Assert.assertEquals(2, testSubject.getRedrawsDelivered());
+  }
+}
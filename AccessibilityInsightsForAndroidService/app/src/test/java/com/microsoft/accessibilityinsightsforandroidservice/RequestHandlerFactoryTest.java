@@ -6,14 +6,18 @@ package com.microsoft.accessibilityinsightsforandroidservice;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.net.Socket;
+import java.util.function.Supplier;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.powermock.reflect.Whitebox;
 
 @RunWith(MockitoJUnitRunner.class)
 public class RequestHandlerFactoryTest {
@@ -27,8 +31,18 @@ public class RequestHandlerFactoryTest {
   @Mock ResponseWriter responseWriter;
   @Mock RequestHandlerImplFactory requestHandlerImplFactory;
   @Mock FocusVisualizationStateManager focusVisualizationStateManager;
+  @Mock FocusSequenceRecorder focusSequenceRecorder;
+  @Mock FocusTraversalDriver focusTraversalDriver;
+  @Mock ScanMetrics scanMetrics;
+  @Mock ServiceMetrics serviceMetrics;
+  @Mock SpanRecorder spanRecorder;
+  @Mock FrameHasher frameHasher;
+  @Mock EventQuiescenceTracker eventQuiescenceTracker;
+  @Mock BackgroundPrescanner backgroundPrescanner;
+  @Mock ScanResultStore scanResultStore;
 
   RequestHandlerFactory testSubject;
+  final long defaultTimeoutMillis = 30000;
 
   @Before
   public void prepare() {
@@ -40,7 +54,17 @@ public class RequestHandlerFactoryTest {
             axeScanner,
             deviceConfigFactory,
             requestHandlerImplFactory,
-            focusVisualizationStateManager);
+            focusVisualizationStateManager,
+            focusSequenceRecorder,
+            focusTraversalDriver,
+            scanMetrics,
+            serviceMetrics,
+            spanRecorder,
+            new DeadlineFactory(() -> 0, defaultTimeoutMillis),
+            frameHasher,
+            eventQuiescenceTracker,
+            backgroundPrescanner,
+            scanResultStore);
   }
 
   @Test
@@ -50,10 +74,156 @@ public class RequestHandlerFactoryTest {
         .createRequestHandler(
             any(SocketHolder.class),
             any(ResultRequestFulfiller.class),
+            any(Deadline.class),
             eq("processResultRequest"),
             eq("*** About to process scan request"));
   }
 
+  @Test
+  public void createsResultRequestHandlerWithDefaultDeadline() {
+    tryCreateRequestHandler("GET /AccessibilityInsights/result HTTP/1.1");
+    ArgumentCaptor<Deadline> deadlineCaptor = ArgumentCaptor.forClass(Deadline.class);
+    verify(requestHandlerImplFactory)
+        .createRequestHandler(
+            any(SocketHolder.class),
+            any(ResultRequestFulfiller.class),
+            deadlineCaptor.capture(),
+            any(String.class),
+            any(String.class));
+    Assert.assertEquals(defaultTimeoutMillis, deadlineCaptor.getValue().getTimeoutMillis());
+  }
+
+  @Test
+  public void createsResultRequestHandlerWithRequestedDeadline() {
+    tryCreateRequestHandler("GET /AccessibilityInsights/result?timeoutMs=2000 HTTP/1.1");
+    ArgumentCaptor<Deadline> deadlineCaptor = ArgumentCaptor.forClass(Deadline.class);
+    verify(requestHandlerImplFactory)
+        .createRequestHandler(
+            any(SocketHolder.class),
+            any(ResultRequestFulfiller.class),
+            deadlineCaptor.capture(),
+            any(String.class),
+            any(String.class));
+    Assert.assertEquals(2000, deadlineCaptor.getValue().getTimeoutMillis());
+  }
+
+  @Test
+  public void createsResultRequestHandlerWithoutSettlingByDefault() {
+    FrameStabilityGate gate =
+        getResultFrameStabilityGate("GET /AccessibilityInsights/result HTTP/1.1");
+    Assert.assertFalse(gate.isSettling());
+    Assert.assertEquals(
+        (long) FrameStabilityGate.DEFAULT_MAX_WAIT_MILLIS,
+        (long) Whitebox.getInternalState(gate, "maxWaitMillis"));
+  }
+
+  @Test
+  public void createsResultRequestHandlerWithRequestedSettling() {
+    FrameStabilityGate gate =
+        getResultFrameStabilityGate(
+            "GET /AccessibilityInsights/result?settleFrames=4&settleMaxMs=500 HTTP/1.1");
+    Assert.assertTrue(gate.isSettling());
+    Assert.assertEquals(4, (int) Whitebox.getInternalState(gate, "requiredFrames"));
+    Assert.assertEquals(500, (long) Whitebox.getInternalState(gate, "maxWaitMillis"));
+  }
+
+  @Test
+  public void createsResultRequestHandlerWithRequestedQuiescence() {
+    RequestFulfiller fulfiller =
+        getResultRequestFulfiller(
+            "GET /AccessibilityInsights/result?quietMs=300&quietMaxMs=900 HTTP/1.1");
+    EventQuiescenceGate gate = Whitebox.getInternalState(fulfiller, "eventQuiescenceGate");
+    Assert.assertTrue(gate.isWaiting());
+    Assert.assertEquals(300, (long) Whitebox.getInternalState(gate, "quietMillis"));
+    Assert.assertEquals(900, (long) Whitebox.getInternalState(gate, "maxWaitMillis"));
+  }
+
+  @Test
+  public void createsResultRequestHandlerWithoutQuiescenceByDefault() {
+    RequestFulfiller fulfiller =
+        getResultRequestFulfiller("GET /AccessibilityInsights/result HTTP/1.1");
+    EventQuiescenceGate gate = Whitebox.getInternalState(fulfiller, "eventQuiescenceGate");
+    Assert.assertFalse(gate.isWaiting());
+  }
+
+  @Test
+  public void createsPrescannedResultRequestHandlerWhenPrescanning() {
+    when(backgroundPrescanner.isEnabled()).thenReturn(true);
+    RequestFulfiller fulfiller =
+        getResultRequestFulfiller("GET /AccessibilityInsights/result HTTP/1.1");
+    Assert.assertTrue(fulfiller instanceof PrescannedResultRequestFulfiller);
+    Assert.assertTrue(
+        Whitebox.getInternalState(fulfiller, "scanFulfiller") instanceof ResultRequestFulfiller);
+  }
+
+  @Test
+  public void scansFreshWhenPrescanningButSettlingRequested() {
+    when(backgroundPrescanner.isEnabled()).thenReturn(true);
+    RequestFulfiller fulfiller =
+        getResultRequestFulfiller("GET /AccessibilityInsights/result?settleFrames=3 HTTP/1.1");
+    Assert.assertTrue(fulfiller instanceof ResultRequestFulfiller);
+  }
+
+  @Test
+  public void scansFreshWhenPrescanningButQuiescenceRequested() {
+    when(backgroundPrescanner.isEnabled()).thenReturn(true);
+    RequestFulfiller fulfiller =
+        getResultRequestFulfiller("GET /AccessibilityInsights/result?quietMs=300 HTTP/1.1");
+    Assert.assertTrue(fulfiller instanceof ResultRequestFulfiller);
+  }
+
+  @Test
+  public void createsResultDiffRequestHandler() {
+    tryCreateRequestHandler("GET /AccessibilityInsights/result/diff?from=3&to=5 HTTP/1.1");
+    ArgumentCaptor<ScanDiffRequestFulfiller> fulfiller =
+        ArgumentCaptor.forClass(ScanDiffRequestFulfiller.class);
+    verify(requestHandlerImplFactory)
+        .createRequestHandler(
+            any(SocketHolder.class),
+            fulfiller.capture(),
+            any(Deadline.class),
+            eq("processResultDiffRequest"),
+            eq("*** About to process result diff request"));
+    Assert.assertEquals(3, (int) Whitebox.getInternalState(fulfiller.getValue(), "fromScanId"));
+    Assert.assertEquals(5, (int) Whitebox.getInternalState(fulfiller.getValue(), "toScanId"));
+  }
+
+  @Test
+  public void createsMetricsRequestHandler() {
+    tryCreateRequestHandler("GET /AccessibilityInsights/metrics something else");
+    verify(requestHandlerImplFactory)
+        .createRequestHandler(
+            any(SocketHolder.class),
+            any(MetricsRequestFulfiller.class),
+            any(Deadline.class),
+            eq("processMetricsRequest"),
+            eq("*** About to process metrics request"));
+  }
+
+  @Test
+  public void createsTraceRequestHandler() {
+    tryCreateRequestHandler("GET /AccessibilityInsights/trace something else");
+    verify(requestHandlerImplFactory)
+        .createRequestHandler(
+            any(SocketHolder.class),
+            any(TraceRequestFulfiller.class),
+            any(Deadline.class),
+            eq("processTraceRequest"),
+            eq("*** About to process trace request"));
+  }
+
+  @Test
+  public void createsLogsRequestHandler() {
+    tryCreateRequestHandler("GET /AccessibilityInsights/logs something else");
+    verify(requestHandlerImplFactory)
+        .createRequestHandler(
+            any(SocketHolder.class),
+            any(LogsRequestFulfiller.class),
+            any(Deadline.class),
+            eq("processLogsRequest"),
+            eq("*** About to process logs request"));
+  }
+
   @Test
   public void createsConfigRequestHandler() {
     tryCreateRequestHandler("GET /AccessibilityInsights/config something else");
@@ -61,6 +231,7 @@ public class RequestHandlerFactoryTest {
         .createRequestHandler(
             any(SocketHolder.class),
             any(ConfigRequestFulfiller.class),
+            any(Deadline.class),
             eq("processConfigRequest"),
             eq("*** About to process config request"));
   }
@@ -72,6 +243,7 @@ public class RequestHandlerFactoryTest {
         .createRequestHandler(
             any(SocketHolder.class),
             any(TabStopsRequestFulfiller.class),
+            any(Deadline.class),
             eq("processFocusTrackingEnableRequest"),
             eq("*** About to process focus tracking enable request"));
   }
@@ -83,6 +255,7 @@ public class RequestHandlerFactoryTest {
         .createRequestHandler(
             any(SocketHolder.class),
             any(TabStopsRequestFulfiller.class),
+            any(Deadline.class),
             eq("processFocusTrackingDisableRequest"),
             eq("*** About to process focus tracking disable request"));
   }
@@ -94,20 +267,89 @@ public class RequestHandlerFactoryTest {
         .createRequestHandler(
             any(SocketHolder.class),
             any(TabStopsRequestFulfiller.class),
+            any(Deadline.class),
             eq("processFocusTrackingResetRequest"),
             eq("*** About to process focus tracking reset request"));
   }
 
+  @Test
+  public void createFocusTrackingSequenceRequestHandler() {
+    tryCreateRequestHandler("GET /AccessibilityInsights/FocusTracking/Sequence something else");
+    verify(requestHandlerImplFactory)
+        .createRequestHandler(
+            any(SocketHolder.class),
+            any(FocusSequenceRequestFulfiller.class),
+            any(Deadline.class),
+            eq("processFocusTrackingSequenceRequest"),
+            eq("*** About to process focus tracking sequence request"));
+  }
+
+  @Test
+  public void createFocusTrackingTraverseRequestHandler() {
+    tryCreateRequestHandler(
+        "GET /AccessibilityInsights/FocusTracking/Traverse?maxSteps=7 HTTP/1.1");
+    ArgumentCaptor<RequestFulfiller> fulfillerCaptor =
+        ArgumentCaptor.forClass(RequestFulfiller.class);
+    verify(requestHandlerImplFactory)
+        .createRequestHandler(
+            any(SocketHolder.class),
+            fulfillerCaptor.capture(),
+            any(Deadline.class),
+            eq("processFocusTrackingTraverseRequest"),
+            eq("*** About to process focus tracking traverse request"));
+    Assert.assertTrue(fulfillerCaptor.getValue() instanceof FocusTraversalRequestFulfiller);
+    Assert.assertEquals(7, (int) Whitebox.getInternalState(fulfillerCaptor.getValue(), "maxSteps"));
+  }
+
+  @Test
+  public void createFocusTrackingTraverseRequestHandlerWithDefaultMaxSteps() {
+    tryCreateRequestHandler("GET /AccessibilityInsights/FocusTracking/Traverse HTTP/1.1");
+    ArgumentCaptor<RequestFulfiller> fulfillerCaptor =
+        ArgumentCaptor.forClass(RequestFulfiller.class);
+    verify(requestHandlerImplFactory)
+        .createRequestHandler(
+            any(SocketHolder.class),
+            fulfillerCaptor.capture(),
+            any(Deadline.class),
+            any(String.class),
+            any(String.class));
+    Assert.assertEquals(
+        FocusTraversalDriver.DEFAULT_MAX_STEPS,
+        (int) Whitebox.getInternalState(fulfillerCaptor.getValue(), "maxSteps"));
+  }
+
   @Test
   public void createsUnrecognizedRequestHandler() {
     String requestString = "some invalid request";
+    ArgumentCaptor<Supplier<String>> message = ArgumentCaptor.forClass(Supplier.class);
     tryCreateRequestHandler(requestString);
     verify(requestHandlerImplFactory)
         .createRequestHandler(
             any(SocketHolder.class),
             any(UnrecognizedRequestFulfiller.class),
+            any(Deadline.class),
             eq("processUnrecognizedRequest"),
-            eq("*** About to return 404: " + requestString));
+            message.capture());
+    Assert.assertEquals("*** About to return 404: " + requestString, message.getValue().get());
+  }
+
+  private FrameStabilityGate getResultFrameStabilityGate(String requestString) {
+    return Whitebox.getInternalState(
+        getResultRequestFulfiller(requestString), "frameStabilityGate");
+  }
+
+  private RequestFulfiller getResultRequestFulfiller(String requestString) {
+    tryCreateRequestHandler(requestString);
+    ArgumentCaptor<RequestFulfiller> fulfillerCaptor =
+        ArgumentCaptor.forClass(RequestFulfiller.class);
+    verify(requestHandlerImplFactory)
+        .createRequestHandler(
+            any(SocketHolder.class),
+            fulfillerCaptor.capture(),
+            any(Deadline.class),
+            any(String.class),
+            any(String.class));
+    return fulfillerCaptor.getValue();
   }
 
   private RequestHandler tryCreateRequestHandler(String request) {
@@ -4,16 +4,19 @@
 package com.microsoft.accessibilityinsightsforandroidservice;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.doAnswer;
 import static org.powermock.api.mockito.PowerMockito.when;
 
+import java.util.function.Supplier;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.AdditionalAnswers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -25,6 +28,7 @@ public class RequestHandlerImplTest {
 
   @Mock SocketHolder socketHolder;
   @Mock RequestFulfiller requestFulfiller;
+  @Mock Deadline deadline;
 
   private final String logTag = "logTag";
   private final String logMessage = "test log message";
@@ -34,7 +38,8 @@ public class RequestHandlerImplTest {
   @Before
   public void prepare() {
     PowerMockito.mockStatic(Logger.class);
-    testSubject = new RequestHandlerImpl(socketHolder, requestFulfiller, logTag, logMessage);
+    testSubject =
+        new RequestHandlerImpl(socketHolder, requestFulfiller, deadline, logTag, () -> logMessage);
   }
 
   @Test
@@ -59,17 +64,20 @@ public class RequestHandlerImplTest {
   @Test
   public void logsRequestStart() {
     testSubject.handleRequest();
+    ArgumentCaptor<Supplier<String>> message = ArgumentCaptor.forClass(Supplier.class);
     PowerMockito.verifyStatic(Logger.class);
-    Logger.logVerbose(logTag, logMessage);
+    Logger.logVerbose(eq(logTag), message.capture());
+    Assert.assertEquals(logMessage, message.getValue().get());
   }
 
   @Test
   public void closesSocket() {
     doAnswer(
             AdditionalAnswers.answerVoid(
-                (RunnableFunction onRequestFulfilled) -> onRequestFulfilled.run()))
+                (Deadline requestDeadline, RunnableFunction onRequestFulfilled) ->
+                    onRequestFulfilled.run()))
         .when(requestFulfiller)
-        .fulfillRequest(any());
+        .fulfillRequest(eq(deadline), any());
     testSubject.handleRequest();
 
     verify(socketHolder, times(1)).close(logTag);
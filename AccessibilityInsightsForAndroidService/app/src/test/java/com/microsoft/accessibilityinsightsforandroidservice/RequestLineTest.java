@@ -0,0 +1,51 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class RequestLineTest {
+  @Test
+  public void parsesPathWithoutQuery() {
+    RequestLine testSubject = new RequestLine("GET /AccessibilityInsights/config HTTP/1.1");
+
+    Assert.assertEquals("/AccessibilityInsights/config", testSubject.getPath());
+    Assert.assertTrue(testSubject.isGet("/AccessibilityInsights/config"));
+    Assert.assertNull(testSubject.getParameter("maxSteps"));
+  }
+
+  @Test
+  public void parsesQueryParameters() {
+    RequestLine testSubject =
+        new RequestLine("GET /AccessibilityInsights/test?maxSteps=20&name=a%20b&flag HTTP/1.1");
+
+    Assert.assertTrue(testSubject.isGet("/AccessibilityInsights/test"));
+    Assert.assertEquals("20", testSubject.getParameter("maxSteps"));
+    Assert.assertEquals("a b", testSubject.getParameter("name"));
+    Assert.assertEquals("", testSubject.getParameter("flag"));
+  }
+
+  @Test
+  public void isGetRequiresGetMethodAndExactPath() {
+    Assert.assertFalse(new RequestLine("POST /a HTTP/1.1").isGet("/a"));
+    Assert.assertFalse(new RequestLine("GET /ab HTTP/1.1").isGet("/a"));
+  }
+
+  @Test
+  public void getIntParameterFallsBackToDefault() {
+    RequestLine testSubject = new RequestLine("GET /a?count=12&bad=x HTTP/1.1");
+
+    Assert.assertEquals(12, testSubject.getIntParameter("count", 5));
+    Assert.assertEquals(5, testSubject.getIntParameter("bad", 5));
+    Assert.assertEquals(5, testSubject.getIntParameter("missing", 5));
+  }
+
+  @Test
+  public void handlesMalformedRequests() {
+    Assert.assertEquals("", new RequestLine(null).getPath());
+    Assert.assertEquals("", new RequestLine("GET").getPath());
+    Assert.assertFalse(new RequestLine("some invalid request").isGet("/a"));
+  }
+}
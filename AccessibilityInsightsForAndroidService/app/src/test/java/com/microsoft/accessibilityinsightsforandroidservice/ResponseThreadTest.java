@@ -13,10 +13,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.Socket;
+import java.util.function.Supplier;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.powermock.api.mockito.PowerMockito;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -85,8 +87,7 @@ public class ResponseThreadTest {
 
     testSubject.run();
 
-    PowerMockito.verifyStatic(Logger.class);
-    Logger.logVerbose("ResponseThread", stackTrace);
+    verifyStackTraceLogged();
   }
 
   @Test
@@ -99,8 +100,7 @@ public class ResponseThreadTest {
 
     testSubject.run();
 
-    PowerMockito.verifyStatic(Logger.class);
-    Logger.logVerbose("ResponseThread", stackTrace);
+    verifyStackTraceLogged();
   }
 
   @Test
@@ -143,4 +143,11 @@ public class ResponseThreadTest {
       Assert.fail(e.getMessage());
     }
   }
+
+  private void verifyStackTraceLogged() {
+    ArgumentCaptor<Supplier<String>> message = ArgumentCaptor.forClass(Supplier.class);
+    PowerMockito.verifyStatic(Logger.class);
+    Logger.logVerbose(eq("ResponseThread"), message.capture());
+    Assert.assertEquals(stackTrace, message.getValue().get());
+  }
 }
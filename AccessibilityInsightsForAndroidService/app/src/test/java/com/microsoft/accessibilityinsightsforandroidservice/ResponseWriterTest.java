@@ -7,8 +7,11 @@ import static java.lang.System.lineSeparator;
 import static org.mockito.Mockito.mock;
 import static org.powermock.api.mockito.PowerMockito.when;
 
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.Collections;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -70,6 +73,27 @@ public class ResponseWriterTest {
     Assert.assertEquals(writtenMessage, expectedMessage);
   }
 
+  @Test
+  public void writeSuccessfulResponseWithHeaders() {
+    String content = "test content";
+    String expectedMessage =
+        "HTTP/1.0 200 OK"
+            + newLine
+            + "Content-type: text/plain"
+            + newLine
+            + "Server-Timing: total;dur=1.000"
+            + newLine
+            + responseCommon
+            + content
+            + newLine;
+
+    testSubject.writeSuccessfulResponse(
+        content, "text/plain", Collections.singletonMap("Server-Timing", "total;dur=1.000"));
+    String writtenMessage = stringWriter.toString();
+
+    Assert.assertEquals(writtenMessage, expectedMessage);
+  }
+
   @Test
   public void writeErrorResponse() {
     String stackTrace = "error stack trace";
@@ -99,6 +123,21 @@ public class ResponseWriterTest {
     Assert.assertEquals(writtenMessage, expectedMessage);
   }
 
+  @Test
+  public void writeTimeoutResponse() {
+    testSubject.writeTimeoutResponse(
+        new DeadlineExceededException(ScanTimings.SCREENSHOT, 1000, 1200));
+    String[] writtenMessage = stringWriter.toString().split(newLine, 5);
+
+    Assert.assertEquals("HTTP/1.0 504 Gateway Timeout", writtenMessage[0]);
+    Assert.assertEquals("Content-type: application/json", writtenMessage[1]);
+    JsonObject body = JsonParser.parseString(writtenMessage[4]).getAsJsonObject();
+    Assert.assertEquals(DeadlineExceededResponse.ERROR, body.get("error").getAsString());
+    Assert.assertEquals(ScanTimings.SCREENSHOT, body.get("stage").getAsString());
+    Assert.assertEquals(1000, body.get("timeoutMillis").getAsLong());
+    Assert.assertEquals(1200, body.get("elapsedMillis").getAsLong());
+  }
+
   private void prepareErrorStackTrace(Exception e, String stackTrace) {
     PowerMockito.mockStatic(StackTrace.class);
     when(StackTrace.getStackTrace(e)).thenReturn(stackTrace);
@@ -4,6 +4,7 @@
 package com.microsoft.accessibilityinsightsforandroidservice;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
@@ -39,23 +40,39 @@ public class ResultRequestFulfillerTest {
   @Mock AccessibilityNodeInfo rootNode;
   @Mock AxeResult axeResultMock;
   @Mock RunnableFunction onRequestFulfilledMock;
+  @Mock FrameHasher frameHasher;
+  @Mock EventQuiescenceTracker eventQuiescenceTracker;
 
   final String scanResultJson = "axe scan result";
 
   ResultRequestFulfiller testSubject;
+  ScanMetrics scanMetrics;
+  ScanResultStore scanResultStore;
+  Deadline deadline;
+  long nanoTime;
 
   @Before
   public void prepare() {
+    scanMetrics = new ScanMetrics(new SpanRecorder(16, () -> nanoTime, 0, null), 4);
+    deadline = new Deadline(() -> nanoTime, 1000);
+    scanResultStore = new ScanResultStore(4);
     doAnswer(
             AdditionalAnswers.answerVoid(
-                (Consumer<Bitmap> bitmapConsumer) -> {
+                (Consumer<Bitmap> bitmapConsumer, Long timeoutMillis) -> {
                   bitmapConsumer.accept(screenshotMock);
                 }))
         .when(screenshotController)
-        .getScreenshotWithMediaProjection(any());
+        .getScreenshotWithMediaProjection(any(), anyLong());
     testSubject =
         new ResultRequestFulfiller(
-            responseWriter, rootNodeFinder, eventHelper, axeScanner, screenshotController);
+            responseWriter,
+            rootNodeFinder,
+            eventHelper,
+            axeScanner,
+            new FrameStabilityGate(screenshotController, frameHasher, () -> nanoTime, 1, 2000),
+            new EventQuiescenceGate(eventQuiescenceTracker, 0, 2000),
+            scanMetrics,
+            scanResultStore);
   }
 
   @Test
@@ -72,7 +89,7 @@ public class ResultRequestFulfillerTest {
   public void callsOnRequestFulfilled() {
     setupSuccessfulRequest();
 
-    testSubject.fulfillRequest(onRequestFulfilledMock);
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
 
     verifyOnRequestFulfilledCalled();
   }
@@ -81,16 +98,16 @@ public class ResultRequestFulfillerTest {
   public void callsGetScreenshotWithMediaProjection() {
     setupSuccessfulRequest();
 
-    testSubject.fulfillRequest(onRequestFulfilledMock);
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
 
-    verify(screenshotController, times(1)).getScreenshotWithMediaProjection(any());
+    verify(screenshotController, times(1)).getScreenshotWithMediaProjection(any(), eq(1000L));
   }
 
   @Test
   public void requestHandledInsideGetScreenshotWithMediaProjection() {
     reset(screenshotController);
 
-    testSubject.fulfillRequest(onRequestFulfilledMock);
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
 
     verifyZeroInteractions(responseWriter);
     verifyZeroInteractions(onRequestFulfilledMock);
@@ -100,30 +117,115 @@ public class ResultRequestFulfillerTest {
   public void writesSuccessfulResponse() {
     setupSuccessfulRequest();
 
-    testSubject.fulfillRequest(onRequestFulfilledMock);
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
 
-    verify(responseWriter, times(1)).writeSuccessfulResponse(scanResultJson);
+    verify(responseWriter, times(1))
+        .writeSuccessfulResponse(eq(scanResultJson), eq("application/json"), any());
+  }
+
+  @Test
+  public void writesServerTimingHeader() {
+    setupSuccessfulRequest();
+    when(axeResultMock.toJson())
+        .thenAnswer(
+            invocation -> {
+              nanoTime += 2_500_000;
+              return scanResultJson;
+            });
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    verify(responseWriter, times(1))
+        .writeSuccessfulResponse(
+            eq(scanResultJson),
+            eq("application/json"),
+            argThat(
+                headers ->
+                    headers
+                        .get("Server-Timing")
+                        .equals(
+                            "screenshot;dur=0.000, rootNode;dur=0.000, toJson;dur=2.500,"
+                                + " total;dur=2.500")));
+  }
+
+  @Test
+  public void storesScanAndWritesScanIdHeader() {
+    setupSuccessfulRequest();
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    Assert.assertEquals(1, scanResultStore.getLastScanId());
+    Assert.assertNotNull(scanResultStore.get(1));
+    verify(responseWriter, times(1))
+        .writeSuccessfulResponse(
+            eq(scanResultJson),
+            eq("application/json"),
+            argThat(headers -> "1".equals(headers.get("Scan-Id"))));
+  }
+
+  @Test
+  public void omitsScanIdHeaderWhenStoreKeepsNothing() {
+    setupSuccessfulRequest();
+    testSubject =
+        new ResultRequestFulfiller(
+            responseWriter,
+            rootNodeFinder,
+            eventHelper,
+            axeScanner,
+            new FrameStabilityGate(screenshotController, frameHasher, () -> nanoTime, 1, 2000),
+            new EventQuiescenceGate(eventQuiescenceTracker, 0, 2000),
+            scanMetrics,
+            new ScanResultStore(0));
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    verify(responseWriter, times(1))
+        .writeSuccessfulResponse(
+            eq(scanResultJson),
+            eq("application/json"),
+            argThat(headers -> !headers.containsKey("Scan-Id")));
+  }
+
+  @Test
+  public void recordsScanMetrics() {
+    setupSuccessfulRequest();
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    Assert.assertEquals(
+        1, scanMetrics.getStageSummaries().get(ScanTimings.TOTAL).getSnapshot().count);
+  }
+
+  @Test
+  public void doesNotRecordScanMetricsIfScanFailed() {
+    when(rootNodeFinder.getRootNodeFromSource(null)).thenReturn(null);
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    Assert.assertTrue(scanMetrics.getStageSummaries().isEmpty());
   }
 
   @Test
   public void recyclesNodes() {
     setupSuccessfulRequest();
 
-    testSubject.fulfillRequest(onRequestFulfilledMock);
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
 
     verify(rootNode, times(1)).recycle();
     verify(sourceNode, times(1)).recycle();
   }
 
   @Test
-  public void recyclesNodeOnceIfRootEqualsSource() throws ViewChangedException {
+  public void recyclesNodeOnceIfRootEqualsSource()
+      throws ViewChangedException, DeadlineExceededException {
     setupSuccessfulRequest();
     reset(rootNodeFinder);
     reset(axeScanner);
     when(rootNodeFinder.getRootNodeFromSource(any())).thenReturn(sourceNode);
-    when(axeScanner.scanWithAxe(eq(sourceNode), any())).thenReturn(axeResultMock);
+    when(axeScanner.scanWithAxe(eq(sourceNode), any(), any(), eq(deadline)))
+        .thenReturn(axeResultMock);
 
-    testSubject.fulfillRequest(onRequestFulfilledMock);
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
 
     verifyZeroInteractions(rootNode);
     verify(sourceNode, times(1)).recycle();
@@ -133,7 +235,7 @@ public class ResultRequestFulfillerTest {
   public void writesErrorIfNoRootNode() {
     when(rootNodeFinder.getRootNodeFromSource(null)).thenReturn(null);
 
-    testSubject.fulfillRequest(onRequestFulfilledMock);
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
 
     verify(responseWriter, times(1))
         .writeErrorResponse(argThat((e) -> e.getMessage() == "Unable to locate root node to scan"));
@@ -141,34 +243,201 @@ public class ResultRequestFulfillerTest {
   }
 
   @Test
-  public void writesErrorIfScanFailed() throws ViewChangedException {
+  public void writesErrorIfScanFailed() throws ViewChangedException, DeadlineExceededException {
     when(eventHelper.claimLastSource()).thenReturn(sourceNode);
     when(rootNodeFinder.getRootNodeFromSource(any())).thenReturn(rootNode);
-    when(axeScanner.scanWithAxe(eq(rootNode), any())).thenReturn(null);
+    when(axeScanner.scanWithAxe(eq(rootNode), any(), any(), eq(deadline))).thenReturn(null);
 
-    testSubject.fulfillRequest(onRequestFulfilledMock);
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
 
     verify(responseWriter, times(1))
         .writeErrorResponse(argThat((e) -> e.getMessage() == "Scanner returned no data"));
     verifyOnRequestFulfilledCalled();
   }
 
+  @Test
+  public void doesNotStoreFailedScan() throws ViewChangedException, DeadlineExceededException {
+    when(eventHelper.claimLastSource()).thenReturn(sourceNode);
+    when(rootNodeFinder.getRootNodeFromSource(any())).thenReturn(rootNode);
+    when(axeScanner.scanWithAxe(eq(rootNode), any(), any(), eq(deadline))).thenReturn(null);
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    Assert.assertEquals(ScanResultStore.NO_SCAN, scanResultStore.getLastScanId());
+  }
+
   @Test
   public void doesNotRecycleSourceIfRestoreLastSourceSucceeds() {
     setupSuccessfulRequest();
     when(eventHelper.restoreLastSource(sourceNode)).thenReturn(true);
 
-    testSubject.fulfillRequest(onRequestFulfilledMock);
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
     verify(rootNode, times(1)).recycle();
     verify(sourceNode, never()).recycle();
   }
 
+  @Test
+  public void writesTimeoutIfScreenshotArrivesAfterDeadline() {
+    doAnswer(
+            AdditionalAnswers.answerVoid(
+                (Consumer<Bitmap> bitmapConsumer, Long timeoutMillis) -> {
+                  nanoTime += 1_500_000_000;
+                  bitmapConsumer.accept(null);
+                }))
+        .when(screenshotController)
+        .getScreenshotWithMediaProjection(any(), anyLong());
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    verify(responseWriter, times(1))
+        .writeTimeoutResponse(
+            argThat(
+                e ->
+                    e.getStage().equals(ScanTimings.SCREENSHOT)
+                        && e.getTimeoutMillis() == 1000
+                        && e.getElapsedMillis() == 1500));
+    verifyZeroInteractions(eventHelper, axeScanner);
+    verifyOnRequestFulfilledCalled();
+  }
+
+  @Test
+  public void writesTimeoutAndRecyclesNodesIfScanRunsPastDeadline()
+      throws ViewChangedException, DeadlineExceededException {
+    setupSuccessfulRequest();
+    when(axeScanner.scanWithAxe(eq(rootNode), any(), any(), eq(deadline)))
+        .thenAnswer(
+            invocation -> {
+              nanoTime += 1_000_000_000;
+              return axeResultMock;
+            });
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    verify(responseWriter, times(1))
+        .writeTimeoutResponse(argThat(e -> e.getStage().equals(ScanTimings.AXE_RUN)));
+    verify(axeResultMock, never()).toJson();
+    verify(rootNode, times(1)).recycle();
+    verify(sourceNode, times(1)).recycle();
+    verifyOnRequestFulfilledCalled();
+    Assert.assertTrue(scanMetrics.getStageSummaries().isEmpty());
+  }
+
+  @Test
+  public void writesFrameSettleHeaderWhenSettling() {
+    setupSuccessfulRequest();
+    when(frameHasher.hash(screenshotMock)).thenReturn(new FrameHash(new int[] {1}));
+    testSubject =
+        new ResultRequestFulfiller(
+            responseWriter,
+            rootNodeFinder,
+            eventHelper,
+            axeScanner,
+            new FrameStabilityGate(screenshotController, frameHasher, () -> nanoTime, 2, 2000),
+            new EventQuiescenceGate(eventQuiescenceTracker, 0, 2000),
+            scanMetrics,
+            scanResultStore);
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    verify(screenshotController, times(2)).getScreenshotWithMediaProjection(any(), anyLong());
+    verify(responseWriter, times(1))
+        .writeSuccessfulResponse(
+            eq(scanResultJson),
+            eq("application/json"),
+            argThat(
+                headers -> "stable=true, frames=2, dur=0.000".equals(headers.get("Frame-Settle"))));
+  }
+
+  @Test
+  public void omitsFrameSettleHeaderWithoutSettling() {
+    setupSuccessfulRequest();
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    verify(responseWriter, times(1))
+        .writeSuccessfulResponse(
+            eq(scanResultJson),
+            eq("application/json"),
+            argThat(headers -> !headers.containsKey("Frame-Settle")));
+    verifyZeroInteractions(frameHasher);
+  }
+
+  @Test
+  public void waitsForQuiescenceBeforeScreenshot() throws InterruptedException {
+    setupSuccessfulRequest();
+    when(eventQuiescenceTracker.awaitQuiescence(300, 1000))
+        .thenAnswer(
+            invocation -> {
+              nanoTime += 120_000_000;
+              return true;
+            });
+    createTestSubjectWithQuiescence(300, 2000);
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    verify(responseWriter, times(1))
+        .writeSuccessfulResponse(
+            eq(scanResultJson),
+            eq("application/json"),
+            argThat(
+                headers ->
+                    "quiet=true, dur=120.000".equals(headers.get("Event-Quiescence"))
+                        && headers.get("Server-Timing").startsWith("quiesce;dur=120.000, ")));
+    verify(screenshotController, times(1)).getScreenshotWithMediaProjection(any(), eq(880L));
+  }
+
+  @Test
+  public void writesTimeoutIfQuiescenceOutlastsDeadline() throws InterruptedException {
+    when(eventQuiescenceTracker.awaitQuiescence(300, 1000))
+        .thenAnswer(
+            invocation -> {
+              nanoTime += 1_000_000_000;
+              return false;
+            });
+    createTestSubjectWithQuiescence(300, 5000);
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    verify(responseWriter, times(1))
+        .writeTimeoutResponse(argThat(e -> e.getStage().equals(ScanTimings.QUIESCE)));
+    verifyZeroInteractions(screenshotController);
+    verifyOnRequestFulfilledCalled();
+  }
+
+  @Test
+  public void writesErrorIfInterruptedWhileWaitingForQuiescence() throws InterruptedException {
+    InterruptedException interruptedException = new InterruptedException();
+    when(eventQuiescenceTracker.awaitQuiescence(300, 1000)).thenThrow(interruptedException);
+    createTestSubjectWithQuiescence(300, 5000);
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    Assert.assertTrue(Thread.interrupted());
+    verify(responseWriter, times(1)).writeErrorResponse(interruptedException);
+    verifyZeroInteractions(screenshotController);
+    verifyOnRequestFulfilledCalled();
+  }
+
+  private void createTestSubjectWithQuiescence(long quietMillis, long maxWaitMillis) {
+    testSubject =
+        new ResultRequestFulfiller(
+            responseWriter,
+            rootNodeFinder,
+            eventHelper,
+            axeScanner,
+            new FrameStabilityGate(screenshotController, frameHasher, () -> nanoTime, 1, 2000),
+            new EventQuiescenceGate(eventQuiescenceTracker, quietMillis, maxWaitMillis),
+            scanMetrics,
+            scanResultStore);
+  }
+
   private void setupSuccessfulRequest() {
     when(eventHelper.claimLastSource()).thenReturn(sourceNode);
     when(rootNodeFinder.getRootNodeFromSource(any())).thenReturn(rootNode);
     try {
-      when(axeScanner.scanWithAxe(eq(rootNode), any())).thenReturn(axeResultMock);
-    } catch (ViewChangedException e) {
+      when(axeScanner.scanWithAxe(eq(rootNode), any(), any(), eq(deadline)))
+          .thenReturn(axeResultMock);
+    } catch (ViewChangedException | DeadlineExceededException e) {
       Assert.fail(e.getMessage());
     }
     when(axeResultMock.toJson()).thenReturn(scanResultJson);
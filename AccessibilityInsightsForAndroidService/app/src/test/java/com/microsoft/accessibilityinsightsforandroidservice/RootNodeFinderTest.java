@@ -73,4 +73,18 @@ public class RootNodeFinderTest {
     verify(rootNode, never()).recycle();
     verify(parentMock, times(1)).recycle();
   }
+
+  @Test
+  public void findsRootOfInMemoryTree() {
+    InMemoryAccessibilityNode root = new InMemoryAccessibilityNode("root");
+    InMemoryAccessibilityNode parent = new InMemoryAccessibilityNode("parent");
+    InMemoryAccessibilityNode source = new InMemoryAccessibilityNode("source");
+    root.addChild(parent);
+    parent.addChild(source);
+
+    Assert.assertSame(root, testSubject.getRootNode(source));
+    Assert.assertEquals(0, source.getRecycleCount());
+    Assert.assertEquals(1, parent.getRecycleCount());
+    Assert.assertEquals(0, root.getRecycleCount());
+  }
 }
@@ -0,0 +1,115 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.deque.axe.android.AxeResult;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ScanDiffRequestFulfillerTest {
+  @Mock ResponseWriter responseWriter;
+  @Mock RunnableFunction onRequestFulfilled;
+  @Mock Deadline deadline;
+  @Mock AxeResult axeResult;
+
+  ScanResultStore scanResultStore;
+
+  @Before
+  public void prepare() {
+    scanResultStore = new ScanResultStore(3);
+  }
+
+  @Test
+  public void isBlockingRequest() {
+    Assert.assertTrue(createTestSubject(0, 0).isBlockingRequest());
+  }
+
+  @Test
+  public void diffsLastTwoScansByDefault() {
+    addScans(3);
+
+    createTestSubject(0, 0).fulfillRequest(deadline, onRequestFulfilled);
+
+    verifyDiffWritten(2, 3);
+  }
+
+  @Test
+  public void diffsGivenScanAgainstPreviousOne() {
+    addScans(3);
+
+    createTestSubject(0, 2).fulfillRequest(deadline, onRequestFulfilled);
+
+    verifyDiffWritten(1, 2);
+  }
+
+  @Test
+  public void diffsGivenScans() {
+    addScans(3);
+
+    createTestSubject(3, 1).fulfillRequest(deadline, onRequestFulfilled);
+
+    verifyDiffWritten(3, 1);
+  }
+
+  @Test
+  public void writesNotFoundForEvictedScan() {
+    addScans(4);
+
+    createTestSubject(1, 4).fulfillRequest(deadline, onRequestFulfilled);
+
+    verify(responseWriter).writeNotFoundResponse("scan 1");
+    verify(responseWriter, never()).writeSuccessfulResponse(any());
+    verify(onRequestFulfilled).run();
+  }
+
+  @Test
+  public void writesNotFoundWithoutEarlierScan() {
+    addScans(1);
+
+    createTestSubject(0, 0).fulfillRequest(deadline, onRequestFulfilled);
+
+    verify(responseWriter).writeNotFoundResponse("scan 0");
+    verify(onRequestFulfilled).run();
+  }
+
+  @Test
+  public void writesNotFoundForFutureScan() {
+    addScans(1);
+
+    createTestSubject(1, 5).fulfillRequest(deadline, onRequestFulfilled);
+
+    verify(responseWriter).writeNotFoundResponse("scan 5");
+    verify(onRequestFulfilled).run();
+  }
+
+  private ScanDiffRequestFulfiller createTestSubject(int fromScanId, int toScanId) {
+    return new ScanDiffRequestFulfiller(responseWriter, scanResultStore, fromScanId, toScanId);
+  }
+
+  private void addScans(int count) {
+    for (int i = 0; i < count; i++) {
+      scanResultStore.add(axeResult);
+    }
+  }
+
+  private void verifyDiffWritten(int fromScanId, int toScanId) {
+    verify(responseWriter)
+        .writeSuccessfulResponse(
+            argThat(
+                json ->
+                    json.contains("\"fromScanId\":" + fromScanId)
+                        && json.contains("\"toScanId\":" + toScanId)));
+    verify(onRequestFulfilled).run();
+  }
+}
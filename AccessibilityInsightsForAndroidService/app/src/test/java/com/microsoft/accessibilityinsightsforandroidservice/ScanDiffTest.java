@@ -0,0 +1,96 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ScanDiffTest {
+  final RuleResultEntry.RuleResultBounds bounds =
+      new RuleResultEntry.RuleResultBounds(0, 0, 10, 10);
+
+  @Test
+  public void unchangedScansHaveEmptyDiff() {
+    ScanSnapshot from = createSnapshot(1, createEntry("ColorContrast", "app:id/a", "PASS", 0));
+    ScanSnapshot to = createSnapshot(2, createEntry("ColorContrast", "app:id/a", "PASS", 0));
+
+    ScanDiff diff = ScanDiff.between(from, to);
+
+    Assert.assertEquals(1, diff.fromScanId);
+    Assert.assertEquals(2, diff.toScanId);
+    Assert.assertTrue(diff.added.isEmpty());
+    Assert.assertTrue(diff.removed.isEmpty());
+    Assert.assertTrue(diff.changed.isEmpty());
+  }
+
+  @Test
+  public void reportsAddedRemovedAndChangedResults() {
+    RuleResultEntry kept = createEntry("ColorContrast", "app:id/a", "PASS", 0);
+    RuleResultEntry removed = createEntry("ColorContrast", "app:id/b", "FAIL", 2);
+    RuleResultEntry before = createEntry("TouchSizeWcag", "app:id/a", "PASS", 0);
+    RuleResultEntry after = createEntry("TouchSizeWcag", "app:id/a", "FAIL", 3);
+    RuleResultEntry added = createEntry("ActiveViewName", "app:id/c", "FAIL", 3);
+
+    ScanDiff diff =
+        ScanDiff.between(
+            createSnapshot(4, kept, removed, before), createSnapshot(5, kept, after, added));
+
+    Assert.assertEquals(1, diff.added.size());
+    Assert.assertSame(added, diff.added.get(0));
+    Assert.assertEquals(1, diff.removed.size());
+    Assert.assertSame(removed, diff.removed.get(0));
+    Assert.assertEquals(1, diff.changed.size());
+    Assert.assertSame(before, diff.changed.get(0).before);
+    Assert.assertSame(after, diff.changed.get(0).after);
+  }
+
+  @Test
+  public void movedViewIsRemovedAndAdded() {
+    RuleResultEntry before = createEntry("ColorContrast", "app:id/a", "PASS", 0);
+    RuleResultEntry moved =
+        new RuleResultEntry(
+            "ColorContrast",
+            "PASS",
+            0,
+            null,
+            "app:id/a",
+            "android.widget.TextView",
+            new RuleResultEntry.RuleResultBounds(0, 20, 10, 30));
+
+    ScanDiff diff = ScanDiff.between(createSnapshot(1, before), createSnapshot(2, moved));
+
+    Assert.assertEquals(1, diff.added.size());
+    Assert.assertEquals(1, diff.removed.size());
+    Assert.assertTrue(diff.changed.isEmpty());
+  }
+
+  @Test
+  public void serializesWithoutScreenshot() {
+    ScanDiff diff =
+        ScanDiff.between(
+            createSnapshot(1),
+            createSnapshot(2, createEntry("ColorContrast", "app:id/a", "FAIL", 2)));
+
+    String json = diff.toJson();
+
+    Assert.assertTrue(json.contains("\"fromScanId\":1"));
+    Assert.assertTrue(json.contains("\"resourceId\":\"app:id/a\""));
+    Assert.assertFalse(json.contains("screenshot"));
+  }
+
+  private RuleResultEntry createEntry(String ruleId, String resourceId, String status, int impact) {
+    return new RuleResultEntry(
+        ruleId, status, impact, null, resourceId, "android.widget.TextView", bounds);
+  }
+
+  private ScanSnapshot createSnapshot(int scanId, RuleResultEntry... entries) {
+    Map<String, RuleResultEntry> keyedEntries = new LinkedHashMap<>();
+    for (RuleResultEntry entry : entries) {
+      keyedEntries.put(entry.getKey(), entry);
+    }
+    return new ScanSnapshot(scanId, keyedEntries);
+  }
+}
@@ -0,0 +1,66 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ScanMetricsTest {
+
+  long nanoTime;
+  ScanMetrics testSubject;
+
+  @Before
+  public void prepare() {
+    testSubject = new ScanMetrics(new SpanRecorder(16, () -> nanoTime, 0, null), 8);
+  }
+
+  @Test
+  public void startScanUsesClock() {
+    nanoTime = 100;
+    ScanTimings timings = testSubject.startScan();
+    nanoTime = 160;
+    timings.finish();
+
+    Assert.assertEquals(Long.valueOf(60), timings.getStageNanos().get(ScanTimings.TOTAL));
+  }
+
+  @Test
+  public void recordAddsEachStageToItsSummary() {
+    recordScan(10);
+    recordScan(30);
+
+    LatencySummary.Snapshot axeRun =
+        testSubject.getStageSummaries().get(ScanTimings.AXE_RUN).getSnapshot();
+    Assert.assertEquals(2, axeRun.count);
+    Assert.assertEquals(40, axeRun.sumNanos);
+    Assert.assertEquals(
+        2, testSubject.getStageSummaries().get(ScanTimings.TOTAL).getSnapshot().count);
+  }
+
+  @Test
+  public void stageSummariesAreSortedByStage() {
+    recordScan(10);
+
+    Assert.assertEquals(
+        Arrays.asList(ScanTimings.AXE_RUN, ScanTimings.TOTAL),
+        Arrays.asList(testSubject.getStageSummaries().keySet().toArray()));
+  }
+
+  @Test
+  public void getWindowSizeReturnsWindowSize() {
+    Assert.assertEquals(8, testSubject.getWindowSize());
+  }
+
+  private void recordScan(long axeRunNanos) {
+    ScanTimings timings = testSubject.startScan();
+    long start = timings.now();
+    nanoTime += axeRunNanos;
+    timings.recordSince(ScanTimings.AXE_RUN, start);
+    timings.finish();
+    testSubject.record(timings);
+  }
+}
@@ -0,0 +1,59 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import com.deque.axe.android.AxeResult;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ScanResultStoreTest {
+  @Mock AxeResult axeResult;
+
+  @Test
+  public void numbersScansFromOne() {
+    ScanResultStore testSubject = new ScanResultStore(2);
+    Assert.assertEquals(ScanResultStore.NO_SCAN, testSubject.getLastScanId());
+
+    Assert.assertEquals(1, testSubject.add(axeResult));
+    Assert.assertEquals(2, testSubject.add(axeResult));
+
+    Assert.assertEquals(2, testSubject.getLastScanId());
+    Assert.assertEquals(1, testSubject.get(1).getScanId());
+    Assert.assertEquals(2, testSubject.get(2).getScanId());
+  }
+
+  @Test
+  public void evictsOldestScan() {
+    ScanResultStore testSubject = new ScanResultStore(2);
+
+    testSubject.add(axeResult);
+    testSubject.add(axeResult);
+    testSubject.add(axeResult);
+
+    Assert.assertNull(testSubject.get(1));
+    Assert.assertNotNull(testSubject.get(2));
+    Assert.assertNotNull(testSubject.get(3));
+  }
+
+  @Test
+  public void unknownScanIsNull() {
+    ScanResultStore testSubject = new ScanResultStore(2);
+    testSubject.add(axeResult);
+
+    Assert.assertNull(testSubject.get(ScanResultStore.NO_SCAN));
+    Assert.assertNull(testSubject.get(2));
+  }
+
+  @Test
+  public void zeroCapacityKeepsNothing() {
+    ScanResultStore testSubject = new ScanResultStore(0);
+
+    Assert.assertEquals(ScanResultStore.NO_SCAN, testSubject.add(axeResult));
+    Assert.assertEquals(ScanResultStore.NO_SCAN, testSubject.getLastScanId());
+  }
+}
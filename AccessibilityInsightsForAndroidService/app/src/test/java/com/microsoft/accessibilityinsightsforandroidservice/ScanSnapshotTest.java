@@ -0,0 +1,125 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.Mockito.mock;
+
+import com.deque.axe.android.AxeContext;
+import com.deque.axe.android.AxeResult;
+import com.deque.axe.android.AxeRuleResult;
+import com.deque.axe.android.AxeView;
+import com.deque.axe.android.wrappers.AxeRect;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import org.powermock.reflect.Whitebox;
+
+public class ScanSnapshotTest {
+
+  @Test
+  public void describesResultsByViewIdentity() {
+    AxeView button = createView("button", "app:id/ok", "android.widget.Button", 10, 20, 110, 70);
+    AxeView root = createView("root", null, "android.widget.FrameLayout", 0, 0, 200, 400, button);
+    AxeResult result =
+        createResult(root, createRuleResult("TouchSizeWcag", "button", "FAIL", 3, "Too small"));
+
+    ScanSnapshot snapshot = ScanSnapshot.fromAxeResult(7, result);
+
+    Assert.assertEquals(7, snapshot.getScanId());
+    RuleResultEntry entry = snapshot.getEntries().values().iterator().next();
+    Assert.assertEquals("TouchSizeWcag", entry.ruleId);
+    Assert.assertEquals("FAIL", entry.status);
+    Assert.assertEquals(3, entry.impact);
+    Assert.assertEquals("Too small", entry.ruleSummary);
+    Assert.assertEquals("app:id/ok", entry.resourceId);
+    Assert.assertEquals("android.widget.Button", entry.className);
+    Assert.assertEquals(10, entry.bounds.left);
+    Assert.assertEquals(20, entry.bounds.top);
+    Assert.assertEquals(110, entry.bounds.right);
+    Assert.assertEquals(70, entry.bounds.bottom);
+    Assert.assertEquals(
+        "TouchSizeWcag|app:id/ok|android.widget.Button|10,20,110,70",
+        snapshot.getEntries().keySet().iterator().next());
+  }
+
+  @Test
+  public void keysLookAlikeViewsByOrder() {
+    AxeView first = createView("first", null, "android.widget.TextView", 0, 0, 10, 10);
+    AxeView second = createView("second", null, "android.widget.TextView", 0, 0, 10, 10);
+    AxeView root =
+        createView("root", null, "android.widget.LinearLayout", 0, 0, 10, 20, first, second);
+    AxeResult result =
+        createResult(
+            root,
+            createRuleResult("ColorContrast", "first", "PASS", 0, null),
+            createRuleResult("ColorContrast", "second", "FAIL", 2, null));
+
+    ScanSnapshot snapshot = ScanSnapshot.fromAxeResult(1, result);
+
+    List<String> keys = new ArrayList<>(snapshot.getEntries().keySet());
+    Assert.assertEquals(2, keys.size());
+    Assert.assertEquals(keys.get(0) + "#1", keys.get(1));
+    Assert.assertEquals("FAIL", snapshot.getEntries().get(keys.get(1)).status);
+  }
+
+  @Test
+  public void keepsResultsForUnknownViews() {
+    AxeResult result =
+        createResult(null, createRuleResult("ActiveViewName", "missing", "FAIL", 3, null));
+
+    ScanSnapshot snapshot = ScanSnapshot.fromAxeResult(1, result);
+
+    RuleResultEntry entry = snapshot.getEntries().values().iterator().next();
+    Assert.assertNull(entry.resourceId);
+    Assert.assertNull(entry.className);
+    Assert.assertNull(entry.bounds);
+  }
+
+  @Test
+  public void emptyResultHasNoEntries() {
+    ScanSnapshot snapshot = ScanSnapshot.fromAxeResult(1, mock(AxeResult.class));
+
+    Assert.assertTrue(snapshot.getEntries().isEmpty());
+  }
+
+  private AxeResult createResult(AxeView root, AxeRuleResult... ruleResults) {
+    AxeResult result = mock(AxeResult.class);
+    Whitebox.setInternalState(result, "axeContext", new AxeContext(root, null, null, null));
+    Whitebox.setInternalState(result, "axeRuleResults", Arrays.asList(ruleResults));
+    return result;
+  }
+
+  private AxeRuleResult createRuleResult(
+      String ruleId, String axeViewId, String status, int impact, String ruleSummary) {
+    AxeRuleResult ruleResult = mock(AxeRuleResult.class);
+    Whitebox.setInternalState(ruleResult, "ruleId", ruleId);
+    Whitebox.setInternalState(ruleResult, "axeViewId", axeViewId);
+    Whitebox.setInternalState(ruleResult, "status", status);
+    Whitebox.setInternalState(ruleResult, "impact", impact);
+    Whitebox.setInternalState(ruleResult, "ruleSummary", ruleSummary);
+    return ruleResult;
+  }
+
+  private AxeView createView(
+      String axeViewId,
+      String resourceId,
+      String className,
+      int left,
+      int top,
+      int right,
+      int bottom,
+      AxeView... children) {
+    AxeView view = mock(AxeView.class);
+    Whitebox.setInternalState(view, "axeViewId", axeViewId);
+    Whitebox.setInternalState(view, "viewIdResourceName", resourceId);
+    Whitebox.setInternalState(view, "className", className);
+    Whitebox.setInternalState(view, "boundsInScreen", new AxeRect(left, right, top, bottom));
+    Whitebox.setInternalState(
+        view, "children", children.length == 0 ? Collections.emptyList() : Arrays.asList(children));
+    return view;
+  }
+}
@@ -0,0 +1,98 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.Arrays;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ScanTimingsTest {
+
+  long nanoTime;
+  SpanRecorder spanRecorder;
+  ScanTimings testSubject;
+
+  @Before
+  public void prepare() {
+    nanoTime = 1_000;
+    spanRecorder = new SpanRecorder(16, () -> nanoTime, 0, null);
+    testSubject = new ScanTimings(spanRecorder);
+  }
+
+  @Test
+  public void recordSinceReturnsStageEnd() {
+    long start = testSubject.now();
+    nanoTime += 50;
+
+    Assert.assertEquals(1_050, testSubject.recordSince(ScanTimings.AXE_RUN, start));
+    Assert.assertEquals(Long.valueOf(50), testSubject.getStageNanos().get(ScanTimings.AXE_RUN));
+  }
+
+  @Test
+  public void recordSinceRecordsSpan() {
+    long start = testSubject.now();
+    nanoTime += 3_000;
+    testSubject.recordSince(ScanTimings.AXE_VIEWS, start);
+
+    ChromeTraceEvent span = spanRecorder.getChromeTrace().traceEvents.get(0);
+    Assert.assertEquals(ScanTimings.AXE_VIEWS, span.name);
+    Assert.assertEquals(ScanTimings.SPAN_CATEGORY, span.cat);
+    Assert.assertEquals(1.0, span.ts, 0);
+    Assert.assertEquals(3.0, span.dur, 0);
+  }
+
+  @Test
+  public void recordSinceAccumulatesRepeatedStages() {
+    long start = testSubject.now();
+    nanoTime += 20;
+    testSubject.recordSince(ScanTimings.TO_BASE64_PNG, start);
+    start = testSubject.now();
+    nanoTime += 30;
+    testSubject.recordSince(ScanTimings.TO_BASE64_PNG, start);
+
+    Assert.assertEquals(
+        Long.valueOf(50), testSubject.getStageNanos().get(ScanTimings.TO_BASE64_PNG));
+  }
+
+  @Test
+  public void finishRecordsTotalSinceConstruction() {
+    nanoTime += 700;
+
+    testSubject.finish();
+
+    Assert.assertEquals(Long.valueOf(700), testSubject.getStageNanos().get(ScanTimings.TOTAL));
+  }
+
+  @Test
+  public void getStageNanosKeepsRecordingOrder() {
+    testSubject.recordSince(ScanTimings.SCREENSHOT, testSubject.now());
+    testSubject.recordSince(ScanTimings.ROOT_NODE, testSubject.now());
+    testSubject.finish();
+
+    Map<String, Long> stages = testSubject.getStageNanos();
+
+    Assert.assertEquals(
+        Arrays.asList(ScanTimings.SCREENSHOT, ScanTimings.ROOT_NODE, ScanTimings.TOTAL),
+        Arrays.asList(stages.keySet().toArray()));
+  }
+
+  @Test
+  public void toServerTimingHeaderFormatsMilliseconds() {
+    long start = testSubject.now();
+    nanoTime += 1_250_000;
+    testSubject.recordSince(ScanTimings.SCREENSHOT, start);
+    nanoTime += 500;
+    testSubject.finish();
+
+    Assert.assertEquals(
+        "screenshot;dur=1.250, total;dur=1.251", testSubject.toServerTimingHeader());
+  }
+
+  @Test
+  public void toServerTimingHeaderIsEmptyWithoutStages() {
+    Assert.assertEquals("", testSubject.toServerTimingHeader());
+  }
+}
@@ -32,6 +32,8 @@ public class ScreenshotAxeImageTest {
   int sampleWidth;
   int sampleHeight;
   ScreenshotAxeImage testSubject;
+  ScanTimings timings;
+  long nanoTime;
 
   @Before
   public void prepare() {
@@ -41,7 +43,8 @@ public class ScreenshotAxeImageTest {
     when(bitmapMock.getWidth()).thenReturn(sampleWidth);
     when(bitmapMock.getHeight()).thenReturn(sampleHeight);
 
-    testSubject = new ScreenshotAxeImage(bitmapMock, byteArrayOutputStreamProviderMock);
+    timings = new ScanTimings(new SpanRecorder(16, () -> nanoTime, 0, null));
+    testSubject = new ScreenshotAxeImage(bitmapMock, byteArrayOutputStreamProviderMock, timings);
   }
 
   @Test
@@ -84,4 +87,20 @@ public class ScreenshotAxeImageTest {
     verify(bitmapMock, times(1))
         .compress(Bitmap.CompressFormat.PNG, 100, byteArrayOutputStreamMock);
   }
+
+  @Test
+  public void toBase64PngRecordsEncodeTime() {
+    PowerMockito.mockStatic(Base64.class);
+    when(byteArrayOutputStreamProviderMock.get()).thenReturn(byteArrayOutputStreamMock);
+    when(bitmapMock.compress(Bitmap.CompressFormat.PNG, 100, byteArrayOutputStreamMock))
+        .thenAnswer(
+            invocation -> {
+              nanoTime += 40;
+              return true;
+            });
+
+    testSubject.toBase64Png();
+
+    Assert.assertEquals(Long.valueOf(40), timings.getStageNanos().get(ScanTimings.TO_BASE64_PNG));
+  }
 }
@@ -3,7 +3,10 @@
 
 package com.microsoft.accessibilityinsightsforandroidservice;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.powermock.api.mockito.PowerMockito.when;
@@ -31,7 +34,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 @RunWith(PowerMockRunner.class)
-@PrepareForTest({ImageReader.class})
+@PrepareForTest({ImageReader.class, Logger.class})
 public class ScreenshotControllerTest {
 
   @Mock Supplier<DisplayMetrics> displayMetricsSupplierMock;
@@ -39,6 +42,7 @@ public class ScreenshotControllerTest {
   @Mock OnScreenshotAvailableProvider onScreenshotAvailableProviderMock;
   @Mock BitmapProvider bitmapProviderMock;
   @Mock Consumer<Bitmap> bitmapConsumerMock;
+  @Mock Consumer<Bitmap> secondBitmapConsumerMock;
   @Mock Supplier<MediaProjection> mediaProjectionSupplierMock;
   @Mock MediaProjection mediaProjectionMock;
   @Mock ImageReader imageReaderMock;
@@ -47,20 +51,26 @@ public class ScreenshotControllerTest {
   @Mock OnScreenshotAvailable onScreenshotAvailableMock;
   @Mock VirtualDisplay displayMock;
   @Captor ArgumentCaptor<Consumer<Bitmap>> bitmapConsumerCallback;
+  @Captor ArgumentCaptor<Runnable> timeoutCallback;
 
   DisplayMetrics displayMetricsStub;
   ScreenshotController testSubject;
+  SpanRecorder spanRecorder;
+  final long timeoutMillis = 5000;
 
   @Before
   public void prepare() {
     displayMetricsStub = new DisplayMetricsStub();
+    spanRecorder = new SpanRecorder(4, () -> 0, 0, null);
     testSubject =
         new ScreenshotController(
             displayMetricsSupplierMock,
             handlerMock,
             onScreenshotAvailableProviderMock,
             bitmapProviderMock,
-            mediaProjectionSupplierMock);
+            mediaProjectionSupplierMock,
+            spanRecorder,
+            timeoutMillis);
   }
 
   @Test
@@ -109,10 +119,103 @@ public class ScreenshotControllerTest {
 
     verify(displayMock, times(1)).release();
     verify(bitmapConsumerMock, times(1)).accept(bitmapMock);
+    Assert.assertEquals(
+        "ScreenshotController.onBitmapAvailable",
+        spanRecorder.getChromeTrace().traceEvents.get(0).name);
   }
 
   @Test
   public void createVirtualDisplayCleansResourcesAppropriatelyBeforeGettingScreenshot() {
+    setupCapture();
+
+    testSubject.getScreenshotWithMediaProjection(bitmapConsumerMock);
+    bitmapConsumerCallback.getValue().accept(bitmapMock);
+    testSubject.getScreenshotWithMediaProjection(bitmapConsumerMock);
+
+    verify(displayMock, times(1)).release();
+    verify(imageReaderMock, times(1)).close();
+    verify(mediaProjectionMock, times(2))
+        .createVirtualDisplay(any(), anyInt(), anyInt(), anyInt(), anyInt(), any(), any(), any());
+  }
+
+  @Test
+  public void pendingRequestsShareOneFrame() {
+    setupCapture();
+
+    testSubject.getScreenshotWithMediaProjection(bitmapConsumerMock);
+    testSubject.getScreenshotWithMediaProjection(secondBitmapConsumerMock);
+    bitmapConsumerCallback.getValue().accept(bitmapMock);
+
+    verify(mediaProjectionMock, times(1))
+        .createVirtualDisplay(any(), anyInt(), anyInt(), anyInt(), anyInt(), any(), any(), any());
+    verify(imageReaderMock, never()).close();
+    verify(bitmapConsumerMock, times(1)).accept(bitmapMock);
+    verify(secondBitmapConsumerMock, times(1)).accept(bitmapMock);
+  }
+
+  @Test
+  public void deliveredFrameCancelsTimeouts() {
+    setupCapture();
+
+    testSubject.getScreenshotWithMediaProjection(bitmapConsumerMock);
+    verify(handlerMock).postDelayed(timeoutCallback.capture(), eq(timeoutMillis));
+    bitmapConsumerCallback.getValue().accept(bitmapMock);
+
+    verify(handlerMock, times(1)).removeCallbacks(timeoutCallback.getValue());
+  }
+
+  @Test
+  public void shorterRequestTimeoutIsUsed() {
+    setupCapture();
+
+    testSubject.getScreenshotWithMediaProjection(bitmapConsumerMock, 1200);
+
+    verify(handlerMock, times(1)).postDelayed(any(), eq(1200L));
+  }
+
+  @Test
+  public void longerRequestTimeoutIsCapped() {
+    setupCapture();
+
+    testSubject.getScreenshotWithMediaProjection(bitmapConsumerMock, timeoutMillis * 2);
+
+    verify(handlerMock, times(1)).postDelayed(any(), eq(timeoutMillis));
+  }
+
+  @Test
+  public void timedOutRequestCompletesWithNull() {
+    PowerMockito.mockStatic(Logger.class);
+    setupCapture();
+
+    testSubject.getScreenshotWithMediaProjection(bitmapConsumerMock);
+    testSubject.getScreenshotWithMediaProjection(secondBitmapConsumerMock);
+    verify(handlerMock, times(2)).postDelayed(timeoutCallback.capture(), eq(timeoutMillis));
+    timeoutCallback.getAllValues().get(0).run();
+    bitmapConsumerCallback.getValue().accept(bitmapMock);
+
+    verify(bitmapConsumerMock, times(1)).accept(null);
+    verify(bitmapConsumerMock, never()).accept(bitmapMock);
+    verify(secondBitmapConsumerMock, times(1)).accept(bitmapMock);
+  }
+
+  @Test
+  public void lastTimeoutAbandonsCapture() {
+    PowerMockito.mockStatic(Logger.class);
+    setupCapture();
+
+    testSubject.getScreenshotWithMediaProjection(bitmapConsumerMock);
+    verify(handlerMock).postDelayed(timeoutCallback.capture(), eq(timeoutMillis));
+    timeoutCallback.getValue().run();
+    timeoutCallback.getValue().run();
+    bitmapConsumerCallback.getValue().accept(bitmapMock);
+
+    verify(imageReaderMock, times(1)).close();
+    verify(displayMock, times(1)).release();
+    verify(bitmapConsumerMock, times(1)).accept(null);
+    verify(bitmapConsumerMock, never()).accept(bitmapMock);
+  }
+
+  private void setupCapture() {
     PowerMockito.mockStatic(ImageReader.class);
     when(mediaProjectionSupplierMock.get()).thenReturn(mediaProjectionMock);
     when(displayMetricsSupplierMock.get()).thenReturn(displayMetricsStub);
@@ -123,6 +226,9 @@ public class ScreenshotControllerTest {
             2))
         .thenReturn(imageReaderMock);
     when(imageReaderMock.getSurface()).thenReturn(surfaceMock);
+    when(onScreenshotAvailableProviderMock.getOnScreenshotAvailable(
+            bitmapConsumerCallback.capture(), eq(displayMetricsStub), eq(bitmapProviderMock)))
+        .thenReturn(onScreenshotAvailableMock);
     when(mediaProjectionMock.createVirtualDisplay(
             "myDisplay",
             displayMetricsStub.widthPixels,
@@ -133,11 +239,5 @@ public class ScreenshotControllerTest {
             null,
             null))
         .thenReturn(displayMock);
-
-    testSubject.getScreenshotWithMediaProjection(bitmapConsumerMock);
-    testSubject.getScreenshotWithMediaProjection(bitmapConsumerMock);
-
-    verify(displayMock, times(1)).release();
-    verify(imageReaderMock, times(1)).close();
   }
 }
@@ -4,6 +4,7 @@
 package com.microsoft.accessibilityinsightsforandroidservice;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -11,10 +12,12 @@ import static org.mockito.internal.verification.VerificationModeFactory.times;
 
 import java.io.IOException;
 import java.net.ServerSocket;
+import java.util.function.Supplier;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.stubbing.OngoingStubbing;
 import org.powermock.api.mockito.PowerMockito;
@@ -106,8 +109,7 @@ public class ServerThreadTest {
 
     runServerThread(1);
 
-    PowerMockito.verifyStatic(Logger.class);
-    Logger.logError("ServerThread", errorStackTrace);
+    verifyErrorLogged();
   }
 
   @Test
@@ -116,8 +118,7 @@ public class ServerThreadTest {
 
     runServerThread(1);
 
-    PowerMockito.verifyStatic(Logger.class);
-    Logger.logError("ServerThread", errorStackTrace);
+    verifyErrorLogged();
   }
 
   public void setupResponseThreadStubs(int numThreads) {
@@ -147,4 +148,11 @@ public class ServerThreadTest {
       Assert.fail(e.getMessage());
     }
   }
+
+  private void verifyErrorLogged() {
+    ArgumentCaptor<Supplier<String>> message = ArgumentCaptor.forClass(Supplier.class);
+    PowerMockito.verifyStatic(Logger.class);
+    Logger.logError(eq("ServerThread"), message.capture());
+    Assert.assertEquals(errorStackTrace, message.getValue().get());
+  }
 }
@@ -0,0 +1,92 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.Mockito.when;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ServiceMetricsTest {
+
+  @Mock AccessibilityEventPipelineStats eventPipelineStats;
+  @Mock RedrawCoalescer redrawCoalescer;
+  @Mock FrameDrawStats frameDrawStats;
+
+  long nanoTime;
+  ScanMetrics scanMetrics;
+  ServiceMetrics testSubject;
+
+  @Before
+  public void prepare() {
+    when(eventPipelineStats.getEventsReceived()).thenReturn(12L);
+    when(eventPipelineStats.getEventsSkipped()).thenReturn(5L);
+    when(eventPipelineStats.getRootFetches()).thenReturn(4L);
+    when(redrawCoalescer.getRedrawsReceived()).thenReturn(9L);
+    when(redrawCoalescer.getRedrawsDelivered()).thenReturn(3L);
+    when(frameDrawStats.getFramesDrawn()).thenReturn(3L);
+    when(frameDrawStats.getMaxDrawNanos()).thenReturn(2_000_000L);
+
+    scanMetrics = new ScanMetrics(new SpanRecorder(16, () -> nanoTime, 0, null), 16);
+    testSubject =
+        new ServiceMetrics(scanMetrics, eventPipelineStats, redrawCoalescer, frameDrawStats);
+  }
+
+  @Test
+  public void exposesScanStageSummary() {
+    ScanTimings timings = scanMetrics.startScan();
+    nanoTime += 1_500_000_000L;
+    timings.finish();
+    scanMetrics.record(timings);
+
+    String exposition = testSubject.toExposition();
+
+    Assert.assertTrue(
+        exposition.contains("# TYPE accessibility_insights_scan_stage_seconds summary\n"));
+    Assert.assertTrue(
+        exposition.contains(
+            "accessibility_insights_scan_stage_seconds{stage=\"total\",quantile=\"0.5\"}"
+                + " 1.500000\n"));
+    Assert.assertTrue(
+        exposition.contains(
+            "accessibility_insights_scan_stage_seconds_sum{stage=\"total\"} 1.500000\n"));
+    Assert.assertTrue(
+        exposition.contains(
+            "accessibility_insights_scan_stage_seconds_count{stage=\"total\"} 1\n"));
+  }
+
+  @Test
+  public void exposesCounters() {
+    String exposition = testSubject.toExposition();
+
+    Assert.assertTrue(
+        exposition.contains("# TYPE accessibility_insights_events_received_total counter\n"));
+    Assert.assertTrue(exposition.contains("accessibility_insights_events_received_total 12\n"));
+    Assert.assertTrue(exposition.contains("accessibility_insights_events_skipped_total 5\n"));
+    Assert.assertTrue(exposition.contains("accessibility_insights_root_fetches_total 4\n"));
+    Assert.assertTrue(exposition.contains("accessibility_insights_redraws_requested_total 9\n"));
+    Assert.assertTrue(exposition.contains("accessibility_insights_redraws_delivered_total 3\n"));
+    Assert.assertTrue(exposition.contains("accessibility_insights_overlay_frames_drawn_total 3\n"));
+    Assert.assertTrue(
+        exposition.contains("accessibility_insights_overlay_frame_draw_seconds_max 0.002000\n"));
+  }
+
+  @Test
+  public void everySampleHasHelpAndType() {
+    String exposition = testSubject.toExposition();
+
+    for (String line : exposition.split("\n")) {
+      if (!line.startsWith("#")) {
+        String name = line.split("[ {]")[0].replaceAll("_(sum|count)$", "");
+        Assert.assertTrue(line, exposition.contains("# HELP " + name + " "));
+        Assert.assertTrue(line, exposition.contains("# TYPE " + name + " "));
+      }
+    }
+  }
+}
@@ -3,6 +3,7 @@
 
 package com.microsoft.accessibilityinsightsforandroidservice;
 
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
@@ -11,10 +12,12 @@ import static org.powermock.api.mockito.PowerMockito.doThrow;
 
 import java.io.IOException;
 import java.net.Socket;
+import java.util.function.Supplier;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.verification.VerificationMode;
 import org.powermock.api.mockito.PowerMockito;
@@ -64,8 +67,10 @@ public class SocketHolderTest {
 
     testSubject.close(logTag);
 
+    ArgumentCaptor<Supplier<String>> message = ArgumentCaptor.forClass(Supplier.class);
     PowerMockito.verifyStatic(Logger.class);
-    Logger.logVerbose(logTag, testException.toString());
+    Logger.logVerbose(eq(logTag), message.capture());
+    Assert.assertEquals(testException.toString(), message.getValue().get());
   }
 
   private void verifySocketClosed(VerificationMode times) {
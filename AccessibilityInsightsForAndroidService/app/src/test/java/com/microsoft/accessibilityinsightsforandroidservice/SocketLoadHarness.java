@@ -0,0 +1,208 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.powermock.reflect.Whitebox;
+
+// Runs the real ServerThread and ResponseThread on an ephemeral loopback port, with stub
+// fulfillers in place of the device-bound ones, and drives it from many client threads.
+//
+// Usage: gradlew app:loadTest [-PloadTestArgs="--clients=32 --requests=50
+//     --route=/AccessibilityInsights/result,1,250,1048576 --route=..."]
+public class SocketLoadHarness {
+  public static final List<LoadTestRoute> DEFAULT_ROUTES =
+      Arrays.asList(
+          new LoadTestRoute("/AccessibilityInsights/result", 1, 250, 1024 * 1024),
+          new LoadTestRoute("/AccessibilityInsights/config", 4, 5, 512),
+          new LoadTestRoute("/AccessibilityInsights/FocusTracking/Enable", 2, 1, 64));
+
+  private static final int SERVER_START_TIMEOUT_SECONDS = 10;
+
+  private final List<LoadTestRoute> routes;
+  private final int clientCount;
+  private final int requestsPerClient;
+  private final int socketTimeoutMillis;
+  private final long seed;
+  private final int totalWeight;
+
+  public SocketLoadHarness(
+      List<LoadTestRoute> routes,
+      int clientCount,
+      int requestsPerClient,
+      int socketTimeoutMillis,
+      long seed) {
+    this.routes = routes;
+    this.clientCount = clientCount;
+    this.requestsPerClient = requestsPerClient;
+    this.socketTimeoutMillis = socketTimeoutMillis;
+    this.seed = seed;
+    int weight = 0;
+    for (LoadTestRoute route : routes) {
+      weight += route.weight;
+    }
+    this.totalWeight = weight;
+  }
+
+  public static void main(String[] args) throws Exception {
+    List<LoadTestRoute> routes = new ArrayList<>();
+    int clients = 16;
+    int requests = 20;
+    int timeoutMillis = 30000;
+    for (String arg : args) {
+      if (arg.startsWith("--clients=")) {
+        clients = Integer.parseInt(arg.substring("--clients=".length()));
+      } else if (arg.startsWith("--requests=")) {
+        requests = Integer.parseInt(arg.substring("--requests=".length()));
+      } else if (arg.startsWith("--timeout=")) {
+        timeoutMillis = Integer.parseInt(arg.substring("--timeout=".length()));
+      } else if (arg.startsWith("--route=")) {
+        routes.add(LoadTestRoute.parse(arg.substring("--route=".length())));
+      } else if (!arg.isEmpty()) {
+        throw new IllegalArgumentException("Unknown argument: " + arg);
+      }
+    }
+    if (routes.isEmpty()) {
+      routes = DEFAULT_ROUTES;
+    }
+
+    System.out.println(clients + " clients x " + requests + " requests over " + routes);
+    System.out.print(new SocketLoadHarness(routes, clients, requests, timeoutMillis, 0).run());
+  }
+
+  public SocketLoadReport run() throws InterruptedException, ExecutionException, TimeoutException {
+    // android.util.Log isn't available on the JVM
+    boolean wasLogging = Whitebox.getInternalState(Logger.class, "LOG");
+    Whitebox.setInternalState(Logger.class, "LOG", false);
+
+    CompletableFuture<ServerSocket> boundSocket = new CompletableFuture<>();
+    ServerSocketFactory ephemeralSocketFactory =
+        new ServerSocketFactory() {
+          @Override
+          public ServerSocket createServerSocket(int serverPort) throws IOException {
+            ServerSocket socket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress());
+            boundSocket.complete(socket);
+            return socket;
+          }
+        };
+    ServerThread serverThread =
+        new ServerThread(
+            ephemeralSocketFactory,
+            new ResponseThreadFactory(
+                new ResponseWriterFactory(),
+                new RequestReaderFactory(),
+                new StubRequestHandlerFactory(routes)));
+    SocketLoadReport report = new SocketLoadReport(routes, clientCount * requestsPerClient);
+    ExecutorService clients = Executors.newFixedThreadPool(clientCount);
+
+    try {
+      serverThread.start();
+      int port = boundSocket.get(SERVER_START_TIMEOUT_SECONDS, TimeUnit.SECONDS).getLocalPort();
+
+      CountDownLatch startGate = new CountDownLatch(1);
+      List<CompletableFuture<Void>> clientRuns = new ArrayList<>();
+      for (int client = 0; client < clientCount; client++) {
+        Random random = new Random(seed + client);
+        clientRuns.add(
+            CompletableFuture.runAsync(() -> runClient(port, random, startGate, report), clients));
+      }
+
+      long start = System.nanoTime();
+      startGate.countDown();
+      CompletableFuture.allOf(clientRuns.toArray(new CompletableFuture[0])).get();
+      report.setElapsedNanos(System.nanoTime() - start);
+    } finally {
+      clients.shutdownNow();
+      serverThread.exit();
+      serverThread.join();
+      Whitebox.setInternalState(Logger.class, "LOG", wasLogging);
+    }
+
+    return report;
+  }
+
+  private void runClient(
+      int port, Random random, CountDownLatch startGate, SocketLoadReport report) {
+    try {
+      startGate.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+
+    for (int request = 0; request < requestsPerClient; request++) {
+      sendRequest(port, pickRoute(random), report);
+    }
+  }
+
+  private LoadTestRoute pickRoute(Random random) {
+    int pick = random.nextInt(totalWeight);
+    for (LoadTestRoute route : routes) {
+      pick -= route.weight;
+      if (pick < 0) {
+        return route;
+      }
+    }
+    return routes.get(routes.size() - 1);
+  }
+
+  private void sendRequest(int port, LoadTestRoute route, SocketLoadReport report) {
+    long start = System.nanoTime();
+    try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+      socket.setSoTimeout(socketTimeoutMillis);
+      OutputStream output = socket.getOutputStream();
+      output.write(
+          ("GET " + route.path + " HTTP/1.1\r\nHost: localhost\r\n\r\n")
+              .getBytes(StandardCharsets.US_ASCII));
+      output.flush();
+
+      InputStream input = socket.getInputStream();
+      byte[] buffer = new byte[8192];
+      StringBuilder statusLine = new StringBuilder();
+      long bytes = 0;
+      int read;
+      while ((read = input.read(buffer)) != -1) {
+        for (int i = 0; i < read && statusLine.length() < 64 && bytes + i < 64; i++) {
+          statusLine.append((char) buffer[i]);
+        }
+        bytes += read;
+      }
+
+      long nanos = System.nanoTime() - start;
+      if (statusLine.toString().startsWith("HTTP/1.0 200 ")) {
+        report.recordSuccess(route, nanos, bytes);
+      } else {
+        report.recordError(route, nanos);
+      }
+    } catch (SocketException e) {
+      long nanos = System.nanoTime() - start;
+      String message = e.getMessage();
+      if (message != null && message.toLowerCase().contains("reset")) {
+        report.recordConnectionReset(route, nanos);
+      } else {
+        report.recordError(route, nanos);
+      }
+    } catch (IOException e) {
+      report.recordError(route, System.nanoTime() - start);
+    }
+  }
+}
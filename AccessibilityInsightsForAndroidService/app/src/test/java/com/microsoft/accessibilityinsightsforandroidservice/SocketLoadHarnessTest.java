@@ -0,0 +1,55 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SocketLoadHarnessTest {
+
+  static final String RESULT_PATH = "/AccessibilityInsights/result";
+  static final String CONFIG_PATH = "/AccessibilityInsights/config";
+
+  @Test
+  public void servesEveryRequestFromConcurrentClients() throws Exception {
+    List<LoadTestRoute> routes =
+        Arrays.asList(
+            new LoadTestRoute(RESULT_PATH, 1, 2, 64 * 1024),
+            new LoadTestRoute(CONFIG_PATH, 3, 0, 256));
+
+    SocketLoadReport report = new SocketLoadHarness(routes, 4, 10, 10000, 0).run();
+
+    Assert.assertEquals(40, report.getTotalRequests());
+    Assert.assertEquals(40, report.getSuccesses());
+    Assert.assertEquals(0, report.getErrors());
+    Assert.assertEquals(0, report.getConnectionResets());
+    Assert.assertEquals(
+        40, report.getLatencies(RESULT_PATH).count + report.getLatencies(CONFIG_PATH).count);
+    Assert.assertTrue(report.getBytesReceived() > 64 * 1024);
+    Assert.assertTrue(report.getRequestsPerSecond() > 0);
+  }
+
+  @Test
+  public void latenciesIncludeFulfillerLatency() throws Exception {
+    List<LoadTestRoute> routes = Arrays.asList(new LoadTestRoute(CONFIG_PATH, 1, 20, 0));
+
+    SocketLoadReport report = new SocketLoadHarness(routes, 1, 3, 10000, 0).run();
+
+    Assert.assertEquals(3, report.getSuccesses());
+    Assert.assertTrue(report.getLatencies().p50Nanos >= 20_000_000);
+    Assert.assertTrue(report.getMaxNanos() >= report.getLatencies().p99Nanos);
+  }
+
+  @Test
+  public void parsesRouteSpec() {
+    LoadTestRoute route = LoadTestRoute.parse("/AccessibilityInsights/config,4,5,512");
+
+    Assert.assertEquals("/AccessibilityInsights/config", route.path);
+    Assert.assertEquals(4, route.weight);
+    Assert.assertEquals(5, route.latencyMillis);
+    Assert.assertEquals(512, route.payloadBytes);
+  }
+}
@@ -0,0 +1,126 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Outcome counters and latency percentiles for one SocketLoadHarness run. Safe to update from
+// many client threads.
+public class SocketLoadReport {
+  private final int totalRequests;
+  private final LatencySummary allLatencies;
+  private final Map<String, LatencySummary> routeLatencies = new LinkedHashMap<>();
+  private final AtomicLong successes = new AtomicLong();
+  private final AtomicLong errors = new AtomicLong();
+  private final AtomicLong connectionResets = new AtomicLong();
+  private final AtomicLong bytesReceived = new AtomicLong();
+  private final AtomicLong maxNanos = new AtomicLong();
+  private long elapsedNanos;
+
+  public SocketLoadReport(Iterable<LoadTestRoute> routes, int totalRequests) {
+    this.totalRequests = totalRequests;
+    // Windows as large as the run, so the percentiles cover every request
+    allLatencies = new LatencySummary(Math.max(1, totalRequests));
+    for (LoadTestRoute route : routes) {
+      routeLatencies.put(route.path, new LatencySummary(Math.max(1, totalRequests)));
+    }
+  }
+
+  public void recordSuccess(LoadTestRoute route, long nanos, long bytes) {
+    successes.incrementAndGet();
+    bytesReceived.addAndGet(bytes);
+    recordLatency(route, nanos);
+  }
+
+  public void recordError(LoadTestRoute route, long nanos) {
+    errors.incrementAndGet();
+    recordLatency(route, nanos);
+  }
+
+  public void recordConnectionReset(LoadTestRoute route, long nanos) {
+    connectionResets.incrementAndGet();
+    recordLatency(route, nanos);
+  }
+
+  void setElapsedNanos(long elapsedNanos) {
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  public int getTotalRequests() {
+    return totalRequests;
+  }
+
+  public long getSuccesses() {
+    return successes.get();
+  }
+
+  public long getErrors() {
+    return errors.get();
+  }
+
+  public long getConnectionResets() {
+    return connectionResets.get();
+  }
+
+  public long getBytesReceived() {
+    return bytesReceived.get();
+  }
+
+  public long getMaxNanos() {
+    return maxNanos.get();
+  }
+
+  public LatencySummary.Snapshot getLatencies() {
+    return allLatencies.getSnapshot();
+  }
+
+  public LatencySummary.Snapshot getLatencies(String path) {
+    return routeLatencies.get(path).getSnapshot();
+  }
+
+  public double getRequestsPerSecond() {
+    return elapsedNanos == 0 ? 0 : totalRequests * 1e9 / elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder report = new StringBuilder();
+    report.append(
+        String.format(
+            "%d requests in %.2f s: %.1f req/s, %d ok, %d errors, %d connection resets, %d bytes%n",
+            totalRequests,
+            elapsedNanos / 1e9,
+            getRequestsPerSecond(),
+            successes.get(),
+            errors.get(),
+            connectionResets.get(),
+            bytesReceived.get()));
+    appendLatencies(report, "all", allLatencies.getSnapshot());
+    report.append(String.format("  max %.1f ms%n", maxNanos.get() / 1e6));
+    for (Map.Entry<String, LatencySummary> route : routeLatencies.entrySet()) {
+      appendLatencies(report, route.getKey(), route.getValue().getSnapshot());
+    }
+    return report.toString();
+  }
+
+  private void recordLatency(LoadTestRoute route, long nanos) {
+    allLatencies.record(nanos);
+    routeLatencies.get(route.path).record(nanos);
+    maxNanos.accumulateAndGet(nanos, Math::max);
+  }
+
+  private static void appendLatencies(
+      StringBuilder report, String name, LatencySummary.Snapshot snapshot) {
+    report.append(
+        String.format(
+            "  %s: %d requests, p50 %.1f ms, p95 %.1f ms, p99 %.1f ms%n",
+            name,
+            snapshot.count,
+            snapshot.p50Nanos / 1e6,
+            snapshot.p95Nanos / 1e6,
+            snapshot.p99Nanos / 1e6));
+  }
+}
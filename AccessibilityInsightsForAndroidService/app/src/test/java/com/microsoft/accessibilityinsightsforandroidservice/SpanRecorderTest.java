@@ -0,0 +1,158 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+public class SpanRecorderTest {
+
+  long nanoTime;
+  SpanRecorder testSubject;
+
+  @Before
+  public void prepare() {
+    testSubject = new SpanRecorder(3, () -> nanoTime, 42, null);
+  }
+
+  @Test
+  public void beginAndEndRecordCompleteSpan() {
+    nanoTime = 5_000;
+    long start = testSubject.begin("span");
+    nanoTime = 7_500;
+
+    Assert.assertEquals(7_500, testSubject.end("category", "span", start));
+
+    ChromeTraceEvent span = testSubject.getChromeTrace().traceEvents.get(0);
+    Assert.assertEquals("span", span.name);
+    Assert.assertEquals("category", span.cat);
+    Assert.assertEquals(ChromeTraceEvent.PHASE_COMPLETE, span.ph);
+    Assert.assertEquals(5.0, span.ts, 0);
+    Assert.assertEquals(2.5, span.dur, 0);
+    Assert.assertEquals(42, span.pid);
+    Assert.assertEquals(Thread.currentThread().getId(), span.tid);
+  }
+
+  @Test
+  public void namesRecordingThreads() {
+    testSubject.record("category", "span", 0, 1);
+
+    List<ChromeTraceEvent> events = testSubject.getChromeTrace().traceEvents;
+
+    Assert.assertEquals(2, events.size());
+    ChromeTraceEvent threadName = events.get(1);
+    Assert.assertEquals(ChromeTraceEvent.PHASE_METADATA, threadName.ph);
+    Assert.assertEquals("thread_name", threadName.name);
+    Assert.assertEquals(Thread.currentThread().getId(), threadName.tid);
+    Assert.assertEquals(Thread.currentThread().getName(), threadName.args.get("name"));
+  }
+
+  @Test
+  public void keepsMostRecentSpansOldestFirst() {
+    for (int span = 0; span < 5; span++) {
+      testSubject.record("category", "span" + span, span, span + 1);
+    }
+
+    ChromeTrace trace = testSubject.getChromeTrace();
+
+    Assert.assertEquals("span2", trace.traceEvents.get(0).name);
+    Assert.assertEquals("span3", trace.traceEvents.get(1).name);
+    Assert.assertEquals("span4", trace.traceEvents.get(2).name);
+    Assert.assertEquals("2", trace.otherData.get("droppedSpans"));
+  }
+
+  @Test
+  public void zeroCapacityRecordsNothing() {
+    testSubject = new SpanRecorder(0, () -> nanoTime, 42, null);
+
+    testSubject.record("category", "span", 0, 1);
+
+    Assert.assertTrue(testSubject.getChromeTrace().traceEvents.isEmpty());
+  }
+
+  @Test
+  public void mirrorsToSystemTraceSections() {
+    SystemTraceSections systemTraceSections = mock(SystemTraceSections.class);
+    testSubject = new SpanRecorder(3, () -> nanoTime, 42, systemTraceSections);
+
+    long start = testSubject.begin("span");
+    testSubject.end("category", "span", start);
+
+    InOrder inOrder = inOrder(systemTraceSections);
+    inOrder.verify(systemTraceSections).begin("span");
+    inOrder.verify(systemTraceSections).end();
+  }
+
+  @Test
+  public void serializesAsChromeTraceJson() {
+    nanoTime = 1_000;
+    testSubject.record("category", "span", 1_000, 3_000);
+
+    JsonObject trace =
+        JsonParser.parseString(testSubject.getChromeTrace().toJson()).getAsJsonObject();
+
+    JsonObject span = trace.getAsJsonArray("traceEvents").get(0).getAsJsonObject();
+    Assert.assertEquals("span", span.get("name").getAsString());
+    Assert.assertEquals("category", span.get("cat").getAsString());
+    Assert.assertEquals("X", span.get("ph").getAsString());
+    Assert.assertEquals(1.0, span.get("ts").getAsDouble(), 0);
+    Assert.assertEquals(2.0, span.get("dur").getAsDouble(), 0);
+    Assert.assertEquals(42, span.get("pid").getAsInt());
+    Assert.assertFalse(span.has("args"));
+    Assert.assertEquals("ms", trace.get("displayTimeUnit").getAsString());
+  }
+
+  @Test
+  public void tracesTakenWhileRecordingOnlyHoldWholeSpans() throws InterruptedException {
+    testSubject = new SpanRecorder(16, () -> nanoTime, 42, null);
+    String[] spanNames = new String[1000];
+    for (int span = 0; span < spanNames.length; span++) {
+      spanNames[span] = Integer.toString(span);
+    }
+    List<Thread> recorders = new ArrayList<>();
+    for (int recorder = 0; recorder < 4; recorder++) {
+      Thread thread =
+          new Thread(
+              () -> {
+                for (int round = 0; round < 100; round++) {
+                  for (int span = 0; span < spanNames.length; span++) {
+                    testSubject.record("category", spanNames[span], span * 1000, span * 3000);
+                  }
+                }
+              });
+      recorders.add(thread);
+      thread.start();
+    }
+
+    while (recorders.stream().anyMatch(Thread::isAlive)) {
+      for (ChromeTraceEvent event : testSubject.getChromeTrace().traceEvents) {
+        if (event.ph.equals(ChromeTraceEvent.PHASE_COMPLETE)) {
+          Assert.assertEquals(Integer.parseInt(event.name), event.ts, 0);
+          Assert.assertEquals(2 * event.ts, event.dur, 0);
+        }
+      }
+    }
+    for (Thread recorder : recorders) {
+      recorder.join();
+    }
+
+    ChromeTrace trace = testSubject.getChromeTrace();
+    Assert.assertEquals(
+        16,
+        trace.traceEvents.stream()
+            .filter(event -> event.ph.equals(ChromeTraceEvent.PHASE_COMPLETE))
+            .count());
+    Assert.assertEquals(
+        Integer.toString(4 * 100 * spanNames.length - 16), trace.otherData.get("droppedSpans"));
+  }
+}
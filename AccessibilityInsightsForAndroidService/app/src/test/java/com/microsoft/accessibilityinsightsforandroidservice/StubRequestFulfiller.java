@@ -0,0 +1,36 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+public class StubRequestFulfiller implements RequestFulfiller {
+  private final ResponseWriter responseWriter;
+  private final long latencyMillis;
+  private final String payload;
+
+  public StubRequestFulfiller(ResponseWriter responseWriter, long latencyMillis, String payload) {
+    this.responseWriter = responseWriter;
+    this.latencyMillis = latencyMillis;
+    this.payload = payload;
+  }
+
+  @Override
+  public void fulfillRequest(Deadline deadline, RunnableFunction onRequestFulfilled) {
+    try {
+      if (latencyMillis > 0) {
+        Thread.sleep(latencyMillis);
+      }
+      responseWriter.writeSuccessfulResponse(payload);
+    } catch (InterruptedException e) {
+      responseWriter.writeErrorResponse(e);
+    } finally {
+      onRequestFulfilled.run();
+    }
+  }
+
+  // Matches every real fulfiller, so the server handles one request at a time as on-device
+  @Override
+  public boolean isBlockingRequest() {
+    return true;
+  }
+}
@@ -0,0 +1,61 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.net.Socket;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Routes requests to StubRequestFulfillers by path instead of the real, device-bound fulfillers
+public class StubRequestHandlerFactory extends RequestHandlerFactory {
+  private final RequestHandlerImplFactory requestHandlerImplFactory =
+      new RequestHandlerImplFactory();
+  private final Map<String, LoadTestRoute> routes = new HashMap<>();
+  private final Map<String, String> payloads = new HashMap<>();
+  private final DeadlineFactory deadlineFactory =
+      new DeadlineFactory(System::nanoTime, BuildConfig.REQUEST_TIMEOUT_MILLIS);
+
+  public StubRequestHandlerFactory(List<LoadTestRoute> routes) {
+    super(
+        null, null, null, null, null, null, null, null, null, null, null, null, null, null, null,
+        null, null);
+    for (LoadTestRoute route : routes) {
+      this.routes.put(route.path, route);
+      payloads.put(route.path, createPayload(route.payloadBytes));
+    }
+  }
+
+  @Override
+  public RequestHandler createHandlerForRequest(
+      Socket socket, String requestString, ResponseWriter responseWriter) {
+    SocketHolder socketHolder = new SocketHolder(socket);
+    RequestLine requestLine = new RequestLine(requestString);
+    Deadline deadline = deadlineFactory.createDeadline(requestLine);
+    LoadTestRoute route = routes.get(requestLine.getPath());
+    if (route == null) {
+      return requestHandlerImplFactory.createRequestHandler(
+          socketHolder,
+          new UnrecognizedRequestFulfiller(responseWriter, requestString),
+          deadline,
+          "processUnrecognizedRequest",
+          "*** About to return 404");
+    }
+
+    return requestHandlerImplFactory.createRequestHandler(
+        socketHolder,
+        new StubRequestFulfiller(responseWriter, route.latencyMillis, payloads.get(route.path)),
+        deadline,
+        "processStubRequest",
+        "*** About to process stub request");
+  }
+
+  private static String createPayload(int payloadBytes) {
+    StringBuilder payload = new StringBuilder(payloadBytes);
+    while (payload.length() < payloadBytes) {
+      payload.append('x');
+    }
+    return payload.toString();
+  }
+}
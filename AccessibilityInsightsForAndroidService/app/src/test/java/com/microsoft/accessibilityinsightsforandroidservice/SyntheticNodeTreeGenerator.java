@@ -0,0 +1,230 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import java.util.Random;
+
+// Builds repeatable InMemoryAccessibilityNode trees shaped like real app screens, so scan
+// performance can be measured on a plain JVM. The same seed always yields the same tree.
+public class SyntheticNodeTreeGenerator {
+  public static final String PACKAGE_NAME = "com.microsoft.synthetic";
+  public static final int SCREEN_WIDTH = 1080;
+  public static final int SCREEN_HEIGHT = 1920;
+
+  private static final int TOOLBAR_HEIGHT = 168;
+  private static final int FORM_FIELD_HEIGHT = 200;
+  private static final String[] WORDS = {
+    "account",
+    "settings",
+    "message",
+    "photo",
+    "share",
+    "delete",
+    "archive",
+    "search",
+    "profile",
+    "notifications",
+    "inbox",
+    "draft",
+    "contact",
+    "calendar",
+    "reminder",
+    "favorite",
+    "download"
+  };
+
+  private final Random random;
+  private int nextViewId;
+
+  public SyntheticNodeTreeGenerator(long seed) {
+    random = new Random(seed);
+  }
+
+  // A toolbar followed by a random mix of list, grid and form sections stacked vertically.
+  public InMemoryAccessibilityNode generateScreen(int sectionCount) {
+    InMemoryAccessibilityNode root = createRoot();
+    int top = TOOLBAR_HEIGHT;
+    int sectionHeight = Math.max(1, (SCREEN_HEIGHT - top) / Math.max(1, sectionCount));
+    addToolbar(root);
+
+    for (int section = 0; section < sectionCount; section++) {
+      int bottom = top + sectionHeight;
+      switch (random.nextInt(3)) {
+        case 0:
+          addList(root, 5 + random.nextInt(20), 2 + random.nextInt(6), top, bottom);
+          break;
+        case 1:
+          addGrid(root, 3 + random.nextInt(6), 2 + random.nextInt(10), top, bottom);
+          break;
+        default:
+          addForm(root, 2 + random.nextInt(8), top, bottom);
+          break;
+      }
+      top = bottom;
+    }
+
+    return root;
+  }
+
+  // A RecyclerView whose rows each nest rowDepth layouts around an icon and a label.
+  public InMemoryAccessibilityNode generateDeepList(int rowCount, int rowDepth) {
+    InMemoryAccessibilityNode root = createRoot();
+    addList(root, rowCount, rowDepth, 0, SCREEN_HEIGHT);
+    return root;
+  }
+
+  // A GridView with columnCount * rowCount image buttons.
+  public InMemoryAccessibilityNode generateWideGrid(int columnCount, int rowCount) {
+    InMemoryAccessibilityNode root = createRoot();
+    addGrid(root, columnCount, rowCount, 0, SCREEN_HEIGHT);
+    return root;
+  }
+
+  // A form of label/field pairs, each field labeledBy the TextView preceding it.
+  public InMemoryAccessibilityNode generateForm(int fieldCount) {
+    InMemoryAccessibilityNode root = createRoot();
+    addForm(root, fieldCount, 0, Math.max(SCREEN_HEIGHT, fieldCount * FORM_FIELD_HEIGHT));
+    return root;
+  }
+
+  public static int countNodes(InMemoryAccessibilityNode root) {
+    int count = 1;
+    for (InMemoryAccessibilityNode child : root.getChildren()) {
+      count += countNodes(child);
+    }
+    return count;
+  }
+
+  private InMemoryAccessibilityNode createRoot() {
+    InMemoryAccessibilityNode root = createNode("android.widget.FrameLayout");
+    root.setBoundsInScreen(0, 0, SCREEN_WIDTH, SCREEN_HEIGHT);
+    return root;
+  }
+
+  private void addToolbar(InMemoryAccessibilityNode parent) {
+    InMemoryAccessibilityNode toolbar = createChild(parent, "android.view.ViewGroup");
+    toolbar.setBoundsInScreen(0, 0, SCREEN_WIDTH, TOOLBAR_HEIGHT);
+
+    InMemoryAccessibilityNode navigate = createChild(toolbar, "android.widget.ImageButton");
+    navigate.setBoundsInScreen(0, 0, TOOLBAR_HEIGHT, TOOLBAR_HEIGHT);
+    navigate.setContentDescription("Navigate up");
+    navigate.setClickable(true);
+    navigate.setFocusable(true);
+
+    InMemoryAccessibilityNode title = createChild(toolbar, "android.widget.TextView");
+    title.setBoundsInScreen(TOOLBAR_HEIGHT, 0, SCREEN_WIDTH, TOOLBAR_HEIGHT);
+    title.setText(randomPhrase(2));
+  }
+
+  private void addList(
+      InMemoryAccessibilityNode parent, int rowCount, int rowDepth, int top, int bottom) {
+    InMemoryAccessibilityNode list =
+        createChild(parent, "androidx.recyclerview.widget.RecyclerView");
+    list.setBoundsInScreen(0, top, SCREEN_WIDTH, bottom);
+    list.setFocusable(true);
+
+    int rowHeight = Math.max(1, (bottom - top) / Math.max(1, rowCount));
+    for (int row = 0; row < rowCount; row++) {
+      int rowTop = top + row * rowHeight;
+      int rowBottom = rowTop + rowHeight;
+
+      InMemoryAccessibilityNode container = createChild(list, "android.widget.LinearLayout");
+      container.setBoundsInScreen(0, rowTop, SCREEN_WIDTH, rowBottom);
+      container.setClickable(true);
+      container.setFocusable(true);
+      for (int depth = 1; depth < rowDepth; depth++) {
+        container =
+            createChild(
+                container,
+                random.nextBoolean()
+                    ? "android.widget.FrameLayout"
+                    : "android.widget.LinearLayout");
+        container.setBoundsInScreen(0, rowTop, SCREEN_WIDTH, rowBottom);
+      }
+
+      InMemoryAccessibilityNode icon = createChild(container, "android.widget.ImageView");
+      icon.setBoundsInScreen(0, rowTop, rowHeight, rowBottom);
+      // Leave some icons unlabeled so scans produce a realistic number of results.
+      if (random.nextInt(4) != 0) {
+        icon.setContentDescription(randomPhrase(1));
+      }
+
+      InMemoryAccessibilityNode label = createChild(container, "android.widget.TextView");
+      label.setBoundsInScreen(rowHeight, rowTop, SCREEN_WIDTH, rowBottom);
+      label.setText(randomPhrase(1 + random.nextInt(4)));
+    }
+  }
+
+  private void addGrid(
+      InMemoryAccessibilityNode parent, int columnCount, int rowCount, int top, int bottom) {
+    InMemoryAccessibilityNode grid = createChild(parent, "android.widget.GridView");
+    grid.setBoundsInScreen(0, top, SCREEN_WIDTH, bottom);
+    grid.setFocusable(true);
+
+    int cellWidth = Math.max(1, SCREEN_WIDTH / Math.max(1, columnCount));
+    int cellHeight = Math.max(1, (bottom - top) / Math.max(1, rowCount));
+    for (int row = 0; row < rowCount; row++) {
+      for (int column = 0; column < columnCount; column++) {
+        InMemoryAccessibilityNode cell = createChild(grid, "android.widget.ImageButton");
+        int cellLeft = column * cellWidth;
+        int cellTop = top + row * cellHeight;
+        cell.setBoundsInScreen(cellLeft, cellTop, cellLeft + cellWidth, cellTop + cellHeight);
+        cell.setClickable(true);
+        cell.setFocusable(true);
+        if (random.nextInt(3) != 0) {
+          cell.setContentDescription(randomPhrase(1 + random.nextInt(2)));
+        }
+      }
+    }
+  }
+
+  private void addForm(InMemoryAccessibilityNode parent, int fieldCount, int top, int bottom) {
+    InMemoryAccessibilityNode form = createChild(parent, "android.widget.LinearLayout");
+    form.setBoundsInScreen(0, top, SCREEN_WIDTH, bottom);
+
+    int pairHeight = Math.max(2, (bottom - top) / Math.max(1, fieldCount));
+    for (int field = 0; field < fieldCount; field++) {
+      int labelTop = top + field * pairHeight;
+      int fieldTop = labelTop + pairHeight / 2;
+
+      InMemoryAccessibilityNode label = createChild(form, "android.widget.TextView");
+      label.setBoundsInScreen(0, labelTop, SCREEN_WIDTH, fieldTop);
+      label.setText(randomPhrase(1 + random.nextInt(2)));
+
+      InMemoryAccessibilityNode editText = createChild(form, "android.widget.EditText");
+      editText.setBoundsInScreen(0, fieldTop, SCREEN_WIDTH, labelTop + pairHeight);
+      editText.setClickable(true);
+      editText.setFocusable(true);
+      if (random.nextBoolean()) {
+        editText.setHintText(randomPhrase(2));
+      }
+      editText.setLabeledBy(label);
+    }
+  }
+
+  private InMemoryAccessibilityNode createChild(
+      InMemoryAccessibilityNode parent, String className) {
+    InMemoryAccessibilityNode child = createNode(className);
+    parent.addChild(child);
+    return child;
+  }
+
+  private InMemoryAccessibilityNode createNode(String className) {
+    InMemoryAccessibilityNode node = new InMemoryAccessibilityNode(className);
+    node.setPackageName(PACKAGE_NAME);
+    node.setViewIdResourceName(PACKAGE_NAME + ":id/view" + nextViewId++);
+    return node;
+  }
+
+  private String randomPhrase(int wordCount) {
+    StringBuilder phrase = new StringBuilder();
+    for (int word = 0; word < wordCount; word++) {
+      if (word > 0) {
+        phrase.append(' ');
+      }
+      phrase.append(WORDS[random.nextInt(WORDS.length)]);
+    }
+    return phrase.toString();
+  }
+}
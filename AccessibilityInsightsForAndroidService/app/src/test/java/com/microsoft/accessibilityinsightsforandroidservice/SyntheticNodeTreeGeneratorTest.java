@@ -0,0 +1,102 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import com.deque.axe.android.AxeView;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SyntheticNodeTreeGeneratorTest {
+
+  @Test
+  public void sameSeedGeneratesSameTree() {
+    InMemoryAccessibilityNode first = new SyntheticNodeTreeGenerator(42).generateScreen(6);
+    InMemoryAccessibilityNode second = new SyntheticNodeTreeGenerator(42).generateScreen(6);
+
+    Assert.assertEquals(describe(first), describe(second));
+  }
+
+  @Test
+  public void differentSeedsGenerateDifferentTrees() {
+    InMemoryAccessibilityNode first = new SyntheticNodeTreeGenerator(1).generateScreen(6);
+    InMemoryAccessibilityNode second = new SyntheticNodeTreeGenerator(2).generateScreen(6);
+
+    Assert.assertNotEquals(describe(first), describe(second));
+  }
+
+  @Test
+  public void deepListHasRequestedShape() {
+    InMemoryAccessibilityNode root = new SyntheticNodeTreeGenerator(0).generateDeepList(10, 4);
+
+    // root, list, and per row: 4 nested layouts plus an icon and a label.
+    Assert.assertEquals(2 + 10 * 6, SyntheticNodeTreeGenerator.countNodes(root));
+    Assert.assertEquals(7, depth(root));
+  }
+
+  @Test
+  public void wideGridHasRequestedShape() {
+    InMemoryAccessibilityNode root = new SyntheticNodeTreeGenerator(0).generateWideGrid(8, 12);
+
+    Assert.assertEquals(96, root.getChild(0).getChildCount());
+    Assert.assertEquals(98, SyntheticNodeTreeGenerator.countNodes(root));
+  }
+
+  @Test
+  public void formFieldsAreLabeled() {
+    InMemoryAccessibilityNode form = new SyntheticNodeTreeGenerator(0).generateForm(5).getChild(0);
+
+    Assert.assertEquals(10, form.getChildCount());
+    for (int field = 0; field < 5; field++) {
+      InMemoryAccessibilityNode label = form.getChild(field * 2);
+      InMemoryAccessibilityNode editText = form.getChild(field * 2 + 1);
+      Assert.assertSame(label, editText.getLabeledBy());
+      Assert.assertSame(editText, label.getLabelFor());
+    }
+  }
+
+  @Test
+  public void generatedScreenBuildsAxeViews() throws ViewChangedException {
+    InMemoryAccessibilityNode root = new SyntheticNodeTreeGenerator(7).generateForm(3);
+    AxeViewsFactory axeViewsFactory =
+        new AxeViewsFactory(
+            new NodeViewBuilderFactory(),
+            new AccessibilityNodeInfoQueueBuilder(new AccessibilityNodeInfoSorterFactory()));
+
+    AxeView rootView = axeViewsFactory.createAxeViews(root);
+
+    AxeView formView = rootView.children.get(0);
+    Assert.assertEquals(6, formView.children.size());
+    Assert.assertSame(formView.children.get(0), formView.children.get(1).labeledBy);
+  }
+
+  private static int depth(InMemoryAccessibilityNode node) {
+    int childDepth = 0;
+    for (InMemoryAccessibilityNode child : node.getChildren()) {
+      childDepth = Math.max(childDepth, depth(child));
+    }
+    return childDepth + 1;
+  }
+
+  private static List<String> describe(InMemoryAccessibilityNode root) {
+    List<String> description = new ArrayList<>();
+    describe(root, description);
+    return description;
+  }
+
+  private static void describe(InMemoryAccessibilityNode node, List<String> description) {
+    description.add(
+        node.getClassName()
+            + "|"
+            + node.getText()
+            + "|"
+            + node.getContentDescription()
+            + "|"
+            + node.getHintText());
+    for (InMemoryAccessibilityNode child : node.getChildren()) {
+      describe(child, description);
+    }
+  }
+}
@@ -15,6 +15,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 public class TabStopsRequestFulfillerTest {
   @Mock ResponseWriter responseWriter;
   @Mock FocusVisualizationStateManager focusVisualizationStateManager;
+  @Mock Deadline deadline;
   @Mock RunnableFunction onRequestFulfilled;
 
   TabStopsRequestFulfiller testSubject;
@@ -30,7 +31,7 @@ public class TabStopsRequestFulfillerTest {
   public void fulfillRequestSetsTabStopState() {
     testSubject =
         new TabStopsRequestFulfiller(responseWriter, focusVisualizationStateManager, true);
-    testSubject.fulfillRequest(onRequestFulfilled);
+    testSubject.fulfillRequest(deadline, onRequestFulfilled);
 
     verify(focusVisualizationStateManager).setState(true);
     verify(responseWriter).writeSuccessfulResponse("");
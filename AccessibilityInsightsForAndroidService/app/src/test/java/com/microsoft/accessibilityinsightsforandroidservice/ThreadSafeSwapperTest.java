@@ -3,13 +3,17 @@
 
 package com.microsoft.accessibilityinsightsforandroidservice;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
-import org.powermock.reflect.Whitebox;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ThreadSafeSwapperTest {
@@ -33,7 +37,7 @@ public class ThreadSafeSwapperTest {
 
   @Test
   public void swapReturnsSwappedOutObject() {
-    Whitebox.setInternalState(testSubject, "currentObject", mockOldObject);
+    testSubject.swap(mockOldObject);
 
     GenericTestObject actualReturnedObject = testSubject.swap(mockNewObject);
 
@@ -42,7 +46,7 @@ public class ThreadSafeSwapperTest {
 
   @Test
   public void swapReplacesCurrentObjectWithMethodParameter() {
-    Whitebox.setInternalState(testSubject, "currentObject", mockOldObject);
+    testSubject.swap(mockOldObject);
 
     GenericTestObject actualOldObject = testSubject.swap(mockIntermediateObject);
     GenericTestObject actualIntermediateObject = testSubject.swap(mockNewObject);
@@ -54,7 +58,7 @@ public class ThreadSafeSwapperTest {
   @Test
   public void setIfCurrentlyNullDoesNotSetCurrentObjectIfNotNull() {
     boolean expectedReturnValue = false;
-    Whitebox.setInternalState(testSubject, "currentObject", mockOldObject);
+    testSubject.swap(mockOldObject);
 
     boolean actualReturnValue = testSubject.setIfCurrentlyNull(mockNewObject);
 
@@ -64,11 +68,101 @@ public class ThreadSafeSwapperTest {
   @Test
   public void setIfCurrentlyNullSetsCurrentObjectIfNull() {
     boolean expectedReturnValue = true;
-    Whitebox.setInternalState(testSubject, "currentObject", (GenericTestObject) null);
+    testSubject.swap(null);
 
     boolean actualReturnValue = testSubject.setIfCurrentlyNull(mockNewObject);
 
     Assert.assertEquals(expectedReturnValue, actualReturnValue);
+    Assert.assertEquals(mockNewObject, testSubject.swap(null));
+  }
+
+  @Test
+  public void setIfCurrentlyNullKeepsCurrentObjectIfNotNull() {
+    testSubject.swap(mockOldObject);
+
+    testSubject.setIfCurrentlyNull(mockNewObject);
+
+    Assert.assertEquals(mockOldObject, testSubject.swap(null));
+  }
+
+  @Test
+  public void concurrentRecordersAndClaimersReleaseEveryObjectExactlyOnce() throws Exception {
+    // Mirrors the EventHelper protocol: recorders swap in new objects and release whatever they
+    // replaced, claimers take the current object and release it unless they can put it back.
+    final int recorderCount = 4;
+    final int claimerCount = 4;
+    final int objectsPerRecorder = 20000;
+    ThreadSafeSwapper<ReleasableObject> swapper = new ThreadSafeSwapper<>();
+    List<ReleasableObject> allObjects = new ArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    CountDownLatch start = new CountDownLatch(1);
+    CountDownLatch recordersDone = new CountDownLatch(recorderCount);
+
+    for (int recorder = 0; recorder < recorderCount; recorder++) {
+      List<ReleasableObject> objects = new ArrayList<>(objectsPerRecorder);
+      for (int i = 0; i < objectsPerRecorder; i++) {
+        objects.add(new ReleasableObject());
+      }
+      allObjects.addAll(objects);
+      threads.add(
+          new Thread(
+              () -> {
+                awaitQuietly(start);
+                for (ReleasableObject object : objects) {
+                  ReleasableObject replaced = swapper.swap(object);
+                  if (replaced != null) {
+                    replaced.release();
+                  }
+                }
+                recordersDone.countDown();
+              }));
+    }
+
+    for (int claimer = 0; claimer < claimerCount; claimer++) {
+      threads.add(
+          new Thread(
+              () -> {
+                awaitQuietly(start);
+                while (recordersDone.getCount() > 0) {
+                  ReleasableObject claimed = swapper.swap(null);
+                  if (claimed != null && !swapper.setIfCurrentlyNull(claimed)) {
+                    claimed.release();
+                  }
+                }
+              }));
+    }
+
+    threads.forEach(Thread::start);
+    start.countDown();
+    for (Thread thread : threads) {
+      thread.join(TimeUnit.SECONDS.toMillis(30));
+      Assert.assertFalse(thread.isAlive());
+    }
+
+    ReleasableObject remaining = swapper.swap(null);
+    if (remaining != null) {
+      remaining.release();
+    }
+
+    for (ReleasableObject object : allObjects) {
+      Assert.assertEquals(1, object.releaseCount.get());
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static class ReleasableObject {
+    final AtomicInteger releaseCount = new AtomicInteger();
+
+    void release() {
+      releaseCount.incrementAndGet();
+    }
   }
 
   private class GenericTestObject {}
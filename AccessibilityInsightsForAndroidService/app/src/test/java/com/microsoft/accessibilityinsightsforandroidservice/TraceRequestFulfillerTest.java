@@ -0,0 +1,48 @@
+// Copyright (c) Microsoft Corporation.
+// Licensed under the MIT License.
+
+package com.microsoft.accessibilityinsightsforandroidservice;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TraceRequestFulfillerTest {
+
+  @Mock ResponseWriter responseWriter;
+  @Mock SpanRecorder spanRecorder;
+  @Mock ChromeTrace chromeTrace;
+  @Mock Deadline deadline;
+  @Mock RunnableFunction onRequestFulfilledMock;
+
+  TraceRequestFulfiller testSubject;
+
+  @Before
+  public void prepare() {
+    testSubject = new TraceRequestFulfiller(responseWriter, spanRecorder);
+  }
+
+  @Test
+  public void isBlockingRequestReturnsTrue() {
+    Assert.assertTrue(testSubject.isBlockingRequest());
+  }
+
+  @Test
+  public void writesChromeTrace() {
+    when(spanRecorder.getChromeTrace()).thenReturn(chromeTrace);
+    when(chromeTrace.toJson()).thenReturn("trace");
+
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
+
+    verify(responseWriter, times(1)).writeSuccessfulResponse("trace");
+    verify(onRequestFulfilledMock, times(1)).run();
+  }
+}
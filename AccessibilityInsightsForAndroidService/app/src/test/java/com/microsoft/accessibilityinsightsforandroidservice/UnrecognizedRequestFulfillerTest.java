@@ -16,6 +16,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 public class UnrecognizedRequestFulfillerTest {
 
   @Mock ResponseWriter responseWriter;
+  @Mock Deadline deadline;
   @Mock RunnableFunction onRequestFulfilledMock;
 
   final String requestString = "Test request string";
@@ -39,12 +40,12 @@ public class UnrecognizedRequestFulfillerTest {
 
   @Test
   public void callsOnRequestFulfilled() {
-    testSubject.fulfillRequest(onRequestFulfilledMock);
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
   }
 
   @Test
   public void writesResponseMessage() {
-    testSubject.fulfillRequest(onRequestFulfilledMock);
+    testSubject.fulfillRequest(deadline, onRequestFulfilledMock);
     verify(responseWriter).writeNotFoundResponse(requestString);
   }
 }